@@ -0,0 +1,61 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Affichage;
+import carteDuJeu.Carte;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Affichage complet de la carte ({@link Affichage#afficherCarte(Optional, PrintStream)}) dans un flux
+ * qui jette les octets : la mesure comprend la construction de l'image et son encodage, pas le terminal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancAffichage {
+    @Param({"16", "64"})
+    int taille;
+
+    private Optional<Carte> m_carte;
+    private PrintStream m_sortie;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        Affichage.setAffichageAnsi(false);
+        Carte carte = Situations.carte(taille);
+        for (Personnage personnage : Situations.groupe()) {
+            carte.ajouterContenuAleatoire(personnage);
+        }
+        for (Monstre monstre : Situations.monstres(8)) {
+            carte.ajouterContenuAleatoire(monstre);
+        }
+        m_carte = Optional.of(carte);
+        m_sortie = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void afficherCarte() {
+        Affichage.afficherCarte(m_carte, m_sortie);
+    }
+}
@@ -0,0 +1,66 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Case;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche d'une entité sur la carte ({@link Carte#getCase(carteDuJeu.ElementMobile)} et
+ * {@link Carte#trouverPosition(carteDuJeu.ElementMobile)}), selon la taille de la carte.
+ *
+ * Le temps ne doit pas dépendre de la taille : la carte garde l'index des positions de ses entités.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancCarte {
+    @Param({"16", "64", "256"})
+    int taille;
+
+    private Carte m_carte;
+    private Monstre m_monstre;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        m_carte = Situations.carte(taille);
+        List<Personnage> groupe = Situations.groupe();
+        List<Monstre> monstres = Situations.monstres(8);
+        for (Personnage personnage : groupe) {
+            m_carte.ajouterContenuAleatoire(personnage);
+        }
+        for (Monstre monstre : monstres) {
+            m_carte.ajouterContenuAleatoire(monstre);
+        }
+        m_monstre = monstres.get(monstres.size() - 1);
+    }
+
+    @Benchmark
+    public Optional<Case> getCase() {
+        return m_carte.getCase(m_monstre);
+    }
+
+    @Benchmark
+    public Optional<int[]> trouverPosition() {
+        return m_carte.trouverPosition(m_monstre);
+    }
+}
@@ -0,0 +1,47 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Carte;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cases accessibles autour d'une case ({@link Carte#getCasesAccessibles(int, int, int)}), selon le rayon,
+ * depuis le centre d'une carte de 64x64.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancCasesAccessibles {
+    private static final int TAILLE = 64;
+
+    @Param({"1", "3", "6", "12", "24"})
+    int rayon;
+
+    private Carte m_carte;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        m_carte = Situations.carte(TAILLE);
+    }
+
+    @Benchmark
+    public List<int[]> getCasesAccessibles() {
+        return m_carte.getCasesAccessibles(TAILLE / 2, TAILLE / 2, rayon);
+    }
+}
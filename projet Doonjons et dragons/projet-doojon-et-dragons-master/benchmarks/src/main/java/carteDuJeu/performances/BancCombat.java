@@ -0,0 +1,77 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Des;
+import carteDuJeu.Donjon;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.MaitreDuJeu;
+import carteDuJeu.SortieSilencieuse;
+import carteDuJeu.Tours;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combat complet joué par {@link Tours} avec le contrôleur automatique, sans affichage.
+ *
+ * Chaque appel rejoue exactement le même combat : la situation est copiée depuis un modèle
+ * et le générateur est réinitialisé avec la même graine. La copie de la situation fait partie de la mesure,
+ * mais reste négligeable devant le combat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BancCombat {
+    private static final int TAILLE = 16;
+    private static final int NOMBRE_MONSTRES = 5;
+
+    private final SortieSilencieuse m_sortie = new SortieSilencieuse();
+    private Carte m_carte;
+    private List<Personnage> m_groupe;
+    private List<Monstre> m_monstres;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        m_carte = Situations.carte(TAILLE);
+        m_groupe = Situations.groupe();
+        m_monstres = Situations.monstres(NOMBRE_MONSTRES);
+    }
+
+    @Benchmark
+    public int combat() {
+        GenerateurAleatoire generateur = new GenerateurAleatoire(Situations.GRAINE);
+        Des.utiliserGenerateur(generateur);
+        Carte carte = m_carte.copier();
+        carte.setGenerateur(generateur);
+        List<Personnage> groupe = new ArrayList<>(m_groupe.size());
+        for (Personnage personnage : m_groupe) {
+            groupe.add(personnage.copier());
+        }
+        List<Monstre> monstres = new ArrayList<>(m_monstres.size());
+        for (Monstre monstre : m_monstres) {
+            monstres.add(monstre.copier());
+        }
+
+        MaitreDuJeu maitreDuJeu = new MaitreDuJeu(groupe, null, m_sortie);
+        Donjon donjon = new Donjon(1, maitreDuJeu, carte, groupe, monstres, m_sortie);
+        donjon.deroulerDonjon();
+        return donjon.getGestionTours().getNumeroTour();
+    }
+}
@@ -0,0 +1,52 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Des;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lancer de dés par la notation ({@link Des#lancer(String)}) comparé au lancer direct
+ * ({@link Des#lancer(int, int)}) des mêmes dés : l'écart est le coût de la notation, mise en cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancDes {
+    @Param({"1d20", "2d6", "8d6"})
+    String notation;
+
+    private int m_nbDes;
+    private int m_nbFaces;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        String[] parties = notation.split("d");
+        m_nbDes = Integer.parseInt(parties[0]);
+        m_nbFaces = Integer.parseInt(parties[1]);
+    }
+
+    @Benchmark
+    public int lancerNotation() {
+        return Des.lancer(notation);
+    }
+
+    @Benchmark
+    public int lancerDirect() {
+        return Des.lancer(m_nbDes, m_nbFaces);
+    }
+}
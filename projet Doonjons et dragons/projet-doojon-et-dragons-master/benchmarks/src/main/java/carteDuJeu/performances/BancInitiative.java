@@ -0,0 +1,52 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Donjon;
+import carteDuJeu.MaitreDuJeu;
+import carteDuJeu.SortieSilencieuse;
+import carteDuJeu.personnages.Personnage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tirage et tri de l'ordre d'initiative ({@link Donjon#preparerEtTrierInitiative()}),
+ * selon le nombre de monstres du donjon.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancInitiative {
+    @Param({"4", "32"})
+    int monstres;
+
+    private Donjon m_donjon;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        SortieSilencieuse sortie = new SortieSilencieuse();
+        List<Personnage> groupe = Situations.groupe();
+        MaitreDuJeu maitreDuJeu = new MaitreDuJeu(groupe, null, sortie);
+        m_donjon = new Donjon(1, maitreDuJeu, Situations.carte(32), groupe, Situations.monstres(monstres), sortie);
+    }
+
+    @Benchmark
+    public Donjon preparerEtTrierInitiative() {
+        m_donjon.preparerEtTrierInitiative();
+        return m_donjon;
+    }
+}
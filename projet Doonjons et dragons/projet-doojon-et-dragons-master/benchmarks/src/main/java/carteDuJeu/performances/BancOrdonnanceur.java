@@ -0,0 +1,85 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.OrdonnanceurInitiative;
+import carteDuJeu.monstres.Monstre;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tour complet de l'{@link OrdonnanceurInitiative} avec des milliers de combattants :
+ * ajout de tous les participants, puis chaque entité servie à son tour, sans ou avec
+ * un retrait (une mort) toutes les deux entités servies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancOrdonnanceur {
+    @Param({"256", "4096"})
+    int combattants;
+
+    private Monstre[] m_monstres;
+    private int[] m_initiatives;
+    /** Victimes retirées, dans l'ordre ; une même entité peut être tirée plusieurs fois */
+    private Monstre[] m_victimes;
+    private final OrdonnanceurInitiative m_ordonnanceur = new OrdonnanceurInitiative();
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        List<Monstre> monstres = Situations.monstres(combattants);
+        m_monstres = monstres.toArray(new Monstre[0]);
+        Random aleatoire = new Random(Situations.GRAINE);
+        m_initiatives = new int[combattants];
+        m_victimes = new Monstre[combattants];
+        for (int i = 0; i < combattants; i++) {
+            m_initiatives[i] = 1 + aleatoire.nextInt(20) + m_monstres[i].getInitiative();
+            m_victimes[i] = m_monstres[aleatoire.nextInt(combattants)];
+        }
+    }
+
+    @Benchmark
+    public int tourComplet() {
+        remplir();
+        int servies = 0;
+        while (m_ordonnanceur.suivante() != null) {
+            servies++;
+        }
+        return servies;
+    }
+
+    @Benchmark
+    public int tourAvecMorts() {
+        remplir();
+        int servies = 0;
+        while (m_ordonnanceur.suivante() != null) {
+            if ((++servies & 1) == 0) {
+                m_ordonnanceur.retirer(m_victimes[servies - 1]);
+            }
+        }
+        return servies;
+    }
+
+    private void remplir() {
+        m_ordonnanceur.vider();
+        for (int i = 0; i < m_monstres.length; i++) {
+            m_ordonnanceur.ajouter(m_monstres[i], m_initiatives[i]);
+        }
+        m_ordonnanceur.debuterTour(false);
+    }
+}
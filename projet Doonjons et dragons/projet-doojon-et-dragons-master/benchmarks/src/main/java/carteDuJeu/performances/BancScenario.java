@@ -0,0 +1,69 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Des;
+import carteDuJeu.Donjon;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.SortieSilencieuse;
+import carteDuJeu.simulation.GenerateurScenario;
+import carteDuJeu.simulation.Scenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Donjons de grande taille construits par {@link GenerateurScenario} : construction du donjon,
+ * et premier tour de combat, où chacune des entités joue.
+ *
+ * Chaque mesure part d'un donjon neuf, construit avant la mesure : le mode « un seul appel »
+ * convient à ces opérations longues (de l'ordre de la seconde).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class BancScenario {
+    @Param({"128", "512"})
+    int taille;
+
+    @Param({"500", "2000"})
+    int monstres;
+
+    private final SortieSilencieuse m_sortie = new SortieSilencieuse();
+    private Scenario m_scenario;
+    private Donjon m_donjon;
+
+    @Setup(Level.Trial)
+    public void preparerScenario() {
+        m_scenario = Situations.scenario(taille, monstres);
+    }
+
+    @Setup(Level.Invocation)
+    public void preparerDonjon() {
+        m_donjon = GenerateurScenario.generer(m_scenario, m_sortie);
+        m_donjon.getGestionTours().setNombreToursMax(1);
+        Des.utiliserGenerateur(new GenerateurAleatoire(Situations.GRAINE));
+    }
+
+    @Benchmark
+    public Donjon generer() {
+        return GenerateurScenario.generer(m_scenario, m_sortie);
+    }
+
+    @Benchmark
+    public boolean premierTour() {
+        return m_donjon.deroulerDonjon();
+    }
+}
@@ -0,0 +1,84 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Donjon;
+import carteDuJeu.RegistreEntites;
+import carteDuJeu.SortieSilencieuse;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.monstres.StockageMonstres;
+import carteDuJeu.simulation.GenerateurScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche des monstres vivants autour d'une case dans une horde de milliers de monstres :
+ * par les tableaux du {@link StockageMonstres} du donjon, par l'index spatial du {@link RegistreEntites},
+ * comparés au parcours des objets {@link Monstre} avec une recherche de position sur la carte pour chacun.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BancStockageMonstres {
+    private static final int RAYON = 8;
+
+    @Param({"2000", "16000"})
+    int monstres;
+
+    private Donjon m_donjon;
+    private int m_centre;
+
+    @Setup
+    public void preparer() {
+        Situations.installerGenerateur();
+        m_donjon = GenerateurScenario.generer(Situations.scenario(512, monstres), new SortieSilencieuse());
+        m_centre = 256;
+    }
+
+    @Benchmark
+    public List<Monstre> zoneParStockage() {
+        return m_donjon.getStockageMonstres().chercherDansZone(m_centre, m_centre, RAYON);
+    }
+
+    @Benchmark
+    public List<Integer> zoneParIndex() {
+        return m_donjon.getRegistre().chercherDansZone(m_centre, m_centre, RAYON, false);
+    }
+
+    @Benchmark
+    public List<Monstre> zoneParObjets() {
+        Carte carte = m_donjon.getCarte();
+        List<Monstre> resultat = new ArrayList<>();
+        for (Monstre monstre : m_donjon.getMonstres()) {
+            if (monstre.estMort()) {
+                continue;
+            }
+            Optional<int[]> position = carte.trouverPosition(monstre);
+            if (position.isPresent() && Carte.estAPortee(m_centre, m_centre, position.get()[0], position.get()[1], RAYON)) {
+                resultat.add(monstre);
+            }
+        }
+        return resultat;
+    }
+
+    @Benchmark
+    public int vivantsParStockage() {
+        return m_donjon.getStockageMonstres().compterVivants();
+    }
+}
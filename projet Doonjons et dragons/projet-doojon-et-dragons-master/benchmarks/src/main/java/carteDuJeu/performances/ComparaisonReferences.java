@@ -0,0 +1,120 @@
+package carteDuJeu.performances;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare des résultats JMH à une référence enregistrée, toutes deux au format JSON de JMH ({@code -rf json}).
+ *
+ * Une mesure est une régression si elle est moins bonne que la référence de plus de la tolérance
+ * (10 % par défaut) et de plus que la somme des marges d'erreur des deux mesures.
+ * Le sens dépend du mode : un temps moyen doit baisser, un débit doit monter.
+ *
+ * Utilisation : {@code java -cp target/benchmarks.jar carteDuJeu.performances.ComparaisonReferences
+ * references/reference.json resultats.json [tolérance en %]}. Le code de sortie vaut 1 en cas de régression.
+ */
+public final class ComparaisonReferences {
+    private static final double TOLERANCE_DEFAUT = 10.0;
+
+    private ComparaisonReferences() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : ComparaisonReferences <référence.json> <résultats.json> [tolérance %]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : TOLERANCE_DEFAUT;
+        Map<String, Mesure> reference = lire(Path.of(args[0]));
+        Map<String, Mesure> resultats = lire(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Mesure> entree : new TreeMap<>(resultats).entrySet()) {
+            Mesure actuelle = entree.getValue();
+            Mesure ancienne = reference.get(entree.getKey());
+            if (ancienne == null) {
+                System.out.printf(Locale.ROOT, "%-80s %12.3f %-6s  (nouvelle mesure)%n",
+                        entree.getKey(), actuelle.m_score, actuelle.m_unite);
+                continue;
+            }
+            if (!ancienne.m_unite.equals(actuelle.m_unite)) {
+                System.out.printf(Locale.ROOT, "%-80s unités différentes : %s / %s%n",
+                        entree.getKey(), ancienne.m_unite, actuelle.m_unite);
+                continue;
+            }
+            // Écart positif : la mesure est moins bonne que la référence
+            double ecart = actuelle.m_debit ? ancienne.m_score - actuelle.m_score : actuelle.m_score - ancienne.m_score;
+            double pourcentage = 100.0 * ecart / ancienne.m_score;
+            boolean regression = pourcentage > tolerance && ecart > ancienne.m_erreur + actuelle.m_erreur;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-80s %12.3f -> %12.3f %-6s %+7.1f %%%s%n",
+                    entree.getKey(), ancienne.m_score, actuelle.m_score, actuelle.m_unite, pourcentage,
+                    regression ? "  RÉGRESSION" : "");
+        }
+        for (String cle : reference.keySet()) {
+            if (!resultats.containsKey(cle)) {
+                System.out.printf(Locale.ROOT, "%-80s (absente des résultats)%n", cle);
+            }
+        }
+
+        System.out.println(regressions == 0 ? "Aucune régression."
+                : regressions + " régression(s) au-delà de " + tolerance + " %.");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Lit un fichier de résultats JMH ; chaque mesure est identifiée par son nom et ses paramètres.
+     */
+    private static Map<String, Mesure> lire(Path fichier) throws IOException {
+        Map<String, Mesure> mesures = new LinkedHashMap<>();
+        try (Reader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            JsonArray resultats = JsonParser.parseReader(lecteur).getAsJsonArray();
+            for (JsonElement element : resultats) {
+                JsonObject resultat = element.getAsJsonObject();
+                StringBuilder cle = new StringBuilder(resultat.get("benchmark").getAsString());
+                if (resultat.has("params")) {
+                    for (Map.Entry<String, JsonElement> parametre : new TreeMap<>(resultat.getAsJsonObject("params").asMap()).entrySet()) {
+                        cle.append(' ').append(parametre.getKey()).append('=').append(parametre.getValue().getAsString());
+                    }
+                }
+                JsonObject metrique = resultat.getAsJsonObject("primaryMetric");
+                JsonElement erreur = metrique.get("scoreError");
+                mesures.put(cle.toString(), new Mesure(metrique.get("score").getAsDouble(),
+                        erreur == null || !erreur.isJsonPrimitive() || !erreur.getAsJsonPrimitive().isNumber() ? 0 : erreur.getAsDouble(),
+                        metrique.get("scoreUnit").getAsString(), "thrpt".equals(resultat.get("mode").getAsString())));
+            }
+        }
+        return mesures;
+    }
+
+    /**
+     * Score d'une mesure, avec sa marge d'erreur et son unité.
+     */
+    private static final class Mesure {
+        private final double m_score;
+        private final double m_erreur;
+        private final String m_unite;
+        private final boolean m_debit;
+
+        private Mesure(double score, double erreur, String unite, boolean debit) {
+            this.m_score = score;
+            this.m_erreur = Double.isNaN(erreur) ? 0 : erreur;
+            this.m_unite = unite;
+            this.m_debit = debit;
+        }
+    }
+}
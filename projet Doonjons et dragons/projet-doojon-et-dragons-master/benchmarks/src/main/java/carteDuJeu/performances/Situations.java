@@ -0,0 +1,98 @@
+package carteDuJeu.performances;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Des;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import carteDuJeu.personnages.classes.Clerc;
+import carteDuJeu.personnages.classes.Guerrier;
+import carteDuJeu.personnages.classes.Magicien;
+import carteDuJeu.personnages.equipements.armes.EpeeLongue;
+import carteDuJeu.personnages.equipements.armes.Fronde;
+import carteDuJeu.personnages.races.Elfe;
+import carteDuJeu.personnages.races.Humain;
+import carteDuJeu.personnages.races.Nain;
+import carteDuJeu.simulation.Scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Situations de jeu communes aux mesures : une carte, un groupe et des monstres,
+ * toujours identiques pour une même graine.
+ *
+ * Chaque situation installe son propre {@link GenerateurAleatoire} dans {@link Des} avant de tirer quoi que ce soit,
+ * pour que deux exécutions des mesures travaillent sur les mêmes données.
+ */
+final class Situations {
+    /** Graine de toutes les situations : la changer invalide les références enregistrées */
+    static final long GRAINE = 20250519L;
+
+    /** Proportion de cases obstacles des cartes générées */
+    static final double TAUX_OBSTACLES = 0.1;
+
+    private Situations() {
+    }
+
+    /**
+     * Installe le générateur des mesures dans {@link Des}.
+     * @return le générateur installé
+     */
+    static GenerateurAleatoire installerGenerateur() {
+        GenerateurAleatoire generateur = new GenerateurAleatoire(GRAINE);
+        Des.utiliserGenerateur(generateur);
+        return generateur;
+    }
+
+    /**
+     * Crée une carte carrée avec des obstacles aléatoires et quelques équipements au sol.
+     * @param taille la largeur et la hauteur de la carte
+     * @return la carte, sans entité
+     */
+    static Carte carte(int taille) {
+        Carte carte = new Carte(taille, taille);
+        carte.setGenerateur(Des.getGenerateur());
+        carte.genererObstaclesAleatoires(TAUX_OBSTACLES);
+        for (int i = 0; i < 4; i++) {
+            carte.ajouterContenuAleatoire(i % 2 == 0 ? new Fronde() : new EpeeLongue());
+        }
+        return carte;
+    }
+
+    /**
+     * Crée le groupe des mesures : un guerrier, un magicien et un clerc.
+     * @return le groupe
+     */
+    static List<Personnage> groupe() {
+        List<Personnage> groupe = new ArrayList<>();
+        groupe.add(new Personnage("Aldric", new Humain(), new Guerrier()));
+        groupe.add(new Personnage("Bryn", new Elfe(), new Magicien()));
+        groupe.add(new Personnage("Cador", new Nain(), new Clerc()));
+        return groupe;
+    }
+
+    /**
+     * Décrit un scénario de grande taille pour {@link carteDuJeu.simulation.GenerateurScenario} :
+     * douze personnages, un équipement au sol pour quatre monstres.
+     * @param taille la largeur et la hauteur de la carte
+     * @param nombreMonstres le nombre de monstres
+     * @return le scénario
+     */
+    static Scenario scenario(int taille, int nombreMonstres) {
+        return new Scenario(GRAINE, taille, taille, TAUX_OBSTACLES, 12, nombreMonstres, nombreMonstres / 4);
+    }
+
+    /**
+     * Crée des monstres identiques, numérotés à partir de 1.
+     * @param nombre le nombre de monstres
+     * @return les monstres
+     */
+    static List<Monstre> monstres(int nombre) {
+        List<Monstre> monstres = new ArrayList<>(nombre);
+        for (int i = 1; i <= nombre; i++) {
+            monstres.add(new Monstre("gobelin", i, 1, 6, 4, 1, 12, 2, 10, 2));
+        }
+        return monstres;
+    }
+}
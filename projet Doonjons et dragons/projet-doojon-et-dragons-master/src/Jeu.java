@@ -1,14 +1,21 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Scanner;
 import carteDuJeu.*;
+import carteDuJeu.enregistrement.JournalBinaire;
 import carteDuJeu.personnages.*;
 import carteDuJeu.personnages.classes.*;
 import carteDuJeu.personnages.equipements.*;
 import carteDuJeu.personnages.equipements.armures.*;
 import carteDuJeu.personnages.equipements.armes.*;
 import carteDuJeu.personnages.races.*;
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.FichierSauvegarde;
+import carteDuJeu.sauvegarde.JournalModifications;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
 
 /**
  * Classe principale qui gère le déroulement global du jeu DOOnjon&Dragon.
@@ -20,15 +27,40 @@ public class Jeu {
     private List<Personnage> m_joueurs;
     private MaitreDuJeu m_maitreDuJeu;
     private int m_donjonActuel; // Index du donjon en cours
+    private final GenerateurAleatoire m_generateur; // Source de tous les tirages aléatoires de la partie
+    private JournalBinaire m_journal; // Journal binaire des combats, null si les combats ne sont pas enregistrés
+    private JournalModifications m_sauvegardeAutomatique; // Sauvegarde automatique, null si la partie n'est pas sauvegardée
     private static final int NOMBRE_DONJONS_TOTAL = 3;
 
     /**
-     * Constructeur du jeu. Initialise les joueurs, le maître du jeu, les équipements et les donjons.
+     * Constructeur du jeu avec une graine tirée au hasard.
+     * Initialise les joueurs, le maître du jeu, les équipements et les donjons.
      */
     public Jeu() {
+        this(new GenerateurAleatoire());
+    }
+
+    /**
+     * Constructeur du jeu avec une graine imposée : avec les mêmes saisies,
+     * deux parties de même graine se déroulent exactement de la même façon.
+     * @param graine la graine de la partie
+     */
+    public Jeu(long graine) {
+        this(new GenerateurAleatoire(graine));
+    }
+
+    /**
+     * Installe le générateur de la partie puis initialise les joueurs, le maître du jeu,
+     * les équipements et les donjons.
+     * @param generateur le générateur de la partie
+     */
+    private Jeu(GenerateurAleatoire generateur) {
         m_donjonActuel = 0;
+        m_generateur = generateur;
+        Des.utiliserGenerateur(m_generateur);
 
         messageBienvenue();
+        System.out.println("Graine de la partie : " + m_generateur.getGraine());
 
         // Demander le nombre de joueurs AVANT de créer les donjons
         int nbJoueurs = 0;
@@ -74,6 +106,18 @@ public class Jeu {
         }
     }
 
+    /**
+     * Crée une partie vide, remplie par {@link #charger(Path)}.
+     * @param generateur le générateur de la partie
+     * @param donjonActuel l'index du donjon en cours
+     */
+    private Jeu(GenerateurAleatoire generateur, int donjonActuel) {
+        m_generateur = generateur;
+        m_donjonActuel = donjonActuel;
+        m_joueurs = new ArrayList<>();
+        m_donjons = new ArrayList<>();
+    }
+
     /**
      * Affiche un message de bienvenue au joueur.
      */
@@ -192,6 +236,7 @@ public class Jeu {
      * Démarre la partie et gère la boucle principale des donjons.
      */
     public void demarrer() {
+        Des.utiliserGenerateur(m_generateur);
         System.out.println("La partie commence !");
         m_maitreDuJeu.decrireContexte();
 
@@ -203,13 +248,24 @@ public class Jeu {
 
             Donjon donjonCourant = m_donjons.get(m_donjonActuel);
 
-            // Phase d'équipement avant le donjon
-            donjonCourant.premierePhase();
+            // Un combat repris d'une sauvegarde est déjà équipé et mis en place
+            if (!donjonCourant.getGestionTours().estCombatEnCours()) {
+                sauvegarderAutomatiquement();
 
-            // Mise en place du donjon
-            donjonCourant.miseEnPlace();
+                // Phase d'équipement avant le donjon
+                donjonCourant.premierePhase();
+
+                // Mise en place du donjon
+                donjonCourant.miseEnPlace();
+            }
 
             // Déroulement du donjon
+            if (m_journal != null) {
+                donjonCourant.getGestionTours().getBus().abonner(m_journal);
+            }
+            if (m_sauvegardeAutomatique != null) {
+                m_sauvegardeAutomatique.suivre(donjonCourant, m_generateur);
+            }
             boolean donjonReussi = donjonCourant.deroulerDonjon();
 
             if (donjonReussi) {
@@ -229,9 +285,121 @@ public class Jeu {
         }
 
         // Fin de partie
+        if (m_sauvegardeAutomatique != null) {
+            try {
+                m_sauvegardeAutomatique.close();
+            } catch (IOException e) {
+                System.out.println("Sauvegarde impossible : " + e.getMessage());
+            }
+        }
         finPartie();
     }
 
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Sauvegarde la partie : graine, joueurs et leur équipement, puis chaque donjon avec sa carte,
+     * ses monstres et l'état de son combat.
+     *
+     * @param fichier le fichier de sauvegarde, remplacé s'il existe
+     * @throws IOException si l'écriture échoue (l'ancienne sauvegarde est alors conservée)
+     */
+    public void sauvegarder(Path fichier) throws IOException {
+        EcritureSauvegarde sortie = new EcritureSauvegarde();
+        ecrireSauvegarde(sortie);
+        FichierSauvegarde.ecrire(fichier, sortie);
+    }
+
+    /**
+     * Écrit l'état complet de la partie dans une sauvegarde.
+     * @param sortie la sauvegarde
+     */
+    private void ecrireSauvegarde(EcritureSauvegarde sortie) {
+        sortie.ecrireLong(m_generateur.getGraine());
+        sortie.ecrireLong(m_generateur.getEtat());
+        sortie.ecrireLong(m_generateur.getGamma());
+        sortie.ecrireEntier(m_donjonActuel);
+        sortie.ecrireEntier(m_joueurs.size());
+        for (Personnage joueur : m_joueurs) {
+            sortie.enregistrer(joueur);
+            joueur.sauvegarder(sortie);
+        }
+        sortie.ecrireEntier(m_donjons.size());
+        for (Donjon donjon : m_donjons) {
+            donjon.sauvegarder(sortie);
+        }
+    }
+
+    /**
+     * Charge une partie sauvegardée par {@link #sauvegarder(Path)} ou automatiquement, sans aucune saisie.
+     * Le journal de modifications écrit à la suite d'une sauvegarde automatique est appliqué :
+     * {@link #demarrer()} reprend ensuite au donjon sauvegardé, à l'entité et à l'action où
+     * le combat en cours s'était arrêté.
+     *
+     * @param fichier le fichier de sauvegarde
+     * @return la partie
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas une sauvegarde lisible
+     * @throws IllegalStateException si la sauvegarde est tronquée ou corrompue
+     */
+    public static Jeu charger(Path fichier) throws IOException {
+        LectureSauvegarde entree = FichierSauvegarde.lire(fichier);
+        GenerateurAleatoire generateur = new GenerateurAleatoire(entree.lireLong());
+        // La version 1 ne gardait que la graine : les tirages repartaient du début de la suite
+        if (entree.getVersion() >= 2) {
+            long etat = entree.lireLong();
+            long gamma = entree.lireLong();
+            try {
+                generateur.setEtat(etat, gamma);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Sauvegarde corrompue : " + e.getMessage(), e);
+            }
+        }
+        // Les cartes restaurées tirent leurs dés avec le générateur de la partie
+        Des.utiliserGenerateur(generateur);
+        Jeu jeu = new Jeu(generateur, entree.lireEntier());
+
+        int nombreJoueurs = entree.lireTaille();
+        for (int i = 0; i < nombreJoueurs; i++) {
+            Personnage joueur = Personnage.restaurer(entree);
+            entree.enregistrer(joueur);
+            jeu.m_joueurs.add(joueur);
+        }
+        jeu.m_maitreDuJeu = new MaitreDuJeu(jeu.m_joueurs);
+
+        int nombreDonjons = entree.lireTaille();
+        for (int i = 0; i < nombreDonjons; i++) {
+            jeu.m_donjons.add(Donjon.restaurer(entree, jeu.m_maitreDuJeu));
+        }
+        if (jeu.m_donjonActuel < 0 || jeu.m_donjonActuel > jeu.m_donjons.size()) {
+            throw new IllegalStateException("Sauvegarde corrompue : donjon actuel " + jeu.m_donjonActuel);
+        }
+        if (jeu.m_donjonActuel < jeu.m_donjons.size()) {
+            Donjon donjonCourant = jeu.m_donjons.get(jeu.m_donjonActuel);
+            if (donjonCourant.getGestionTours().estCombatEnCours()) {
+                JournalModifications.rejouer(fichier, entree, donjonCourant, generateur);
+                jeu.m_maitreDuJeu.setMonstres(donjonCourant.getMonstres());
+                jeu.m_maitreDuJeu.setCarte(donjonCourant.getCarte());
+            }
+        }
+        return jeu;
+    }
+
+    /**
+     * Sauvegarde complètement la partie dans le fichier de sauvegarde automatique, s'il y en a un.
+     * Un échec est signalé sans interrompre la partie.
+     */
+    private void sauvegarderAutomatiquement() {
+        if (m_sauvegardeAutomatique == null) {
+            return;
+        }
+        try {
+            m_sauvegardeAutomatique.compacter();
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Sauvegarde impossible : " + e.getMessage());
+        }
+    }
+
     /**
      * Vérifie si la partie est perdue (si un ou plusieurs personnages sont morts).
      * @return true si la partie est perdue, false sinon
@@ -258,6 +426,7 @@ public class Jeu {
      * Affiche le message de fin de partie selon la victoire ou la défaite.
      */
     public void finPartie() {
+        Affichage.terminerAffichageCarte(System.out);
         System.out.println("\n" + "=".repeat(60));
         if (m_donjonActuel >= NOMBRE_DONJONS_TOTAL) {
             System.out.println("🏆 Félicitations ! Vous avez réussi à terminer tous les donjons !");
@@ -345,6 +514,14 @@ public class Jeu {
         this.m_maitreDuJeu = maitreDuJeu;
     }
 
+    /**
+     * Retourne le générateur aléatoire de la partie.
+     * @return le générateur de la partie
+     */
+    public GenerateurAleatoire getGenerateur() {
+        return m_generateur;
+    }
+
     /**
      * Retourne l'index du donjon actuel.
      * @return l'index du donjon actuel
@@ -353,6 +530,43 @@ public class Jeu {
         return m_donjonActuel;
     }
 
+    /**
+     * Retourne le journal binaire des combats.
+     * @return le journal, ou null si les combats ne sont pas enregistrés
+     */
+    public JournalBinaire getJournal() {
+        return m_journal;
+    }
+
+    /**
+     * Enregistre les combats des donjons suivants dans un journal binaire.
+     * Le journal reste ouvert : l'appelant le ferme à la fin de la partie.
+     * @param journal le journal, ou null pour ne plus enregistrer
+     */
+    public void setJournal(JournalBinaire journal) {
+        this.m_journal = journal;
+    }
+
+    /**
+     * Retourne la sauvegarde automatique de la partie.
+     * @return la sauvegarde automatique, ou null si la partie n'est pas sauvegardée
+     */
+    public JournalModifications getSauvegardeAutomatique() {
+        return m_sauvegardeAutomatique;
+    }
+
+    /**
+     * Sauvegarde automatiquement la partie dans un fichier : complètement avant chaque donjon
+     * et au début de chaque combat, puis après chaque action dans un journal de modifications
+     * écrit à côté ({@link JournalModifications}).
+     * @param fichierSauvegarde le fichier, ou null pour ne plus sauvegarder
+     */
+    public void setFichierSauvegarde(Path fichierSauvegarde) {
+        this.m_sauvegardeAutomatique = fichierSauvegarde != null
+                ? new JournalModifications(fichierSauvegarde, this::ecrireSauvegarde)
+                : null;
+    }
+
     /*============================Section Overrides============================*/
 
     @Override
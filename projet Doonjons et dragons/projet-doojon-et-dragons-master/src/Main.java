@@ -1,6 +1,83 @@
+import carteDuJeu.Affichage;
+import carteDuJeu.enregistrement.JournalBinaire;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Main {
+    /**
+     * Lance une partie. Un argument facultatif donne la graine de la partie,
+     * pour rejouer exactement une partie précédente.
+     * L'option --ansi active l'affichage différentiel de la carte, qui ne réécrit
+     * que les cases modifiées (terminal compatible ANSI requis).
+     * L'option --journal suivie d'un fichier ajoute les combats de la partie à ce journal binaire,
+     * relisible avec {@link carteDuJeu.enregistrement.Rejoueur}.
+     * L'option --sauvegarde suivie d'un fichier sauvegarde automatiquement la partie avant chaque donjon
+     * et après chaque action de combat ; l'option --charger suivie d'un fichier reprend une partie sauvegardée
+     * là où elle s'était arrêtée.
+     */
     public static void main(String[] args) {
-        Jeu jeu = new Jeu();
-        jeu.demarrer();
+        String graine = null;
+        String fichierJournal = null;
+        String fichierSauvegarde = null;
+        String fichierCharge = null;
+        for (int i = 0; i < args.length; i++) {
+            String argument = args[i].trim();
+            if (argument.equals("--ansi")) {
+                Affichage.setAffichageAnsi(true);
+            } else if (argument.equals("--journal") && i + 1 < args.length) {
+                fichierJournal = args[++i].trim();
+            } else if (argument.equals("--sauvegarde") && i + 1 < args.length) {
+                fichierSauvegarde = args[++i].trim();
+            } else if (argument.equals("--charger") && i + 1 < args.length) {
+                fichierCharge = args[++i].trim();
+            } else if (graine == null) {
+                graine = argument;
+            }
+        }
+
+        JournalBinaire journal = null;
+        if (fichierJournal != null) {
+            try {
+                journal = new JournalBinaire(Path.of(fichierJournal));
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Journal impossible à ouvrir : " + e.getMessage() + ". Les combats ne sont pas enregistrés.");
+            }
+        }
+
+        Jeu jeu = null;
+        if (fichierCharge != null) {
+            try {
+                jeu = Jeu.charger(Path.of(fichierCharge));
+                System.out.println("Partie chargée depuis " + fichierCharge + ".");
+            } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+                System.out.println("Sauvegarde impossible à charger : " + e.getMessage() + ". Une nouvelle partie commence.");
+            }
+        }
+        if (jeu == null && graine != null) {
+            try {
+                jeu = new Jeu(Long.parseLong(graine));
+            } catch (NumberFormatException e) {
+                System.out.println("Graine invalide : " + graine + ". Une graine aléatoire est utilisée.");
+            }
+        }
+        if (jeu == null) {
+            jeu = new Jeu();
+        }
+        jeu.setJournal(journal);
+        if (fichierSauvegarde != null) {
+            jeu.setFichierSauvegarde(Path.of(fichierSauvegarde));
+        }
+        try {
+            jeu.demarrer();
+        } finally {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.out.println("Erreur à la fermeture du journal : " + e.getMessage());
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
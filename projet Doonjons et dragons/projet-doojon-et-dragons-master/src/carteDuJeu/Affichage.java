@@ -1,5 +1,6 @@
 package carteDuJeu;
 
+import java.io.PrintStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +13,37 @@ import carteDuJeu.personnages.equipements.Equipement;
  * Cette classe fournit des méthodes statiques pour afficher différents types d'informations :
  * messages de bienvenue, état des entités, cartes, inventaires, etc.
  *
- * Toutes les méthodes utilisent System.out pour l'affichage console.
+ * Toutes les méthodes utilisent System.out pour l'affichage console, sauf l'affichage de la carte
+ * qui peut écrire dans un autre flux.
  */
 public class Affichage {
+    /** Rendu de carte de chaque thread, dont le tampon est réutilisé d'un affichage à l'autre */
+    private static final ThreadLocal<RenduCarte> RENDU_CARTE = ThreadLocal.withInitial(RenduCarte::new);
+
+    /** Rendu différentiel de chaque thread, utilisé quand l'affichage ANSI est activé */
+    private static final ThreadLocal<RenduDifferentiel> RENDU_DIFFERENTIEL = ThreadLocal.withInitial(RenduDifferentiel::new);
+
+    /** true pour ne réécrire que les cases modifiées de la carte, avec des séquences ANSI */
+    private static volatile boolean s_affichageAnsi = false;
+
+    /**
+     * Active ou désactive l'affichage différentiel de la carte pour les terminaux ANSI.
+     * Une fois activé, la carte reste en haut de l'écran et chaque affichage ne réécrit
+     * que les cases modifiées depuis le précédent (voir {@link RenduDifferentiel}).
+     *
+     * @param affichageAnsi true pour activer l'affichage différentiel
+     */
+    public static void setAffichageAnsi(boolean affichageAnsi) {
+        s_affichageAnsi = affichageAnsi;
+    }
+
+    /**
+     * Indique si l'affichage différentiel de la carte est activé.
+     * @return true si la carte est affichée avec des séquences ANSI
+     */
+    public static boolean isAffichageAnsi() {
+        return s_affichageAnsi;
+    }
 
     /**
      * Affiche le message de bienvenue du jeu.
@@ -182,41 +211,38 @@ public class Affichage {
      * @param carte la carte à afficher (peut être null)
      */
     public static void afficherCarte(Optional<Carte> carte) {
+        afficherCarte(carte, System.out);
+    }
+
+    /**
+     * Affiche la carte de jeu dans un flux de sortie.
+     * L'image complète est construite par un {@link RenduCarte} puis écrite en un seul appel ;
+     * avec l'affichage ANSI, seules les cases modifiées depuis le dernier affichage sont réécrites.
+     *
+     * @param carte la carte à afficher (peut être null)
+     * @param sortie le flux où écrire la carte
+     */
+    public static void afficherCarte(Optional<Carte> carte, PrintStream sortie) {
         if (carte == null || carte.isEmpty()) {
-            System.out.println("❌ Aucune carte à afficher.");
+            sortie.println("❌ Aucune carte à afficher.");
             return;
         }
-        Carte c = carte.get();
-
-        // Affiche les coordonnées X (lettres)
-        System.out.print("  ");
-        for (int i = 0; i < c.getLargeur(); i++) {
-            System.out.printf("%4c", 'A' + i);
-        }
-        System.out.println();
-
-        // Ligne supérieure du contour
-        System.out.print("   ┌");
-        for (int x = 0; x < c.getLargeur(); x++) {
-            System.out.print("────");
-        }
-        System.out.println("┐");
-
-        // Affichage du contenu de la carte
-        for (int y = 0; y < c.getHauteur(); y++) {
-            System.out.printf("%2d │", y + 1);
-            for (int x = 0; x < c.getLargeur(); x++) {
-                Case caseActuelle = c.getCase(x, y);
-                System.out.print(caseActuelle.toString());
-            }
-            System.out.println("│");
+        if (s_affichageAnsi) {
+            RENDU_DIFFERENTIEL.get().afficher(carte.get(), sortie);
+        } else {
+            RENDU_CARTE.get().afficher(carte.get(), sortie);
         }
+    }
 
-        // Ligne inférieure du contour
-        System.out.print("   └");
-        for (int x = 0; x < c.getLargeur(); x++) {
-            System.out.print("────");
+    /**
+     * Termine l'affichage différentiel de la carte : le terminal retrouve sa zone de défilement complète.
+     * Sans effet si l'affichage ANSI n'est pas activé.
+     *
+     * @param sortie le flux du terminal
+     */
+    public static void terminerAffichageCarte(PrintStream sortie) {
+        if (s_affichageAnsi) {
+            RENDU_DIFFERENTIEL.get().terminer(sortie);
         }
-        System.out.println("┘");
     }
 }
\ No newline at end of file
@@ -1,13 +1,29 @@
 package carteDuJeu;
 
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.sauvegarde.CatalogueSauvegarde;
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Représente une carte de jeu avec un système de coordonnées et des cases.
  * La carte utilise un système de coordonnées où (0,0) est en haut à gauche.
+ *
+ * La carte maintient un index élément mobile → case, tenu à jour par les cases elles-mêmes
+ * à chaque ajout ou retrait : les recherches de position se font donc en temps constant
+ * au lieu de parcourir toute la grille.
+ *
+ * Elle maintient aussi trois couches de bits (obstacles, cases occupées par un élément mobile,
+ * cases contenant un objet) rangées ligne par ligne dans des tableaux de long : le bit x%64
+ * du mot y * motsParLigne + x/64 décrit la case (x, y). Les tests d'accessibilité et les
+ * recherches dans un rayon se font ainsi mot par mot plutôt que case par case.
  */
 public class Carte {
     private final int m_largeur;
@@ -15,8 +31,40 @@ public class Carte {
     final Case[][] m_cases;
     private boolean m_carteParDefaut = false;
 
+    /** Index des éléments mobiles présents sur la carte vers la case qui les contient */
+    private final Map<ElementMobile, Case> m_positions;
+
+    /** Si true, chaque recherche de position est recoupée avec un parcours complet de la grille */
+    private boolean m_verificationIndex = false;
+
+    /** Nombre de mots de 64 bits utilisés pour une ligne de la carte */
+    private final int m_motsParLigne;
+
+    /** Masque des bits valides du dernier mot de chaque ligne */
+    private final long m_masqueDernierMot;
+
+    /** Couche des obstacles */
+    private final long[] m_obstacles;
+
+    /** Couche des cases occupées par au moins un élément mobile */
+    private final long[] m_occupees;
+
+    /** Couche des cases contenant au moins un objet (élément non mobile) */
+    private final long[] m_objets;
+
+    /** Observateurs prévenus de chaque modification d'une case */
+    private final List<ObservateurCarte> m_observateurs;
+
+    /** Champ de flux partagé, créé à la première demande */
+    private ChampDeFlux m_champDeFlux;
+
+    /** Générateur des tirages aléatoires de la carte (placements, obstacles) */
+    private GenerateurAleatoire m_generateur;
+
     /**
      * Constructeur de la carte.
+     * La carte tire ses valeurs aléatoires dans le générateur courant de {@link Des},
+     * c'est-à-dire celui de la partie en cours sur ce thread.
      *
      * @param largeur la largeur de la carte (nombre de colonnes)
      * @param hauteur la hauteur de la carte (nombre de lignes)
@@ -25,11 +73,214 @@ public class Carte {
         this.m_largeur = largeur;
         this.m_hauteur = hauteur;
         this.m_cases = new Case[hauteur][largeur]; // [ligne][colonne]
+        this.m_positions = new HashMap<>();
+        this.m_motsParLigne = (largeur + 63) >>> 6;
+        this.m_masqueDernierMot = (largeur & 63) == 0 ? -1L : (1L << (largeur & 63)) - 1;
+        this.m_obstacles = new long[m_motsParLigne * hauteur];
+        this.m_occupees = new long[m_motsParLigne * hauteur];
+        this.m_objets = new long[m_motsParLigne * hauteur];
+        this.m_observateurs = new ArrayList<>();
+        this.m_generateur = Des.getGenerateur();
         for (int y = 0; y < hauteur; y++) {
             for (int x = 0; x < largeur; x++) {
                 m_cases[y][x] = new Case(x, y);
+                m_cases[y][x].setCarte(this);
+            }
+        }
+    }
+
+    /**
+     * Crée une copie indépendante de la carte : mêmes dimensions, mêmes obstacles
+     * et copies des équipements posés au sol.
+     * Les éléments mobiles ne sont pas copiés : chaque utilisateur de la copie y place ses propres entités.
+     *
+     * @return la copie de la carte
+     */
+    public Carte copier() {
+        Carte copie = new Carte(m_largeur, m_hauteur);
+        copie.m_carteParDefaut = m_carteParDefaut;
+        for (int mot = 0; mot < m_obstacles.length; mot++) {
+            long obstacles = m_obstacles[mot];
+            while (obstacles != 0) {
+                int y = mot / m_motsParLigne;
+                int x = ((mot % m_motsParLigne) << 6) + Long.numberOfTrailingZeros(obstacles);
+                copie.m_cases[y][x].setEstObstacle(true);
+                obstacles &= obstacles - 1;
+            }
+            long objets = m_objets[mot];
+            while (objets != 0) {
+                int y = mot / m_motsParLigne;
+                int x = ((mot % m_motsParLigne) << 6) + Long.numberOfTrailingZeros(objets);
+                for (ElementCarte element : m_cases[y][x].getContenu()) {
+                    if (element.estEquipement()) {
+                        copie.m_cases[y][x].ajouterContenu(((Equipement) element).copier());
+                    }
+                }
+                objets &= objets - 1;
+            }
+        }
+        return copie;
+    }
+
+    /**
+     * Écrit la carte dans une sauvegarde : dimensions, couche de bits des obstacles telle quelle,
+     * puis le contenu des seules cases non vides, trouvées dans les couches d'occupation et d'objets.
+     * Chaque élément est écrit par l'identifiant qu'il a reçu dans la sauvegarde ; un équipement
+     * sans identifiant est écrit sur place (identifiant -1 suivi de l'équipement).
+     *
+     * @param sortie la sauvegarde
+     * @throws IllegalStateException si un élément mobile de la carte n'a pas été écrit avant la carte
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireEntier(m_largeur);
+        sortie.ecrireEntier(m_hauteur);
+        sortie.ecrireBooleen(m_carteParDefaut);
+        sortie.ecrireLongs(m_obstacles);
+
+        int nombreCases = 0;
+        for (int mot = 0; mot < m_occupees.length; mot++) {
+            nombreCases += Long.bitCount(m_occupees[mot] | m_objets[mot]);
+        }
+        sortie.ecrireEntier(nombreCases);
+        for (int mot = 0; mot < m_occupees.length; mot++) {
+            long nonVides = m_occupees[mot] | m_objets[mot];
+            while (nonVides != 0) {
+                int y = mot / m_motsParLigne;
+                int x = ((mot % m_motsParLigne) << 6) + Long.numberOfTrailingZeros(nonVides);
+                sortie.ecrireEntier(y * m_largeur + x);
+                ecrireContenu(sortie, m_cases[y][x]);
+                nonVides &= nonVides - 1;
+            }
+        }
+    }
+
+    /**
+     * Écrit l'état de quelques cases (statut d'obstacle et contenu), pour un journal de modifications.
+     *
+     * @param sortie la sauvegarde
+     * @param indices les indices des cases (y * largeur + x)
+     * @param nombre le nombre d'indices à prendre au début du tableau
+     * @throws IllegalStateException si un élément mobile d'une case n'a pas été écrit avant
+     */
+    public void sauvegarderCases(EcritureSauvegarde sortie, int[] indices, int nombre) {
+        sortie.ecrireEntier(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Case caseCarte = m_cases[indices[i] / m_largeur][indices[i] % m_largeur];
+            sortie.ecrireEntier(indices[i]);
+            sortie.ecrireBooleen(caseCarte.estObstacle());
+            ecrireContenu(sortie, caseCarte);
+        }
+    }
+
+    /**
+     * Relit des cases écrites par {@link #sauvegarderCases(EcritureSauvegarde, int[], int)} et remplace
+     * leur état. Toutes les cases sont vidées avant d'être remplies : un élément qui passe
+     * de l'une à l'autre ne se trouve jamais sur deux cases à la fois.
+     *
+     * @param entree la sauvegarde
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurerCases(LectureSauvegarde entree) {
+        int nombre = entree.lireTaille();
+        Case[] cases = new Case[nombre];
+        boolean[] obstacles = new boolean[nombre];
+        List<List<ElementCarte>> contenus = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            cases[i] = lireCase(entree);
+            obstacles[i] = entree.lireBooleen();
+            List<ElementCarte> contenu = new ArrayList<>();
+            lireContenu(entree, contenu::add);
+            contenus.add(contenu);
+        }
+        for (Case caseCarte : cases) {
+            for (ElementCarte element : caseCarte.getContenu()) {
+                caseCarte.retirerContenu(element);
+            }
+        }
+        for (int i = 0; i < nombre; i++) {
+            if (cases[i].estObstacle() != obstacles[i]) {
+                cases[i].setEstObstacle(obstacles[i]);
+            }
+            for (ElementCarte element : contenus.get(i)) {
+                cases[i].ajouterContenu(element);
+            }
+        }
+    }
+
+    /**
+     * Écrit le contenu d'une case : chaque élément par l'identifiant qu'il a reçu dans la sauvegarde,
+     * ou sur place (identifiant -1 suivi de l'équipement) pour un équipement sans identifiant.
+     */
+    private static void ecrireContenu(EcritureSauvegarde sortie, Case caseCarte) {
+        List<ElementCarte> contenu = caseCarte.getContenu();
+        sortie.ecrireEntier(contenu.size());
+        for (ElementCarte element : contenu) {
+            int identifiant = sortie.identifiant(element);
+            if (identifiant >= 0) {
+                sortie.ecrireEntier(identifiant);
+            } else if (element.estEquipement()) {
+                sortie.ecrireEntier(-1);
+                CatalogueSauvegarde.ecrireEquipement(sortie, (Equipement) element);
+            } else {
+                throw new IllegalStateException("Élément de la carte absent de la sauvegarde : " + element.getNom());
+            }
+        }
+    }
+
+    private static void lireContenu(LectureSauvegarde entree, Consumer<ElementCarte> destination) {
+        int taille = entree.lireTaille();
+        for (int j = 0; j < taille; j++) {
+            int identifiant = entree.lireEntier();
+            destination.accept(identifiant == -1
+                    ? CatalogueSauvegarde.lireEquipement(entree)
+                    : entree.objet(identifiant, ElementCarte.class));
+        }
+    }
+
+    private Case lireCase(LectureSauvegarde entree) {
+        int indice = entree.lireEntier();
+        if (indice < 0 || indice >= m_largeur * m_hauteur) {
+            throw new IllegalStateException("Sauvegarde corrompue : case " + indice + " hors de la carte");
+        }
+        return m_cases[indice / m_largeur][indice % m_largeur];
+    }
+
+    /**
+     * Relit une carte écrite par {@link #sauvegarder(EcritureSauvegarde)}.
+     * Les éléments référencés par identifiant doivent avoir été relus avant la carte.
+     *
+     * @param entree la sauvegarde
+     * @return la carte, avec ses obstacles et son contenu
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public static Carte restaurer(LectureSauvegarde entree) {
+        int largeur = entree.lireEntier();
+        int hauteur = entree.lireEntier();
+        if (largeur <= 0 || hauteur <= 0) {
+            throw new IllegalStateException("Sauvegarde corrompue : carte de " + largeur + "x" + hauteur);
+        }
+        Carte carte = new Carte(largeur, hauteur);
+        carte.m_carteParDefaut = entree.lireBooleen();
+
+        long[] obstacles = entree.lireLongs();
+        if (obstacles.length != carte.m_obstacles.length) {
+            throw new IllegalStateException("Sauvegarde corrompue : couche d'obstacles de " + obstacles.length + " mots");
+        }
+        for (int mot = 0; mot < obstacles.length; mot++) {
+            long bits = obstacles[mot] & (mot % carte.m_motsParLigne == carte.m_motsParLigne - 1 ? carte.m_masqueDernierMot : -1L);
+            while (bits != 0) {
+                int y = mot / carte.m_motsParLigne;
+                int x = ((mot % carte.m_motsParLigne) << 6) + Long.numberOfTrailingZeros(bits);
+                carte.m_cases[y][x].setEstObstacle(true);
+                bits &= bits - 1;
             }
         }
+
+        int nombreCases = entree.lireTaille();
+        for (int i = 0; i < nombreCases; i++) {
+            lireContenu(entree, carte.lireCase(entree)::ajouterContenu);
+        }
+        return carte;
     }
 
     /**
@@ -57,14 +308,11 @@ public class Carte {
      * @return Optional contenant la case si trouvée, Optional.empty() sinon
      */
     public Optional<Case> getCase(ElementMobile element) {
-        for (int y = 0; y < m_hauteur; y++) {
-            for (int x = 0; x < m_largeur; x++) {
-                if (m_cases[y][x].contient(element)) {
-                    return Optional.of(m_cases[y][x]);
-                }
-            }
+        Case caseElement = m_positions.get(element);
+        if (m_verificationIndex) {
+            verifierRecherche(element, caseElement);
         }
-        return Optional.empty();
+        return Optional.ofNullable(caseElement);
     }
 
     /**
@@ -74,14 +322,7 @@ public class Carte {
      * @return true si l'élément est présent sur la carte, false sinon
      */
     public boolean contientElement(ElementMobile element) {
-        for (int y = 0; y < m_hauteur; y++) {
-            for (int x = 0; x < m_largeur; x++) {
-                if (m_cases[y][x].contient(element)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return getCase(element).isPresent();
     }
 
     /**
@@ -91,14 +332,7 @@ public class Carte {
      * @return Optional contenant les coordonnées [x,y] si trouvées, Optional.empty() sinon
      */
     public Optional<int[]> trouverPosition(ElementMobile element) {
-        for (int y = 0; y < m_hauteur; y++) {
-            for (int x = 0; x < m_largeur; x++) {
-                if (m_cases[y][x].contient(element)) {
-                    return Optional.of(new int[]{x, y});
-                }
-            }
-        }
-        return Optional.empty();
+        return getCase(element).map(c -> new int[]{c.getX(), c.getY()});
     }
 
     /**
@@ -128,7 +362,25 @@ public class Carte {
         if (x < 0 || x >= m_largeur || y < 0 || y >= m_hauteur) {
             throw new IndexOutOfBoundsException("Coordonnées en dehors de la carte");
         }
-        m_cases[y][x] = uneCase; 
+        Case ancienneCase = m_cases[y][x];
+        if (ancienneCase != null) {
+            for (ElementMobile element : ancienneCase.getElementsMobiles()) {
+                elementRetire(ancienneCase, element);
+            }
+            ancienneCase.setCarte(null);
+        }
+        m_cases[y][x] = uneCase;
+        if (uneCase != null) {
+            uneCase.setCarte(this);
+            for (ElementMobile element : uneCase.getElementsMobiles()) {
+                elementAjoute(uneCase, element);
+            }
+        }
+        rafraichirBits(x, y, uneCase);
+        for (ObservateurCarte observateur : m_observateurs) {
+            observateur.obstacleModifie(x, y);
+            observateur.contenuModifie(x, y);
+        }
     }
 
     /**
@@ -154,22 +406,31 @@ public class Carte {
      * @return true si l'élément a été ajouté avec succès, false sinon
      */
     public boolean ajouterContenuAleatoire(ElementCarte element) {
-        Random rand = new Random();
-        int tentatives = 0;
-        int maxTentatives = m_largeur * m_hauteur * 2; // Limite pour éviter boucle infinie
-
         try {
-            while (tentatives < maxTentatives) {
-                int x = rand.nextInt(m_largeur);
-                int y = rand.nextInt(m_hauteur);
-                if (m_cases[y][x].estVide() && !m_cases[y][x].estObstacle() && !m_cases[y][x].contientElementMobile()) {
+            int nbCasesLibres = 0;
+            for (int mot = 0; mot < m_obstacles.length; mot++) {
+                nbCasesLibres += Long.bitCount(motVide(mot));
+            }
+            if (nbCasesLibres == 0) {
+                throw new Exception("Impossible d'ajouter l'élément : aucune case vide disponible.");
+            }
+
+            // Tirage uniforme parmi les cases libres, puis recherche du bit correspondant
+            int rang = m_generateur.nextInt(nbCasesLibres);
+            for (int mot = 0; mot < m_obstacles.length; mot++) {
+                long libres = motVide(mot);
+                int nb = Long.bitCount(libres);
+                if (rang < nb) {
+                    for (int i = 0; i < rang; i++) {
+                        libres &= libres - 1; // Retire le bit de poids faible
+                    }
+                    int y = mot / m_motsParLigne;
+                    int x = ((mot % m_motsParLigne) << 6) + Long.numberOfTrailingZeros(libres);
                     m_cases[y][x].ajouterContenu(element);
                     return true;
                 }
-                tentatives++;
+                rang -= nb;
             }
-
-            throw new Exception("Impossible d'ajouter l'élément : aucune case vide disponible.");
         } catch (Exception e) {
             System.err.println(e.getMessage());
         }
@@ -195,11 +456,38 @@ public class Carte {
      * @return true si la case est accessible, false sinon
      */
     public boolean estCaseAccessible(int x, int y) {
-        Case caseCible = getCase(x, y);
-        if (coordonneesValides(x, y)) {
-            return caseCible.estAccessible();
+        if (!coordonneesValides(x, y)) {
+            return false;
         }
-        return false;
+        int mot = y * m_motsParLigne + (x >>> 6);
+        return ((m_obstacles[mot] | m_occupees[mot]) & (1L << x)) == 0;
+    }
+
+    /**
+     * Vérifie si une case est un obstacle, sans passer par l'objet Case.
+     *
+     * @param x coordonnée x (colonne)
+     * @param y coordonnée y (ligne)
+     * @return true si la case est un obstacle ou hors de la carte, false sinon
+     */
+    public boolean estObstacle(int x, int y) {
+        if (!coordonneesValides(x, y)) {
+            return true;
+        }
+        return (m_obstacles[y * m_motsParLigne + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Vérifie si une case ne contient rien (ni obstacle, ni élément), sans passer par l'objet Case.
+     * Les coordonnées doivent être valides.
+     *
+     * @param x coordonnée x (colonne)
+     * @param y coordonnée y (ligne)
+     * @return true si la case est vide
+     */
+    boolean estCaseVide(int x, int y) {
+        int mot = y * m_motsParLigne + (x >>> 6);
+        return ((m_obstacles[mot] | m_occupees[mot] | m_objets[mot]) & (1L << x)) == 0;
     }
 
     /**
@@ -241,12 +529,28 @@ public class Carte {
      */
     public List<int[]> getCasesAccessibles(int xCentre, int yCentre, int rayon) {
         List<int[]> casesAccessibles = new ArrayList<>();
+        if (rayon < 0) {
+            return casesAccessibles;
+        }
+
+        // Le carré de côté 2 * rayon + 1 est exactement le disque de Chebyshev de ce rayon
+        int xMin = Math.max(0, xCentre - rayon);
+        int xMax = Math.min(m_largeur - 1, xCentre + rayon);
+        int yMin = Math.max(0, yCentre - rayon);
+        int yMax = Math.min(m_hauteur - 1, yCentre + rayon);
+        if (xMin > xMax || yMin > yMax) {
+            return casesAccessibles;
+        }
 
-        for (int y = yCentre - rayon; y <= yCentre + rayon; y++) {
-            for (int x = xCentre - rayon; x <= xCentre + rayon; x++) {
-                if (coordonneesValides(x, y) && calculerDistance(xCentre, yCentre, x, y) <= rayon &&
-                        estCaseAccessible(x, y)) {
+        for (int y = yMin; y <= yMax; y++) {
+            for (int colonneMot = xMin >>> 6; colonneMot <= xMax >>> 6; colonneMot++) {
+                int mot = y * m_motsParLigne + colonneMot;
+                long libres = ~(m_obstacles[mot] | m_occupees[mot])
+                        & masqueIntervalle(colonneMot, xMin, xMax);
+                while (libres != 0) {
+                    int x = (colonneMot << 6) + Long.numberOfTrailingZeros(libres);
                     casesAccessibles.add(new int[]{x, y});
+                    libres &= libres - 1;
                 }
             }
         }
@@ -254,6 +558,213 @@ public class Carte {
         return casesAccessibles;
     }
 
+    /**
+     * Retourne le masque des bits d'un mot de ligne compris entre deux colonnes (incluses).
+     *
+     * @param colonneMot rang du mot dans la ligne
+     * @param xMin première colonne retenue
+     * @param xMax dernière colonne retenue
+     * @return le masque des colonnes [xMin, xMax] appartenant à ce mot
+     */
+    private static long masqueIntervalle(int colonneMot, int xMin, int xMax) {
+        int debut = Math.max(xMin - (colonneMot << 6), 0);
+        int fin = Math.min(xMax - (colonneMot << 6), 63);
+        long masqueHaut = fin == 63 ? -1L : (1L << (fin + 1)) - 1;
+        return masqueHaut & (-1L << debut);
+    }
+
+    /**
+     * Retourne les cases complètement vides (ni obstacle, ni élément) d'un mot de la carte.
+     *
+     * @param mot indice du mot dans les couches de bits
+     * @return les bits des cases vides de ce mot
+     */
+    private long motVide(int mot) {
+        long vides = ~(m_obstacles[mot] | m_occupees[mot] | m_objets[mot]);
+        if (mot % m_motsParLigne == m_motsParLigne - 1) {
+            vides &= m_masqueDernierMot;
+        }
+        return vides;
+    }
+
+    /**
+     * Recalcule les bits d'obstacle, d'occupation et d'objet d'une case.
+     *
+     * @param x coordonnée x de la case
+     * @param y coordonnée y de la case
+     * @param caseCarte la case (peut être null, elle est alors considérée vide)
+     */
+    private void rafraichirBits(int x, int y, Case caseCarte) {
+        int mot = y * m_motsParLigne + (x >>> 6);
+        long bit = 1L << x;
+        m_obstacles[mot] = caseCarte != null && caseCarte.estObstacle() ? m_obstacles[mot] | bit : m_obstacles[mot] & ~bit;
+        m_occupees[mot] = caseCarte != null && caseCarte.contientElementMobile() ? m_occupees[mot] | bit : m_occupees[mot] & ~bit;
+        m_objets[mot] = caseCarte != null && caseCarte.contientObjet() ? m_objets[mot] | bit : m_objets[mot] & ~bit;
+    }
+
+    /**
+     * Met à jour la couche des obstacles après un changement de statut d'une case.
+     * Appelée par {@link Case#setEstObstacle(boolean)}.
+     *
+     * @param caseCarte la case modifiée
+     */
+    void obstacleModifie(Case caseCarte) {
+        rafraichirBits(caseCarte.getX(), caseCarte.getY(), caseCarte);
+        for (ObservateurCarte observateur : m_observateurs) {
+            observateur.obstacleModifie(caseCarte.getX(), caseCarte.getY());
+        }
+    }
+
+    /**
+     * Prévient les observateurs qu'un élément a été ajouté ou retiré d'une case.
+     *
+     * @param caseCarte la case modifiée
+     */
+    private void notifierContenuModifie(Case caseCarte) {
+        for (ObservateurCarte observateur : m_observateurs) {
+            observateur.contenuModifie(caseCarte.getX(), caseCarte.getY());
+        }
+    }
+
+    /**
+     * Ajoute un observateur prévenu de chaque modification d'une case de la carte.
+     *
+     * @param observateur l'observateur à ajouter
+     */
+    public void ajouterObservateur(ObservateurCarte observateur) {
+        m_observateurs.add(observateur);
+    }
+
+    /**
+     * Retire un observateur de la carte.
+     *
+     * @param observateur l'observateur à retirer
+     */
+    public void retirerObservateur(ObservateurCarte observateur) {
+        m_observateurs.remove(observateur);
+    }
+
+    /**
+     * Retourne le champ de flux de la carte, partagé par tous les éléments qui s'y déplacent.
+     * Il est créé et abonné aux modifications de la carte à la première demande.
+     *
+     * @return le champ de flux de la carte
+     */
+    public ChampDeFlux getChampDeFlux() {
+        if (m_champDeFlux == null) {
+            m_champDeFlux = new ChampDeFlux(this);
+            ajouterObservateur(m_champDeFlux);
+        }
+        return m_champDeFlux;
+    }
+
+    /**
+     * Met à jour l'index des positions après l'ajout d'un élément dans une case de la carte.
+     * Appelée par {@link Case#ajouterContenu(ElementCarte)}.
+     *
+     * @param caseElement la case qui vient de recevoir l'élément
+     * @param element l'élément ajouté
+     */
+    void elementAjoute(Case caseElement, ElementCarte element) {
+        if (element.estElementMobile()) {
+            m_positions.put((ElementMobile) element, caseElement);
+        }
+        rafraichirBits(caseElement.getX(), caseElement.getY(), caseElement);
+        if (element.estElementMobile()) {
+            for (ObservateurCarte observateur : m_observateurs) {
+                observateur.elementMobileAjoute((ElementMobile) element, caseElement.getX(), caseElement.getY());
+            }
+        }
+        notifierContenuModifie(caseElement);
+    }
+
+    /**
+     * Met à jour l'index des positions après le retrait d'un élément d'une case de la carte.
+     * Appelée par {@link Case#retirerContenu(ElementCarte)}.
+     *
+     * @param caseElement la case d'où l'élément vient d'être retiré
+     * @param element l'élément retiré
+     */
+    void elementRetire(Case caseElement, ElementCarte element) {
+        rafraichirBits(caseElement.getX(), caseElement.getY(), caseElement);
+        if (element.estElementMobile()) {
+            m_positions.remove((ElementMobile) element, caseElement);
+            for (ObservateurCarte observateur : m_observateurs) {
+                observateur.elementMobileRetire((ElementMobile) element, caseElement.getX(), caseElement.getY());
+            }
+        }
+        notifierContenuModifie(caseElement);
+    }
+
+    /**
+     * Active ou désactive le mode de vérification de l'index des positions.
+     * En mode vérification, chaque recherche de position est comparée au résultat d'un
+     * parcours complet de la grille ; une incohérence lève une IllegalStateException.
+     * Ce mode est coûteux et réservé aux tests.
+     *
+     * @param verification true pour activer la vérification, false pour la désactiver
+     */
+    public void setVerificationIndex(boolean verification) {
+        this.m_verificationIndex = verification;
+    }
+
+    /**
+     * Vérifie que l'index des positions correspond exactement au contenu des cases :
+     * chaque élément mobile posé sur la carte est indexé sur sa case, l'index
+     * ne référence aucun élément absent de la grille, et les couches de bits
+     * reflètent l'état de chaque case.
+     *
+     * @throws IllegalStateException si l'index est incohérent
+     */
+    public void verifierIndex() {
+        int nbElementsMobiles = 0;
+        for (int y = 0; y < m_hauteur; y++) {
+            for (int x = 0; x < m_largeur; x++) {
+                Case caseCarte = m_cases[y][x];
+                int mot = y * m_motsParLigne + (x >>> 6);
+                long bit = 1L << x;
+                if (((m_obstacles[mot] & bit) != 0) != caseCarte.estObstacle()
+                        || ((m_occupees[mot] & bit) != 0) != caseCarte.contientElementMobile()
+                        || ((m_objets[mot] & bit) != 0) != caseCarte.contientObjet()) {
+                    throw new IllegalStateException("Couches de bits incohérentes en " + coordonneesToString(x, y));
+                }
+                for (ElementMobile element : caseCarte.getElementsMobiles()) {
+                    nbElementsMobiles++;
+                    if (m_positions.get(element) != m_cases[y][x]) {
+                        throw new IllegalStateException("Index incohérent : " + element.getNom()
+                                + " est en " + coordonneesToString(x, y) + " mais n'y est pas indexé");
+                    }
+                }
+            }
+        }
+        if (nbElementsMobiles != m_positions.size()) {
+            throw new IllegalStateException("Index incohérent : " + m_positions.size()
+                    + " éléments indexés pour " + nbElementsMobiles + " éléments sur la carte");
+        }
+    }
+
+    /**
+     * Compare le résultat de l'index avec un parcours complet de la grille.
+     *
+     * @param element l'élément recherché
+     * @param caseIndexee la case trouvée par l'index (peut être null)
+     * @throws IllegalStateException si le parcours ne trouve pas la même case
+     */
+    private void verifierRecherche(ElementMobile element, Case caseIndexee) {
+        Case caseParcourue = null;
+        for (int y = 0; y < m_hauteur && caseParcourue == null; y++) {
+            for (int x = 0; x < m_largeur; x++) {
+                if (m_cases[y][x].contient(element)) {
+                    caseParcourue = m_cases[y][x];
+                    break;
+                }
+            }
+        }
+        if (caseParcourue != caseIndexee) {
+            throw new IllegalStateException("Index incohérent pour " + element.getNom());
+        }
+    }
+
     /**
      * Calcule la distance entre deux points (distance de Chebyshev).
      * La distance de Chebyshev est le maximum des différences absolues des coordonnées.
@@ -268,6 +779,28 @@ public class Carte {
         return Math.max(Math.abs(x2 - x1), Math.abs(y2 - y1));
     }
 
+    /**
+     * Retourne le générateur des tirages aléatoires de la carte.
+     *
+     * @return le générateur de la carte
+     */
+    public GenerateurAleatoire getGenerateur() {
+        return m_generateur;
+    }
+
+    /**
+     * Remplace le générateur des tirages aléatoires de la carte.
+     *
+     * @param generateur le nouveau générateur
+     * @throws IllegalArgumentException si le générateur est null
+     */
+    public void setGenerateur(GenerateurAleatoire generateur) {
+        if (generateur == null) {
+            throw new IllegalArgumentException("Le générateur ne peut pas être null");
+        }
+        this.m_generateur = generateur;
+    }
+
     /**
      * Retourne si la carte est la carte par défaut.
      *
@@ -358,10 +891,9 @@ public class Carte {
             throw new IllegalArgumentException("Le taux d'obstacles doit être entre 0.0 et 1.0");
         }
 
-        Random rand = new Random();
         for (int y = 0; y < m_hauteur; y++) {
             for (int x = 0; x < m_largeur; x++) {
-                if (rand.nextDouble() < tauxObstacle) {
+                if (m_generateur.nextDouble() < tauxObstacle) {
                     m_cases[y][x].setEstObstacle(true);
                 }
             }
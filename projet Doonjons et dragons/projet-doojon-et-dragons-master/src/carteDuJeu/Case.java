@@ -11,6 +11,12 @@ import carteDuJeu.personnages.equipements.Equipement;
  * Elle peut également être marquée comme obstacle, empêchant le passage des éléments mobiles.
  */
 public class Case {
+    /** Symbole d'une case obstacle */
+    static final String SYMBOLE_OBSTACLE = "[ ] ";
+
+    /** Symbole d'une case vide */
+    static final String SYMBOLE_VIDE = " .  ";
+
     /** Coordonnée x de la case */
     private int m_x;
 
@@ -23,6 +29,9 @@ public class Case {
     /** Liste des éléments contenus dans cette case */
     private List<ElementCarte> m_contenu;
 
+    /** Carte à laquelle appartient la case, prévenue à chaque modification (peut être null) */
+    private Carte m_carte;
+
     /**
      * Constructeur principal pour créer une case avec des coordonnées et un statut d'obstacle spécifiques.
      *
@@ -92,6 +101,9 @@ public class Case {
      */
     public void setEstObstacle(boolean estObstacle) {
         this.m_estObstacle = estObstacle;
+        if (m_carte != null) {
+            m_carte.obstacleModifie(this);
+        }
     }
 
     /**
@@ -103,6 +115,9 @@ public class Case {
     public void ajouterContenu(ElementCarte element) {
         if (element != null) {
             m_contenu.add(element);
+            if (m_carte != null) {
+                m_carte.elementAjoute(this, element);
+            }
         }
     }
 
@@ -113,7 +128,30 @@ public class Case {
      * @return true si l'élément a été retiré avec succès, false si l'élément n'était pas présent
      */
     public boolean retirerContenu(ElementCarte element) {
-        return m_contenu.remove(element);
+        boolean retire = m_contenu.remove(element);
+        if (retire && m_carte != null) {
+            m_carte.elementRetire(this, element);
+        }
+        return retire;
+    }
+
+    /**
+     * Retourne la carte à laquelle appartient la case.
+     *
+     * @return la carte propriétaire, ou null si la case n'est rattachée à aucune carte
+     */
+    Carte getCarte() {
+        return m_carte;
+    }
+
+    /**
+     * Rattache la case à une carte, qui sera prévenue de chaque ajout ou retrait d'élément
+     * et de chaque changement de statut d'obstacle.
+     *
+     * @param carte la carte propriétaire (null pour détacher la case)
+     */
+    void setCarte(Carte carte) {
+        this.m_carte = carte;
     }
 
     /**
@@ -161,6 +199,20 @@ public class Case {
         return false;
     }
 
+    /**
+     * Vérifie si la case contient au moins un élément non mobile (équipement posé au sol, etc.).
+     *
+     * @return true si la case contient un élément non mobile, false sinon
+     */
+    public boolean contientObjet() {
+        for (ElementCarte element : m_contenu) {
+            if (!element.estElementMobile()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Retourne le premier élément mobile trouvé sur la case.
      * Utilise Optional pour éviter les références null.
@@ -216,7 +268,7 @@ public class Case {
     @Override
     public String toString() {
         if (m_estObstacle) {
-            return "[ ] ";
+            return SYMBOLE_OBSTACLE;
         } else if (!m_contenu.isEmpty()) {
             for (ElementCarte element : m_contenu) {
                 if (element.estElementMobile()) {
@@ -226,7 +278,7 @@ public class Case {
             ElementCarte premierElement = m_contenu.get(0);
             return premierElement.getSymbole(); // Retourne le symbole du premier élément non mobile
         } else {
-            return " .  ";  /* Case vide */
+            return SYMBOLE_VIDE;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package carteDuJeu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Champs de distances (cartes de Dijkstra) calculés vers un groupe de cibles.
+ *
+ * Pour un groupe de cibles donné, un parcours en largeur à sources multiples calcule une fois
+ * la distance de chaque case à la cible la plus proche, en contournant les obstacles
+ * (8 voisins, coût 1, même règle des coins de mur que {@link RechercheChemin}).
+ * Tous les éléments qui poursuivent ce groupe partagent ensuite le même champ :
+ * choisir le prochain pas revient à regarder les 8 voisins de sa case.
+ *
+ * Un groupe est reconnu par l'identité de sa liste, sans la copier ni la hacher : on passe toujours
+ * la même liste (par exemple les monstres du donjon) pour retrouver son champ. Les cibles mortes
+ * de la liste sont ignorées au calcul, et un membre ajouté à la liste fait recalculer le champ.
+ *
+ * Les éléments mobiles ne sont pas pris en compte dans le calcul (ils bougent sans cesse) ;
+ * ils sont seulement évités au moment de choisir un pas.
+ *
+ * Le champ est abonné aux modifications de la carte et n'invalide que ce qui est touché :
+ * un obstacle posé ou retiré n'invalide que les champs dont la zone explorée borde la case,
+ * et un déplacement n'invalide que les champs dont une cible quitte ou rejoint la case
+ * (y compris une cible qui n'était pas sur la carte au moment du calcul).
+ * Le recalcul est paresseux et n'a lieu qu'à la prochaine demande.
+ */
+public class ChampDeFlux implements ObservateurCarte {
+    /** Distance des cases qui ne peuvent pas atteindre une cible */
+    public static final int INATTEIGNABLE = Integer.MAX_VALUE;
+
+    /** Nombre maximal de groupes de cibles gardés en cache */
+    private static final int NOMBRE_CHAMPS_MAX = 16;
+
+    private static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private final Carte m_carte;
+    private final int m_largeur;
+    private final int m_hauteur;
+
+    /** Champs calculés, du plus récemment utilisé au moins récent */
+    private final Champ[] m_champs = new Champ[NOMBRE_CHAMPS_MAX];
+    private int m_nombreChamps = 0;
+
+    /** File de parcours partagée par tous les calculs */
+    private final int[] m_file;
+
+    /**
+     * Distances vers un groupe de cibles, et positions des cibles au moment du calcul.
+     */
+    private static class Champ {
+        private final int[] m_distances;
+        /** Liste du groupe poursuivi, comparée par identité */
+        private List<? extends ElementMobile> m_groupe;
+        /** Taille du groupe au moment du calcul */
+        private int m_tailleGroupe;
+        private int[] m_casesCibles = new int[0];
+        /** Cibles vivantes du groupe qui n'étaient sur aucune case au moment du calcul */
+        private ElementMobile[] m_ciblesAbsentes = new ElementMobile[0];
+        private boolean m_valide = false;
+
+        private Champ(int nbCases) {
+            this.m_distances = new int[nbCases];
+        }
+    }
+
+    /**
+     * Construit le service de champs de flux d'une carte.
+     * Utiliser plutôt {@link Carte#getChampDeFlux()}, qui l'abonne aux modifications de la carte.
+     *
+     * @param carte la carte sur laquelle calculer les champs
+     */
+    ChampDeFlux(Carte carte) {
+        this.m_carte = carte;
+        this.m_largeur = carte.getLargeur();
+        this.m_hauteur = carte.getHauteur();
+        this.m_file = new int[m_largeur * m_hauteur];
+    }
+
+    /**
+     * Retourne la distance d'une case à la cible la plus proche du groupe.
+     *
+     * @param cibles le groupe de cibles poursuivies, reconnu par l'identité de la liste
+     * @param x coordonnée x de la case
+     * @param y coordonnée y de la case
+     * @return la distance en nombre de pas, ou {@link #INATTEIGNABLE}
+     */
+    public int distance(List<? extends ElementMobile> cibles, int x, int y) {
+        if (!m_carte.coordonneesValides(x, y)) {
+            return INATTEIGNABLE;
+        }
+        return champ(cibles).m_distances[y * m_largeur + x];
+    }
+
+    /**
+     * Choisit le pas qui rapproche le plus un élément du groupe de cibles.
+     *
+     * @param element l'élément qui se déplace
+     * @param cibles le groupe de cibles poursuivies, reconnu par l'identité de la liste
+     * @return la case [x,y] voisine à rejoindre, ou Optional.empty() si aucun pas ne rapproche l'élément
+     */
+    public Optional<int[]> prochainPas(ElementMobile element, List<? extends ElementMobile> cibles) {
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+        int suivante = meilleurVoisin(champ(cibles), position.get()[0], position.get()[1]);
+        if (suivante < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new int[]{suivante % m_largeur, suivante / m_largeur});
+    }
+
+    /**
+     * Descend le champ pas à pas depuis la position d'un élément, sans dépasser son déplacement.
+     * La case rendue est reliée à l'élément par un chemin libre d'au plus casesMax cases.
+     *
+     * @param element l'élément qui se déplace
+     * @param cibles le groupe de cibles poursuivies, reconnu par l'identité de la liste
+     * @param casesMax nombre maximal de pas
+     * @return la case [x,y] atteinte, ou Optional.empty() si l'élément ne peut pas se rapprocher
+     */
+    public Optional<int[]> destination(ElementMobile element, List<? extends ElementMobile> cibles, int casesMax) {
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+        Champ champ = champ(cibles);
+        int x = position.get()[0];
+        int y = position.get()[1];
+        boolean deplace = false;
+        for (int pas = 0; pas < casesMax; pas++) {
+            int suivante = meilleurVoisin(champ, x, y);
+            if (suivante < 0) {
+                break;
+            }
+            x = suivante % m_largeur;
+            y = suivante / m_largeur;
+            deplace = true;
+        }
+        return deplace ? Optional.of(new int[]{x, y}) : Optional.empty();
+    }
+
+    /**
+     * Oublie tous les champs calculés.
+     */
+    public void vider() {
+        Arrays.fill(m_champs, null);
+        m_nombreChamps = 0;
+    }
+
+    /*============================Section Observateur============================*/
+
+    /**
+     * Invalide les champs dont une cible était ou arrive sur la case modifiée.
+     */
+    @Override
+    public void contenuModifie(int x, int y) {
+        int indice = y * m_largeur + x;
+        for (int i = 0; i < m_nombreChamps; i++) {
+            Champ champ = m_champs[i];
+            if (champ.m_valide && (cibleSurCase(champ, indice) || cibleAbsenteArrivee(champ, x, y))) {
+                champ.m_valide = false;
+            }
+        }
+    }
+
+    private static boolean cibleSurCase(Champ champ, int indice) {
+        for (int caseCible : champ.m_casesCibles) {
+            if (caseCible == indice) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si une cible absente au moment du calcul se trouve maintenant sur la case.
+     */
+    private boolean cibleAbsenteArrivee(Champ champ, int x, int y) {
+        if (champ.m_ciblesAbsentes.length == 0) {
+            return false;
+        }
+        Case caseModifiee = m_carte.getCase(x, y);
+        for (ElementMobile cible : champ.m_ciblesAbsentes) {
+            if (caseModifiee.contient(cible)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invalide les champs dont la zone explorée touche la case modifiée
+     * (la case elle-même ou l'une de ses voisines avait une distance finie).
+     */
+    @Override
+    public void obstacleModifie(int x, int y) {
+        for (int i = 0; i < m_nombreChamps; i++) {
+            Champ champ = m_champs[i];
+            if (champ.m_valide && zoneExploreeTouche(champ, x, y)) {
+                champ.m_valide = false;
+            }
+        }
+    }
+
+    /*============================Section Calcul============================*/
+
+    /**
+     * Retourne le champ à jour d'un groupe de cibles, en le calculant si nécessaire,
+     * et le place en tête des champs les plus récemment utilisés.
+     */
+    private Champ champ(List<? extends ElementMobile> cibles) {
+        int rang = 0;
+        while (rang < m_nombreChamps && m_champs[rang].m_groupe != cibles) {
+            rang++;
+        }
+        Champ champ;
+        if (rang < m_nombreChamps) {
+            champ = m_champs[rang];
+        } else if (m_nombreChamps < NOMBRE_CHAMPS_MAX) {
+            champ = new Champ(m_largeur * m_hauteur);
+            rang = m_nombreChamps++;
+        } else {
+            // Le champ le moins récemment utilisé passe au nouveau groupe et garde son tableau de distances
+            rang = m_nombreChamps - 1;
+            champ = m_champs[rang];
+        }
+        System.arraycopy(m_champs, 0, m_champs, 1, rang);
+        m_champs[0] = champ;
+        if (champ.m_groupe != cibles) {
+            champ.m_groupe = cibles;
+            champ.m_valide = false;
+        }
+        if (!champ.m_valide || champ.m_tailleGroupe != cibles.size()) {
+            calculer(champ, cibles);
+        }
+        return champ;
+    }
+
+    /**
+     * Parcours en largeur à sources multiples depuis les cases des cibles vivantes présentes sur la carte.
+     */
+    private void calculer(Champ champ, List<? extends ElementMobile> cibles) {
+        Arrays.fill(champ.m_distances, INATTEIGNABLE);
+        List<Integer> casesCibles = new ArrayList<>();
+        List<ElementMobile> ciblesAbsentes = new ArrayList<>();
+        int fin = 0;
+        for (ElementMobile cible : cibles) {
+            if (cible.estMort()) {
+                continue;
+            }
+            Optional<int[]> position = m_carte.trouverPosition(cible);
+            if (position.isEmpty()) {
+                ciblesAbsentes.add(cible);
+                continue;
+            }
+            int indice = position.get()[1] * m_largeur + position.get()[0];
+            casesCibles.add(indice);
+            if (champ.m_distances[indice] != 0) {
+                champ.m_distances[indice] = 0;
+                m_file[fin++] = indice;
+            }
+        }
+
+        for (int tete = 0; tete < fin; tete++) {
+            int courante = m_file[tete];
+            int x = courante % m_largeur;
+            int y = courante / m_largeur;
+            int distanceVoisin = champ.m_distances[courante] + 1;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (!passageLibre(x, y, nx, ny, d)) {
+                    continue;
+                }
+                int voisine = ny * m_largeur + nx;
+                if (champ.m_distances[voisine] == INATTEIGNABLE) {
+                    champ.m_distances[voisine] = distanceVoisin;
+                    m_file[fin++] = voisine;
+                }
+            }
+        }
+
+        champ.m_casesCibles = casesCibles.stream().mapToInt(Integer::intValue).toArray();
+        champ.m_ciblesAbsentes = ciblesAbsentes.toArray(new ElementMobile[0]);
+        champ.m_tailleGroupe = cibles.size();
+        champ.m_valide = true;
+    }
+
+    /**
+     * Retourne la case voisine libre de plus petite distance, si elle rapproche strictement des cibles.
+     *
+     * @return l'indice de la case voisine, ou -1 si aucun pas ne rapproche
+     */
+    private int meilleurVoisin(Champ champ, int x, int y) {
+        int meilleure = -1;
+        int meilleureDistance = champ.m_distances[y * m_largeur + x];
+        for (int d = 0; d < DX.length; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (!passageLibre(x, y, nx, ny, d) || !m_carte.estCaseAccessible(nx, ny)) {
+                continue;
+            }
+            int voisine = ny * m_largeur + nx;
+            if (champ.m_distances[voisine] < meilleureDistance) {
+                meilleureDistance = champ.m_distances[voisine];
+                meilleure = voisine;
+            }
+        }
+        return meilleure;
+    }
+
+    /**
+     * Vérifie qu'un pas entre deux cases voisines ne traverse ni obstacle ni coin de mur.
+     */
+    private boolean passageLibre(int x, int y, int nx, int ny, int direction) {
+        if (m_carte.estObstacle(nx, ny)) {
+            return false;
+        }
+        return DX[direction] == 0 || DY[direction] == 0
+                || !(m_carte.estObstacle(nx, y) && m_carte.estObstacle(x, ny));
+    }
+
+    /**
+     * Vérifie si la case ou l'une de ses voisines a été atteinte par le calcul du champ.
+     */
+    private boolean zoneExploreeTouche(Champ champ, int x, int y) {
+        for (int ny = Math.max(0, y - 1); ny <= Math.min(m_hauteur - 1, y + 1); ny++) {
+            for (int nx = Math.max(0, x - 1); nx <= Math.min(m_largeur - 1, x + 1); nx++) {
+                if (champ.m_distances[ny * m_largeur + nx] != INATTEIGNABLE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "ChampDeFlux{" + m_largeur + "x" + m_hauteur + ", champs=" + m_nombreChamps + "}";
+    }
+}
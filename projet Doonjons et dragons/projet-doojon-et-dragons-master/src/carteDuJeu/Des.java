@@ -1,19 +1,19 @@
 package carteDuJeu;
 
-import java.util.Random;
-
 /**
  * Classe utilitaire pour simuler des lancés de dés dans le jeu.
  * Supporte la notation classique des jeux de rôle (ex: "2d6", "1d20") ainsi que
  * des méthodes directes pour lancer un ou plusieurs dés.
  *
- * Tous les résultats sont générés de manière pseudo-aléatoire en utilisant
- * une instance partagée de Random. Les valeurs retournées sont comprises
- * entre 1 et le nombre de faces du dé (inclus).
+ * Tous les résultats sont tirés dans le {@link GenerateurAleatoire} du thread courant :
+ * celui de la partie s'il a été installé avec {@link #utiliserGenerateur(GenerateurAleatoire)},
+ * sinon un générateur de graine aléatoire propre au thread. Aucun état n'est partagé entre threads.
+ * Les valeurs retournées sont comprises entre 1 et le nombre de faces du dé (inclus).
  */
 public class Des {
-    /** Générateur de nombres aléatoires partagé pour tous les lancés de dés */
-    private static final Random random = new Random();
+    /** Générateur de chaque thread, utilisé pour tous ses lancés de dés */
+    private static final ThreadLocal<GenerateurAleatoire> generateurDuThread =
+            ThreadLocal.withInitial(GenerateurAleatoire::new);
 
     /**
      * Constructeur privé pour empêcher l'instanciation de cette classe utilitaire.
@@ -23,43 +23,23 @@ public class Des {
     }
 
     /**
-     * Lance des dés en utilisant la notation classique des jeux de rôle.
-     * Interprète une chaîne au format "XdY" où X est le nombre de dés et Y le nombre de faces.
+     * Lance des dés en utilisant la notation des jeux de rôle.
+     * La notation est compilée en {@link ExpressionDes} au premier appel puis gardée en cache :
+     * les appels suivants avec la même chaîne ne l'analysent plus.
      *
      * Exemples de notations supportées :
      * - "1d6" : lance 1 dé à 6 faces
-     * - "2d10" : lance 2 dés à 10 faces
      * - "3D8" : lance 3 dés à 8 faces (insensible à la casse)
+     * - "2d6+1d4+3" : somme de plusieurs lancers et d'une constante
+     * - "4d6kh3" : lance 4 dés à 6 faces et garde les 3 meilleurs
+     * - "1d20adv" / "1d20dis" : lancer avec avantage / désavantage
      *
-     * @param notation la notation du lancer au format "XdY" (ne doit pas être null ou vide)
-     * @return la somme des résultats de tous les dés lancés
+     * @param notation la notation du lancer (ne doit pas être null ou vide)
+     * @return le total du lancer
      * @throws IllegalArgumentException si la notation est null, vide, ou mal formatée
-     * @throws NumberFormatException si les nombres dans la notation ne sont pas valides
      */
     public static int lancer(String notation) {
-        if (notation == null || notation.trim().isEmpty()) {
-            throw new IllegalArgumentException("La notation ne peut pas être null ou vide");
-        }
-
-        String notationNormalisee = notation.toLowerCase().trim();
-
-        if (!notationNormalisee.contains("d")) {
-            throw new IllegalArgumentException("Format de notation invalide. Utilisez le format 'XdY' (ex: '2d6')");
-        }
-
-        String[] parties = notationNormalisee.split("d");
-
-        if (parties.length != 2) {
-            throw new IllegalArgumentException("Format de notation invalide. Utilisez le format 'XdY' (ex: '2d6')");
-        }
-
-        try {
-            int nbDes = Integer.parseInt(parties[0]);
-            int nbFaces = Integer.parseInt(parties[1]);
-            return lancer(nbDes, nbFaces);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Les nombres dans la notation '" + notation + "' ne sont pas valides", e);
-        }
+        return ExpressionDes.compiler(notation).lancer(generateurDuThread.get());
     }
 
     /**
@@ -73,7 +53,31 @@ public class Des {
         if (nbFaces <= 0) {
             throw new IllegalArgumentException("Le nombre de faces doit être supérieur à 0, reçu: " + nbFaces);
         }
-        return random.nextInt(nbFaces) + 1;
+        return generateurDuThread.get().nextInt(nbFaces) + 1;
+    }
+
+    /**
+     * Installe le générateur utilisé par les tirages du thread courant.
+     * Une partie (ou un combat simulé) installe ainsi son propre générateur, initialisé par une graine,
+     * pour être entièrement reproductible.
+     *
+     * @param generateur le générateur du thread courant, ou null pour revenir à un générateur de graine aléatoire
+     */
+    public static void utiliserGenerateur(GenerateurAleatoire generateur) {
+        if (generateur == null) {
+            generateurDuThread.remove();
+        } else {
+            generateurDuThread.set(generateur);
+        }
+    }
+
+    /**
+     * Retourne le générateur du thread courant, à utiliser pour tout tirage aléatoire du jeu.
+     *
+     * @return le générateur du thread courant
+     */
+    public static GenerateurAleatoire getGenerateur() {
+        return generateurDuThread.get();
     }
 
     /**
@@ -92,9 +96,10 @@ public class Des {
             throw new IllegalArgumentException("Le nombre de faces doit être supérieur à 0, reçu: " + nbFaces);
         }
 
-        int total = 0;
+        GenerateurAleatoire generateur = generateurDuThread.get();
+        int total = nbDes;
         for (int i = 0; i < nbDes; i++) {
-            total += lancer(nbFaces);
+            total += generateur.nextInt(nbFaces);
         }
         return total;
     }
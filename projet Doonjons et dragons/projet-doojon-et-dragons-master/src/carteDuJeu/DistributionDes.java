@@ -0,0 +1,303 @@
+package carteDuJeu;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Loi de probabilité exacte du total d'une {@link ExpressionDes}.
+ *
+ * La loi est calculée une seule fois par expression ({@link ExpressionDes#getDistribution()}),
+ * par convolution de petits tableaux de probabilités :
+ * - un terme "XdY" est la convolution de X lois uniformes sur [1, Y] ;
+ * - un terme avec conservation ("4d6kh3") est obtenu en attribuant les dés face par face,
+ *   de la meilleure à la moins bonne : parmi les m dés restants, tous inférieurs ou égaux à la face v,
+ *   le nombre de dés égaux à v suit une loi binomiale de paramètre 1/v ;
+ * - l'avantage et le désavantage sont le maximum et le minimum de deux lancers indépendants.
+ * Toutes les questions (moyenne, variance, P(X ≥ k), chance de toucher) se font ensuite en temps constant.
+ *
+ * Une distribution est immuable et peut être partagée entre threads.
+ */
+public final class DistributionDes {
+    /** Nombre maximal d'opérations élémentaires acceptées pour calculer une distribution */
+    private static final long OPERATIONS_MAX = 200_000_000L;
+
+    /** Loi du d20 utilisé pour les jets d'attaque */
+    private static final DistributionDes D20 = ExpressionDes.compiler("1d20").getDistribution();
+
+    private final int m_minimum;
+    private final double[] m_probabilites;
+
+    /** m_auMoins[i] = P(X ≥ minimum + i) ; une case de plus, à 0, au-delà du maximum */
+    private final double[] m_auMoins;
+
+    private final double m_moyenne;
+    private final double m_variance;
+
+    /**
+     * Calcule la distribution d'une expression.
+     * Utiliser {@link ExpressionDes#getDistribution()}, qui garde le résultat.
+     *
+     * @param expression l'expression de dés
+     * @throws IllegalArgumentException si l'expression est trop grande pour un calcul exact
+     */
+    DistributionDes(ExpressionDes expression) {
+        int decalage = expression.getConstante();
+        double[] loi = {1.0};
+        for (int i = 0; i < expression.getNombreTermes(); i++) {
+            double[] terme = loiTerme(expression, i);
+            if (expression.signe(i) < 0) {
+                inverser(terme);
+                decalage -= terme.length - 1;
+            }
+            verifierCout((long) loi.length * terme.length);
+            loi = convoler(loi, terme);
+        }
+
+        // La loi commence à la valeur "decalage" ; on la restreint aux bornes connues de l'expression
+        int debut = expression.getMinimum() - decalage;
+        int longueur = expression.getMaximum() - expression.getMinimum() + 1;
+        this.m_minimum = expression.getMinimum();
+        this.m_probabilites = new double[longueur];
+        System.arraycopy(loi, debut, m_probabilites, 0, longueur);
+
+        this.m_auMoins = new double[longueur + 1];
+        double moyenne = 0;
+        for (int i = longueur - 1; i >= 0; i--) {
+            m_auMoins[i] = m_auMoins[i + 1] + m_probabilites[i];
+            moyenne += m_probabilites[i] * (m_minimum + i);
+        }
+        double variance = 0;
+        for (int i = 0; i < longueur; i++) {
+            double ecart = m_minimum + i - moyenne;
+            variance += m_probabilites[i] * ecart * ecart;
+        }
+        this.m_moyenne = moyenne;
+        this.m_variance = variance;
+    }
+
+    /**
+     * Retourne la distribution d'une notation de dés.
+     *
+     * @param notation la notation (ex : "2d6+3")
+     * @return la distribution, calculée au premier appel
+     * @throws IllegalArgumentException si la notation est invalide ou trop grande pour un calcul exact
+     */
+    public static DistributionDes de(String notation) {
+        return ExpressionDes.compiler(notation).getDistribution();
+    }
+
+    /*============================Section Probabilités============================*/
+
+    public int getMinimum() {
+        return m_minimum;
+    }
+
+    public int getMaximum() {
+        return m_minimum + m_probabilites.length - 1;
+    }
+
+    public double getMoyenne() {
+        return m_moyenne;
+    }
+
+    public double getVariance() {
+        return m_variance;
+    }
+
+    public double getEcartType() {
+        return Math.sqrt(m_variance);
+    }
+
+    /**
+     * Retourne la probabilité d'obtenir exactement une valeur.
+     * @param valeur la valeur
+     * @return P(X = valeur)
+     */
+    public double probabilite(int valeur) {
+        if (valeur < m_minimum || valeur > getMaximum()) {
+            return 0.0;
+        }
+        return m_probabilites[valeur - m_minimum];
+    }
+
+    /**
+     * Retourne la probabilité d'obtenir au moins une valeur.
+     * @param valeur le seuil
+     * @return P(X ≥ valeur)
+     */
+    public double probabiliteAuMoins(int valeur) {
+        if (valeur <= m_minimum) {
+            return 1.0;
+        }
+        if (valeur > getMaximum()) {
+            return 0.0;
+        }
+        return m_auMoins[valeur - m_minimum];
+    }
+
+    /**
+     * Retourne la probabilité qu'un jet d'attaque touche :
+     * comme dans {@link carteDuJeu.actions.Attaque}, l'attaque réussit si d20 + modificateur dépasse strictement
+     * la classe d'armure de la cible.
+     *
+     * @param modificateur le modificateur d'attaque (force ou dextérité)
+     * @param classeArmure la classe d'armure de la cible
+     * @return la probabilité de toucher
+     */
+    public static double chanceDeToucher(int modificateur, int classeArmure) {
+        long seuil = (long) classeArmure - modificateur + 1;
+        if (seuil > D20.getMaximum()) {
+            return 0.0;
+        }
+        return D20.probabiliteAuMoins((int) Math.max(seuil, D20.getMinimum()));
+    }
+
+    /*============================Section Calcul============================*/
+
+    /**
+     * Calcule la loi d'un terme de dés, indexée par la valeur du terme (de 0 au maximum).
+     */
+    private static double[] loiTerme(ExpressionDes expression, int indice) {
+        int nombre = expression.nombre(indice);
+        int faces = expression.faces(indice);
+        int gardes = expression.gardes(indice);
+        double[] loi = gardes == nombre
+                ? loiSomme(nombre, faces)
+                : loiConservation(nombre, faces, gardes, expression.gardePlusHauts(indice));
+        int avantage = expression.avantage(indice);
+        return avantage == 0 ? loi : loiAvantage(loi, avantage > 0);
+    }
+
+    /**
+     * Loi de la somme de plusieurs dés : convolutions successives par une loi uniforme,
+     * chacune en temps linéaire grâce à une somme glissante.
+     */
+    private static double[] loiSomme(int nombre, int faces) {
+        verifierCout((long) nombre * nombre * faces);
+        double p = 1.0 / faces;
+        double[] loi = {1.0};
+        for (int d = 0; d < nombre; d++) {
+            double[] suivante = new double[loi.length + faces];
+            double fenetre = 0;
+            for (int s = 1; s < suivante.length; s++) {
+                fenetre += s - 1 < loi.length ? loi[s - 1] : 0;
+                fenetre -= s - 1 - faces >= 0 && s - 1 - faces < loi.length ? loi[s - 1 - faces] : 0;
+                suivante[s] = Math.max(0.0, fenetre * p); // La somme glissante peut laisser un résidu négatif
+            }
+            loi = suivante;
+        }
+        return loi;
+    }
+
+    /**
+     * Loi de la somme des dés gardés parmi plusieurs dés.
+     * Les faces sont parcourues de la plus favorable à la moins favorable ; l'état est
+     * (nombre de dés déjà gardés, somme gardée), les dés au-delà du nombre gardé étant écartés.
+     */
+    private static double[] loiConservation(int nombre, int faces, int gardes, boolean plusHauts) {
+        int sommeMax = gardes * faces;
+        verifierCout((long) faces * gardes * (sommeMax + 1) * (nombre + 1));
+        double[][] etats = new double[gardes][sommeMax + 1];
+        double[] termines = new double[sommeMax + 1];
+        etats[0][0] = 1.0;
+        double[] binomiale = new double[nombre + 1];
+
+        for (int rang = 0; rang < faces; rang++) {
+            int valeur = plusHauts ? faces - rang : rang + 1;
+            double p = 1.0 / (faces - rang); // Les dés restants sont uniformes sur les faces pas encore vues
+            double[][] suivants = new double[gardes][sommeMax + 1];
+            for (int k = 0; k < gardes; k++) {
+                int restants = nombre - k;
+                remplirBinomiale(binomiale, restants, p);
+                for (int s = 0; s <= sommeMax; s++) {
+                    double poids = etats[k][s];
+                    if (poids == 0) {
+                        continue;
+                    }
+                    for (int c = 0; c <= restants; c++) {
+                        double q = poids * binomiale[c];
+                        if (q == 0) {
+                            continue;
+                        }
+                        if (k + c >= gardes) {
+                            termines[s + (gardes - k) * valeur] += q;
+                        } else {
+                            suivants[k + c][s + c * valeur] += q;
+                        }
+                    }
+                }
+            }
+            etats = suivants;
+        }
+        return termines;
+    }
+
+    /**
+     * Remplit les probabilités de la loi binomiale B(n, p) pour 0..n succès.
+     */
+    private static void remplirBinomiale(double[] binomiale, int n, double p) {
+        if (p >= 1.0) {
+            Arrays.fill(binomiale, 0, n + 1, 0.0);
+            binomiale[n] = 1.0;
+            return;
+        }
+        double q = 1.0 - p;
+        binomiale[0] = Math.pow(q, n);
+        for (int c = 1; c <= n; c++) {
+            binomiale[c] = binomiale[c - 1] * (n - c + 1) / c * p / q;
+        }
+    }
+
+    /**
+     * Loi du meilleur (avantage) ou du moins bon (désavantage) de deux lancers indépendants.
+     */
+    private static double[] loiAvantage(double[] loi, boolean avantage) {
+        double[] resultat = new double[loi.length];
+        double cumul = 0;
+        for (int v = 0; v < loi.length; v++) {
+            double precedent = cumul;
+            cumul += loi[v];
+            if (avantage) {
+                resultat[v] = cumul * cumul - precedent * precedent;
+            } else {
+                resultat[v] = (1 - precedent) * (1 - precedent) - (1 - cumul) * (1 - cumul);
+            }
+        }
+        return resultat;
+    }
+
+    private static double[] convoler(double[] a, double[] b) {
+        double[] resultat = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                resultat[i + j] += a[i] * b[j];
+            }
+        }
+        return resultat;
+    }
+
+    private static void inverser(double[] loi) {
+        for (int i = 0, j = loi.length - 1; i < j; i++, j--) {
+            double temp = loi[i];
+            loi[i] = loi[j];
+            loi[j] = temp;
+        }
+    }
+
+    private static void verifierCout(long operations) {
+        if (operations > OPERATIONS_MAX) {
+            throw new IllegalArgumentException("Expression de dés trop grande pour un calcul exact de sa distribution");
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "DistributionDes{[%d ; %d], moyenne=%.4f, variance=%.4f}",
+                m_minimum, getMaximum(), m_moyenne, m_variance);
+    }
+}
@@ -8,12 +8,17 @@
 package carteDuJeu;
 
 import carteDuJeu.actions.ChangerEquipement;
+import carteDuJeu.controleurs.ControleurAutomatique;
+import carteDuJeu.evenements.BusEvenements;
+import carteDuJeu.evenements.EvenementArrivee;
 import carteDuJeu.personnages.equipements.*;
 import carteDuJeu.personnages.*;
 import carteDuJeu.monstres.*;
-import java.util.HashMap;
-import java.util.Map;
+import carteDuJeu.sauvegarde.CatalogueSauvegarde;
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
 
+import java.io.PrintStream;
 import java.util.*;
 
 /**
@@ -28,16 +33,26 @@ import java.util.*;
  * - Évaluation de la victoire ou défaite à la fin du donjon
  *
  * Le donjon utilise des interactions console pour la configuration et les phases de jeu.
+ * Un second constructeur crée un donjon déjà configuré dont le combat se joue sans console,
+ * avec un {@link ControleurAutomatique}.
  */
 public class Donjon {
+    /** Nombre de tours au-delà duquel un combat automatique est arrêté sans vainqueur */
+    public static final int NOMBRE_TOURS_MAX_AUTOMATIQUE = 200;
+
+
     private int m_numeroDonjon;
     private Carte m_carte;
     private MaitreDuJeu m_maitreDuJeu;
     private List<Monstre> m_monstres;
     private List<Equipement> m_equipements;
     private List<Personnage> m_joueurs;
-    private List<ElementMobile> m_entiteTour;
+    private final OrdonnanceurInitiative m_ordonnanceur;
+    private final EtatCombat m_etatCombat = new EtatCombat();
+    private final RegistreEntites m_registre = new RegistreEntites();
+    private final StockageMonstres m_stockageMonstres = new StockageMonstres();
     private Tours m_gestionTours;
+    private PrintStream m_sortie;
 
     /**
      * Crée un donjon avec son numéro, un maître du jeu, une liste d'équipements,
@@ -53,26 +68,93 @@ public class Donjon {
         this.m_joueurs = new ArrayList<>(joueurs);
         this.m_monstres = new ArrayList<>();
         this.m_equipements = new ArrayList<>();
-        this.m_entiteTour = new ArrayList<>();
+        this.m_ordonnanceur = new OrdonnanceurInitiative();
+        this.m_sortie = System.out;
         initialiserCartePersonnalisee();
         initialiserEquipementsDonjon(tousLesEquipements);
         this.m_gestionTours = new Tours(this);
     }
 
+    /**
+     * Crée un donjon déjà configuré, sans aucune saisie, dont le combat est joué par un
+     * {@link ControleurAutomatique} (Maître du Jeu compris).
+     * Les joueurs et les monstres absents de la carte y sont placés aléatoirement.
+     * Le combat est limité à {@link #NOMBRE_TOURS_MAX_AUTOMATIQUE} tours.
+     * @param numeroDonjon numéro identifiant le donjon
+     * @param maitreDuJeu maître du jeu responsable de ce donjon
+     * @param carte carte du donjon, obstacles déjà posés
+     * @param joueurs liste des personnages participant au donjon
+     * @param monstres liste des monstres du donjon
+     * @param sortie flux où sont écrits les messages ({@link SortieSilencieuse} pour un combat sans affichage)
+     * @throws IllegalArgumentException si la carte est null
+     */
+    public Donjon(int numeroDonjon, MaitreDuJeu maitreDuJeu, Carte carte, List<Personnage> joueurs,
+                  List<Monstre> monstres, PrintStream sortie) {
+        if (carte == null) {
+            throw new IllegalArgumentException("La carte ne peut pas être null");
+        }
+        this.m_numeroDonjon = numeroDonjon;
+        this.m_maitreDuJeu = maitreDuJeu;
+        this.m_carte = carte;
+        this.m_joueurs = new ArrayList<>(joueurs);
+        this.m_monstres = new ArrayList<>(monstres);
+        this.m_equipements = new ArrayList<>();
+        this.m_ordonnanceur = new OrdonnanceurInitiative();
+        this.m_sortie = sortie;
+
+        for (ElementMobile entite : m_monstres) {
+            placerSiAbsent(entite);
+        }
+        for (Personnage joueur : m_joueurs) {
+            if (!joueur.estMort()) {
+                placerSiAbsent(joueur);
+            }
+        }
+
+        enregistrerEntites();
+
+        this.m_gestionTours = new Tours(this, new ControleurAutomatique(this), sortie, false);
+        this.m_gestionTours.setNombreToursMax(NOMBRE_TOURS_MAX_AUTOMATIQUE);
+        m_maitreDuJeu.setMonstres(m_monstres);
+        m_maitreDuJeu.setCarte(m_carte);
+    }
+
+    /**
+     * Crée un donjon vide, rempli par {@link #restaurer(LectureSauvegarde, MaitreDuJeu)}.
+     */
+    private Donjon(int numeroDonjon, MaitreDuJeu maitreDuJeu) {
+        this.m_numeroDonjon = numeroDonjon;
+        this.m_maitreDuJeu = maitreDuJeu;
+        this.m_joueurs = new ArrayList<>();
+        this.m_monstres = new ArrayList<>();
+        this.m_equipements = new ArrayList<>();
+        this.m_ordonnanceur = new OrdonnanceurInitiative();
+        this.m_sortie = System.out;
+    }
+
+    /**
+     * Place aléatoirement une entité sur la carte si elle n'y est pas déjà.
+     */
+    private void placerSiAbsent(ElementMobile entite) {
+        if (!m_carte.contientElement(entite) && !m_carte.ajouterContenuAleatoire(entite)) {
+            m_sortie.println("⚠️ Impossible de placer " + entite.getNom() + " sur la carte");
+        }
+    }
+
     /**
      * Initialise la carte du donjon selon le choix de l'utilisateur (par défaut ou personnalisée).
      */
     private void initialiserCartePersonnalisee() {
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("Configuration du Donjon " + m_numeroDonjon);
+        m_sortie.println("Configuration du Donjon " + m_numeroDonjon);
 
         String choix = "";
         while (!choix.equals("o") && !choix.equals("n")) {
-            System.out.println("Voulez-vous utiliser une carte par défaut ? (o/n)");
+            m_sortie.println("Voulez-vous utiliser une carte par défaut ? (o/n)");
             choix = scanner.nextLine().toLowerCase().trim();
             if (!choix.equals("o") && !choix.equals("n")) {
-                System.out.println("Réponse invalide. Veuillez répondre par 'o' pour oui ou 'n' pour non.");
+                m_sortie.println("Réponse invalide. Veuillez répondre par 'o' pour oui ou 'n' pour non.");
             }
         }
 
@@ -81,23 +163,23 @@ public class Donjon {
                 case 1:
                     initialiserCarte(8, 10);
                     m_carte.setCarteParDefaut(true);
-                    System.out.println("Carte par défaut du Donjon 1 : Caverne étroite");
+                    m_sortie.println("Carte par défaut du Donjon 1 : Caverne étroite");
                     m_carte.genererObstaclesAleatoires(0.08);
-                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte));
+                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte), m_sortie);
                     break;
                 case 2:
                     initialiserCarte(14, 12);
                     m_carte.setCarteParDefaut(true);
-                    System.out.println("Carte par défaut du Donjon 2 : Salle du trône");
+                    m_sortie.println("Carte par défaut du Donjon 2 : Salle du trône");
                     m_carte.genererObstaclesAleatoires(0.075);
-                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte));
+                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte), m_sortie);
                     break;
                 case 3:
                     initialiserCarte(21, 24);
                     m_carte.setCarteParDefaut(true);
-                    System.out.println("Carte par défaut du Donjon 3 : Antre du dragon");
+                    m_sortie.println("Carte par défaut du Donjon 3 : Antre du dragon");
                     m_carte.genererObstaclesAleatoires(0.14);
-                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte));
+                    Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte), m_sortie);
 
                     break;
                 default:
@@ -113,18 +195,18 @@ public class Donjon {
                     int hauteur = demanderInt(scanner, "Quelle hauteur pour le donjon " + m_numeroDonjon + " ? (1-25) : ");
                     int obstacles = demanderInt(scanner, "Pourcentage d'obstacles (0-100) : ");
                     if (obstacles < 0 || obstacles > 100) {
-                        System.out.println("Le pourcentage d'obstacles doit être compris entre 0 et 100. Veuillez réessayer.");
+                        m_sortie.println("Le pourcentage d'obstacles doit être compris entre 0 et 100. Veuillez réessayer.");
                         continue;
                     }
                     if (largeur < 1 || largeur > 25 || hauteur < 1 || hauteur > 25) {
-                        System.out.println("Les dimensions doivent être comprises entre 1 et 25. Veuillez réessayer.");
+                        m_sortie.println("Les dimensions doivent être comprises entre 1 et 25. Veuillez réessayer.");
                     } else {
                         initialiserCarte(largeur, hauteur);
                         m_carte.genererObstaclesAleatoires(obstacles / 100.0);
                         carteValide = true;
                     }
                 } catch (Exception e) {
-                    System.out.println("Erreur lors de la saisie. Veuillez réessayer.");
+                    m_sortie.println("Erreur lors de la saisie. Veuillez réessayer.");
                 }
             }
         }
@@ -160,16 +242,16 @@ public class Donjon {
                 nbEquipementsSouhaites = demanderInt(scanner, "Combien d'équipements dans le donjon " + m_numeroDonjon + " ?");
             }
 
-            Random random = new Random();
+            GenerateurAleatoire generateur = Des.getGenerateur();
             for (int i = 0; i < nbEquipementsSouhaites && !tousLesEquipements.isEmpty(); i++) {
-                int index = random.nextInt(tousLesEquipements.size());
+                int index = generateur.nextInt(tousLesEquipements.size());
                 Equipement equipementChoisi = tousLesEquipements.get(index);
                 this.m_equipements.add(equipementChoisi.copier());
             }
 
-            System.out.println(m_equipements.size() + " équipements ajoutés au donjon " + m_numeroDonjon);
+            m_sortie.println(m_equipements.size() + " équipements ajoutés au donjon " + m_numeroDonjon);
         } catch (Exception e) {
-            System.out.println("Erreur lors de l'initialisation des équipements : " + e.getMessage());
+            m_sortie.println("Erreur lors de l'initialisation des équipements : " + e.getMessage());
         }
     }
 
@@ -184,62 +266,81 @@ public class Donjon {
             this.m_carte = new Carte(largeur, hauteur);
             m_maitreDuJeu.setCarte(m_carte);
         } else {
-            System.out.println("⚠️ Carte déjà initialisée, conservation du contenu existant");
+            m_sortie.println("⚠️ Carte déjà initialisée, conservation du contenu existant");
         }
     }
 
+    /**
+     * Attribue un identifiant aux joueurs puis aux monstres du donjon qui n'en ont pas encore,
+     * range les monstres dans le stockage du donjon et suit leurs positions sur la carte du donjon.
+     */
+    private void enregistrerEntites() {
+        for (Personnage joueur : m_joueurs) {
+            m_registre.enregistrer(joueur);
+        }
+        for (Monstre monstre : m_monstres) {
+            m_registre.enregistrer(monstre);
+            m_stockageMonstres.ajouter(monstre);
+        }
+        m_registre.suivreCarte(m_carte);
+        m_stockageMonstres.suivreCarte(m_carte);
+    }
+
     /**
      * Prépare le donjon en nettoyant les listes, générant les obstacles, plaçant monstres, joueurs et équipements.
      * Met à jour la carte du maître du jeu.
      */
     public void miseEnPlace() {
-        System.out.println("=== Mise en place du Donjon " + m_numeroDonjon + " ===");
+        m_sortie.println("=== Mise en place du Donjon " + m_numeroDonjon + " ===");
 
         // Nettoyer les listes précédentes
         m_monstres.clear();
-        m_entiteTour.clear();
+        m_ordonnanceur.vider();
+        m_registre.vider();
+        m_stockageMonstres.vider();
 
         // Création des monstres par le Maitre du Jeu
-        System.out.println("Création des monstres du donjon " + m_numeroDonjon + "...");
+        m_sortie.println("Création des monstres du donjon " + m_numeroDonjon + "...");
         m_maitreDuJeu.phaseCreationDesMonstres();
         m_monstres = new ArrayList<>(m_maitreDuJeu.getMonstres());
         // Vérification que des monstres ont été créés
         if (m_monstres.isEmpty()) {
-            System.out.println("⚠️ Aucun monstre créé pour ce donjon !");
+            m_sortie.println("⚠️ Aucun monstre créé pour ce donjon !");
         }
         // Placement aléatoire des monstres
-        System.out.println("Placement des monstres...");
+        m_sortie.println("Placement des monstres...");
         for (Monstre monstre : m_monstres) {
             boolean placementReussi = m_carte.ajouterContenuAleatoire(monstre);
             if (!placementReussi) {
-                System.out.println("⚠️ Impossible de placer " + monstre.getNom() + " sur la carte");
+                m_sortie.println("⚠️ Impossible de placer " + monstre.getNom() + " sur la carte");
             }
         }
 
         // Placement aléatoire des joueurs
-        System.out.println("Placement des joueurs...");
+        m_sortie.println("Placement des joueurs...");
         for (Personnage joueur : m_joueurs) {
             if (!joueur.estMort()) {  // Ne placer que les joueurs vivants
                 boolean placementReussi = m_carte.ajouterContenuAleatoire(joueur);
                 if (!placementReussi) {
-                    System.out.println("⚠️ Impossible de placer " + joueur.getNom() + " sur la carte");
+                    m_sortie.println("⚠️ Impossible de placer " + joueur.getNom() + " sur la carte");
                 }
             }
         }
 
         // Placement aléatoire des équipements
-        System.out.println("Placement des équipements...");
+        m_sortie.println("Placement des équipements...");
         for (Equipement equipement : m_equipements) {
             boolean placementReussi = m_carte.ajouterContenuAleatoire(equipement);
             if (!placementReussi) {
-                System.out.println("⚠️ Impossible de placer " + equipement.getNom() + " sur la carte");
+                m_sortie.println("⚠️ Impossible de placer " + equipement.getNom() + " sur la carte");
             }
         }
         m_maitreDuJeu.setCarte(m_carte); // Mettre à jour la carte du Maitre du Jeu
+        enregistrerEntites();
         // Affichage de la carte
-        System.out.println("Affichage de la carte du donjon " + m_numeroDonjon + "...");
-        Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte));
-        System.out.println("Le donjon " + m_numeroDonjon + " est en place !");
+        m_sortie.println("Affichage de la carte du donjon " + m_numeroDonjon + "...");
+        Affichage.afficherCarte(java.util.Optional.ofNullable(m_carte), m_sortie);
+        m_sortie.println("Le donjon " + m_numeroDonjon + " est en place !");
     }
 
     /**
@@ -248,21 +349,26 @@ public class Donjon {
      * @return true si le donjon est réussi, false sinon
      */
     public boolean deroulerDonjon() {
-        System.out.println("=== Début du combat dans le donjon " + m_numeroDonjon + " ===");
+        m_sortie.println("=== Début du combat dans le donjon " + m_numeroDonjon + " ===");
+
+        // Un combat repris d'une sauvegarde continue, même si des joueurs y sont déjà tombés
+        boolean reprise = m_gestionTours.estCombatEnCours();
 
         // Vérifications préliminaires
-        if (m_joueurs.stream().anyMatch(ElementMobile::estMort)) {
-            System.out.println("💀 Un ou plusieurs joueurs sont morts ! Impossible de commencer le donjon.");
+        if (!reprise && m_joueurs.stream().anyMatch(ElementMobile::estMort)) {
+            m_sortie.println("💀 Un ou plusieurs joueurs sont morts ! Impossible de commencer le donjon.");
             return false;
         }
 
         if (m_monstres.isEmpty()) {
-            System.out.println("🎉 Aucun monstre dans ce donjon ! Victoire automatique.");
+            m_sortie.println("🎉 Aucun monstre dans ce donjon ! Victoire automatique.");
             return true;
         }
 
-        // Préparer l'ordre d'initiative
-        preparerEtTrierInitiative();
+        // Préparer l'ordre d'initiative, déjà établi pour un combat repris
+        if (!reprise) {
+            preparerEtTrierInitiative();
+        }
 
         // Utiliser le gestionnaire de tours
         m_gestionTours.commencerTours();
@@ -277,19 +383,19 @@ public class Donjon {
      * @return true si tous les monstres sont morts, false si un joueur est mort
      */
     private boolean verifierVictoire() {
-        boolean unJoueurMort = m_joueurs.stream().anyMatch(ElementMobile::estMort);
-        boolean tousMonstresMorts = m_monstres.stream().allMatch(ElementMobile::estMort);
+        boolean unJoueurMort = m_etatCombat.getJoueursVivants() < m_joueurs.size();
+        boolean tousMonstresMorts = m_etatCombat.estVictoire();
 
         if (unJoueurMort) {
-            System.out.println("💀 Défaite ! Tous les personnages sont morts dans le donjon " + m_numeroDonjon);
+            m_sortie.println("💀 Défaite ! Tous les personnages sont morts dans le donjon " + m_numeroDonjon);
             return false;
         } else if (tousMonstresMorts) {
-            System.out.println("🎉 Victoire ! Tous les monstres du donjon " + m_numeroDonjon + " ont été vaincus !");
+            m_sortie.println("🎉 Victoire ! Tous les monstres du donjon " + m_numeroDonjon + " ont été vaincus !");
             return true;
         }
 
         // Cas où ni tous les joueurs ni tous les monstres sont morts (ne devrait pas arriver)
-        System.out.println("⚠️ État incohérent du donjon détecté");
+        m_sortie.println("⚠️ État incohérent du donjon détecté");
         return false;
     }
 
@@ -300,22 +406,22 @@ public class Donjon {
         Scanner scanner = new Scanner(System.in);
         ChangerEquipement gestionEquipement = new ChangerEquipement();
 
-        System.out.println("\n--- PHASE D'ÉQUIPEMENT - DONJON " + m_numeroDonjon + " ---\n");
+        m_sortie.println("\n--- PHASE D'ÉQUIPEMENT - DONJON " + m_numeroDonjon + " ---\n");
 
         for (Personnage joueur : m_joueurs) {
             if (joueur.estMort()) {
-                System.out.println("💀 " + joueur.getNom() + " est mort et ne peut pas s'équiper.");
+                m_sortie.println("💀 " + joueur.getNom() + " est mort et ne peut pas s'équiper.");
                 continue;
             }
 
-            System.out.println(joueur.toString());
+            m_sortie.println(joueur.toString());
 
             boolean continuer = true;
             while (continuer) {
-                System.out.println("\nQue voulez-vous faire ?");
-                System.out.println("1. Changer d'équipement");
-                System.out.println("2. Voir l'inventaire");
-                System.out.println("3. Ne rien changer");
+                m_sortie.println("\nQue voulez-vous faire ?");
+                m_sortie.println("1. Changer d'équipement");
+                m_sortie.println("2. Voir l'inventaire");
+                m_sortie.println("3. Ne rien changer");
 
                 int choix = demanderInt(scanner, "Choix : ");
 
@@ -331,83 +437,128 @@ public class Donjon {
                         continuer = false;
                         break;
                     default:
-                        System.out.println("Choix invalide. Réessayez.");
+                        m_sortie.println("Choix invalide. Réessayez.");
                         break;
                 }
             }
-            System.out.println("------------------------------------\n");
+            m_sortie.println("------------------------------------\n");
         }
 
-        System.out.println("Tous les joueurs vivants sont prêts pour le donjon " + m_numeroDonjon + ".\n");
+        m_sortie.println("Tous les joueurs vivants sont prêts pour le donjon " + m_numeroDonjon + ".\n");
     }
 
     /**
-     * Prépare et trie l'ordre d'initiative des entités mobiles du donjon.
+     * Tire l'initiative des entités vivantes du donjon et établit l'ordre de jeu du combat.
+     * L'ordonnanceur suit ensuite la carte : les morts quittent l'ordre de jeu dès qu'ils quittent la carte.
      */
     public void preparerEtTrierInitiative() {
-        Random random = new Random();
-        m_entiteTour.clear();
+        enregistrerEntites();
+        m_ordonnanceur.vider();
+        m_ordonnanceur.suivreCarte(m_carte);
 
-        // Ajouter seulement les entités mobiles
+        // Les joueurs tirent avant les monstres : ils passent devant à initiative égale
         for (Personnage joueur : m_joueurs) {
             if (!joueur.estMort()) {
-                m_entiteTour.add(joueur);
+                tirerInitiative(joueur);
             }
         }
-
         for (Monstre monstre : m_monstres) {
             if (!monstre.estMort()) {
-                m_entiteTour.add(monstre);
+                tirerInitiative(monstre);
             }
         }
 
-        // Map pour stocker les initiatives calculées
-        Map<ElementMobile, Integer> initiativesCalculees = new HashMap<>();
+        m_sortie.println("\n--- Ordre d'initiative pour le donjon " + m_numeroDonjon + " ---");
+        List<ElementMobile> ordre = m_ordonnanceur.getOrdre();
+        for (int i = 0; i < ordre.size(); i++) {
+            ElementMobile entite = ordre.get(i);
+            String type = entite.estPersonnage() ? "[JOUEUR]" : "[MONSTRE]";
+            m_sortie.println((i + 1) + ". " + type + " " + entite.getNom() + " (Initiative: "
+                    + m_ordonnanceur.getInitiative(entite) + ")");
+        }
+        m_sortie.println("--------------------------------------------------------\n");
+    }
 
-        // Calculer l'initiative de chaque entité UNE SEULE FOIS
-        for (ElementMobile entite : m_entiteTour) {
-            int lancer = random.nextInt(20) + 1;
-            int initiativeTotal = lancer + entite.getInitiative();
-            initiativesCalculees.put(entite, initiativeTotal);
+    /**
+     * Tire l'initiative d'une entité et l'ajoute à l'ordre de jeu.
+     *
+     * @return son initiative totale
+     */
+    private int tirerInitiative(ElementMobile entite) {
+        int lancer = Des.lancer(20);
+        int initiativeTotal = lancer + entite.getInitiative();
+        m_ordonnanceur.ajouter(entite, initiativeTotal);
+        m_sortie.println(entite.getNom() + " lance " + lancer + " + " + entite.getInitiative() + " = " + initiativeTotal);
+        return initiativeTotal;
+    }
 
-            System.out.println(entite.getNom() + " lance " + lancer + " + " + entite.getInitiative() + " = " + initiativeTotal);
+    /**
+     * Fait rejoindre le combat en cours à une entité (renfort de monstres ou allié).
+     * Elle est ajoutée aux joueurs ou aux monstres du donjon, placée aléatoirement si elle n'est pas
+     * déjà sur la carte, et tire son initiative : elle joue dès ce tour si elle passe après l'entité
+     * en train de jouer, sinon au tour suivant.
+     *
+     * @param entite l'entité qui arrive
+     * @return son initiative totale
+     * @throws IllegalArgumentException si l'entité est null, morte ou déjà dans l'ordre d'initiative
+     * @throws IllegalStateException si le donjon n'a pas de carte
+     */
+    public int rejoindreCombat(ElementMobile entite) {
+        if (entite == null || entite.estMort()) {
+            throw new IllegalArgumentException("Seule une entité vivante peut rejoindre le combat");
+        }
+        if (m_ordonnanceur.contient(entite)) {
+            throw new IllegalArgumentException(entite.getNom() + " participe déjà au combat");
+        }
+        if (m_carte == null) {
+            throw new IllegalStateException("Le donjon " + m_numeroDonjon + " n'a pas de carte");
+        }
+        if (entite.estPersonnage()) {
+            if (!m_joueurs.contains(entite)) {
+                m_joueurs.add((Personnage) entite);
+            }
+        } else {
+            if (!m_monstres.contains(entite)) {
+                m_monstres.add((Monstre) entite);
+                m_maitreDuJeu.setMonstres(m_monstres);
+            }
+            m_stockageMonstres.ajouter((Monstre) entite);
+        }
+        placerSiAbsent(entite);
+        m_registre.enregistrer(entite);
+        m_registre.suivreCarte(m_carte);
+        m_stockageMonstres.suivreCarte(m_carte);
+        m_ordonnanceur.suivreCarte(m_carte);
+        if (m_gestionTours.estCombatEnCours()) {
+            m_etatCombat.ajouter(entite);
         }
 
-        // Trier la liste par initiative totale (ordre décroissant)
-        m_entiteTour.sort((e1, e2) -> {
-            int initiativeE1 = initiativesCalculees.get(e1);
-            int initiativeE2 = initiativesCalculees.get(e2);
-            return Integer.compare(initiativeE2, initiativeE1); // Ordre décroissant
-        });
-
-        System.out.println("\n--- Ordre d'initiative pour le donjon " + m_numeroDonjon + " ---");
-        for (int i = 0; i < m_entiteTour.size(); i++) {
-            ElementMobile entite = m_entiteTour.get(i);
-            String type = entite.estPersonnage() ? "[JOUEUR]" : "[MONSTRE]";
-            int initiative = initiativesCalculees.get(entite);
-            System.out.println((i + 1) + ". " + type + " " + entite.getNom() + " (Initiative: " + initiative + ")");
+        int initiative = tirerInitiative(entite);
+        BusEvenements bus = m_gestionTours.getBus();
+        if (bus.estActif()) {
+            bus.publier(new EvenementArrivee(entite, initiative));
         }
-        System.out.println("--------------------------------------------------------\n");
+        return initiative;
     }
 
     /**
      * Affiche les statistiques finales et l'état des personnages à la fin du donjon.
      */
     public void finDonjon() {
-        System.out.println("\n=== Fin du donjon " + m_numeroDonjon + " ===");
+        m_sortie.println("\n=== Fin du donjon " + m_numeroDonjon + " ===");
 
         // Statistiques finales
-        int joueursVivants = (int) m_joueurs.stream().filter(j -> !j.estMort()).count();
-        int monstresVivants = (int) m_monstres.stream().filter(m -> !m.estMort()).count();
+        int joueursVivants = m_etatCombat.getJoueursVivants();
+        int monstresVivants = m_etatCombat.getMonstresVivants();
 
-        System.out.println("Joueurs vivants : " + joueursVivants + "/" + m_joueurs.size());
-        System.out.println("Monstres vivants : " + monstresVivants + "/" + m_monstres.size());
+        m_sortie.println("Joueurs vivants : " + joueursVivants + "/" + m_joueurs.size());
+        m_sortie.println("Monstres vivants : " + monstresVivants + "/" + m_monstres.size());
 
         // Affichage de l'état final des joueurs
-        System.out.println("\n--- État final des personnages ---");
+        m_sortie.println("\n--- État final des personnages ---");
         for (Personnage joueur : m_joueurs) {
             String statut = joueur.estMort() ? "💀 MORT" : "❤️ VIVANT";
-            System.out.println(joueur.getNom() + " : " + statut +
+            m_sortie.println(joueur.getNom() + " : " + statut +
                     " (PV: " + joueur.getPointsDeVie() + "/" + joueur.getPointsDeVieMax() + ")");
         }
     }
@@ -422,18 +573,162 @@ public class Donjon {
     private int demanderInt(Scanner scanner, String message) {
         int valeur;
         while (true) {
-            System.out.print(message);
+            m_sortie.print(message);
             try {
                 valeur = scanner.nextInt();
                 scanner.nextLine();
                 return valeur;
             } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
+                m_sortie.println("Entrée invalide, veuillez entrer un nombre.");
                 scanner.nextLine();
             }
         }
     }
 
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Écrit le donjon dans une sauvegarde : équipements, monstres, carte, identifiants des entités, ordre d'initiative
+     * et état du combat. Les joueurs doivent avoir été écrits avant le donjon : ils ne sont
+     * écrits que par leurs identifiants, sauf les alliés arrivés en cours de combat ({@link #rejoindreCombat}).
+     *
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireEntier(m_numeroDonjon);
+        sortie.ecrireEntier(m_joueurs.size());
+        for (Personnage joueur : m_joueurs) {
+            // Un allié arrivé en cours de combat n'est pas parmi les joueurs de la partie : il est écrit ici
+            boolean allie = sortie.identifiant(joueur) < 0;
+            sortie.ecrireBooleen(allie);
+            if (allie) {
+                sortie.enregistrer(joueur);
+                joueur.sauvegarder(sortie);
+            } else {
+                sortie.ecrireReference(joueur);
+            }
+        }
+        sortie.ecrireEntier(m_equipements.size());
+        for (Equipement equipement : m_equipements) {
+            sortie.enregistrer(equipement);
+            CatalogueSauvegarde.ecrireEquipement(sortie, equipement);
+        }
+        sortie.ecrireEntier(m_monstres.size());
+        for (Monstre monstre : m_monstres) {
+            sortie.enregistrer(monstre);
+            monstre.sauvegarder(sortie);
+        }
+        sortie.ecrireBooleen(m_carte != null);
+        if (m_carte != null) {
+            m_carte.sauvegarder(sortie);
+        }
+        m_registre.sauvegarder(sortie);
+        m_ordonnanceur.sauvegarder(sortie);
+        sortie.ecrireBooleen(m_gestionTours.estCombatEnCours());
+        sortie.ecrireEntier(m_gestionTours.getNumeroTour());
+        // L'entité en train de jouer, si elle est encore dans l'ordre de jeu (-1 sinon : la suivante jouera)
+        ElementMobile entiteActuelle = m_gestionTours.getEntiteActuelle();
+        sortie.ecrireEntier(entiteActuelle != null && m_ordonnanceur.contient(entiteActuelle)
+                ? sortie.identifiant(entiteActuelle) : -1);
+        sortie.ecrireEntier(m_gestionTours.getActionsRestantes());
+    }
+
+    /**
+     * Relit un donjon écrit par {@link #sauvegarder(EcritureSauvegarde)}, sans aucune saisie.
+     * Le combat est joué à la console ; s'il était en cours, {@link #deroulerDonjon()} le reprend
+     * à l'entité et à l'action où il en était, avec le même ordre d'initiative.
+     *
+     * @param entree la sauvegarde
+     * @param maitreDuJeu le maître du jeu de la partie
+     * @return le donjon
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public static Donjon restaurer(LectureSauvegarde entree, MaitreDuJeu maitreDuJeu) {
+        Donjon donjon = new Donjon(entree.lireEntier(), maitreDuJeu);
+        int nombreJoueurs = entree.lireTaille();
+        for (int i = 0; i < nombreJoueurs; i++) {
+            if (entree.getVersion() >= 3 && entree.lireBooleen()) {
+                Personnage allie = Personnage.restaurer(entree);
+                entree.enregistrer(allie);
+                donjon.m_joueurs.add(allie);
+            } else {
+                donjon.m_joueurs.add(entree.lireReference(Personnage.class));
+            }
+        }
+        int nombreEquipements = entree.lireTaille();
+        for (int i = 0; i < nombreEquipements; i++) {
+            Equipement equipement = CatalogueSauvegarde.lireEquipement(entree);
+            entree.enregistrer(equipement);
+            donjon.m_equipements.add(equipement);
+        }
+        int nombreMonstres = entree.lireTaille();
+        for (int i = 0; i < nombreMonstres; i++) {
+            Monstre monstre = Monstre.restaurer(entree);
+            entree.enregistrer(monstre);
+            donjon.m_monstres.add(monstre);
+        }
+        if (entree.lireBooleen()) {
+            donjon.m_carte = Carte.restaurer(entree);
+        }
+        if (entree.getVersion() >= 4) {
+            donjon.m_registre.restaurer(entree);
+        }
+        // Avant la version 4, les identifiants suivent l'ordre des joueurs puis des monstres
+        donjon.enregistrerEntites();
+        boolean combatEnCours;
+        int numeroTour;
+        ElementMobile entiteActuelle = null;
+        int actionsRestantes;
+        if (entree.getVersion() >= 3) {
+            donjon.m_ordonnanceur.restaurer(entree);
+            combatEnCours = entree.lireBooleen();
+            numeroTour = entree.lireEntier();
+            int identifiant = entree.lireEntier();
+            if (identifiant >= 0) {
+                entiteActuelle = entree.objet(identifiant, ElementMobile.class);
+            }
+            actionsRestantes = entree.lireEntier();
+        } else {
+            // Avant la version 3, seul l'ordre était écrit : les initiatives sont remplacées par des rangs
+            int nombreEntites = entree.lireTaille();
+            List<ElementMobile> ordre = new ArrayList<>(nombreEntites);
+            for (int i = 0; i < nombreEntites; i++) {
+                ElementMobile entite = entree.lireReference(ElementMobile.class);
+                donjon.m_ordonnanceur.ajouter(entite, nombreEntites - i);
+                ordre.add(entite);
+            }
+            combatEnCours = entree.lireBooleen();
+            numeroTour = entree.lireEntier();
+            // La version 1 ne reprenait un combat qu'au début d'un tour
+            int indexEntite = entree.getVersion() >= 2 ? entree.lireEntier() : 0;
+            actionsRestantes = entree.getVersion() >= 2 ? entree.lireEntier() : Tours.ACTIONS_PAR_TOUR;
+            if (indexEntite < 0 || indexEntite > nombreEntites) {
+                throw new IllegalStateException("Sauvegarde corrompue : aucune entité à l'index " + indexEntite
+                        + " de l'ordre d'initiative");
+            }
+            if (indexEntite < nombreEntites) {
+                entiteActuelle = ordre.get(indexEntite);
+            }
+            // L'entité d'index donné joue (ou vient de jouer) : seules celles d'après restent à jouer
+            donjon.m_ordonnanceur.reprendre(combatEnCours,
+                    OrdonnanceurInitiative.cle(nombreEntites - indexEntite, indexEntite));
+            if (entiteActuelle != null && !donjon.m_ordonnanceur.contient(entiteActuelle)) {
+                entiteActuelle = null;
+            }
+        }
+        donjon.m_ordonnanceur.suivreCarte(donjon.m_carte);
+
+        donjon.m_gestionTours = new Tours(donjon);
+        if (combatEnCours) {
+            try {
+                donjon.m_gestionTours.reprendreA(numeroTour, entiteActuelle, actionsRestantes);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Sauvegarde corrompue : " + e.getMessage(), e);
+            }
+        }
+        return donjon;
+    }
+
     // Getters et setters
 
     /**
@@ -479,6 +774,9 @@ public class Donjon {
      */
     public void setMonstres(List<Monstre> monstres) {
         this.m_monstres = new ArrayList<>(monstres);
+        for (Monstre monstre : m_monstres) {
+            m_stockageMonstres.ajouter(monstre);
+        }
     }
 
     /**
@@ -518,12 +816,48 @@ public class Donjon {
     }
 
     /**
-     * Retourne la liste des entités pour l'ordre de tour.
+     * Retourne les entités du combat dans l'ordre de jeu d'un tour complet.
      *
-     * @return la liste des entités du tour
+     * @return une copie de l'ordre d'initiative
      */
     public List<ElementMobile> getEntiteTour() {
-        return m_entiteTour;
+        return m_ordonnanceur.getOrdre();
+    }
+
+    /**
+     * Retourne l'ordonnanceur qui établit l'ordre de jeu du combat.
+     *
+     * @return l'ordonnanceur d'initiative
+     */
+    public OrdonnanceurInitiative getOrdonnanceur() {
+        return m_ordonnanceur;
+    }
+
+    /**
+     * Retourne le registre qui attribue un identifiant entier à chaque entité du donjon.
+     *
+     * @return le registre des entités
+     */
+    public RegistreEntites getRegistre() {
+        return m_registre;
+    }
+
+    /**
+     * Retourne le stockage des caractéristiques de combat des monstres du donjon.
+     *
+     * @return le stockage des monstres
+     */
+    public StockageMonstres getStockageMonstres() {
+        return m_stockageMonstres;
+    }
+
+    /**
+     * Retourne le décompte des vivants du combat, tenu à jour à chaque mort.
+     *
+     * @return l'état du combat
+     */
+    public EtatCombat getEtatCombat() {
+        return m_etatCombat;
     }
 
     /**
@@ -535,6 +869,24 @@ public class Donjon {
         return m_maitreDuJeu;
     }
 
+    /**
+     * Remplace le gestionnaire de tours du donjon (pour jouer le combat avec un autre contrôleur).
+     *
+     * @param gestionTours le nouveau gestionnaire de tours
+     */
+    public void setGestionTours(Tours gestionTours) {
+        this.m_gestionTours = gestionTours;
+    }
+
+    /**
+     * Retourne le flux où le donjon écrit ses messages.
+     *
+     * @return le flux de sortie
+     */
+    public PrintStream getSortie() {
+        return m_sortie;
+    }
+
     /**
      * Retourne le gestionnaire de tours du donjon.
      *
@@ -0,0 +1,125 @@
+package carteDuJeu;
+
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Décompte des joueurs et des monstres encore vivants d'un combat.
+ *
+ * Les vivants sont comptés une fois au début du combat ({@link #recompter(List, List)}),
+ * puis le décompte suit les morts : l'état observe la carte du combat ({@link #suivreCarte(Carte)})
+ * et une entité morte, retirée de sa case, n'est plus comptée. Savoir si le combat est terminé
+ * ou combien d'entités sont encore debout coûte donc O(1), quel que soit le nombre de monstres.
+ * Chaque entité n'est décomptée qu'une fois, même si elle reçoit encore des dégâts après sa mort.
+ */
+public class EtatCombat implements ObservateurCarte {
+    private final Set<ElementMobile> m_joueursVivants = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<ElementMobile> m_monstresVivants = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private Carte m_carte;
+
+    /*============================Section Décompte============================*/
+
+    /**
+     * Suit les morts sur une carte. La carte suivie précédemment ne l'est plus.
+     *
+     * @param carte la carte du combat, ou null pour ne plus en suivre
+     */
+    public void suivreCarte(Carte carte) {
+        if (carte == m_carte) {
+            return;
+        }
+        if (m_carte != null) {
+            m_carte.retirerObservateur(this);
+        }
+        m_carte = carte;
+        if (carte != null) {
+            carte.ajouterObservateur(this);
+        }
+    }
+
+    /**
+     * Compte les entités vivantes au début d'un combat (ou à sa reprise), en O(n).
+     *
+     * @param joueurs les joueurs du donjon
+     * @param monstres les monstres du donjon
+     */
+    public void recompter(List<Personnage> joueurs, List<Monstre> monstres) {
+        m_joueursVivants.clear();
+        m_monstresVivants.clear();
+        for (Personnage joueur : joueurs) {
+            if (!joueur.estMort()) {
+                m_joueursVivants.add(joueur);
+            }
+        }
+        for (Monstre monstre : monstres) {
+            if (!monstre.estMort()) {
+                m_monstresVivants.add(monstre);
+            }
+        }
+    }
+
+    /**
+     * Compte une entité qui rejoint le combat en cours.
+     *
+     * @param entite l'entité, vivante
+     * @throws IllegalArgumentException si l'entité est null ou morte
+     */
+    public void ajouter(ElementMobile entite) {
+        if (entite == null || entite.estMort()) {
+            throw new IllegalArgumentException("Seule une entité vivante peut être comptée");
+        }
+        (entite.estPersonnage() ? m_joueursVivants : m_monstresVivants).add(entite);
+    }
+
+    @Override
+    public void elementMobileRetire(ElementMobile element, int x, int y) {
+        if (element.estMort()) {
+            (element.estPersonnage() ? m_joueursVivants : m_monstresVivants).remove(element);
+        }
+    }
+
+    /*============================Section Getters============================*/
+
+    public int getJoueursVivants() {
+        return m_joueursVivants.size();
+    }
+
+    public int getMonstresVivants() {
+        return m_monstresVivants.size();
+    }
+
+    /**
+     * @return true si tous les monstres sont morts
+     */
+    public boolean estVictoire() {
+        return m_monstresVivants.isEmpty();
+    }
+
+    /**
+     * @return true si tous les joueurs sont morts
+     */
+    public boolean estDefaite() {
+        return m_joueursVivants.isEmpty();
+    }
+
+    /**
+     * @return true si l'un des deux camps n'a plus aucun vivant
+     */
+    public boolean estTermine() {
+        return estVictoire() || estDefaite();
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "EtatCombat{joueursVivants=" + m_joueursVivants.size()
+                + ", monstresVivants=" + m_monstresVivants.size() + "}";
+    }
+}
@@ -0,0 +1,427 @@
+package carteDuJeu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expression de dés compilée une fois pour toutes, puis lancée autant de fois que nécessaire.
+ *
+ * Notation acceptée (insensible à la casse, espaces ignorés) : une somme de termes séparés par + ou -,
+ * chaque terme étant une constante ou un lancer de dés :
+ * - "XdY" ou "dY" : X dés à Y faces (X vaut 1 s'il est omis) ;
+ * - "XdYkhK" (ou "XdYkK") : ne garde que les K meilleurs dés, par exemple "4d6kh3" ;
+ * - "XdYklK" : ne garde que les K plus mauvais dés ;
+ * - suffixe "adv" ou "dis" : le terme est lancé deux fois et garde le meilleur (avantage)
+ *   ou le moins bon (désavantage) des deux totaux, par exemple "1d20adv".
+ * Exemple complet : "2d6+1d4+3".
+ *
+ * Une expression est immuable et peut être partagée entre threads. Les expressions compilées
+ * sont gardées dans un cache ({@link #compiler(String)}) : une même notation n'est analysée qu'une fois.
+ * Un lancer n'alloue aucun objet ; les termes avec conservation utilisent le tampon de travail
+ * du {@link GenerateurAleatoire}, propre au thread.
+ */
+public final class ExpressionDes {
+    /** Nombre maximal de notations gardées en cache */
+    private static final int TAILLE_CACHE_MAX = 1024;
+
+    /** Nombre maximal de dés d'un terme */
+    private static final int NOMBRE_DES_MAX = 1000;
+
+    /** Nombre maximal de faces d'un dé */
+    private static final int NOMBRE_FACES_MAX = 1_000_000;
+
+    /** Expressions compilées, par notation saisie et par notation normalisée */
+    private static final Map<String, ExpressionDes> CACHE = new ConcurrentHashMap<>();
+
+    private final String m_notation;
+    private final int m_constante;
+    private final int m_minimum;
+    private final int m_maximum;
+
+    // Termes de dés, rangés par tableaux parallèles
+    private final int[] m_nombres;
+    private final int[] m_faces;
+    private final int[] m_gardes;
+    private final boolean[] m_gardePlusHauts;
+    private final int[] m_avantages;
+    private final int[] m_signes;
+
+    /** Loi exacte du total, calculée à la première demande */
+    private volatile DistributionDes m_distribution;
+
+    private ExpressionDes(List<int[]> termes, int constante) {
+        int n = termes.size();
+        this.m_nombres = new int[n];
+        this.m_faces = new int[n];
+        this.m_gardes = new int[n];
+        this.m_gardePlusHauts = new boolean[n];
+        this.m_avantages = new int[n];
+        this.m_signes = new int[n];
+        long minimum = constante;
+        long maximum = constante;
+        for (int i = 0; i < n; i++) {
+            int[] terme = termes.get(i);
+            m_nombres[i] = terme[0];
+            m_faces[i] = terme[1];
+            m_gardes[i] = terme[2];
+            m_gardePlusHauts[i] = terme[3] != 0;
+            m_avantages[i] = terme[4];
+            m_signes[i] = terme[5];
+            long minTerme = m_gardes[i];
+            long maxTerme = (long) m_gardes[i] * m_faces[i];
+            minimum += m_signes[i] > 0 ? minTerme : -maxTerme;
+            maximum += m_signes[i] > 0 ? maxTerme : -minTerme;
+        }
+        if (minimum < Integer.MIN_VALUE || maximum > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("L'expression de dés dépasse les valeurs représentables");
+        }
+        this.m_constante = constante;
+        this.m_minimum = (int) minimum;
+        this.m_maximum = (int) maximum;
+        this.m_notation = normaliser();
+    }
+
+    /**
+     * Retourne l'expression compilée d'une notation, en la compilant au premier appel seulement.
+     *
+     * @param notation la notation de l'expression (ex : "2d6+3", "4d6kh3", "1d20adv")
+     * @return l'expression compilée, partagée par tous les appelants
+     * @throws IllegalArgumentException si la notation est null, vide ou mal formée
+     */
+    public static ExpressionDes compiler(String notation) {
+        if (notation == null) {
+            throw new IllegalArgumentException("La notation ne peut pas être null ou vide");
+        }
+        ExpressionDes expression = CACHE.get(notation);
+        if (expression != null) {
+            return expression;
+        }
+        expression = analyser(notation);
+        if (CACHE.size() < TAILLE_CACHE_MAX) {
+            ExpressionDes existante = CACHE.putIfAbsent(expression.m_notation, expression);
+            if (existante != null) {
+                expression = existante;
+            }
+            CACHE.putIfAbsent(notation, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Retourne l'expression compilée de X dés à Y faces.
+     *
+     * @param nombreDes le nombre de dés
+     * @param nombreFaces le nombre de faces de chaque dé
+     * @return l'expression "XdY" compilée
+     * @throws IllegalArgumentException si le nombre de dés ou de faces est inférieur ou égal à 0
+     */
+    public static ExpressionDes des(int nombreDes, int nombreFaces) {
+        if (nombreDes <= 0) {
+            throw new IllegalArgumentException("Le nombre de dés doit être supérieur à 0, reçu: " + nombreDes);
+        }
+        if (nombreFaces <= 0) {
+            throw new IllegalArgumentException("Le nombre de faces doit être supérieur à 0, reçu: " + nombreFaces);
+        }
+        return compiler(nombreDes + "d" + nombreFaces);
+    }
+
+    /*============================Section Lancers============================*/
+
+    /**
+     * Lance l'expression avec le générateur du thread courant.
+     *
+     * @return le total obtenu
+     */
+    public int lancer() {
+        return lancer(Des.getGenerateur());
+    }
+
+    /**
+     * Lance l'expression avec un générateur donné.
+     *
+     * @param generateur le générateur utilisé pour les dés
+     * @return le total obtenu
+     */
+    public int lancer(GenerateurAleatoire generateur) {
+        int total = m_constante;
+        for (int i = 0; i < m_nombres.length; i++) {
+            int valeur = lancerTerme(i, generateur);
+            if (m_avantages[i] != 0) {
+                int seconde = lancerTerme(i, generateur);
+                valeur = m_avantages[i] > 0 ? Math.max(valeur, seconde) : Math.min(valeur, seconde);
+            }
+            total += m_signes[i] * valeur;
+        }
+        return total;
+    }
+
+    /**
+     * Lance un terme de dés, en ne gardant que les dés demandés.
+     * Seuls les dés du plus petit des deux groupes (gardés ou écartés) sont retenus dans le tampon,
+     * trié du plus extrême au moins extrême.
+     */
+    private int lancerTerme(int indice, GenerateurAleatoire generateur) {
+        int nombre = m_nombres[indice];
+        int faces = m_faces[indice];
+        int gardes = m_gardes[indice];
+        if (gardes == nombre) {
+            int somme = nombre;
+            for (int d = 0; d < nombre; d++) {
+                somme += generateur.nextInt(faces);
+            }
+            return somme;
+        }
+
+        boolean suivreGardes = gardes <= nombre - gardes;
+        int suivis = suivreGardes ? gardes : nombre - gardes;
+        boolean suivreHauts = suivreGardes == m_gardePlusHauts[indice];
+        int[] tampon = generateur.tampon(suivis);
+        int taille = 0;
+        int somme = 0;
+        for (int d = 0; d < nombre; d++) {
+            int valeur = generateur.nextInt(faces) + 1;
+            somme += valeur;
+            int j;
+            if (taille < suivis) {
+                j = taille++;
+            } else if (suivreHauts ? valeur > tampon[suivis - 1] : valeur < tampon[suivis - 1]) {
+                j = suivis - 1;
+            } else {
+                continue;
+            }
+            while (j > 0 && (suivreHauts ? valeur > tampon[j - 1] : valeur < tampon[j - 1])) {
+                tampon[j] = tampon[j - 1];
+                j--;
+            }
+            tampon[j] = valeur;
+        }
+        int sommeSuivis = 0;
+        for (int k = 0; k < suivis; k++) {
+            sommeSuivis += tampon[k];
+        }
+        return suivreGardes ? sommeSuivis : somme - sommeSuivis;
+    }
+
+    /*============================Section Getters============================*/
+
+    /**
+     * Retourne le plus petit total possible.
+     * @return le minimum de l'expression
+     */
+    public int getMinimum() {
+        return m_minimum;
+    }
+
+    /**
+     * Retourne le plus grand total possible.
+     * @return le maximum de l'expression
+     */
+    public int getMaximum() {
+        return m_maximum;
+    }
+
+    /**
+     * Retourne la partie constante de l'expression.
+     * @return la somme des constantes
+     */
+    public int getConstante() {
+        return m_constante;
+    }
+
+    /**
+     * Retourne le nombre de termes de dés de l'expression.
+     * @return le nombre de termes de dés
+     */
+    public int getNombreTermes() {
+        return m_nombres.length;
+    }
+
+    /**
+     * Retourne la loi de probabilité exacte du total de l'expression.
+     * Elle est calculée au premier appel puis gardée avec l'expression.
+     *
+     * @return la distribution de l'expression
+     * @throws IllegalArgumentException si l'expression est trop grande pour un calcul exact
+     */
+    public DistributionDes getDistribution() {
+        DistributionDes distribution = m_distribution;
+        if (distribution == null) {
+            distribution = new DistributionDes(this);
+            m_distribution = distribution;
+        }
+        return distribution;
+    }
+
+    // Description des termes de dés, pour le calcul de la distribution
+
+    int nombre(int terme) {
+        return m_nombres[terme];
+    }
+
+    int faces(int terme) {
+        return m_faces[terme];
+    }
+
+    int gardes(int terme) {
+        return m_gardes[terme];
+    }
+
+    boolean gardePlusHauts(int terme) {
+        return m_gardePlusHauts[terme];
+    }
+
+    int avantage(int terme) {
+        return m_avantages[terme];
+    }
+
+    int signe(int terme) {
+        return m_signes[terme];
+    }
+
+    /*============================Section Analyse============================*/
+
+    /**
+     * Analyse une notation et construit l'expression correspondante.
+     * Chaque terme de dés est décrit par {nombre, faces, gardés, garde les plus hauts (1/0), avantage (1/0/-1), signe}.
+     */
+    private static ExpressionDes analyser(String notation) {
+        String texte = notation.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+        if (texte.isEmpty()) {
+            throw new IllegalArgumentException("La notation ne peut pas être null ou vide");
+        }
+
+        List<int[]> termes = new ArrayList<>();
+        long constante = 0;
+        int[] position = {0};
+        int signe = 1;
+        if (texte.charAt(0) == '+' || texte.charAt(0) == '-') {
+            signe = texte.charAt(0) == '-' ? -1 : 1;
+            position[0]++;
+        }
+
+        while (true) {
+            int debut = position[0];
+            int nombre = lireEntier(texte, position, notation);
+            boolean nombreLu = position[0] > debut;
+            if (position[0] < texte.length() && texte.charAt(position[0]) == 'd') {
+                position[0]++;
+                if (!nombreLu) {
+                    nombre = 1;
+                }
+                int debutFaces = position[0];
+                int faces = lireEntier(texte, position, notation);
+                if (position[0] == debutFaces) {
+                    throw erreur(notation, "nombre de faces manquant");
+                }
+                if (nombre <= 0 || nombre > NOMBRE_DES_MAX) {
+                    throw erreur(notation, "le nombre de dés doit être entre 1 et " + NOMBRE_DES_MAX);
+                }
+                if (faces <= 0 || faces > NOMBRE_FACES_MAX) {
+                    throw erreur(notation, "le nombre de faces doit être entre 1 et " + NOMBRE_FACES_MAX);
+                }
+                int gardes = nombre;
+                int plusHauts = 1;
+                if (texte.startsWith("k", position[0])) {
+                    position[0]++;
+                    if (texte.startsWith("h", position[0])) {
+                        position[0]++;
+                    } else if (texte.startsWith("l", position[0])) {
+                        plusHauts = 0;
+                        position[0]++;
+                    }
+                    int debutGardes = position[0];
+                    gardes = lireEntier(texte, position, notation);
+                    if (position[0] == debutGardes || gardes < 1 || gardes > nombre) {
+                        throw erreur(notation, "le nombre de dés gardés doit être entre 1 et " + nombre);
+                    }
+                }
+                int avantage = 0;
+                if (texte.startsWith("adv", position[0])) {
+                    avantage = 1;
+                    position[0] += 3;
+                } else if (texte.startsWith("dis", position[0])) {
+                    avantage = -1;
+                    position[0] += 3;
+                }
+                termes.add(new int[]{nombre, faces, gardes, plusHauts, avantage, signe});
+            } else if (nombreLu) {
+                constante += signe * (long) nombre;
+                if (constante < Integer.MIN_VALUE || constante > Integer.MAX_VALUE) {
+                    throw erreur(notation, "constante trop grande");
+                }
+            } else {
+                throw erreur(notation, "terme attendu en position " + (debut + 1));
+            }
+
+            if (position[0] == texte.length()) {
+                break;
+            }
+            char operateur = texte.charAt(position[0]);
+            if (operateur != '+' && operateur != '-') {
+                throw erreur(notation, "caractère inattendu '" + operateur + "'");
+            }
+            signe = operateur == '-' ? -1 : 1;
+            position[0]++;
+        }
+        return new ExpressionDes(termes, (int) constante);
+    }
+
+    /**
+     * Lit un entier positif à partir de la position courante et avance la position.
+     * @return l'entier lu, ou 0 si aucun chiffre n'est présent
+     */
+    private static int lireEntier(String texte, int[] position, String notation) {
+        long valeur = 0;
+        // Chiffres ASCII seulement : Character.isDigit accepterait aussi les chiffres arabes ou pleine chasse
+        while (position[0] < texte.length() && texte.charAt(position[0]) >= '0' && texte.charAt(position[0]) <= '9') {
+            valeur = valeur * 10 + (texte.charAt(position[0]) - '0');
+            if (valeur > Integer.MAX_VALUE) {
+                throw erreur(notation, "nombre trop grand");
+            }
+            position[0]++;
+        }
+        return (int) valeur;
+    }
+
+    private static IllegalArgumentException erreur(String notation, String raison) {
+        return new IllegalArgumentException("Notation de dés invalide '" + notation + "' : " + raison);
+    }
+
+    /**
+     * Construit la notation normalisée de l'expression, constante en dernier.
+     */
+    private String normaliser() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < m_nombres.length; i++) {
+            if (m_signes[i] < 0) {
+                sb.append('-');
+            } else if (sb.length() > 0) {
+                sb.append('+');
+            }
+            sb.append(m_nombres[i]).append('d').append(m_faces[i]);
+            if (m_gardes[i] != m_nombres[i]) {
+                sb.append(m_gardePlusHauts[i] ? "kh" : "kl").append(m_gardes[i]);
+            }
+            if (m_avantages[i] != 0) {
+                sb.append(m_avantages[i] > 0 ? "adv" : "dis");
+            }
+        }
+        if (m_constante != 0 || sb.length() == 0) {
+            if (m_constante >= 0 && sb.length() > 0) {
+                sb.append('+');
+            }
+            sb.append(m_constante);
+        }
+        return sb.toString();
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return m_notation;
+    }
+}
@@ -0,0 +1,220 @@
+package carteDuJeu;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Générateur pseudo-aléatoire d'une partie, reproductible à partir de sa graine.
+ *
+ * C'est l'algorithme SplitMix64 de {@link SplittableRandom}, dont il reproduit exactement les suites,
+ * mais avec un état accessible : {@link #getEtat()} et {@link #getGamma()} suffisent à reprendre
+ * les tirages là où ils en étaient ({@link #setEtat(long, long)}), par exemple après une sauvegarde.
+ * Aucun état partagé ni opération atomique, donc aucune contention quand plusieurs parties
+ * tournent en parallèle.
+ * Un générateur n'est pas fait pour être partagé entre threads : chaque fil de calcul
+ * utilise le sien, obtenu avec {@link #separer()} ou créé avec sa propre graine.
+ *
+ * Le générateur courant d'un thread est installé avec {@link Des#utiliserGenerateur(GenerateurAleatoire)} ;
+ * les dés, la carte et le donjon tirent tous leurs valeurs dans ce générateur.
+ */
+public class GenerateurAleatoire implements RandomGenerator {
+    /** Incrément de la suite d'un générateur construit à partir d'une graine (celui de {@link SplittableRandom}) */
+    private static final long GAMMA_DOR = 0x9e3779b97f4a7c15L;
+
+    private final long m_graine;
+    /** État SplitMix64 : la valeur suivante est tirée de m_etat + m_gamma */
+    private long m_etat;
+    private long m_gamma;
+
+    /** Tampon de travail réutilisé par les lancers qui ne gardent qu'une partie des dés */
+    private int[] m_tampon = new int[8];
+
+    /**
+     * Construit un générateur dont la graine est tirée au hasard.
+     * La graine reste consultable avec {@link #getGraine()} pour rejouer la partie.
+     */
+    public GenerateurAleatoire() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Construit un générateur à partir d'une graine.
+     * Deux générateurs de même graine produisent la même suite de valeurs.
+     *
+     * @param graine la graine du générateur
+     */
+    public GenerateurAleatoire(long graine) {
+        this(graine, graine, GAMMA_DOR);
+    }
+
+    private GenerateurAleatoire(long graine, long etat, long gamma) {
+        this.m_graine = graine;
+        this.m_etat = etat;
+        this.m_gamma = gamma;
+    }
+
+    /**
+     * Crée un nouveau générateur indépendant, destiné à un autre fil de calcul.
+     * Le résultat est reproductible : il ne dépend que de l'état de ce générateur au moment de l'appel.
+     *
+     * @return le nouveau générateur
+     */
+    public GenerateurAleatoire separer() {
+        long etat = nextLong();
+        return new GenerateurAleatoire(m_graine, etat, melangerGamma(suivant()));
+    }
+
+    /**
+     * Retourne la graine à partir de laquelle ce générateur (ou celui dont il a été séparé) a été construit.
+     *
+     * @return la graine
+     */
+    public long getGraine() {
+        return m_graine;
+    }
+
+    /**
+     * Retourne l'état courant du générateur : avec {@link #getGamma()}, il détermine toute la suite des tirages à venir.
+     *
+     * @return l'état
+     */
+    public long getEtat() {
+        return m_etat;
+    }
+
+    /**
+     * Retourne l'incrément de la suite du générateur, propre à chaque générateur séparé.
+     *
+     * @return l'incrément, toujours impair
+     */
+    public long getGamma() {
+        return m_gamma;
+    }
+
+    /**
+     * Replace le générateur dans un état relevé avec {@link #getEtat()} et {@link #getGamma()} :
+     * les tirages suivants sont ceux qui suivaient cet état.
+     *
+     * @param etat l'état
+     * @param gamma l'incrément
+     * @throws IllegalArgumentException si l'incrément est pair
+     */
+    public void setEtat(long etat, long gamma) {
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("L'incrément d'un générateur doit être impair : " + gamma);
+        }
+        this.m_etat = etat;
+        this.m_gamma = gamma;
+    }
+
+    /**
+     * Retourne le tampon de travail du générateur, agrandi si nécessaire.
+     * Il n'est utilisé que pendant un lancer de {@link ExpressionDes}, sur le thread du générateur.
+     *
+     * @param taille la taille minimale du tampon
+     * @return le tampon
+     */
+    int[] tampon(int taille) {
+        if (m_tampon.length < taille) {
+            m_tampon = new int[Math.max(taille, m_tampon.length * 2)];
+        }
+        return m_tampon;
+    }
+
+    /*============================Section Tirages============================*/
+
+    private long suivant() {
+        return m_etat += m_gamma;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = suivant();
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        long z = suivant();
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Tire un entier uniforme dans [0, borne[, par rejet pour éviter tout biais.
+     * @throws IllegalArgumentException si la borne n'est pas positive
+     */
+    @Override
+    public int nextInt(int borne) {
+        if (borne <= 0) {
+            throw new IllegalArgumentException("La borne doit être positive : " + borne);
+        }
+        int r = nextInt();
+        int masque = borne - 1;
+        if ((borne & masque) == 0) {
+            return r & masque;
+        }
+        for (int u = r >>> 1; u + masque - (r = u % borne) < 0; u = nextInt() >>> 1) {
+            // rejet des valeurs qui biaiseraient le résultat
+        }
+        return r;
+    }
+
+    /**
+     * Tire un entier uniforme dans [origine, borne[.
+     * @throws IllegalArgumentException si l'origine n'est pas inférieure à la borne
+     */
+    @Override
+    public int nextInt(int origine, int borne) {
+        if (origine >= borne) {
+            throw new IllegalArgumentException("L'origine doit être inférieure à la borne : " + origine + " >= " + borne);
+        }
+        int r = nextInt();
+        int n = borne - origine;
+        int masque = n - 1;
+        if ((n & masque) == 0) {
+            return (r & masque) + origine;
+        }
+        if (n > 0) {
+            for (int u = r >>> 1; u + masque - (r = u % n) < 0; u = nextInt() >>> 1) {
+                // rejet des valeurs qui biaiseraient le résultat
+            }
+            return r + origine;
+        }
+        while (r < origine || r >= borne) {
+            r = nextInt();
+        }
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    /**
+     * Calcule l'incrément d'un générateur séparé : impair, et avec assez de transitions de bits
+     * pour que sa suite soit de bonne qualité.
+     */
+    private static long melangerGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "GenerateurAleatoire{graine=" + m_graine + ", etat=" + m_etat + "}";
+    }
+}
@@ -0,0 +1,197 @@
+package carteDuJeu;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index trié des noms d'entités, pour retrouver une cible à partir de ce qu'a tapé le joueur.
+ *
+ * Les noms sont normalisés ({@link #normaliser(String)}) : la casse, les accents, les espaces et
+ * le « # » des monstres sont ignorés, si bien que « Troll 3 » désigne « troll#3 ».
+ * Chaque nom normalisé donne les identifiants des entités qui le portent.
+ * Une recherche exacte coûte O(log n), une complétion O(log n + nombre de noms complétés) ;
+ * la recherche approchée (fautes de frappe) parcourt les noms, avec un calcul de distance
+ * interrompu dès que la distance maximale est dépassée.
+ */
+public class IndexNoms {
+    private final TreeMap<String, List<Integer>> m_noms = new TreeMap<>();
+    private int m_nombre;
+
+    /*============================Section Contenu============================*/
+
+    /**
+     * Ajoute un nom à l'index.
+     *
+     * @param nom le nom de l'entité
+     * @param identifiant l'identifiant de l'entité
+     */
+    public void ajouter(String nom, int identifiant) {
+        m_noms.computeIfAbsent(normaliser(nom), cle -> new ArrayList<>(1)).add(identifiant);
+        m_nombre++;
+    }
+
+    /**
+     * Retire un nom de l'index.
+     *
+     * @param nom le nom de l'entité
+     * @param identifiant l'identifiant de l'entité
+     * @return true s'il y était
+     */
+    public boolean retirer(String nom, int identifiant) {
+        String cle = normaliser(nom);
+        List<Integer> identifiants = m_noms.get(cle);
+        if (identifiants == null || !identifiants.remove((Integer) identifiant)) {
+            return false;
+        }
+        if (identifiants.isEmpty()) {
+            m_noms.remove(cle);
+        }
+        m_nombre--;
+        return true;
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public void vider() {
+        m_noms.clear();
+        m_nombre = 0;
+    }
+
+    /*============================Section Recherche============================*/
+
+    /**
+     * Retourne les entités qui portent exactement ce nom, une fois normalisé.
+     *
+     * @param nom le nom cherché
+     * @return leurs identifiants, dans l'ordre d'ajout (liste vide si aucune)
+     */
+    public List<Integer> chercher(String nom) {
+        List<Integer> identifiants = m_noms.get(normaliser(nom));
+        return identifiants == null ? List.of() : List.copyOf(identifiants);
+    }
+
+    /**
+     * Retourne les entités dont le nom commence par un préfixe, dans l'ordre alphabétique des noms.
+     *
+     * @param prefixe le début du nom
+     * @param maximum nombre maximal d'identifiants retournés
+     * @return leurs identifiants
+     */
+    public List<Integer> completer(String prefixe, int maximum) {
+        String debut = normaliser(prefixe);
+        List<Integer> resultat = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entree : m_noms.tailMap(debut, true).entrySet()) {
+            if (!entree.getKey().startsWith(debut)) {
+                break;
+            }
+            for (Integer identifiant : entree.getValue()) {
+                if (resultat.size() == maximum) {
+                    return resultat;
+                }
+                resultat.add(identifiant);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne les entités dont le nom est le plus proche du nom tapé, en nombre de lettres
+     * ajoutées, supprimées ou remplacées, si cette distance ne dépasse pas le maximum.
+     *
+     * @param nom le nom tapé
+     * @param distanceMax distance maximale acceptée
+     * @return les identifiants des noms à la plus petite distance trouvée (liste vide si aucun)
+     */
+    public List<Integer> chercherApproche(String nom, int distanceMax) {
+        String cherche = normaliser(nom);
+        List<Integer> resultat = new ArrayList<>();
+        int meilleure = distanceMax;
+        for (Map.Entry<String, List<Integer>> entree : m_noms.entrySet()) {
+            int distance = distance(cherche, entree.getKey(), meilleure);
+            if (distance < meilleure) {
+                meilleure = distance;
+                resultat.clear();
+            }
+            if (distance <= meilleure) {
+                resultat.addAll(entree.getValue());
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Normalise un nom : minuscules, sans accents, sans espaces ni « # ».
+     *
+     * @param nom le nom
+     * @return le nom normalisé
+     */
+    public static String normaliser(String nom) {
+        // La décomposition des accents n'est utile que hors ASCII
+        String sansAccents = estAscii(nom) ? nom : Normalizer.normalize(nom, Normalizer.Form.NFD);
+        StringBuilder resultat = new StringBuilder(sansAccents.length());
+        for (int i = 0; i < sansAccents.length(); i++) {
+            char c = sansAccents.charAt(i);
+            if (!Character.isWhitespace(c) && c != '#' && Character.getType(c) != Character.NON_SPACING_MARK) {
+                resultat.append(c);
+            }
+        }
+        return resultat.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean estAscii(String nom) {
+        for (int i = 0; i < nom.length(); i++) {
+            if (nom.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distance d'édition entre deux noms, calculée ligne par ligne et arrêtée dès qu'elle dépasse le maximum.
+     *
+     * @return la distance, ou maximum + 1 si elle le dépasse
+     */
+    static int distance(String a, String b, int maximum) {
+        if (Math.abs(a.length() - b.length()) > maximum) {
+            return maximum + 1;
+        }
+        int[] precedente = new int[b.length() + 1];
+        int[] courante = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            precedente[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            courante[0] = i;
+            int minimumLigne = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cout = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                courante[j] = Math.min(Math.min(courante[j - 1] + 1, precedente[j] + 1), precedente[j - 1] + cout);
+                minimumLigne = Math.min(minimumLigne, courante[j]);
+            }
+            if (minimumLigne > maximum) {
+                return maximum + 1;
+            }
+            int[] echange = precedente;
+            precedente = courante;
+            courante = echange;
+        }
+        return Math.min(precedente[b.length()], maximum + 1);
+    }
+
+    public int getNombre() {
+        return m_nombre;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "IndexNoms{noms=" + m_noms.size() + ", entites=" + m_nombre + "}";
+    }
+}
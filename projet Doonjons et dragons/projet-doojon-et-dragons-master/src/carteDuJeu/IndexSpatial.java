@@ -0,0 +1,181 @@
+package carteDuJeu;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index spatial des entités d'une carte, pour trouver celles qui sont à portée d'une case.
+ *
+ * La carte est découpée en cellules carrées de {@code tailleCellule} cases de côté ; chaque cellule
+ * garde les identifiants et les positions des entités qui s'y trouvent. Une recherche dans un rayon
+ * ne parcourt que les cellules qui recouvrent le carré de ce rayon autour du centre, au lieu de toutes
+ * les entités : son coût dépend du nombre d'entités proches, pas de la taille du donjon.
+ * Les identifiants sont ceux du {@link RegistreEntites}, qui tient l'index à jour.
+ */
+public class IndexSpatial {
+    private final int m_largeur;
+    private final int m_hauteur;
+    private final int m_tailleCellule;
+    private final int m_colonnes;
+    private final int m_lignes;
+    /** Identifiants, colonnes et lignes des entités de chaque cellule, rangés dans les premières cases */
+    private final int[][] m_identifiants;
+    private final int[][] m_x;
+    private final int[][] m_y;
+    private final int[] m_tailles;
+    private int m_nombre;
+
+    /**
+     * Crée un index vide pour une carte.
+     *
+     * @param largeur largeur de la carte
+     * @param hauteur hauteur de la carte
+     * @param tailleCellule côté d'une cellule, en cases
+     * @throws IllegalArgumentException si une dimension ou la taille des cellules n'est pas positive
+     */
+    public IndexSpatial(int largeur, int hauteur, int tailleCellule) {
+        if (largeur < 1 || hauteur < 1 || tailleCellule < 1) {
+            throw new IllegalArgumentException("Dimensions invalides : " + largeur + "x" + hauteur
+                    + ", cellules de " + tailleCellule);
+        }
+        m_largeur = largeur;
+        m_hauteur = hauteur;
+        m_tailleCellule = tailleCellule;
+        m_colonnes = (largeur + tailleCellule - 1) / tailleCellule;
+        m_lignes = (hauteur + tailleCellule - 1) / tailleCellule;
+        int cellules = m_colonnes * m_lignes;
+        m_identifiants = new int[cellules][];
+        m_x = new int[cellules][];
+        m_y = new int[cellules][];
+        m_tailles = new int[cellules];
+    }
+
+    /*============================Section Contenu============================*/
+
+    /**
+     * Ajoute une entité à l'index.
+     *
+     * @param identifiant l'identifiant de l'entité
+     * @param x sa colonne
+     * @param y sa ligne
+     * @throws IllegalArgumentException si la position est hors de la carte
+     */
+    public void ajouter(int identifiant, int x, int y) {
+        int cellule = cellule(x, y);
+        int taille = m_tailles[cellule];
+        if (m_identifiants[cellule] == null) {
+            m_identifiants[cellule] = new int[4];
+            m_x[cellule] = new int[4];
+            m_y[cellule] = new int[4];
+        } else if (taille == m_identifiants[cellule].length) {
+            m_identifiants[cellule] = Arrays.copyOf(m_identifiants[cellule], taille * 2);
+            m_x[cellule] = Arrays.copyOf(m_x[cellule], taille * 2);
+            m_y[cellule] = Arrays.copyOf(m_y[cellule], taille * 2);
+        }
+        m_identifiants[cellule][taille] = identifiant;
+        m_x[cellule][taille] = x;
+        m_y[cellule][taille] = y;
+        m_tailles[cellule] = taille + 1;
+        m_nombre++;
+    }
+
+    /**
+     * Retire une entité de l'index. La dernière entité de sa cellule prend sa place.
+     *
+     * @param identifiant l'identifiant de l'entité
+     * @param x la colonne où elle avait été ajoutée
+     * @param y la ligne où elle avait été ajoutée
+     * @return true si elle y était
+     */
+    public boolean retirer(int identifiant, int x, int y) {
+        if (!estSurLaCarte(x, y)) {
+            return false;
+        }
+        int cellule = cellule(x, y);
+        int[] identifiants = m_identifiants[cellule];
+        int taille = m_tailles[cellule];
+        for (int i = 0; i < taille; i++) {
+            if (identifiants[i] == identifiant && m_x[cellule][i] == x && m_y[cellule][i] == y) {
+                int dernier = taille - 1;
+                identifiants[i] = identifiants[dernier];
+                m_x[cellule][i] = m_x[cellule][dernier];
+                m_y[cellule][i] = m_y[cellule][dernier];
+                m_tailles[cellule] = dernier;
+                m_nombre--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public void vider() {
+        Arrays.fill(m_tailles, 0);
+        m_nombre = 0;
+    }
+
+    /*============================Section Recherche============================*/
+
+    /**
+     * Ajoute à une liste les entités à une distance de Chebyshev d'au plus {@code rayon} d'une case,
+     * en ne parcourant que les cellules qui recouvrent la zone. L'ordre des identifiants ajoutés n'est pas défini.
+     *
+     * @param x colonne du centre
+     * @param y ligne du centre
+     * @param rayon distance maximale
+     * @param resultat liste qui reçoit les identifiants
+     */
+    public void chercherDansZone(int x, int y, int rayon, List<Integer> resultat) {
+        if (rayon < 0) {
+            return;
+        }
+        int premiereColonne = Math.max(0, Math.floorDiv(x - rayon, m_tailleCellule));
+        int derniereColonne = Math.min(m_colonnes - 1, Math.floorDiv(x + rayon, m_tailleCellule));
+        int premiereLigne = Math.max(0, Math.floorDiv(y - rayon, m_tailleCellule));
+        int derniereLigne = Math.min(m_lignes - 1, Math.floorDiv(y + rayon, m_tailleCellule));
+        for (int ligne = premiereLigne; ligne <= derniereLigne; ligne++) {
+            for (int colonne = premiereColonne; colonne <= derniereColonne; colonne++) {
+                int cellule = ligne * m_colonnes + colonne;
+                int[] identifiants = m_identifiants[cellule];
+                int[] colonnes = m_x[cellule];
+                int[] lignes = m_y[cellule];
+                for (int i = 0; i < m_tailles[cellule]; i++) {
+                    if (Math.abs(colonnes[i] - x) <= rayon && Math.abs(lignes[i] - y) <= rayon) {
+                        resultat.add(identifiants[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean estSurLaCarte(int x, int y) {
+        return x >= 0 && y >= 0 && x < m_largeur && y < m_hauteur;
+    }
+
+    private int cellule(int x, int y) {
+        if (!estSurLaCarte(x, y)) {
+            throw new IllegalArgumentException("Position hors de la carte : (" + x + ", " + y + ")");
+        }
+        return (y / m_tailleCellule) * m_colonnes + x / m_tailleCellule;
+    }
+
+    /*============================Section Getters============================*/
+
+    public int getTailleCellule() {
+        return m_tailleCellule;
+    }
+
+    public int getNombre() {
+        return m_nombre;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "IndexSpatial{cellules=" + m_colonnes + "x" + m_lignes + " de " + m_tailleCellule
+                + ", entites=" + m_nombre + "}";
+    }
+}
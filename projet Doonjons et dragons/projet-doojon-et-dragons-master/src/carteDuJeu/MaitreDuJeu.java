@@ -3,31 +3,95 @@ package carteDuJeu;
 import carteDuJeu.monstres.Monstre;
 import carteDuJeu.personnages.Personnage;
 
+import carteDuJeu.controleurs.Controleur;
+import carteDuJeu.controleurs.ControleurConsole;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+import carteDuJeu.evenements.BusEvenements;
+import carteDuJeu.evenements.EvenementDegats;
+import carteDuJeu.evenements.EvenementMaitreDuJeu;
+import carteDuJeu.evenements.EvenementMort;
+import carteDuJeu.evenements.VueConsole;
+
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.InputMismatchException;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Optional;
 
 /**
  * Gère le rôle du Maître du Jeu : création des monstres, gestion de la carte,
  * interactions spéciales et actions administratives sur le donjon.
  * Le Maître du Jeu contrôle la carte courante, la création des monstres et peut
  * infliger des dégâts ou déplacer des entités.
+ * Ses décisions sont prises par un {@link Controleur} (la console par défaut).
  */
 public class MaitreDuJeu {
+    /** Nombre maximal de cibles proposées quand un nom tapé en désigne plusieurs */
+    private static final int SUGGESTIONS_MAX = 8;
+
     private List<Monstre> m_monstres;
     private List<Personnage> m_joueurs;
     private final String m_nomMdj = "Maitre du Jeu";
     private Carte m_carteActuelle;
+    private Controleur m_controleur;
+    private PrintStream m_sortie;
+    private BusEvenements m_bus;
+    private RegistreEntites m_registre;
 
     /**
-     * Construit un Maître du Jeu avec la liste des joueurs.
+     * Construit un Maître du Jeu interactif avec la liste des joueurs.
      * @param joueurs la liste des personnages joueurs
      */
     public MaitreDuJeu(List<Personnage> joueurs) {
+        this(joueurs, new ControleurConsole(), System.out);
+    }
+
+    /**
+     * Construit un Maître du Jeu dont les décisions sont prises par un contrôleur.
+     * @param joueurs la liste des personnages joueurs
+     * @param controleur le contrôleur qui prend les décisions
+     *                   (peut être null si le gestionnaire de tours le fournit ensuite)
+     * @param sortie le flux où sont écrits les messages
+     */
+    public MaitreDuJeu(List<Personnage> joueurs, Controleur controleur, PrintStream sortie) {
         this.m_monstres = new ArrayList<>();
         this.m_joueurs = new ArrayList<>(joueurs);
         this.m_carteActuelle = null;
+        this.m_controleur = controleur;
+        this.m_sortie = sortie;
+        this.m_bus = new BusEvenements();
+        this.m_bus.abonner(new VueConsole(sortie));
+    }
+
+    /**
+     * Définit le contrôleur qui prend les décisions du Maître du Jeu.
+     * @param controleur le nouveau contrôleur
+     */
+    public void setControleur(Controleur controleur) {
+        this.m_controleur = controleur;
+    }
+
+    /**
+     * Définit le flux où le Maître du Jeu écrit ses messages.
+     * @param sortie le flux de sortie
+     */
+    public void setSortie(PrintStream sortie) {
+        this.m_sortie = sortie;
+    }
+
+    /**
+     * Définit le bus où le Maître du Jeu publie ses interventions, les dégâts de la foudre et les morts.
+     * @param bus le bus d'événements
+     */
+    public void setBus(BusEvenements bus) {
+        this.m_bus = bus;
+    }
+
+    /**
+     * Définit le registre des entités du donjon en cours, où le Maître du Jeu cherche ses cibles par leur nom.
+     * @param registre le registre des entités
+     */
+    public void setRegistre(RegistreEntites registre) {
+        this.m_registre = registre;
     }
 
     /**
@@ -36,7 +100,7 @@ public class MaitreDuJeu {
      */
     public void setCarte(Carte carte) {
         this.m_carteActuelle = carte;
-        System.out.println("Le Maître du Jeu prend contrôle d'une nouvelle carte (" +
+        m_sortie.println("Le Maître du Jeu prend contrôle d'une nouvelle carte (" +
                 carte.getLargeur() + "x" + carte.getHauteur() + ")");
     }
 
@@ -52,46 +116,26 @@ public class MaitreDuJeu {
      * Affiche le contexte narratif du donjon pour les joueurs.
      */
     public void decrireContexte() {
-        System.out.println("Bienvenue dans le donjon mystérieux !");
-        System.out.println("Vous incarnez des aventuriers courageux, prêts à affronter des monstres redoutables.");
-        System.out.println("Tuez tout les monstres qui se dressent sur votre chemin");
-        System.out.println("Bonne chance à vous !");
+        m_sortie.println("Bienvenue dans le donjon mystérieux !");
+        m_sortie.println("Vous incarnez des aventuriers courageux, prêts à affronter des monstres redoutables.");
+        m_sortie.println("Tuez tout les monstres qui se dressent sur votre chemin");
+        m_sortie.println("Bonne chance à vous !");
     }
 
     /**
-     * Lance la phase de création des monstres : demande à l'utilisateur les caractéristiques
+     * Lance la phase de création des monstres : demande au contrôleur les caractéristiques
      * de chaque monstre à créer et les ajoute à la liste des monstres.
      */
     public void phaseCreationDesMonstres() {
         m_monstres.clear();
-        Scanner scanner = new Scanner(System.in);
-        int nombreMonstres = demanderInt(scanner, "Combien de monstres voulez-vous créer ? ");
+        int nombreMonstres = m_controleur.choisirNombreMonstres();
         for (int i = 1; i <= nombreMonstres; i++) {
-            Monstre monstre = creerMonstreInteractif(scanner, i);
+            Monstre monstre = m_controleur.creerMonstre(i);
             m_monstres.add(monstre);
-            System.out.println("Monstre " + monstre.getEspece() + " (ID: " + monstre.getNumero() + ") a été crée avec succès.");
-            System.out.println("-------------------------------------------\n");
+            m_sortie.println("Monstre " + monstre.getEspece() + " (ID: " + monstre.getNumero() + ") a été crée avec succès.");
+            m_sortie.println("-------------------------------------------\n");
         }
-        System.out.println("Création du/des monstre(s) terminée(s). " + m_monstres.size() + " monstres créés.");
-    }
-
-    /**
-     * Crée un monstre interactif en demandant les caractéristiques à l'utilisateur.
-     * @param scanner le scanner pour la saisie utilisateur
-     * @param numero le numéro du monstre (pour l'affichage)
-     * @return le monstre créé
-     */
-    private Monstre creerMonstreInteractif(Scanner scanner, int numero) {
-        String espece = demanderNomMonstre(scanner, numero);
-        int portee = demanderInt(scanner, "Portée (1 pour mêlée, >1 pour distance) : ");
-        int maxDmg = demanderInt(scanner, "Dégâts max par dé : ");
-        int nbDes = demanderInt(scanner, "Nombre de dés : ");
-        int pvMax = demanderInt(scanner, "Points de vie max : ");
-        int caracAttaque = demanderInt(scanner, "Caractéristique d'attaque (force ou dextérité selon portée) : ");
-        int classeArmure = demanderInt(scanner, "Classe d'armure : ");
-        int initiative = demanderInt(scanner, "Initiative : ");
-        int vitesse = demanderInt(scanner, "Vitesse : ");
-        return new Monstre(espece, numero, portee, maxDmg, vitesse, nbDes, pvMax, caracAttaque, classeArmure, initiative);
+        m_sortie.println("Création du/des monstre(s) terminée(s). " + m_monstres.size() + " monstres créés.");
     }
 
     /**
@@ -102,39 +146,85 @@ public class MaitreDuJeu {
         return m_monstres;
     }
 
+    /**
+     * Définit les monstres contrôlés par le Maître du Jeu (monstres créés hors de la phase interactive).
+     * @param monstres la nouvelle liste de monstres
+     */
+    public void setMonstres(List<Monstre> monstres) {
+        this.m_monstres = new ArrayList<>(monstres);
+    }
+
     /**
      * Permet au Maître du Jeu d'infliger des dégâts à un monstre ou un joueur via la foudre divine.
      * @param joueurs la liste des personnages joueurs pouvant être ciblés
      */
     public void faireDmg(List<Personnage> joueurs) {
-        Scanner scanner = new Scanner(System.in);
-        System.out.print("Voulez-vous utiliser la foudre divine ? (o/n) ");
-        String rep = scanner.nextLine().trim().toLowerCase();
+        if (!m_controleur.veutUtiliserFoudre()) return;
 
-        if (!rep.equals("o")) return;
+        String nomCible = m_controleur.choisirNomCibleFoudre(m_monstres, m_joueurs);
+        if (nomCible == null) return;
 
-        Affichage.afficherCiblesDisponibles(m_monstres, m_joueurs);
+        ElementMobile cible = chercherCible(nomCible, joueurs);
+        if (cible != null) {
+            infligerDegats(cible, m_controleur.choisirDegats(cible));
+            return;
+        }
 
-        System.out.print("\nTapez le nom exact de la cible : ");
-        String nomCible = scanner.nextLine().trim();
+        m_sortie.println("❌ Aucun monstre ou joueur trouvé avec ce nom.");
+    }
 
+    /**
+     * Cherche une cible par son nom, sans tenir compte de la casse.
+     * Avec le registre du donjon, seules les entités vivantes sont cherchées, et le nom tapé peut être
+     * le début d'un nom (s'il n'en désigne qu'un) ou contenir une faute de frappe ; les cibles possibles
+     * sont proposées quand il en désigne plusieurs. Sans registre, les monstres puis les joueurs donnés sont parcourus.
+     * @param nom le nom de la cible
+     * @param joueurs les joueurs pouvant être ciblés, hors registre
+     * @return la cible, ou null si aucune entité ne porte ce nom
+     */
+    private ElementMobile chercherCible(String nom, List<Personnage> joueurs) {
+        if (m_registre != null) {
+            int identifiant = m_registre.chercher(nom);
+            if (identifiant < 0) {
+                identifiant = completerCible(nom);
+                if (identifiant >= 0) {
+                    m_sortie.println("🔎 Cible retenue : " + m_registre.getEntite(identifiant).getNom());
+                }
+            }
+            return identifiant < 0 ? null : m_registre.getEntite(identifiant);
+        }
         for (Monstre m : m_monstres) {
-            if (m.getNom().equalsIgnoreCase(nomCible)) {
-                int dmg = demanderInt(scanner, "Donnez les dégats à infliger à " + m.getNom() + " : ");
-                infligerDegats(m, dmg);
-                return;
+            if (m.getNom().equalsIgnoreCase(nom)) {
+                return m;
             }
         }
-
         for (Personnage j : joueurs) {
-            if (j.getNom().equalsIgnoreCase(nomCible)) {
-                int dmg = demanderInt(scanner, "Donnez les dégats à infliger à " + j.getNom() + " : ");
-                infligerDegats(j, dmg);
-                return;
+            if (j.getNom().equalsIgnoreCase(nom)) {
+                return j;
             }
         }
+        return null;
+    }
 
-        System.out.println("❌ Aucun monstre ou joueur trouvé avec ce nom.");
+    /**
+     * Complète un nom introuvable tel quel : par le seul nom qui commence ainsi, sinon par le seul nom
+     * proche à une ou deux lettres près. Plusieurs noms possibles sont proposés et aucun n'est retenu.
+     * @return l'identifiant retenu, -1 sinon
+     */
+    private int completerCible(String nom) {
+        List<Integer> candidats = m_registre.completer(nom, SUGGESTIONS_MAX + 1);
+        if (candidats.isEmpty()) {
+            candidats = m_registre.chercherApproche(nom, nom.length() <= 4 ? 1 : 2);
+        }
+        if (candidats.size() == 1) {
+            return candidats.get(0);
+        }
+        if (!candidats.isEmpty()) {
+            List<String> noms = m_registre.getNoms(candidats.subList(0, Math.min(candidats.size(), SUGGESTIONS_MAX)));
+            m_sortie.println("🔎 Plusieurs cibles possibles : " + String.join(", ", noms)
+                    + (candidats.size() > SUGGESTIONS_MAX ? ", ..." : ""));
+        }
+        return -1;
     }
 
     /**
@@ -143,10 +233,14 @@ public class MaitreDuJeu {
      * @param degats le nombre de dégâts à infliger
      */
     private void infligerDegats(ElementMobile cible, int degats) {
+        boolean etaitVivante = !cible.estMort();
         cible.subirDegats(degats);
-        System.out.println("⚡ " + cible.getNom() + " a été frappé par la foudre divine et subit " + degats + " dégâts !");
-        if (cible.estMort()) {
-            System.out.println("💀 " + cible.getNom() + " est mort !");
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementMaitreDuJeu(ActionMaitreDuJeu.FOUDRE_DIVINE, cible, -1, -1));
+            m_bus.publier(new EvenementDegats(null, cible, degats));
+        }
+        // Seule la mort elle-même est annoncée, pas les coups portés à un corps
+        if (etaitVivante && cible.estMort()) {
             if (m_carteActuelle != null && m_carteActuelle.contientElement(cible)) {
                 Case caseCible = m_carteActuelle.getCase(cible)
                         .orElseThrow(() -> new IllegalArgumentException("Case introuvable"));
@@ -154,44 +248,35 @@ public class MaitreDuJeu {
                     caseCible.retirerContenu(cible);
                 }
             }
+            if (m_bus.estActif()) {
+                m_bus.publier(new EvenementMort(cible, null));
+            }
         }
     }
 
     /**
-     * Permet de déplacer un monstre ou un joueur par son nom, après saisie utilisateur.
+     * Permet de déplacer un monstre ou un joueur par son nom, choisi par le contrôleur.
      */
     public void deplacerCibleParNom() {
         if (m_carteActuelle == null) {
-            System.out.println("❌ Aucune carte disponible pour le déplacement.");
+            m_sortie.println("❌ Aucune carte disponible pour le déplacement.");
             return;
         }
 
-        Scanner scanner = new Scanner(System.in);
-
-        Affichage.afficherEntitesDeplacables(m_joueurs, m_monstres, m_carteActuelle);
-
         ElementMobile cible = null;
         while (cible == null) {
-            System.out.print("Entrez le nom du monstre ou joueur à déplacer : ");
-            String nomCible = scanner.nextLine().trim();
-
-            for (Monstre m : m_monstres) {
-                if (m.getNom().equalsIgnoreCase(nomCible)) {
-                    cible = m;
-                    break;
-                }
-            }
-            if (cible == null) {
-                for (Personnage j : m_joueurs) {
-                    if (j.getNom().equalsIgnoreCase(nomCible)) {
-                        cible = j;
-                        break;
-                    }
-                }
+            String nomCible = m_controleur.choisirNomCibleDeplacement(m_joueurs, m_monstres, m_carteActuelle);
+            if (nomCible == null) {
+                return;
             }
 
+            cible = chercherCible(nomCible, m_joueurs);
+
             if (cible == null) {
-                System.out.println("❌ Aucun monstre ou joueur trouvé avec ce nom. Veuillez réessayer.");
+                m_sortie.println("❌ Aucun monstre ou joueur trouvé avec ce nom. Veuillez réessayer.");
+                if (!m_controleur.estInteractif()) {
+                    return;
+                }
             }
         }
 
@@ -199,39 +284,35 @@ public class MaitreDuJeu {
         try {
             caseActuelle = m_carteActuelle.getCase(cible)
                     .orElseThrow(() -> new IllegalArgumentException("Case introuvable"));
-            System.out.println(cible.getNom() + " est actuellement en (" + caseActuelle.getX() + ", " + caseActuelle.getY() + ")");
+            m_sortie.println(cible.getNom() + " est actuellement en (" + caseActuelle.getX() + ", " + caseActuelle.getY() + ")");
         } catch (IllegalArgumentException e) {
-            System.out.println("❌ Impossible de trouver la case actuelle de la cible.");
+            m_sortie.println("❌ Impossible de trouver la case actuelle de la cible.");
             return;
         }
 
         boolean coordonneesValides = false;
         while (!coordonneesValides) {
-            System.out.print("Entrez la nouvelle coordonnée X (lettre de A à " + (char)('A' + m_carteActuelle.getLargeur() - 1) + ") : ");
-            String input = scanner.nextLine().trim().toUpperCase();
-
-            if (input.length() != 1) {
-                System.out.println("❌ Veuillez entrer une seule lettre.");
-                continue;
+            Optional<int[]> destination = m_controleur.choisirCaseDeplacement(cible, m_carteActuelle);
+            if (destination.isEmpty()) {
+                return;
             }
-
-            char lettreX = input.charAt(0);
-            int newX = lettreX - 'A';
-
-            int newYUtilisateur = demanderInt(scanner, "Entrez la nouvelle coordonnée Y (nombre de 1 à " + m_carteActuelle.getHauteur() + ") : ");
-            int newY = newYUtilisateur - 1;
+            int newX = destination.get()[0];
+            int newY = destination.get()[1];
 
             if (!m_carteActuelle.coordonneesValides(newX, newY)) {
-                System.out.println("❌ Coordonnées en dehors de la carte. Veuillez réessayer.");
+                m_sortie.println("❌ Coordonnées en dehors de la carte. Veuillez réessayer.");
             } else if (newX == caseActuelle.getX() && newY == caseActuelle.getY()) {
-                System.out.println("❌ La cible est déjà à cette position. Veuillez choisir une autre case.");
+                m_sortie.println("❌ La cible est déjà à cette position. Veuillez choisir une autre case.");
             } else if (!m_carteActuelle.estCaseAccessible(newX, newY)) {
-                System.out.println("❌ Déplacement impossible : la case (" + newX + ", " + newY + ") n'est pas accessible. Veuillez choisir une autre case.");
+                m_sortie.println("❌ Déplacement impossible : la case (" + newX + ", " + newY + ") n'est pas accessible. Veuillez choisir une autre case.");
             } else {
-                System.out.println("Déplacement de " + cible.getNom() + " vers la case (" + newX + ", " + newY + ")");
                 deplacerElementMobile(cible, newX, newY);
                 coordonneesValides = true;
             }
+
+            if (!coordonneesValides && !m_controleur.estInteractif()) {
+                return;
+            }
         }
     }
 
@@ -243,7 +324,7 @@ public class MaitreDuJeu {
      */
     public void deplacerElementMobile(ElementMobile cible, int x, int y) {
         if (m_carteActuelle == null) {
-            System.out.println("❌ Aucune carte disponible.");
+            m_sortie.println("❌ Aucune carte disponible.");
             return;
         }
 
@@ -255,101 +336,51 @@ public class MaitreDuJeu {
             caseActuelle.retirerContenu(cible);
             caseDestination.ajouterContenu(cible);
 
-            char lettreX = (char) ('A' + x);
-            int numeroY = y + 1;
-            System.out.println(cible.getNom() + " a été déplacé en " + lettreX + numeroY + ".");
+            if (m_bus.estActif()) {
+                m_bus.publier(new EvenementMaitreDuJeu(ActionMaitreDuJeu.DEPLACER_ENTITE, cible, x, y));
+            }
         } catch (IndexOutOfBoundsException e) {
-            System.out.println("❌ Déplacement impossible : coordonnées hors de la carte.");
+            m_sortie.println("❌ Déplacement impossible : coordonnées hors de la carte.");
         } catch (IllegalArgumentException e) {
-            System.out.println("❌ Déplacement impossible : " + e.getMessage());
+            m_sortie.println("❌ Déplacement impossible : " + e.getMessage());
         }
     }
 
     /**
-     * Permet d'ajouter un obstacle sur la carte à une position choisie par l'utilisateur.
+     * Permet d'ajouter un obstacle sur la carte à une position choisie par le contrôleur.
      */
     public void ajouterObstacle() {
         if (m_carteActuelle == null) {
-            System.out.println("❌ Aucune carte disponible.");
+            m_sortie.println("❌ Aucune carte disponible.");
             return;
         }
 
-        Scanner scanner = new Scanner(System.in);
         boolean obstacleAjoute = false;
 
         while (!obstacleAjoute) {
-            System.out.print("Entrez la coordonnée X de l'obstacle (lettre de A à " + (char)('A' + m_carteActuelle.getLargeur() - 1) + ") : ");
-            String input = scanner.nextLine().trim().toUpperCase();
-
-            if (input.length() != 1) {
-                System.out.println("❌ Veuillez entrer une seule lettre. Réessayez.");
-                continue;
+            Optional<int[]> position = m_controleur.choisirCaseObstacle(m_carteActuelle);
+            if (position.isEmpty()) {
+                return;
             }
-
-            char lettreX = input.charAt(0);
-            int x = lettreX - 'A';
-
-            int yUtilisateur = demanderInt(scanner, "Entrez la coordonnée Y de l'obstacle (nombre de 1 à " + m_carteActuelle.getHauteur() + ") : ");
-            int y = yUtilisateur - 1;
+            int x = position.get()[0];
+            int y = position.get()[1];
 
             if (!m_carteActuelle.coordonneesValides(x, y)) {
-                System.out.println("❌ Coordonnées invalides. Veuillez réessayer.");
-                continue;
-            }
-
-            Case caseCible = m_carteActuelle.getCase(x, y);
-
-            if (caseCible.estObstacle()) {
-                System.out.println("❌ Il y a déjà un obstacle à cet endroit. Choisissez une autre case.");
-                continue;
-            }
-
-            if (!caseCible.estVide()) {
-                System.out.println("❌ La case est occupée par un personnage, monstre ou équipement. Impossible de poser un obstacle. Choisissez une autre case.");
-                continue;
-            }
-
-            caseCible.setEstObstacle(true);
-            System.out.println("✅ Obstacle ajouté en (" + lettreX + ", " + yUtilisateur + ").");
-            obstacleAjoute = true;
-        }
-    }
-
-    /**
-     * Demande à l'utilisateur de saisir le nom d'un monstre.
-     * @param scanner le scanner à utiliser pour la saisie
-     * @param numero le numéro du monstre (pour l'affichage)
-     * @return le nom du monstre saisi
-     */
-    private String demanderNomMonstre(Scanner scanner, int numero) {
-        String nom = "";
-        while (nom.trim().isEmpty()) {
-            System.out.print("Entrez le nom du monstre #" + numero + " : ");
-            nom = scanner.nextLine().trim();
-            if (nom.isEmpty()) {
-                System.out.println("Le nom ne peut pas être vide. Veuillez réessayer.");
+                m_sortie.println("❌ Coordonnées invalides. Veuillez réessayer.");
+            } else if (m_carteActuelle.getCase(x, y).estObstacle()) {
+                m_sortie.println("❌ Il y a déjà un obstacle à cet endroit. Choisissez une autre case.");
+            } else if (!m_carteActuelle.getCase(x, y).estVide()) {
+                m_sortie.println("❌ La case est occupée par un personnage, monstre ou équipement. Impossible de poser un obstacle. Choisissez une autre case.");
+            } else {
+                m_carteActuelle.getCase(x, y).setEstObstacle(true);
+                if (m_bus.estActif()) {
+                    m_bus.publier(new EvenementMaitreDuJeu(ActionMaitreDuJeu.AJOUTER_OBSTACLE, null, x, y));
+                }
+                obstacleAjoute = true;
             }
-        }
-        return nom;
-    }
 
-    /**
-     * Demande à l'utilisateur de saisir un entier avec un message personnalisé.
-     * @param scanner le scanner à utiliser pour la saisie
-     * @param message le message à afficher
-     * @return la valeur entière saisie
-     */
-    private int demanderInt(Scanner scanner, String message) {
-        int valeur;
-        while (true) {
-            System.out.print(message);
-            try {
-                valeur = scanner.nextInt();
-                scanner.nextLine();
-                return valeur;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                scanner.nextLine();
+            if (!obstacleAjoute && !m_controleur.estInteractif()) {
+                return;
             }
         }
     }
@@ -359,8 +390,8 @@ public class MaitreDuJeu {
      * @param commentaire le texte à afficher
      */
     public void lireCommentaire(String commentaire) {
-        System.out.println("📜 Récit du Maître du Jeu :");
-        System.out.println(commentaire);
+        m_sortie.println("📜 Récit du Maître du Jeu :");
+        m_sortie.println(commentaire);
     }
 
     /*============================Section Overrides============================*/
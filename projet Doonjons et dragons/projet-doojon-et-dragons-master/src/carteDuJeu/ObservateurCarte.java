@@ -0,0 +1,44 @@
+package carteDuJeu;
+
+/**
+ * Interface des objets souhaitant être prévenus des modifications d'une carte.
+ * Les notifications sont émises par la carte dès qu'une de ses cases change,
+ * quel que soit le chemin emprunté (méthodes de la carte ou modification directe d'une case).
+ */
+public interface ObservateurCarte {
+    /**
+     * Appelée lorsqu'un élément est ajouté ou retiré d'une case.
+     * @param x coordonnée x de la case modifiée
+     * @param y coordonnée y de la case modifiée
+     */
+    default void contenuModifie(int x, int y) {
+    }
+
+    /**
+     * Appelée lorsque le statut d'obstacle d'une case change.
+     * @param x coordonnée x de la case modifiée
+     * @param y coordonnée y de la case modifiée
+     */
+    default void obstacleModifie(int x, int y) {
+    }
+
+    /**
+     * Appelée lorsqu'un élément mobile est ajouté à une case, avant {@link #contenuModifie(int, int)}.
+     * Un déplacement est un retrait de la case de départ suivi d'un ajout à la case d'arrivée.
+     * @param element l'élément ajouté
+     * @param x coordonnée x de la case qui le reçoit
+     * @param y coordonnée y de la case qui le reçoit
+     */
+    default void elementMobileAjoute(ElementMobile element, int x, int y) {
+    }
+
+    /**
+     * Appelée lorsqu'un élément mobile est retiré d'une case, avant {@link #contenuModifie(int, int)}.
+     * Une entité morte est retirée de la carte : c'est ainsi qu'un observateur apprend sa mort.
+     * @param element l'élément retiré
+     * @param x coordonnée x de la case qu'il quitte
+     * @param y coordonnée y de la case qu'il quitte
+     */
+    default void elementMobileRetire(ElementMobile element, int x, int y) {
+    }
+}
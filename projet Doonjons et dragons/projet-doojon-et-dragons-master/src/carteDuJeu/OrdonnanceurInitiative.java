@@ -0,0 +1,481 @@
+package carteDuJeu;
+
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordre de jeu des entités d'un combat, par initiative décroissante.
+ *
+ * Chaque participant a une clé primitive qui réunit son initiative et son rang d'arrivée :
+ * à initiative égale, le premier arrivé joue le premier (les joueurs avant les monstres,
+ * comme l'ancien tri stable). Les participants qui n'ont pas encore joué le tour en cours sont
+ * dans un tas binaire indexé : passer à l'entité suivante, retirer une entité ou en ajouter une
+ * coûte O(log n), quel que soit le nombre d'entités déjà passées ou mortes.
+ *
+ * L'ordonnanceur observe la carte du combat ({@link #suivreCarte(Carte)}) : une entité morte,
+ * retirée de sa case, est aussitôt retirée de l'ordre de jeu. Une entité qui rejoint le combat
+ * ({@link #ajouter(ElementMobile, int)}) joue dès ce tour si son initiative la place après
+ * l'entité en train de jouer, sinon au tour suivant. L'initiative peut aussi être relancée
+ * au début de chaque tour ({@link #setRelanceChaqueTour(boolean)}).
+ */
+public class OrdonnanceurInitiative implements ObservateurCarte {
+    private static final int CAPACITE_INITIALE = 16;
+
+    /** Participants, leurs clés et leur position dans le tas (-1 s'ils ont déjà joué ce tour) */
+    private ElementMobile[] m_entites = new ElementMobile[CAPACITE_INITIALE];
+    private long[] m_cles = new long[CAPACITE_INITIALE];
+    private int[] m_positionsTas = new int[CAPACITE_INITIALE];
+    private int m_nombre;
+    private final Map<ElementMobile, Integer> m_indices = new IdentityHashMap<>();
+
+    /** Tas des participants qui n'ont pas encore joué ce tour (indices dans les tableaux ci-dessus) */
+    private int[] m_tas = new int[CAPACITE_INITIALE];
+    private int m_tailleTas;
+
+    /** Rang d'arrivée du prochain participant */
+    private int m_prochaineSequence;
+
+    /** true entre le début d'un tour et la dernière entité servie ; clé de la dernière entité servie */
+    private boolean m_tourCommence;
+    private long m_cleCourante = Long.MAX_VALUE;
+
+    private boolean m_relanceChaqueTour;
+    private int m_versionTirages;
+
+    private Carte m_carte;
+
+    /*============================Section Participants============================*/
+
+    /**
+     * Suit les morts sur une carte : toute entité morte retirée de sa case quitte l'ordre de jeu.
+     * La carte suivie précédemment ne l'est plus.
+     *
+     * @param carte la carte du combat, ou null pour ne plus en suivre
+     */
+    public void suivreCarte(Carte carte) {
+        if (carte == m_carte) {
+            return;
+        }
+        if (m_carte != null) {
+            m_carte.retirerObservateur(this);
+        }
+        m_carte = carte;
+        if (carte != null) {
+            carte.ajouterObservateur(this);
+        }
+    }
+
+    /**
+     * Retire tous les participants, avant un nouveau tirage de l'ordre d'initiative.
+     */
+    public void vider() {
+        Arrays.fill(m_entites, 0, m_nombre, null);
+        m_nombre = 0;
+        m_tailleTas = 0;
+        m_indices.clear();
+        m_prochaineSequence = 0;
+        m_tourCommence = false;
+        m_cleCourante = Long.MAX_VALUE;
+        m_versionTirages++;
+    }
+
+    /**
+     * Ajoute une entité à l'ordre de jeu, avec son initiative déjà tirée.
+     * Pendant un tour, elle joue dès ce tour si elle passe après l'entité en train de jouer.
+     *
+     * @param entite l'entité
+     * @param initiative son initiative totale (jet et bonus)
+     * @throws IllegalArgumentException si l'entité est null ou participe déjà
+     */
+    public void ajouter(ElementMobile entite, int initiative) {
+        if (entite == null) {
+            throw new IllegalArgumentException("L'entité ne peut pas être null");
+        }
+        if (m_indices.containsKey(entite)) {
+            throw new IllegalArgumentException(entite.getNom() + " est déjà dans l'ordre d'initiative");
+        }
+        int indice = inserer(entite, cle(initiative, m_prochaineSequence++));
+        if (m_tourCommence && m_cles[indice] < m_cleCourante) {
+            pousser(indice);
+        }
+        m_versionTirages++;
+    }
+
+    /**
+     * Retire une entité de l'ordre de jeu, en O(log n).
+     *
+     * @param entite l'entité
+     * @return true si elle y était
+     */
+    public boolean retirer(ElementMobile entite) {
+        Integer indice = m_indices.remove(entite);
+        if (indice == null) {
+            return false;
+        }
+        int i = indice;
+        if (m_positionsTas[i] >= 0) {
+            retirerDuTas(m_positionsTas[i]);
+        }
+        // Le dernier participant prend la place libérée
+        int dernier = --m_nombre;
+        if (i != dernier) {
+            m_entites[i] = m_entites[dernier];
+            m_cles[i] = m_cles[dernier];
+            m_positionsTas[i] = m_positionsTas[dernier];
+            if (m_positionsTas[i] >= 0) {
+                m_tas[m_positionsTas[i]] = i;
+            }
+            m_indices.put(m_entites[i], i);
+        }
+        m_entites[dernier] = null;
+        return true;
+    }
+
+    @Override
+    public void elementMobileRetire(ElementMobile element, int x, int y) {
+        if (element.estMort()) {
+            retirer(element);
+        }
+    }
+
+    /*============================Section Tours============================*/
+
+    /**
+     * Commence un tour : tous les participants vivants sont à jouer. Les morts qui n'avaient pas
+     * quitté la carte sont retirés, et l'initiative est relancée si demandé.
+     *
+     * @param relancer true pour relancer l'initiative si {@link #estRelanceChaqueTour()}
+     *                 (faux au premier tour, dont l'initiative vient d'être tirée)
+     */
+    public void debuterTour(boolean relancer) {
+        retirerMorts();
+        if (relancer && m_relanceChaqueTour) {
+            for (int i = 0; i < m_nombre; i++) {
+                m_cles[i] = cle(Des.lancer(20) + m_entites[i].getInitiative(), sequence(m_cles[i]));
+            }
+            m_versionTirages++;
+        }
+        m_tourCommence = true;
+        m_cleCourante = Long.MAX_VALUE;
+        construireTas();
+    }
+
+    /**
+     * Retourne la prochaine entité à jouer dans le tour en cours, et la retire des entités à jouer.
+     *
+     * @return l'entité, ou null si tout le monde a joué (le tour est alors terminé)
+     */
+    public ElementMobile suivante() {
+        while (m_tailleTas > 0) {
+            int indice = m_tas[0];
+            retirerDuTas(0);
+            m_cleCourante = m_cles[indice];
+            if (!m_entites[indice].estMort()) {
+                return m_entites[indice];
+            }
+        }
+        m_tourCommence = false;
+        return null;
+    }
+
+    /**
+     * Replace l'ordonnanceur à une position sauvegardée : les morts sont retirés et, pendant un tour,
+     * les entités qui passent après la clé donnée sont à jouer.
+     *
+     * @param tourCommence true si un tour était commencé
+     * @param cleCourante la clé de la dernière entité servie pendant ce tour ({@link #getCleCourante()})
+     */
+    public void reprendre(boolean tourCommence, long cleCourante) {
+        retirerMorts();
+        m_tourCommence = tourCommence;
+        m_cleCourante = tourCommence ? cleCourante : Long.MAX_VALUE;
+        m_tailleTas = 0;
+        for (int i = 0; i < m_nombre; i++) {
+            m_positionsTas[i] = -1;
+        }
+        if (tourCommence) {
+            for (int i = 0; i < m_nombre; i++) {
+                if (m_cles[i] < cleCourante) {
+                    m_positionsTas[i] = m_tailleTas;
+                    m_tas[m_tailleTas++] = i;
+                }
+            }
+            for (int i = (m_tailleTas >>> 1) - 1; i >= 0; i--) {
+                descendre(i);
+            }
+        }
+    }
+
+    private void retirerMorts() {
+        for (int i = m_nombre - 1; i >= 0; i--) {
+            if (m_entites[i].estMort()) {
+                retirer(m_entites[i]);
+            }
+        }
+    }
+
+    private void construireTas() {
+        for (int i = 0; i < m_nombre; i++) {
+            m_tas[i] = i;
+            m_positionsTas[i] = i;
+        }
+        m_tailleTas = m_nombre;
+        for (int i = (m_tailleTas >>> 1) - 1; i >= 0; i--) {
+            descendre(i);
+        }
+    }
+
+    /*============================Section Tas============================*/
+
+    private int inserer(ElementMobile entite, long cle) {
+        if (m_nombre == m_entites.length) {
+            int capacite = m_nombre * 2;
+            m_entites = Arrays.copyOf(m_entites, capacite);
+            m_cles = Arrays.copyOf(m_cles, capacite);
+            m_positionsTas = Arrays.copyOf(m_positionsTas, capacite);
+            m_tas = Arrays.copyOf(m_tas, capacite);
+        }
+        int indice = m_nombre++;
+        m_entites[indice] = entite;
+        m_cles[indice] = cle;
+        m_positionsTas[indice] = -1;
+        m_indices.put(entite, indice);
+        return indice;
+    }
+
+    private void pousser(int indice) {
+        placer(m_tailleTas++, indice);
+        monter(m_positionsTas[indice]);
+    }
+
+    private void retirerDuTas(int position) {
+        int retire = m_tas[position];
+        m_positionsTas[retire] = -1;
+        int dernier = m_tas[--m_tailleTas];
+        if (position < m_tailleTas) {
+            placer(position, dernier);
+            if (position > 0 && m_cles[dernier] > m_cles[m_tas[(position - 1) >>> 1]]) {
+                monter(position);
+            } else {
+                descendre(position);
+            }
+        }
+    }
+
+    private void monter(int position) {
+        int indice = m_tas[position];
+        long cle = m_cles[indice];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (m_cles[m_tas[parent]] >= cle) {
+                break;
+            }
+            placer(position, m_tas[parent]);
+            position = parent;
+        }
+        placer(position, indice);
+    }
+
+    private void descendre(int position) {
+        int indice = m_tas[position];
+        long cle = m_cles[indice];
+        int moitie = m_tailleTas >>> 1;
+        while (position < moitie) {
+            int enfant = 2 * position + 1;
+            if (enfant + 1 < m_tailleTas && m_cles[m_tas[enfant + 1]] > m_cles[m_tas[enfant]]) {
+                enfant++;
+            }
+            if (m_cles[m_tas[enfant]] <= cle) {
+                break;
+            }
+            placer(position, m_tas[enfant]);
+            position = enfant;
+        }
+        placer(position, indice);
+    }
+
+    private void placer(int position, int indice) {
+        m_tas[position] = indice;
+        m_positionsTas[indice] = position;
+    }
+
+    /**
+     * Réunit une initiative et un rang d'arrivée en une clé : les clés décroissantes donnent
+     * l'ordre de jeu, le premier arrivé passant devant à initiative égale.
+     */
+    static long cle(int initiative, int sequence) {
+        return ((long) initiative << 32) | (~sequence & 0xFFFFFFFFL);
+    }
+
+    private static int initiative(long cle) {
+        return (int) (cle >> 32);
+    }
+
+    private static int sequence(long cle) {
+        return ~(int) cle;
+    }
+
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Écrit les participants et leurs initiatives, puis la position dans le tour en cours.
+     * Les participants doivent avoir été écrits avant : ils ne sont écrits que par leurs identifiants.
+     *
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sauvegarderTirages(sortie);
+        sortie.ecrireBooleen(m_tourCommence);
+        sortie.ecrireLong(m_cleCourante);
+    }
+
+    /**
+     * Écrit les participants et leurs initiatives, sans la position dans le tour.
+     *
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarderTirages(EcritureSauvegarde sortie) {
+        sortie.ecrireBooleen(m_relanceChaqueTour);
+        sortie.ecrireEntier(m_prochaineSequence);
+        sortie.ecrireEntier(m_nombre);
+        for (int i = 0; i < m_nombre; i++) {
+            sortie.ecrireReference(m_entites[i]);
+            sortie.ecrireLong(m_cles[i]);
+        }
+    }
+
+    /**
+     * Relit un ordonnanceur écrit par {@link #sauvegarder(EcritureSauvegarde)} et se replace
+     * à la position sauvegardée.
+     *
+     * @param entree la sauvegarde
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurer(LectureSauvegarde entree) {
+        restaurerTirages(entree);
+        boolean tourCommence = entree.lireBooleen();
+        reprendre(tourCommence, entree.lireLong());
+    }
+
+    /**
+     * Relit des participants écrits par {@link #sauvegarderTirages(EcritureSauvegarde)}, qui remplacent
+     * les participants actuels. {@link #reprendre(boolean, long)} doit suivre pour reconstruire le tour.
+     *
+     * @param entree la sauvegarde
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurerTirages(LectureSauvegarde entree) {
+        boolean relance = entree.lireBooleen();
+        int prochaineSequence = entree.lireEntier();
+        int nombre = entree.lireTaille();
+        vider();
+        for (int i = 0; i < nombre; i++) {
+            ElementMobile entite = entree.lireReference(ElementMobile.class);
+            long cle = entree.lireLong();
+            if (m_indices.containsKey(entite)) {
+                throw new IllegalStateException("Sauvegarde corrompue : " + entite.getNom()
+                        + " apparaît deux fois dans l'ordre d'initiative");
+            }
+            inserer(entite, cle);
+        }
+        m_relanceChaqueTour = relance;
+        m_prochaineSequence = prochaineSequence;
+    }
+
+    /*============================Section Getters============================*/
+
+    /**
+     * Retourne les participants dans l'ordre de jeu d'un tour complet.
+     * @return une copie de l'ordre, par initiative décroissante
+     */
+    public List<ElementMobile> getOrdre() {
+        Integer[] indices = new Integer[m_nombre];
+        for (int i = 0; i < m_nombre; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (a, b) -> Long.compare(m_cles[b], m_cles[a]));
+        List<ElementMobile> ordre = new ArrayList<>(m_nombre);
+        for (Integer indice : indices) {
+            ordre.add(m_entites[indice]);
+        }
+        return ordre;
+    }
+
+    /**
+     * Retourne l'initiative d'un participant.
+     * @param entite le participant
+     * @return son initiative totale
+     * @throws IllegalArgumentException si l'entité ne participe pas
+     */
+    public int getInitiative(ElementMobile entite) {
+        Integer indice = m_indices.get(entite);
+        if (indice == null) {
+            throw new IllegalArgumentException(entite.getNom() + " n'est pas dans l'ordre d'initiative");
+        }
+        return initiative(m_cles[indice]);
+    }
+
+    public boolean contient(ElementMobile entite) {
+        return m_indices.containsKey(entite);
+    }
+
+    /**
+     * @return le nombre de participants
+     */
+    public int getNombre() {
+        return m_nombre;
+    }
+
+    /**
+     * @return le nombre de participants qui n'ont pas encore joué le tour en cours
+     */
+    public int getNombreAJouer() {
+        return m_tailleTas;
+    }
+
+    public boolean estTourCommence() {
+        return m_tourCommence;
+    }
+
+    /**
+     * @return la clé de la dernière entité servie pendant le tour en cours
+     */
+    public long getCleCourante() {
+        return m_cleCourante;
+    }
+
+    public boolean estRelanceChaqueTour() {
+        return m_relanceChaqueTour;
+    }
+
+    /**
+     * Active ou désactive la relance de l'initiative de tous les participants au début de chaque tour.
+     * @param relance true pour relancer l'initiative à chaque tour
+     */
+    public void setRelanceChaqueTour(boolean relance) {
+        this.m_relanceChaqueTour = relance;
+    }
+
+    /**
+     * Retourne un compteur incrémenté à chaque tirage d'initiative (ajout, relance, remise à zéro),
+     * pour savoir si les initiatives ont changé depuis une sauvegarde. Les retraits ne le changent pas.
+     * @return le compteur
+     */
+    public int getVersionTirages() {
+        return m_versionTirages;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "OrdonnanceurInitiative{participants=" + m_nombre + ", aJouer=" + m_tailleTas
+                + ", tourCommence=" + m_tourCommence + ", relance=" + m_relanceChaqueTour + "}";
+    }
+}
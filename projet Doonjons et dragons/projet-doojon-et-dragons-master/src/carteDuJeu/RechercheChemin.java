@@ -0,0 +1,370 @@
+package carteDuJeu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recherche de chemins sur une carte en tenant compte des obstacles et des éléments mobiles.
+ *
+ * Les déplacements se font sur les 8 cases voisines avec un coût de 1 par pas, ce qui correspond
+ * à la distance de Chebyshev utilisée par le jeu. La recherche est un A* dont l'heuristique est
+ * cette même distance : elle est admissible, le chemin trouvé est donc le plus court.
+ * Un pas en diagonale est interdit lorsqu'il passerait entre deux obstacles (coin de mur).
+ *
+ * Toutes les structures de travail (coûts, parents, ensembles ouvert et fermé, tas) sont des
+ * tableaux primitifs dimensionnés une fois pour la carte et réutilisés d'une recherche à l'autre :
+ * un numéro de génération évite de les remettre à zéro, si bien qu'une recherche n'alloue rien
+ * en dehors du chemin retourné.
+ *
+ * Une instance n'est pas utilisable depuis plusieurs threads en même temps.
+ */
+public class RechercheChemin {
+    /** Décalages en x des 8 voisins */
+    private static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /** Décalages en y des 8 voisins */
+    private static final int[] DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private final Carte m_carte;
+    private final int m_largeur;
+    private final int m_hauteur;
+
+    /** Coût du meilleur chemin connu depuis le départ, valide si m_atteinte[i] == m_generation */
+    private final int[] m_cout;
+
+    /** Case précédente sur le meilleur chemin connu */
+    private final int[] m_parent;
+
+    /** Génération à laquelle la case a été atteinte (ensemble ouvert) */
+    private final int[] m_atteinte;
+
+    /** Génération à laquelle la case a été fermée (ensemble fermé) */
+    private final int[] m_fermee;
+
+    /** Numéro de la recherche en cours */
+    private int m_generation;
+
+    /** Tas binaire : cases en attente */
+    private int[] m_tasCases;
+
+    /** Tas binaire : priorités associées (f puis h) */
+    private long[] m_tasPriorites;
+
+    /** Nombre d'entrées dans le tas */
+    private int m_tailleTas;
+
+    /**
+     * Construit un moteur de recherche de chemin dimensionné pour une carte.
+     *
+     * @param carte la carte sur laquelle chercher des chemins
+     */
+    public RechercheChemin(Carte carte) {
+        this.m_carte = carte;
+        this.m_largeur = carte.getLargeur();
+        this.m_hauteur = carte.getHauteur();
+        int nbCases = m_largeur * m_hauteur;
+        this.m_cout = new int[nbCases];
+        this.m_parent = new int[nbCases];
+        this.m_atteinte = new int[nbCases];
+        this.m_fermee = new int[nbCases];
+        this.m_generation = 0;
+        this.m_tasCases = new int[Math.max(16, m_largeur + m_hauteur)];
+        this.m_tasPriorites = new long[m_tasCases.length];
+        this.m_tailleTas = 0;
+    }
+
+    /**
+     * Cherche le plus court chemin entre la position d'un élément mobile et une case cible.
+     * Les cases occupées par un autre élément mobile sont considérées comme bloquées.
+     *
+     * @param element l'élément mobile qui se déplace
+     * @param xCible coordonnée x de la destination
+     * @param yCible coordonnée y de la destination
+     * @return la liste des cases [x,y] à parcourir (départ exclu, destination incluse),
+     *         ou Optional.empty() si l'élément n'est pas sur la carte ou si aucun chemin n'existe
+     */
+    public Optional<List<int[]>> trouverChemin(ElementMobile element, int xCible, int yCible) {
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+        int xDepart = position.get()[0];
+        int yDepart = position.get()[1];
+        if (chercher(xDepart, yDepart, xCible, yCible, Integer.MAX_VALUE) < 0) {
+            return Optional.empty();
+        }
+
+        List<int[]> chemin = new ArrayList<>();
+        int depart = yDepart * m_largeur + xDepart;
+        for (int courante = yCible * m_largeur + xCible; courante != depart; courante = m_parent[courante]) {
+            chemin.add(new int[]{courante % m_largeur, courante / m_largeur});
+        }
+        Collections.reverse(chemin);
+        return Optional.of(chemin);
+    }
+
+    /**
+     * Calcule la longueur du plus court chemin entre deux cases, sans dépasser une limite.
+     *
+     * @param xDepart coordonnée x du départ
+     * @param yDepart coordonnée y du départ
+     * @param xCible coordonnée x de la destination
+     * @param yCible coordonnée y de la destination
+     * @param limite longueur maximale acceptée
+     * @return la longueur du chemin, ou -1 s'il n'existe aucun chemin d'au plus limite cases
+     */
+    public int longueurChemin(int xDepart, int yDepart, int xCible, int yCible, int limite) {
+        return chercher(xDepart, yDepart, xCible, yCible, limite);
+    }
+
+    /**
+     * Vérifie qu'un élément mobile peut atteindre une case en au plus un nombre de pas donné,
+     * en contournant obstacles et éléments mobiles.
+     *
+     * @param element l'élément mobile qui se déplace
+     * @param xCible coordonnée x de la destination
+     * @param yCible coordonnée y de la destination
+     * @param casesMax nombre maximal de cases parcourues
+     * @return true si un chemin d'au plus casesMax cases existe, false sinon
+     */
+    public boolean estAtteignable(ElementMobile element, int xCible, int yCible, int casesMax) {
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        return position.isPresent()
+                && chercher(position.get()[0], position.get()[1], xCible, yCible, casesMax) >= 0;
+    }
+
+    /**
+     * Retourne toutes les cases qu'un élément mobile peut atteindre en au plus un nombre de pas donné.
+     * Les cases sont rendues ligne par ligne, de haut en bas et de gauche à droite.
+     *
+     * @param element l'élément mobile qui se déplace
+     * @param casesMax nombre maximal de cases parcourues
+     * @return la liste des coordonnées [x,y] atteignables (jamais null)
+     */
+    public List<int[]> getCasesAtteignables(ElementMobile element, int casesMax) {
+        List<int[]> cases = new ArrayList<>();
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        if (position.isEmpty() || casesMax <= 0) {
+            return cases;
+        }
+        int xDepart = position.get()[0];
+        int yDepart = position.get()[1];
+        int depart = yDepart * m_largeur + xDepart;
+
+        // Parcours en largeur borné : le tas sert ici de simple file
+        nouvelleGeneration();
+        m_tailleTas = 0;
+        m_cout[depart] = 0;
+        m_atteinte[depart] = m_generation;
+        empiler(depart, 0);
+        for (int tete = 0; tete < m_tailleTas; tete++) {
+            int courante = m_tasCases[tete];
+            if (m_cout[courante] >= casesMax) {
+                continue;
+            }
+            int x = courante % m_largeur;
+            int y = courante / m_largeur;
+            for (int d = 0; d < DX.length; d++) {
+                int voisine = voisineAccessible(x, y, d);
+                if (voisine >= 0 && m_atteinte[voisine] != m_generation) {
+                    m_atteinte[voisine] = m_generation;
+                    m_cout[voisine] = m_cout[courante] + 1;
+                    empiler(voisine, 0);
+                }
+            }
+        }
+
+        int xMin = Math.max(0, xDepart - casesMax);
+        int xMax = Math.min(m_largeur - 1, xDepart + casesMax);
+        int yMin = Math.max(0, yDepart - casesMax);
+        int yMax = Math.min(m_hauteur - 1, yDepart + casesMax);
+        for (int y = yMin; y <= yMax; y++) {
+            for (int x = xMin; x <= xMax; x++) {
+                int indice = y * m_largeur + x;
+                if (indice != depart && m_atteinte[indice] == m_generation) {
+                    cases.add(new int[]{x, y});
+                }
+            }
+        }
+        m_tailleTas = 0;
+        return cases;
+    }
+
+    /**
+     * A* entre deux cases. Laisse les parents renseignés pour reconstruire le chemin.
+     *
+     * @return la longueur du chemin, ou -1 si aucun chemin d'au plus limite cases n'existe
+     */
+    private int chercher(int xDepart, int yDepart, int xCible, int yCible, int limite) {
+        if (!m_carte.coordonneesValides(xDepart, yDepart) || !m_carte.coordonneesValides(xCible, yCible)) {
+            return -1;
+        }
+        if (xDepart == xCible && yDepart == yCible) {
+            return 0;
+        }
+        if (!m_carte.estCaseAccessible(xCible, yCible)
+                || Carte.calculerDistance(xDepart, yDepart, xCible, yCible) > limite) {
+            return -1;
+        }
+
+        int depart = yDepart * m_largeur + xDepart;
+        int cible = yCible * m_largeur + xCible;
+        nouvelleGeneration();
+        m_tailleTas = 0;
+        m_cout[depart] = 0;
+        m_parent[depart] = depart;
+        m_atteinte[depart] = m_generation;
+        int hDepart = Carte.calculerDistance(xDepart, yDepart, xCible, yCible);
+        empilerTas(depart, priorite(hDepart, hDepart));
+
+        while (m_tailleTas > 0) {
+            int courante = depilerTas();
+            if (m_fermee[courante] == m_generation) {
+                continue; // Entrée périmée : la case a déjà été fermée avec un meilleur coût
+            }
+            if (courante == cible) {
+                m_tailleTas = 0;
+                return m_cout[courante];
+            }
+            m_fermee[courante] = m_generation;
+
+            int x = courante % m_largeur;
+            int y = courante / m_largeur;
+            int coutVoisin = m_cout[courante] + 1;
+            for (int d = 0; d < DX.length; d++) {
+                int voisine = voisineAccessible(x, y, d);
+                if (voisine < 0 || m_fermee[voisine] == m_generation) {
+                    continue;
+                }
+                if (m_atteinte[voisine] == m_generation && m_cout[voisine] <= coutVoisin) {
+                    continue;
+                }
+                int h = Carte.calculerDistance(x + DX[d], y + DY[d], xCible, yCible);
+                if (coutVoisin + h > limite) {
+                    continue;
+                }
+                m_atteinte[voisine] = m_generation;
+                m_cout[voisine] = coutVoisin;
+                m_parent[voisine] = courante;
+                empilerTas(voisine, priorite(coutVoisin + h, h));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne l'indice de la case voisine dans une direction si elle est franchissable.
+     *
+     * @return l'indice de la voisine, ou -1 si elle est hors carte, bloquée, ou atteinte
+     *         par une diagonale coincée entre deux obstacles
+     */
+    private int voisineAccessible(int x, int y, int direction) {
+        int nx = x + DX[direction];
+        int ny = y + DY[direction];
+        if (!m_carte.estCaseAccessible(nx, ny)) {
+            return -1;
+        }
+        if (DX[direction] != 0 && DY[direction] != 0
+                && m_carte.estObstacle(nx, y) && m_carte.estObstacle(x, ny)) {
+            return -1;
+        }
+        return ny * m_largeur + nx;
+    }
+
+    /**
+     * Combine le coût estimé total et l'heuristique : à f égal, on préfère la case la plus proche du but.
+     */
+    private static long priorite(int f, int h) {
+        return ((long) f << 32) | h;
+    }
+
+    /**
+     * Passe à une nouvelle génération, en remettant les marques à zéro si le compteur déborde.
+     */
+    private void nouvelleGeneration() {
+        m_generation++;
+        if (m_generation == Integer.MAX_VALUE) {
+            Arrays.fill(m_atteinte, 0);
+            Arrays.fill(m_fermee, 0);
+            m_generation = 1;
+        }
+    }
+
+    /**
+     * Ajoute une entrée en fin de tas sans la faire remonter (utilisé comme file par le parcours en largeur).
+     */
+    private void empiler(int indiceCase, long priorite) {
+        if (m_tailleTas == m_tasCases.length) {
+            agrandirTas();
+        }
+        m_tasCases[m_tailleTas] = indiceCase;
+        m_tasPriorites[m_tailleTas] = priorite;
+        m_tailleTas++;
+    }
+
+    /**
+     * Ajoute une entrée au tas binaire.
+     */
+    private void empilerTas(int indiceCase, long priorite) {
+        empiler(indiceCase, priorite);
+        int i = m_tailleTas - 1;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (m_tasPriorites[parent] <= priorite) {
+                break;
+            }
+            m_tasCases[i] = m_tasCases[parent];
+            m_tasPriorites[i] = m_tasPriorites[parent];
+            i = parent;
+        }
+        m_tasCases[i] = indiceCase;
+        m_tasPriorites[i] = priorite;
+    }
+
+    /**
+     * Retire et retourne la case de plus petite priorité du tas binaire.
+     */
+    private int depilerTas() {
+        int sommet = m_tasCases[0];
+        m_tailleTas--;
+        int derniereCase = m_tasCases[m_tailleTas];
+        long dernierePriorite = m_tasPriorites[m_tailleTas];
+        int i = 0;
+        while (true) {
+            int enfant = 2 * i + 1;
+            if (enfant >= m_tailleTas) {
+                break;
+            }
+            if (enfant + 1 < m_tailleTas && m_tasPriorites[enfant + 1] < m_tasPriorites[enfant]) {
+                enfant++;
+            }
+            if (m_tasPriorites[enfant] >= dernierePriorite) {
+                break;
+            }
+            m_tasCases[i] = m_tasCases[enfant];
+            m_tasPriorites[i] = m_tasPriorites[enfant];
+            i = enfant;
+        }
+        m_tasCases[i] = derniereCase;
+        m_tasPriorites[i] = dernierePriorite;
+        return sommet;
+    }
+
+    /**
+     * Double la capacité du tas. La capacité atteinte est conservée pour les recherches suivantes.
+     */
+    private void agrandirTas() {
+        m_tasCases = Arrays.copyOf(m_tasCases, m_tasCases.length * 2);
+        m_tasPriorites = Arrays.copyOf(m_tasPriorites, m_tasPriorites.length * 2);
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "RechercheChemin{" + m_largeur + "x" + m_hauteur + "}";
+    }
+}
@@ -0,0 +1,372 @@
+package carteDuJeu;
+
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifiants entiers des entités d'un donjon.
+ *
+ * Chaque entité enregistrée reçoit un identifiant dense, de 0 au nombre d'entités moins un,
+ * dans l'ordre d'enregistrement : les joueurs, puis les monstres, puis les entités arrivées en cours de combat.
+ * L'entité et sa position s'obtiennent depuis l'identifiant par un simple accès à un tableau ;
+ * des données par entité peuvent ainsi être rangées dans des tableaux primitifs indexés par identifiant.
+ *
+ * Le registre observe la carte du donjon ({@link #suivreCarte(Carte)}) : la position de chaque entité
+ * suit ses déplacements, et vaut -1 quand l'entité n'est sur aucune case (morte, ou pas encore placée).
+ * Un identifiant reste attribué jusqu'à {@link #vider()}, même après la mort de l'entité.
+ *
+ * Les noms des entités vivantes sont rangés dans un {@link IndexNoms} : une entité y entre à son
+ * enregistrement et en sort quand elle meurt (retirée de la carte). Les recherches par nom,
+ * par début de nom et avec fautes de frappe ne parcourent donc pas toutes les entités.
+ *
+ * De même, les positions des entités vivantes sont rangées dans un {@link IndexSpatial} par camp :
+ * la recherche des adversaires à portée d'une case ({@link #chercherDansZone(int, int, int, boolean)})
+ * ne parcourt que les cellules de la carte proches de cette case.
+ */
+public class RegistreEntites implements ObservateurCarte {
+    private static final int CAPACITE_INITIALE = 16;
+    /** Côté par défaut des cellules de l'index spatial : la portée des armes et des monstres reste bien en dessous */
+    public static final int TAILLE_CELLULE = 8;
+
+    private ElementMobile[] m_entites = new ElementMobile[CAPACITE_INITIALE];
+    /** Colonne et ligne de chaque entité, -1 hors de la carte */
+    private int[] m_x = new int[CAPACITE_INITIALE];
+    private int[] m_y = new int[CAPACITE_INITIALE];
+    private int m_nombre;
+    private final Map<ElementMobile, Integer> m_identifiants = new IdentityHashMap<>();
+    /** Noms des entités vivantes */
+    private final IndexNoms m_noms = new IndexNoms();
+    /** Positions des joueurs et des monstres vivants, null sans carte suivie */
+    private IndexSpatial m_zoneJoueurs;
+    private IndexSpatial m_zoneMonstres;
+    private int m_tailleCellule = TAILLE_CELLULE;
+
+    private Carte m_carte;
+
+    /*============================Section Enregistrement============================*/
+
+    /**
+     * Suit les positions des entités sur une carte. La carte suivie précédemment ne l'est plus ;
+     * les positions de toutes les entités enregistrées sont relues sur la nouvelle carte.
+     *
+     * @param carte la carte du donjon, ou null pour ne plus en suivre
+     */
+    public void suivreCarte(Carte carte) {
+        if (carte == m_carte) {
+            return;
+        }
+        if (m_carte != null) {
+            m_carte.retirerObservateur(this);
+        }
+        m_carte = carte;
+        if (carte != null) {
+            carte.ajouterObservateur(this);
+        }
+        indexerPositions();
+    }
+
+    /**
+     * Change le côté des cellules de l'index spatial ; l'index est reconstruit.
+     *
+     * @param tailleCellule côté d'une cellule, en cases
+     * @throws IllegalArgumentException si la taille n'est pas positive
+     */
+    public void setTailleCellule(int tailleCellule) {
+        if (tailleCellule < 1) {
+            throw new IllegalArgumentException("La taille des cellules doit être positive : " + tailleCellule);
+        }
+        m_tailleCellule = tailleCellule;
+        indexerPositions();
+    }
+
+    /**
+     * Reconstruit l'index spatial pour la carte suivie, en relisant la position de chaque entité.
+     */
+    private void indexerPositions() {
+        if (m_carte == null) {
+            m_zoneJoueurs = null;
+            m_zoneMonstres = null;
+        } else {
+            m_zoneJoueurs = new IndexSpatial(m_carte.getLargeur(), m_carte.getHauteur(), m_tailleCellule);
+            m_zoneMonstres = new IndexSpatial(m_carte.getLargeur(), m_carte.getHauteur(), m_tailleCellule);
+        }
+        for (int i = 0; i < m_nombre; i++) {
+            lirePosition(i);
+        }
+    }
+
+    /**
+     * Attribue un identifiant à une entité. Une entité déjà enregistrée garde le sien.
+     *
+     * @param entite l'entité
+     * @return son identifiant
+     * @throws IllegalArgumentException si l'entité est null
+     */
+    public int enregistrer(ElementMobile entite) {
+        if (entite == null) {
+            throw new IllegalArgumentException("L'entité ne peut pas être null");
+        }
+        Integer existant = m_identifiants.get(entite);
+        if (existant != null) {
+            return existant;
+        }
+        if (m_nombre == m_entites.length) {
+            int capacite = m_nombre * 2;
+            m_entites = Arrays.copyOf(m_entites, capacite);
+            m_x = Arrays.copyOf(m_x, capacite);
+            m_y = Arrays.copyOf(m_y, capacite);
+        }
+        int identifiant = m_nombre++;
+        m_entites[identifiant] = entite;
+        m_identifiants.put(entite, identifiant);
+        lirePosition(identifiant);
+        if (!entite.estMort()) {
+            m_noms.ajouter(entite.getNom(), identifiant);
+        }
+        return identifiant;
+    }
+
+    /**
+     * Oublie toutes les entités, avant la mise en place d'un nouveau donjon.
+     */
+    public void vider() {
+        Arrays.fill(m_entites, 0, m_nombre, null);
+        m_nombre = 0;
+        m_identifiants.clear();
+        m_noms.vider();
+        if (m_zoneJoueurs != null) {
+            m_zoneJoueurs.vider();
+            m_zoneMonstres.vider();
+        }
+    }
+
+    /**
+     * Lit la position d'une entité sur la carte suivie ; l'entité n'est pas encore dans l'index spatial.
+     */
+    private void lirePosition(int identifiant) {
+        m_x[identifiant] = -1;
+        m_y[identifiant] = -1;
+        if (m_carte != null) {
+            m_carte.getCase(m_entites[identifiant]).ifPresent(c -> placer(identifiant, c.getX(), c.getY()));
+        }
+    }
+
+    /**
+     * Déplace une entité, dans les positions et dans l'index spatial ; (-1, -1) la retire de la carte.
+     * Une entité morte n'entre pas dans l'index.
+     */
+    private void placer(int identifiant, int x, int y) {
+        ElementMobile entite = m_entites[identifiant];
+        IndexSpatial zone = entite.estPersonnage() ? m_zoneJoueurs : m_zoneMonstres;
+        if (zone != null && m_x[identifiant] >= 0) {
+            zone.retirer(identifiant, m_x[identifiant], m_y[identifiant]);
+        }
+        m_x[identifiant] = x;
+        m_y[identifiant] = y;
+        if (zone != null && x >= 0 && !entite.estMort()) {
+            zone.ajouter(identifiant, x, y);
+        }
+    }
+
+    @Override
+    public void elementMobileAjoute(ElementMobile element, int x, int y) {
+        Integer identifiant = m_identifiants.get(element);
+        if (identifiant != null) {
+            placer(identifiant, x, y);
+        }
+    }
+
+    @Override
+    public void elementMobileRetire(ElementMobile element, int x, int y) {
+        Integer identifiant = m_identifiants.get(element);
+        if (identifiant != null && m_x[identifiant] == x && m_y[identifiant] == y) {
+            placer(identifiant, -1, -1);
+        }
+        if (identifiant != null && element.estMort()) {
+            m_noms.retirer(element.getNom(), identifiant);
+        }
+    }
+
+    /*============================Section Recherche============================*/
+
+    /**
+     * Retourne l'identifiant d'une entité.
+     *
+     * @param entite l'entité
+     * @return son identifiant, -1 si elle n'est pas enregistrée
+     */
+    public int getIdentifiant(ElementMobile entite) {
+        Integer identifiant = m_identifiants.get(entite);
+        return identifiant == null ? -1 : identifiant;
+    }
+
+    /**
+     * Retourne l'entité d'un identifiant, en O(1).
+     *
+     * @param identifiant l'identifiant
+     * @return l'entité
+     * @throws IllegalArgumentException si aucune entité n'a cet identifiant
+     */
+    public ElementMobile getEntite(int identifiant) {
+        verifier(identifiant);
+        return m_entites[identifiant];
+    }
+
+    /**
+     * @param identifiant l'identifiant d'une entité
+     * @return sa colonne sur la carte, -1 si elle n'est sur aucune case
+     * @throws IllegalArgumentException si aucune entité n'a cet identifiant
+     */
+    public int getX(int identifiant) {
+        verifier(identifiant);
+        return m_x[identifiant];
+    }
+
+    /**
+     * @param identifiant l'identifiant d'une entité
+     * @return sa ligne sur la carte, -1 si elle n'est sur aucune case
+     * @throws IllegalArgumentException si aucune entité n'a cet identifiant
+     */
+    public int getY(int identifiant) {
+        verifier(identifiant);
+        return m_y[identifiant];
+    }
+
+    /**
+     * Cherche une entité vivante par son nom, sans tenir compte de la casse, des accents ni des espaces.
+     * Si un monstre et un joueur portent le même nom, le monstre est choisi.
+     *
+     * @param nom le nom cherché
+     * @return l'identifiant de l'entité, -1 si aucune entité vivante ne porte ce nom
+     */
+    public int chercher(String nom) {
+        if (nom == null) {
+            return -1;
+        }
+        int joueur = -1;
+        for (int identifiant : m_noms.chercher(nom)) {
+            if (!m_entites[identifiant].estPersonnage()) {
+                return identifiant;
+            }
+            if (joueur < 0) {
+                joueur = identifiant;
+            }
+        }
+        return joueur;
+    }
+
+    /**
+     * Retourne les entités vivantes dont le nom commence par un préfixe, dans l'ordre alphabétique.
+     *
+     * @param prefixe le début du nom
+     * @param maximum nombre maximal d'entités retournées
+     * @return leurs identifiants
+     */
+    public List<Integer> completer(String prefixe, int maximum) {
+        return prefixe == null ? List.of() : m_noms.completer(prefixe, maximum);
+    }
+
+    /**
+     * Retourne les entités vivantes dont le nom est le plus proche d'un nom mal tapé.
+     *
+     * @param nom le nom tapé
+     * @param distanceMax nombre maximal de lettres ajoutées, supprimées ou remplacées
+     * @return leurs identifiants (liste vide si aucun nom n'est assez proche)
+     */
+    public List<Integer> chercherApproche(String nom, int distanceMax) {
+        return nom == null ? List.of() : m_noms.chercherApproche(nom, distanceMax);
+    }
+
+    /**
+     * Retourne les joueurs ou les monstres vivants à une distance de Chebyshev d'au plus {@code rayon} d'une case.
+     * Seules les cellules de l'index spatial qui recouvrent la zone sont parcourues.
+     *
+     * @param x colonne du centre
+     * @param y ligne du centre
+     * @param rayon distance maximale
+     * @param personnages true pour chercher les joueurs, false pour les monstres
+     * @return leurs identifiants, dans l'ordre croissant (liste vide sans carte suivie)
+     */
+    public List<Integer> chercherDansZone(int x, int y, int rayon, boolean personnages) {
+        IndexSpatial zone = personnages ? m_zoneJoueurs : m_zoneMonstres;
+        if (zone == null) {
+            return List.of();
+        }
+        List<Integer> resultat = new ArrayList<>();
+        zone.chercherDansZone(x, y, rayon, resultat);
+        // Une entité tuée sans avoir été retirée de sa case reste dans l'index
+        resultat.removeIf(identifiant -> m_entites[identifiant].estMort());
+        resultat.sort(null);
+        return resultat;
+    }
+
+    /**
+     * Retourne les noms d'entités correspondant à des identifiants.
+     *
+     * @param identifiants les identifiants
+     * @return les noms, dans le même ordre
+     */
+    public List<String> getNoms(List<Integer> identifiants) {
+        List<String> noms = new ArrayList<>(identifiants.size());
+        for (int identifiant : identifiants) {
+            noms.add(getEntite(identifiant).getNom());
+        }
+        return noms;
+    }
+
+    public int getNombre() {
+        return m_nombre;
+    }
+
+    private void verifier(int identifiant) {
+        if (identifiant < 0 || identifiant >= m_nombre) {
+            throw new IllegalArgumentException("Aucune entité d'identifiant " + identifiant);
+        }
+    }
+
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Écrit les entités dans l'ordre de leurs identifiants.
+     * Elles doivent toutes avoir été écrites avant le registre, qui n'écrit que leurs références.
+     *
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireEntier(m_nombre);
+        for (int i = 0; i < m_nombre; i++) {
+            sortie.ecrireReference(m_entites[i]);
+        }
+    }
+
+    /**
+     * Relit les entités écrites par {@link #sauvegarder(EcritureSauvegarde)} : chacune retrouve son identifiant.
+     *
+     * @param entree la sauvegarde
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurer(LectureSauvegarde entree) {
+        vider();
+        int nombre = entree.lireTaille();
+        for (int i = 0; i < nombre; i++) {
+            ElementMobile entite = entree.lireReference(ElementMobile.class);
+            if (enregistrer(entite) != i) {
+                throw new IllegalStateException("Sauvegarde corrompue : " + entite.getNom()
+                        + " apparaît deux fois dans le registre des entités");
+            }
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "RegistreEntites{entites=" + m_nombre + "}";
+    }
+}
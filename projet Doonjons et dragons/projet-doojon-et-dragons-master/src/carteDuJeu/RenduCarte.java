@@ -0,0 +1,111 @@
+package carteDuJeu;
+
+import java.io.PrintStream;
+
+/**
+ * Construit l'image texte complète d'une carte puis l'écrit en une seule fois.
+ *
+ * L'image est assemblée dans un tampon réutilisé d'un affichage à l'autre ; la ligne des lettres
+ * et les bordures ne sont recalculées que si la largeur de la carte change.
+ * Les cases vides et les obstacles sont lus dans les couches de bits de la carte, sans passer par
+ * {@link Case#toString()} ; les autres cases affichent le symbole de leur contenu, gardé par chaque entité.
+ *
+ * Un rendu n'est pas partagé entre threads ({@link Affichage} en garde un par thread).
+ */
+public class RenduCarte {
+    private static final String FIN_DE_LIGNE = System.lineSeparator();
+    private static final String SEGMENT_BORDURE = "────";
+
+    /** Tampon de l'image, réutilisé à chaque affichage */
+    private final StringBuilder m_tampon = new StringBuilder();
+
+    /** Largeur pour laquelle l'en-tête et le pied ont été calculés */
+    private int m_largeurCadre = -1;
+    private String m_entete;
+    private String m_pied;
+
+    /**
+     * Écrit l'image de la carte dans un flux, en un seul appel, puis vide le flux.
+     *
+     * @param carte la carte à afficher
+     * @param sortie le flux de sortie
+     */
+    public void afficher(Carte carte, PrintStream sortie) {
+        sortie.print(rendre(carte).toString());
+        sortie.flush();
+    }
+
+    /**
+     * Construit l'image texte de la carte :
+     * - les coordonnées X sous forme de lettres (A, B, C, ...) ;
+     * - les coordonnées Y sous forme de nombres (1, 2, 3, ...) ;
+     * - un contour décoratif en caractères Unicode ;
+     * - le symbole de chaque case.
+     *
+     * @param carte la carte à dessiner
+     * @return le tampon contenant l'image, valable jusqu'au prochain rendu
+     */
+    public CharSequence rendre(Carte carte) {
+        int largeur = carte.getLargeur();
+        if (largeur != m_largeurCadre) {
+            preparerCadre(largeur);
+        }
+
+        StringBuilder sb = m_tampon;
+        sb.setLength(0);
+        sb.append(m_entete);
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            int ligne = y + 1;
+            if (ligne < 10) {
+                sb.append(' ');
+            }
+            sb.append(ligne).append(" │");
+            for (int x = 0; x < largeur; x++) {
+                sb.append(symbole(carte, x, y));
+            }
+            sb.append('│').append(FIN_DE_LIGNE);
+        }
+        sb.append(m_pied);
+        return sb;
+    }
+
+    /**
+     * Retourne le symbole affiché pour une case (4 caractères).
+     * Les cases vides et les obstacles sont lus dans les couches de bits de la carte.
+     *
+     * @param carte la carte
+     * @param x coordonnée x de la case
+     * @param y coordonnée y de la case
+     * @return le symbole de la case
+     */
+    static String symbole(Carte carte, int x, int y) {
+        if (carte.estObstacle(x, y)) {
+            return Case.SYMBOLE_OBSTACLE;
+        }
+        if (carte.estCaseVide(x, y)) {
+            return Case.SYMBOLE_VIDE;
+        }
+        return carte.m_cases[y][x].toString();
+    }
+
+    /**
+     * Calcule la ligne des lettres, la bordure supérieure et la bordure inférieure pour une largeur.
+     */
+    private void preparerCadre(int largeur) {
+        StringBuilder entete = new StringBuilder("  ");
+        for (int i = 0; i < largeur; i++) {
+            entete.append("   ").append((char) ('A' + i));
+        }
+        entete.append(FIN_DE_LIGNE).append("   ┌").append(SEGMENT_BORDURE.repeat(largeur)).append('┐').append(FIN_DE_LIGNE);
+        m_entete = entete.toString();
+        m_pied = "   └" + SEGMENT_BORDURE.repeat(largeur) + "┘" + FIN_DE_LIGNE;
+        m_largeurCadre = largeur;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "RenduCarte{largeur=" + m_largeurCadre + ", tampon=" + m_tampon.capacity() + "}";
+    }
+}
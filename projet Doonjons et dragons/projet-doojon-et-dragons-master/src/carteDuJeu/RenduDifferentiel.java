@@ -0,0 +1,193 @@
+package carteDuJeu;
+
+import java.io.PrintStream;
+
+/**
+ * Affiche une carte dans un terminal ANSI en ne réécrivant que les cases modifiées.
+ *
+ * Au premier affichage d'une carte, l'écran est effacé, la carte complète est dessinée en haut
+ * et la zone de défilement du terminal est limitée aux lignes situées sous la carte :
+ * les messages du jeu défilent en dessous sans jamais la recouvrir.
+ * Le rendu observe ensuite la carte ({@link ObservateurCarte}) et note les cases modifiées ;
+ * à chaque affichage suivant, seules ces cases sont réécrites, par un déplacement du curseur
+ * suivi du nouveau symbole. La quantité écrite dépend donc du nombre de cases modifiées,
+ * plus de la taille de la carte.
+ *
+ * Un rendu n'est pas partagé entre threads ({@link Affichage} en garde un par thread).
+ */
+public class RenduDifferentiel implements ObservateurCarte {
+    private static final String ECHAPPEMENT = "\u001B[";
+    private static final String SAUVER_CURSEUR = "\u001B7";
+    private static final String RESTAURER_CURSEUR = "\u001B8";
+
+    /** Lignes occupées par la carte au-dessus de sa première rangée (lettres et bordure supérieure) */
+    private static final int LIGNES_ENTETE = 2;
+
+    /** Colonnes occupées à gauche de la première case (numéro de ligne et bordure) */
+    private static final int COLONNES_MARGE = 4;
+
+    /** Largeur d'une case à l'écran */
+    private static final int LARGEUR_CASE = 4;
+
+    /** Rendu complet, utilisé pour le premier affichage d'une carte */
+    private final RenduCarte m_renduComplet = new RenduCarte();
+
+    /** Tampon des séquences à écrire, réutilisé à chaque affichage */
+    private final StringBuilder m_tampon = new StringBuilder();
+
+    /** Carte observée, ou null avant le premier affichage */
+    private Carte m_carte;
+    private int m_largeur;
+    private int m_hauteur;
+
+    /** Symbole actuellement affiché à l'écran pour chaque case (indice y * largeur + x) */
+    private String[] m_affiches;
+
+    /** Cases modifiées depuis le dernier affichage : un bit par case, et la liste des indices marqués */
+    private long[] m_sales;
+    private int[] m_fileSales;
+    private int m_nombreSales;
+
+    /**
+     * Affiche la carte : complètement si elle n'a pas encore été affichée par ce rendu,
+     * sinon en ne réécrivant que les cases modifiées depuis l'affichage précédent.
+     * Rien n'est écrit si aucune case n'a changé.
+     *
+     * @param carte la carte à afficher
+     * @param sortie le flux du terminal
+     */
+    public void afficher(Carte carte, PrintStream sortie) {
+        if (carte != m_carte || carte.getLargeur() != m_largeur || carte.getHauteur() != m_hauteur) {
+            attacher(carte);
+            redessiner(sortie);
+            return;
+        }
+        if (m_nombreSales == 0) {
+            return;
+        }
+
+        StringBuilder sb = m_tampon;
+        sb.setLength(0);
+        sb.append(SAUVER_CURSEUR);
+        int longueurVide = sb.length();
+        for (int i = 0; i < m_nombreSales; i++) {
+            int indice = m_fileSales[i];
+            m_sales[indice >>> 6] &= ~(1L << indice);
+            int x = indice % m_largeur;
+            int y = indice / m_largeur;
+            String symbole = RenduCarte.symbole(carte, x, y);
+            if (!symbole.equals(m_affiches[indice])) {
+                deplacerCurseur(sb, LIGNES_ENTETE + y + 1, COLONNES_MARGE + x * LARGEUR_CASE + 1);
+                sb.append(symbole);
+                m_affiches[indice] = symbole;
+            }
+        }
+        m_nombreSales = 0;
+
+        // Les cases modifiées peuvent avoir retrouvé leur symbole affiché : rien à écrire
+        if (sb.length() > longueurVide) {
+            sb.append(RESTAURER_CURSEUR);
+            sortie.print(sb.toString());
+            sortie.flush();
+        }
+    }
+
+    /**
+     * Rend au terminal sa zone de défilement complète et cesse d'observer la carte.
+     * Le prochain affichage redessinera la carte entière.
+     *
+     * @param sortie le flux du terminal
+     */
+    public void terminer(PrintStream sortie) {
+        if (m_carte == null) {
+            return;
+        }
+        m_carte.retirerObservateur(this);
+        m_carte = null;
+        // Le changement de zone de défilement ramène le curseur en haut à gauche : on le sauve autour
+        sortie.print(SAUVER_CURSEUR + ECHAPPEMENT + "r" + RESTAURER_CURSEUR);
+        sortie.flush();
+    }
+
+    /*============================Section Dessin============================*/
+
+    /**
+     * Observe une nouvelle carte et dimensionne l'image mémorisée.
+     */
+    private void attacher(Carte carte) {
+        if (m_carte != null) {
+            m_carte.retirerObservateur(this);
+        }
+        m_carte = carte;
+        m_largeur = carte.getLargeur();
+        m_hauteur = carte.getHauteur();
+        int nombreCases = m_largeur * m_hauteur;
+        m_affiches = new String[nombreCases];
+        m_sales = new long[(nombreCases + 63) >>> 6];
+        m_fileSales = new int[nombreCases];
+        m_nombreSales = 0;
+        carte.ajouterObservateur(this);
+    }
+
+    /**
+     * Efface l'écran, dessine la carte complète en haut et réserve les lignes suivantes aux messages.
+     */
+    private void redessiner(PrintStream sortie) {
+        StringBuilder sb = m_tampon;
+        sb.setLength(0);
+        sb.append(ECHAPPEMENT).append('r');
+        sb.append(ECHAPPEMENT).append('H').append(ECHAPPEMENT).append("2J");
+        sb.append(m_renduComplet.rendre(m_carte));
+
+        int premiereLigneMessages = LIGNES_ENTETE + m_hauteur + 2;
+        sb.append(ECHAPPEMENT).append(premiereLigneMessages).append(";r");
+        deplacerCurseur(sb, premiereLigneMessages, 1);
+        sortie.print(sb.toString());
+        sortie.flush();
+
+        for (int y = 0; y < m_hauteur; y++) {
+            for (int x = 0; x < m_largeur; x++) {
+                m_affiches[y * m_largeur + x] = RenduCarte.symbole(m_carte, x, y);
+            }
+        }
+    }
+
+    private static void deplacerCurseur(StringBuilder sb, int ligne, int colonne) {
+        sb.append(ECHAPPEMENT).append(ligne).append(';').append(colonne).append('H');
+    }
+
+    /**
+     * Note une case à réécrire au prochain affichage.
+     */
+    private void marquer(int x, int y) {
+        if (x < 0 || x >= m_largeur || y < 0 || y >= m_hauteur) {
+            return;
+        }
+        int indice = y * m_largeur + x;
+        long bit = 1L << indice;
+        if ((m_sales[indice >>> 6] & bit) == 0) {
+            m_sales[indice >>> 6] |= bit;
+            m_fileSales[m_nombreSales++] = indice;
+        }
+    }
+
+    /*============================Section Observateur============================*/
+
+    @Override
+    public void contenuModifie(int x, int y) {
+        marquer(x, y);
+    }
+
+    @Override
+    public void obstacleModifie(int x, int y) {
+        marquer(x, y);
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "RenduDifferentiel{carte=" + (m_carte == null ? "aucune" : m_largeur + "x" + m_hauteur)
+                + ", casesModifiees=" + m_nombreSales + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package carteDuJeu;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Flux de sortie qui ignore tous les messages, utilisé pour les combats sans affichage.
+ *
+ * Contrairement à un {@code PrintStream} posé sur {@link OutputStream#nullOutputStream()},
+ * les messages ne sont ni encodés ni copiés : chaque appel rend la main immédiatement.
+ */
+public class SortieSilencieuse extends PrintStream {
+
+    /**
+     * Construit un flux de sortie silencieux.
+     */
+    public SortieSilencieuse() {
+        super(OutputStream.nullOutputStream());
+    }
+
+    @Override
+    public void print(String s) {
+    }
+
+    @Override
+    public void print(Object obj) {
+    }
+
+    @Override
+    public void print(char c) {
+    }
+
+    @Override
+    public void print(int i) {
+    }
+
+    @Override
+    public void println() {
+    }
+
+    @Override
+    public void println(String x) {
+    }
+
+    @Override
+    public void println(Object x) {
+    }
+
+    @Override
+    public void println(int x) {
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "SortieSilencieuse";
+    }
+}
@@ -1,100 +1,218 @@
 package carteDuJeu;
 
 import carteDuJeu.actions.*;
+import carteDuJeu.controleurs.ActionEntite;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+import carteDuJeu.controleurs.Controleur;
+import carteDuJeu.controleurs.ControleurConsole;
 import carteDuJeu.personnages.Personnage;
 import carteDuJeu.personnages.equipements.Equipement;
 import carteDuJeu.monstres.Monstre;
 import carteDuJeu.personnages.sorts.*;
+import carteDuJeu.evenements.*;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.InputMismatchException;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Optional;
 
 /**
  * Gère la boucle principale des tours de jeu, l'enchaînement des actions des entités,
  * et les interactions avec le Maître du Jeu.
+ *
+ * Tous les choix sont délégués à un {@link Controleur} et tous les messages sont écrits
+ * dans un flux de sortie : avec un contrôleur automatique et un flux vide, un combat complet
+ * se déroule sans aucune entrée ni sortie console (mode sans affichage).
+ *
+ * Ce qui se passe pendant le combat (tours, déplacements, attaques, dégâts, morts, sorts,
+ * interventions du Maître du Jeu) est publié sur un {@link BusEvenements} : la vue console
+ * et le récit du Maître du Jeu y sont abonnés, et d'autres abonnés peuvent s'y ajouter ({@link #getBus()}).
+ * Un combat sans affichage n'a aucun abonné et ne crée aucun événement.
  */
 public class Tours {
+    /** Nombre d'actions d'une entité à chacun de ses tours */
+    public static final int ACTIONS_PAR_TOUR = 3;
+
     private Donjon m_donjon;
-    private Scanner m_scanner;
+    private Controleur m_controleur;
+    private PrintStream m_sortie;
+    private boolean m_affichageCarte;
+    private int m_nombreToursMax;
     private ChangerEquipement m_gestionEquipement;
     private Deplacement m_deplacement;
     private carteDuJeu.actions.Attaque m_attaque;
-    private int m_indexTourActuel;
+    private ElementMobile m_entiteActuelle; // Entité en train de jouer, null entre deux entités
     private int m_numeroTour;
+    private int m_actionsRestantes; // Actions restantes de l'entité en train de jouer
+    private boolean m_reprise; // true si commencerTours() reprend un combat sauvegardé en cours de tour
+    private boolean m_combatEnCours; // true entre le début et la fin de commencerTours()
     private MaitreDuJeu m_maitreDuJeu;
-    private StringBuilder m_historiqueActions;
+    private final BusEvenements m_bus;
+    private JournalNarratif m_journal;
 
     /**
-     * Constructeur de la classe Tours.
+     * Constructeur de la classe Tours, en mode interactif à la console.
      * @param donjon le donjon dans lequel se déroule la partie
      */
     public Tours(Donjon donjon) {
+        this(donjon, new ControleurConsole(), System.out, true);
+    }
+
+    /**
+     * Constructeur de la classe Tours avec un contrôleur et un flux de sortie donnés.
+     * Le contrôleur prend aussi les décisions du Maître du Jeu du donjon.
+     * @param donjon le donjon dans lequel se déroule la partie
+     * @param controleur le contrôleur qui prend toutes les décisions
+     * @param sortie le flux où sont écrits les messages
+     * @param affichageCarte true pour afficher la carte avant et après chaque action
+     */
+    public Tours(Donjon donjon, Controleur controleur, PrintStream sortie, boolean affichageCarte) {
         this.m_donjon = donjon;
-        this.m_scanner = new Scanner(System.in);
-        this.m_gestionEquipement = new ChangerEquipement();
-        this.m_deplacement = new Deplacement(donjon.getCarte());
-        this.m_attaque = new carteDuJeu.actions.Attaque(m_deplacement);
-        this.m_indexTourActuel = 0;
+        this.m_controleur = controleur;
+        this.m_sortie = sortie;
+        this.m_affichageCarte = affichageCarte;
+        this.m_nombreToursMax = Integer.MAX_VALUE;
+        this.m_bus = new BusEvenements();
+        // Un flux silencieux n'afficherait rien : inutile d'y abonner la vue console
+        if (!(sortie instanceof SortieSilencieuse)) {
+            m_bus.abonner(new VueConsole(sortie));
+        }
+        // Seuls les joueurs à la console demandent le récit du Maître du Jeu
+        if (controleur.estInteractif()) {
+            this.m_journal = new JournalNarratif();
+            m_bus.abonner(m_journal);
+        }
+        this.m_gestionEquipement = new ChangerEquipement(controleur, sortie);
+        this.m_deplacement = new Deplacement(donjon.getCarte(), controleur, sortie, m_bus);
+        this.m_attaque = new carteDuJeu.actions.Attaque(m_deplacement, sortie, m_bus);
         this.m_numeroTour = 1;
+        this.m_actionsRestantes = ACTIONS_PAR_TOUR;
         this.m_maitreDuJeu = donjon.getMaitreDuJeu();
-        this.m_historiqueActions = new StringBuilder();
+        this.m_maitreDuJeu.setControleur(controleur);
+        this.m_maitreDuJeu.setSortie(sortie);
+        this.m_maitreDuJeu.setBus(m_bus);
+        this.m_maitreDuJeu.setRegistre(donjon.getRegistre());
+    }
+
+    /**
+     * Retourne le bus où sont publiés les événements du combat,
+     * pour y abonner d'autres vues (statistiques, enregistrement...).
+     * @return le bus d'événements du combat
+     */
+    public BusEvenements getBus() {
+        return m_bus;
+    }
+
+    /**
+     * Limite le nombre de tours complets d'un combat.
+     * Au-delà, le combat s'arrête sans vainqueur (utile pour les combats automatiques bloqués).
+     * @param nombreToursMax le nombre maximal de tours (au moins 1)
+     * @throws IllegalArgumentException si le nombre est inférieur à 1
+     */
+    public void setNombreToursMax(int nombreToursMax) {
+        if (nombreToursMax < 1) {
+            throw new IllegalArgumentException("Le nombre de tours maximal doit être au moins 1");
+        }
+        this.m_nombreToursMax = nombreToursMax;
     }
 
     /**
      * Lance la boucle principale des tours de jeu.
      */
     public void commencerTours() {
-        System.out.println("\n=== DÉBUT DES TOURS DE JEU ===\n");
+        m_combatEnCours = true;
+        // Les vivants sont comptés une fois ; chaque mort les décompte ensuite
+        EtatCombat etat = m_donjon.getEtatCombat();
+        etat.recompter(m_donjon.getJoueurs(), m_donjon.getMonstres());
+        etat.suivreCarte(m_donjon.getCarte());
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementDebutCombat(m_donjon.getNumeroDonjon(), m_donjon.getCarte(),
+                    m_donjon.getJoueurs(), m_donjon.getMonstres()));
+        }
+        m_sortie.println("\n=== DÉBUT DES TOURS DE JEU ===\n");
 
         
         // Afficher la carte au début du combat
-        System.out.println("État initial de la carte :");
-        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
-        System.out.println("\n" + "=".repeat(50) + "\n");
-
-        while (!estFinDePartie()) {
-            System.out.println("--- TOUR " + m_numeroTour + " ---");
-
-            // Jouer le tour de chaque entité
-            for (m_indexTourActuel = 0; m_indexTourActuel < m_donjon.getEntiteTour().size(); m_indexTourActuel++) {
-                ElementMobile entiteActuelle = m_donjon.getEntiteTour().get(m_indexTourActuel);
+        m_sortie.println("État initial de la carte :");
+        afficherCarte();
+        m_sortie.println("\n" + "=".repeat(50) + "\n");
+
+        // Un combat repris en cours de tour repart de l'entité et de l'action où il s'était arrêté
+        boolean reprise = m_reprise;
+        m_reprise = false;
+        OrdonnanceurInitiative ordonnanceur = m_donjon.getOrdonnanceur();
+        while (!etat.estTermine()) {
+            if (!reprise) {
+                // Le premier tour suit l'initiative tout juste tirée ; les suivants peuvent la relancer
+                ordonnanceur.debuterTour(m_numeroTour > 1);
+                if (m_numeroTour > 1 && ordonnanceur.estRelanceChaqueTour()) {
+                    m_sortie.println("🎲 Initiative relancée pour le tour " + m_numeroTour);
+                }
+                m_entiteActuelle = null;
+            }
+            if (m_bus.estActif()) {
+                m_bus.publier(new EvenementDebutTour(m_numeroTour));
+            }
 
-                // Vérifier si l'entité est encore vivante
-                if (entiteActuelle.estMort()) {
-                    continue;
+            // Jouer le tour de chaque entité, dans l'ordre de l'ordonnanceur (les morts en sont retirés)
+            while (true) {
+                if (reprise && m_entiteActuelle != null) {
+                    // L'entité interrompue finit ses actions
+                    reprise = false;
+                } else {
+                    reprise = false;
+                    m_entiteActuelle = ordonnanceur.suivante();
+                    m_actionsRestantes = ACTIONS_PAR_TOUR;
+                    if (m_entiteActuelle == null) {
+                        break;
+                    }
                 }
+                ElementMobile entiteActuelle = m_entiteActuelle;
 
                 // Afficher la carte au début de chaque tour d'entité
-                System.out.println("\n📍 État de la carte avant le tour de " + entiteActuelle.getNom() + " :");
-                Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
-                System.out.println();
+                m_sortie.println("\n📍 État de la carte avant le tour de " + entiteActuelle.getNom() + " :");
+                afficherCarte();
+                m_sortie.println();
 
                 jouerTour(entiteActuelle);
 
                 // Vérifier après chaque tour si la partie est finie
-                if (estFinDePartie()) {
+                if (etat.estTermine()) {
                     break;
                 }
 
                 // Pause entre les tours pour la lisibilité
-                System.out.println("\n" + "=".repeat(50) + "\n");
+                m_sortie.println("\n" + "=".repeat(50) + "\n");
             }
+            m_entiteActuelle = null;
+            reprise = false;
 
+            if (m_bus.estActif()) {
+                m_bus.publier(new EvenementFinTour(m_numeroTour));
+            }
             m_numeroTour++;
+            if (m_numeroTour > m_nombreToursMax) {
+                m_sortie.println("⏳ Nombre maximal de tours atteint (" + m_nombreToursMax + "), fin du combat.");
+                break;
+            }
 
             // Afficher la carte après chaque tour complet
-            if (!estFinDePartie()) {
-                System.out.println("📊 État de la carte après le tour " + (m_numeroTour - 1) + " :");
-                Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
-                System.out.println("\n" + "=".repeat(80) + "\n");
+            if (!etat.estTermine()) {
+                m_sortie.println("📊 État de la carte après le tour " + (m_numeroTour - 1) + " :");
+                afficherCarte();
+                m_sortie.println("\n" + "=".repeat(80) + "\n");
             }
         }
 
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementFinCombat(etat.estVictoire(), etat.estDefaite()));
+        }
+
+        m_combatEnCours = false;
+
         // Afficher la carte finale
-        System.out.println("🏁 État final de la carte :");
-        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+        m_sortie.println("🏁 État final de la carte :");
+        afficherCarte();
 
         m_donjon.finDonjon();
     }
@@ -104,7 +222,9 @@ public class Tours {
      * @param entite l'entité dont c'est le tour
      */
     private void jouerTour(ElementMobile entite) {
-        System.out.println(">>> Tour de " + entite.getNom() + " <<<");
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementTourEntite(entite));
+        }
 
         if (entite.estPersonnage()) {
             jouerTourPersonnage((Personnage) entite);
@@ -118,106 +238,83 @@ public class Tours {
      * @param personnage le personnage joueur
      */
     private void jouerTourPersonnage(Personnage personnage) {
-        int actionsRestantes = 3;
-
-        while (actionsRestantes > 0) {
+        while (m_actionsRestantes > 0) {
             if(personnage.estMort()) {
                 return;
             }
-            Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
-            System.out.println("\nC'est au tour de " + personnage.toString());
-            System.out.println("\nActions restantes : " + actionsRestantes);
-            System.out.println("Actions disponibles :");
-            System.out.println("1. S'équiper");
-            System.out.println("2. Se déplacer");
-            System.out.println("3. Attaquer");
-            System.out.println("4. Lancer un sort");
-            System.out.println("5. Ramasser un équipement");
-            System.out.println("6. Voir l'inventaire");
-            System.out.println("7. Terminer le tour");
-
-            int choixAction = -1;
-            while (true) {
-                System.out.print("Choisissez une action : ");
-                try {
-                    choixAction = m_scanner.nextInt();
-                    m_scanner.nextLine(); // Consommer la ligne
-                    break;
-                } catch (InputMismatchException e) {
-                    System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                    m_scanner.nextLine(); // Vider la ligne incorrecte
-                }
-            }
+            afficherCarte();
+            ActionEntite choixAction = m_controleur.choisirAction(personnage, m_actionsRestantes);
 
             boolean actionEffectuee = false;
             boolean consommerAction = true;
 
             switch (choixAction) {
-                case 1:
+                case EQUIPER:
                     actionEffectuee = actionSEquiper(personnage);
                     consommerAction = false;
                     break;
-                case 2:
+                case SE_DEPLACER:
                     actionEffectuee = actionSeDeplacer(personnage);
                     if (actionEffectuee) {
                         // Afficher la carte après un déplacement
-                        System.out.println("\n🚶 Carte après déplacement de " + personnage.getNom() + " :");
-                        m_historiqueActions.append("🚶‍♂️ Les pas de ").append(personnage.getNom())
-                                .append(" résonnent dans les couloirs sombres du donjon, chaque pierre froide ")
-                                .append("sous ses pieds murmurant des secrets oubliés. Les ombres dansent ")
-                                .append("autour de notre héros, et les échos lointains de créatures tapies ")
-                                .append("dans l'obscurité rappellent constamment que le danger rôde.\n");
-
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n🚶 Carte après déplacement de " + personnage.getNom() + " :");
+                        afficherCarte();
                     }
                     break;
-                case 3:
+                case ATTAQUER:
                     actionEffectuee = actionAttaquer(personnage);
                     if (actionEffectuee) {
                         // Afficher la carte après une attaque (pour voir les effets)
-                        System.out.println("\n⚔️ Carte après attaque de " + personnage.getNom() + " :");
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n⚔️ Carte après attaque de " + personnage.getNom() + " :");
+                        afficherCarte();
                     }
                     break;
-                case 4:
+                case LANCER_SORT:
                     actionEffectuee = actionLancerSort(personnage);
                     if (actionEffectuee) {
                         // Afficher la carte après le lancement du sort
-                        System.out.println("\n🧙 Carte après lancement de sort de " + personnage.getNom() + " :");
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n🧙 Carte après lancement de sort de " + personnage.getNom() + " :");
+                        afficherCarte();
                     }
                     break;
-                case 5:
+                case RAMASSER:
                     actionEffectuee = actionRamasserEquipement(personnage);
                     consommerAction = false;
                     if (actionEffectuee) {
                         // Afficher la carte après ramassage d'équipement
-                        System.out.println("\n📦 Carte après ramassage d'équipement :");
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n📦 Carte après ramassage d'équipement :");
+                        afficherCarte();
                     }
                     break;
-                case 6:
+                case VOIR_INVENTAIRE:
                     actionEffectuee = actionVoirInventaire(personnage);
                     consommerAction = false;
                     break;
-                case 7:
-                    System.out.println(personnage.getNom() + " termine son tour.");
+                case TERMINER:
+                default:
+                    m_sortie.println(personnage.getNom() + " termine son tour.");
                     demanderCommentaire();
                     actionMDJ(m_donjon.getJoueurs());
+                    finAction(personnage, 0);
                     return;
-                default:
-                    System.out.println("Choix invalide, réessayez.");
-                    continue;
             }
 
             // Si l'action a été effectuée ou si le joueur a choisi de terminer son tour
             if (actionEffectuee && consommerAction) {
-                actionsRestantes--;
                 demanderCommentaire();
                 actionMDJ(m_donjon.getJoueurs());
+                finAction(personnage, m_actionsRestantes - 1);
+            } else if (actionEffectuee) {
+                finAction(personnage, m_actionsRestantes);
+            } else if (!m_controleur.estInteractif()) {
+                // Un contrôleur automatique qui se trompe reproduirait le même choix : on arrête là
+                m_sortie.println(personnage.getNom() + " termine son tour.");
+                actionMDJ(m_donjon.getJoueurs());
+                finAction(personnage, 0);
+                return;
             }
         }
-        System.out.println(personnage.getNom() + " a épuisé ses actions pour ce tour.");
+        m_sortie.println(personnage.getNom() + " a épuisé ses actions pour ce tour.");
     }
 
     /**
@@ -225,128 +322,91 @@ public class Tours {
      * @param monstre le monstre à jouer
      */
     private void jouerTourMonstre(Monstre monstre) {
-        System.out.println("Maître du jeu, contrôlez ce monstre.");
-        int actionsRestantes = 3;
-
-        while (actionsRestantes > 0) {
-            System.out.println("C'est au tour du monstre "+ monstre.toString());
-            System.out.println("\nActions restantes pour " + monstre.getNom() + " : " + actionsRestantes);
-            System.out.println("Actions disponibles :");
-            System.out.println("1. Se déplacer");
-            System.out.println("2. Attaquer");
-            System.out.println("3. Terminer le tour");
-
-            int choixAction = -1;
-            while (true) {
-                if(monstre.estMort())
-                {
-                    return;
-                }
-                System.out.print("Choisissez une action : ");
-                try {
-                    choixAction = m_scanner.nextInt();
-                    m_scanner.nextLine(); // Consommer la ligne
-                    break;
-                } catch (InputMismatchException e) {
-                    System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                    m_scanner.nextLine(); // Vider la ligne incorrecte
-                }
+        m_sortie.println("Maître du jeu, contrôlez ce monstre.");
+
+        while (m_actionsRestantes > 0) {
+            if (monstre.estMort()) {
+                return;
             }
+            ActionEntite choixAction = m_controleur.choisirAction(monstre, m_actionsRestantes);
 
             boolean actionEffectuee = false;
 
             switch (choixAction) {
-                case 1:
+                case SE_DEPLACER:
                     actionEffectuee = actionSeDeplacer(monstre);
                     if (actionEffectuee) {
                         // Afficher la carte après déplacement du monstre
-                        System.out.println("\n👹 Carte après déplacement de " + monstre.getNom() + " :");
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n👹 Carte après déplacement de " + monstre.getNom() + " :");
+                        afficherCarte();
                     }
                     break;
-                case 2:
+                case ATTAQUER:
                     actionEffectuee = actionAttaquerMonstre(monstre);
                     if (actionEffectuee) {
                         // Afficher la carte après attaque du monstre
-                        System.out.println("\n🗡️ Carte après attaque de " + monstre.getNom() + " :");
-                        Affichage.afficherCarte(java.util.Optional.ofNullable(m_donjon.getCarte()));
+                        m_sortie.println("\n🗡️ Carte après attaque de " + monstre.getNom() + " :");
+                        afficherCarte();
                     }
                     break;
-                case 3:
-                    System.out.println(monstre.getNom() + " termine son tour.");
+                case TERMINER:
+                default:
+                    m_sortie.println(monstre.getNom() + " termine son tour.");
                     actionMDJ(m_donjon.getJoueurs());
+                    finAction(monstre, 0);
                     return;
-                default:
-                    System.out.println("Choix invalide, réessayez.");
-                    continue;
             }
 
             if (actionEffectuee) {
-                actionsRestantes--;
-
                 actionMDJ(m_donjon.getJoueurs());
+                finAction(monstre, m_actionsRestantes - 1);
+            } else if (!m_controleur.estInteractif()) {
+                m_sortie.println(monstre.getNom() + " termine son tour.");
+                actionMDJ(m_donjon.getJoueurs());
+                finAction(monstre, 0);
+                return;
             }
         }
 
-        System.out.println(monstre.getNom() + " a épuisé ses actions pour ce tour.");
+        m_sortie.println(monstre.getNom() + " a épuisé ses actions pour ce tour.");
     }
 
 
+    /**
+     * Termine une action de l'entité en train de jouer : met à jour ses actions restantes
+     * et publie la fin de l'action, une fois l'état du combat stable.
+     * @param entite l'entité qui vient d'agir
+     * @param actionsRestantes ses actions restantes, 0 si son tour est terminé
+     */
+    private void finAction(ElementMobile entite, int actionsRestantes) {
+        m_actionsRestantes = actionsRestantes;
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementFinAction(entite, actionsRestantes));
+        }
+    }
+
     /**
      * Permet au Maître du Jeu d'effectuer des actions spéciales.
      * @param joueurs la liste des joueurs
      */
     public void actionMDJ(List<Personnage> joueurs) {
-        Scanner scanner = new Scanner(System.in);
         while (true) {
-            System.out.println("\n--- Actions du Maître du Jeu ---");
-            System.out.println("1. Frapper avec la foudre divine");
-            System.out.println("2. Déplacer un monstre ou joueur");
-            System.out.println("3. Ajouter un obstacle");
-            System.out.println("4. Terminer l'action du Maître du Jeu");
-            int choixAction = -1;
-            while (true) {
-                System.out.print("Choisissez une action : ");
-                try {
-                    choixAction = m_scanner.nextInt();
-                    m_scanner.nextLine(); // Consommer la ligne
-                    break;
-                } catch (InputMismatchException e) {
-                    System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                    m_scanner.nextLine(); // Vider la ligne incorrecte
-                }
-            }
-
-            switch (choixAction) {
-                case 1:
+            switch (m_controleur.choisirActionMaitreDuJeu()) {
+                case FOUDRE_DIVINE:
                     m_maitreDuJeu.faireDmg(joueurs);
-                    m_historiqueActions.append("⚡ Un fracas assourdissant déchire le silence du donjon ! ")
-                            .append("Un éclair divin, pur et terrible, transperce les ténèbres pour ")
-                            .append("frapper sa cible d'une colère céleste. La lumière aveuglante ")
-                            .append("révèle brièvement les secrets cachés dans l'obscurité.\n");
                     break;
-                case 2:
+                case DEPLACER_ENTITE:
                     m_maitreDuJeu.deplacerCibleParNom();
-                    m_historiqueActions.append("🌀 Des forces mystérieuses s'éveillent dans les profondeurs... ")
-                            .append("Invisible et impitoyable, une main spectrale saisit sa proie et ")
-                            .append("la déplace selon la volonté du destin. Les pierres du donjon ")
-                            .append("tremblent sous le poids de cette magie ancienne.\n");
                     break;
-                case 3:
+                case AJOUTER_OBSTACLE:
                     m_maitreDuJeu.ajouterObstacle();
-                    m_historiqueActions.append("🗿 Un grondement sourd résonne dans les entrailles du donjon... ")
-                            .append("La terre se fissure et un obstacle surgit du néant, ")
-                            .append("comme si le donjon lui-même conspirait contre les intrus. ")
-                            .append("Les murs semblent ricaner d'une joie malveillante.\n");
                     break;
-                case 4:
-                    System.out.println("Fin des actions du Maître du Jeu.");
-                    m_historiqueActions.append("🎭 Les forces obscures du donjon se retirent dans l'ombre, ")
-                            .append("satisfaites de leur œuvre. Un silence pesant s'installe, ")
-                            .append("chargé de promesses sinistres pour la suite de l'aventure...\n");
-                    return;
+                case TERMINER:
                 default:
-                    System.out.println("Choix invalide, réessayez.");
+                    if (m_bus.estActif()) {
+                        m_bus.publier(new EvenementMaitreDuJeu(ActionMaitreDuJeu.TERMINER, null, -1, -1));
+                    }
+                    return;
             }
         }
     }
@@ -358,13 +418,12 @@ public class Tours {
      */
     private boolean actionSEquiper(Personnage personnage) {
         if (personnage.getInventaire().isEmpty()) {
-            System.out.println(personnage.getNom() + " n'a aucun équipement dans son inventaire.");
+            m_sortie.println(personnage.getNom() + " n'a aucun équipement dans son inventaire.");
             return false;
         }
 
-        System.out.println("\n--- Action : S'équiper ---");
-        m_gestionEquipement.proposerChangement(personnage);
-        return true;
+        m_sortie.println("\n--- Action : S'équiper ---");
+        return m_gestionEquipement.proposerChangement(personnage);
     }
 
     /**
@@ -373,7 +432,7 @@ public class Tours {
      * @return true si le déplacement a eu lieu, false sinon
      */
     private boolean actionSeDeplacer(ElementMobile entite) {
-        System.out.println("\n--- Action : Se déplacer ---");
+        m_sortie.println("\n--- Action : Se déplacer ---");
         return m_deplacement.gererDeplacement(entite);
     }
 
@@ -383,15 +442,15 @@ public class Tours {
      * @return true si l'inventaire a été affiché, false sinon
      */
     private boolean actionVoirInventaire(Personnage personnage) {
-        System.out.println("\n----- Inventaire de " + personnage.getNom() + " -----");
+        m_sortie.println("\n----- Inventaire de " + personnage.getNom() + " -----");
         if (personnage.getInventaire().isEmpty()) {
-            System.out.println(personnage.getNom() + " n'a aucun équipement dans son inventaire.\n\n");
+            m_sortie.println(personnage.getNom() + " n'a aucun équipement dans son inventaire.\n\n");
             return false;
         }
 
         for (Equipement equipement : personnage.getInventaire()) {
-            System.out.println("- " + equipement.toString() + "\n");
-            System.out.println("------------------------------------------------------\n\n");
+            m_sortie.println("- " + equipement.toString() + "\n");
+            m_sortie.println("------------------------------------------------------\n\n");
         }
         return true;
     }
@@ -402,10 +461,10 @@ public class Tours {
      * @return true si l'attaque a eu lieu, false sinon
      */
     private boolean actionAttaquer(Personnage personnage) {
-        System.out.println("\n--- Action : Attaquer ---");
+        m_sortie.println("\n--- Action : Attaquer ---");
 
         if (personnage.getArmeEquipee() == null) {
-            System.out.println(personnage.getNom() + " n'a pas d'arme équipée !");
+            m_sortie.println(personnage.getNom() + " n'a pas d'arme équipée !");
             return false;
         }
 
@@ -413,32 +472,15 @@ public class Tours {
         List<Monstre> monstresAPortee = getMonstresAPortee(personnage);
 
         if (monstresAPortee.isEmpty()) {
-            System.out.println("Aucun monstre à portée !");
+            m_sortie.println("Aucun monstre à portée !");
             return false;
         }
 
-        System.out.println("Monstres à portée :");
-        for (int i = 0; i < monstresAPortee.size(); i++) {
-            Monstre monstre = monstresAPortee.get(i);
-            System.out.println((i + 1) + ". " + monstre.getNom() +
-                    " (PV: " + monstre.getPointsDeVie() + "/" + monstre.getPointsDeVieMax() + ")");
-        }
-
-        int choixCible = -1;
-        while (true) {
-            System.out.print("Choisissez votre cible : ");
-            try {
-                choixCible = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        m_sortie.println("Monstres à portée :");
+        int choixCible = m_controleur.choisirCible(personnage, monstresAPortee);
 
         if (choixCible < 0 || choixCible >= monstresAPortee.size()) {
-            System.out.println("Choix invalide.");
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
@@ -449,24 +491,7 @@ public class Tours {
         Case caseCible = m_donjon.getCarte().getCase(cible)
                 .orElseThrow(() -> new IllegalArgumentException("Case de la cible introuvable"));
 
-        // Mettre à jour l'historique des actions
-        m_historiqueActions.append("⚔️ ").append(personnage.getNom())
-                .append(" brandit son arme avec une détermination farouche ! Ses yeux brillent ")
-                .append("d'une lueur guerrière tandis qu'il attaque ")
-                .append(cible.getNom()).append(", prêt à tout pour survivre dans ce donjon maudit. ");
-
-        // Effectuer l'attaque et vérifier si la cible est morte
-        boolean attaqueReussie = m_attaque.attaquer(m_donjon.getCarte(), personnage, cible, casePersonnage, caseCible);
-
-        if (attaqueReussie && cible.estMort()) {
-            m_historiqueActions.append("Un cri perçant déchire l'air ! Le monstre ")
-                    .append(cible.getNom())
-                    .append(" s'effondre dans un râle d'agonie, ses dernières forces s'échappant ")
-                    .append("comme un souffle dans la nuit. La victoire a un goût amer dans ce lieu maudit.");
-        }
-        m_historiqueActions.append("\n");
-
-        return attaqueReussie;
+        return m_attaque.attaquer(carte, personnage, cible, casePersonnage, caseCible);
     }
 
     /**
@@ -475,38 +500,21 @@ public class Tours {
      * @return true si l'attaque a eu lieu, false sinon
      */
     private boolean actionAttaquerMonstre(Monstre monstre) {
-        System.out.println("\n--- Action : Attaquer ---");
+        m_sortie.println("\n--- Action : Attaquer ---");
 
         // Lister les personnages à portée
         List<Personnage> personnagesAPortee = getPersonnagesAPortee(monstre);
 
         if (personnagesAPortee.isEmpty()) {
-            System.out.println("Aucun personnage à portée !");
+            m_sortie.println("Aucun personnage à portée !");
             return false;
         }
 
-        System.out.println("Personnages à portée :");
-        for (int i = 0; i < personnagesAPortee.size(); i++) {
-            Personnage personnage = personnagesAPortee.get(i);
-            System.out.println((i + 1) + ". " + personnage.getNom() +
-                    " (PV: " + personnage.getPointsDeVie() + "/" + personnage.getPointsDeVieMax() + ")");
-        }
-
-        int choixCible = -1;
-        while (true) {
-            System.out.print("Choisissez votre cible : ");
-            try {
-                choixCible = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        m_sortie.println("Personnages à portée :");
+        int choixCible = m_controleur.choisirCible(monstre, personnagesAPortee);
 
         if (choixCible < 0 || choixCible >= personnagesAPortee.size()) {
-            System.out.println("Choix invalide.");
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
@@ -525,156 +533,106 @@ public class Tours {
      * @return true si le sort a été lancé, false sinon
      */
     private boolean actionLancerSort(Personnage personnage) {
-        System.out.println("\n--- Action : Lancer un sort ---");
-        //améliorer avec un getSorts dans personnages peut etre
-        if (personnage.getClasse().equals("Magicien")) {
-            System.out.println("Sorts disponibles pour le Magicien :");
-            System.out.println("1. Arme magique");
-            System.out.println("2. Boogie Woogie");
-            System.out.println("3. Guérison");
-
-            int choixSort = -1;
-            while (true) {
-                System.out.print("Choisissez le chiffre du sort à lancer : ");
-                try {
-                    choixSort = m_scanner.nextInt() - 1;
-                    m_scanner.nextLine();
-                    break;
-                } catch (InputMismatchException e) {
-                    System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                    m_scanner.nextLine();
-                }
-            }
+        m_sortie.println("\n--- Action : Lancer un sort ---");
+        List<Sort> sorts = getSorts(personnage);
+        if (sorts.isEmpty()) {
+            m_sortie.println(personnage.getNom() + " ne lance aucun sort !");
+            return false;
+        }
 
-            if (choixSort < 0 || choixSort > 2) {
-                System.out.println("Choix invalide.");
-                return false;
-            }
+        int choixSort = m_controleur.choisirSort(personnage, sorts);
+        if (choixSort < 0 || choixSort >= sorts.size()) {
+            m_sortie.println("Choix invalide.");
+            return false;
+        }
 
-            String nomSort = "";
-            boolean sortLance = false;
+        Sort sort = sorts.get(choixSort);
+        sort.setSortie(m_sortie);
+        boolean sortLance;
+        if (sort instanceof SortArmeMagique) {
+            sortLance = lancerSortArmeMagique(personnage, (SortArmeMagique) sort);
+        } else if (sort instanceof SortBoogieWoogie) {
+            sortLance = lancerSortBoogieWoogie(personnage, (SortBoogieWoogie) sort);
+        } else {
+            sortLance = lancerSortGuerison(personnage, (SortGuerison) sort);
+        }
 
-            switch (choixSort) {
-                case 0:
-                    nomSort = "Arme magique";
-                    // Logique pour lancer le sort Arme magique
-                    sortLance = lancerSortArmeMagique(personnage);
-                    break;
-                case 1:
-                    nomSort = "Boogie Woogie";
-                    // Logique pour lancer le sort Boogie Woogie
-                    sortLance = lancerSortBoogieWoogie(personnage);
-                    break;
-                case 2:
-                    nomSort = "Guérison";
-                    // Logique pour lancer le sort de guérison
-                    sortLance = lancerSortGuerison(personnage);
-                    break;
-            }
+        if (!sortLance) {
+            m_sortie.println("Le sort n'a pas pu être lancé.");
+            return false;
+        }
 
-            if (sortLance) {
-                m_historiqueActions.append("✨ ").append(personnage.getNom())
-                        .append(" lève les mains vers les voûtes sombres du donjon, ses doigts ")
-                        .append("crépitant d'énergie mystique. Les incantations anciennes résonnent ")
-                        .append("dans l'air tandis qu'il invoque le sort '").append(nomSort)
-                        .append("', pliant la réalité à sa volonté arcane.\n");
-                return true;
-            } else {
-                System.out.println("Le sort n'a pas pu être lancé.");
-                return false;
-            }
+        return true;
+    }
 
+    /**
+     * Retourne les sorts connus par la classe d'un personnage.
+     * @param personnage le personnage
+     * @return les sorts disponibles, vide si sa classe ne lance pas de sort
+     */
+    private List<Sort> getSorts(Personnage personnage) {
+        List<Sort> sorts = new ArrayList<>();
+        if (personnage.getClasse().equals("Magicien")) {
+            sorts.add(new SortArmeMagique(m_controleur));
+            sorts.add(new SortBoogieWoogie());
+            sorts.add(new SortGuerison());
         } else if (personnage.getClasse().equals("Clerc")) {
-            System.out.println("Sorts disponibles pour le Clerc :");
-            System.out.println("1. Guérison");
-
-            int choixSort = -1;
-            while (true) {
-                System.out.print("Choisissez le chiffre du sort à lancer : ");
-                try {
-                    choixSort = m_scanner.nextInt() - 1;
-                    m_scanner.nextLine();
-                    break;
-                } catch (InputMismatchException e) {
-                    System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                    m_scanner.nextLine();
-                }
-            }
-
-            if (choixSort != 0) {
-                System.out.println("Choix invalide.");
-                return false;
-            }
-
-            boolean sortLance = lancerSortGuerison(personnage);
-            if (sortLance) {
-                m_historiqueActions.append("🕊️ ").append(personnage.getNom())
-                        .append(" ferme les yeux et joint ses mains dans une prière fervente. ")
-                        .append("Une aura dorée l'enveloppe tandis qu'il canalise la bénédiction divine, ")
-                        .append("faisant naître des fils de lumière purificatrice qui dansent autour ")
-                        .append("de sa cible, chassant la douleur et restaurant l'espoir.\n");
-                return true;
-            } else {
-                System.out.println("Le sort n'a pas pu être lancé.");
-                return false;
-            }
+            sorts.add(new SortGuerison());
+        }
+        return sorts;
+    }
 
-        } else {
-            System.out.println(personnage.getNom() + " ne lance aucun sort !");
+    /**
+     * Lance un sort sur ses cibles et publie le sort s'il a eu un effet.
+     * @param sort le sort à lancer
+     * @param personnage le personnage lançant le sort
+     * @param cibles les cibles choisies
+     * @return true si le sort a été lancé, false sinon
+     */
+    private boolean lancerSort(Sort sort, Personnage personnage, ElementMobile[] cibles) {
+        if (!sort.lancer(m_donjon.getCarte(), personnage, cibles)) {
             return false;
         }
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementSort(personnage, sort.getNom(), cibles));
+        }
+        return true;
     }
 
     /**
      * Lance le sort Arme Magique.
      * @param personnage le magicien lançant le sort
+     * @param sort le sort à lancer
      * @return true si le sort a été lancé, false sinon
      */
-    private boolean lancerSortArmeMagique(Personnage personnage) {
-        SortArmeMagique sort = new SortArmeMagique();
-
-        // Demander au joueur de choisir une cible
-        System.out.println("Choisissez un personnage pour améliorer ses armes :");
-        List<Personnage> personnagesDisponibles = m_donjon.getJoueurs();
-
-        for (int i = 0; i < personnagesDisponibles.size(); i++) {
-            Personnage p = personnagesDisponibles.get(i);
+    private boolean lancerSortArmeMagique(Personnage personnage, SortArmeMagique sort) {
+        List<Personnage> personnagesDisponibles = new ArrayList<>();
+        for (Personnage p : m_donjon.getJoueurs()) {
             if (!p.estMort()) {
-                System.out.println((i + 1) + ". " + p.getNom());
+                personnagesDisponibles.add(p);
             }
         }
 
-        int choixCible = -1;
-        while (true) {
-            System.out.print("Choisissez la cible : ");
-            try {
-                choixCible = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        // Demander au contrôleur de choisir une cible
+        m_sortie.println("Choisissez un personnage pour améliorer ses armes :");
+        int choixCible = m_controleur.choisirCible(personnage, personnagesDisponibles);
 
-        if ( (choixCible < 0 || choixCible >= personnagesDisponibles.size() ||
-                personnagesDisponibles.get(choixCible).estMort())) {
-            System.out.println("Choix invalide.");
+        if (choixCible < 0 || choixCible >= personnagesDisponibles.size()) {
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
         ElementMobile[] cibles = {personnagesDisponibles.get(choixCible)};
-        return sort.lancer(m_donjon.getCarte(), personnage, cibles);
+        return lancerSort(sort, personnage, cibles);
     }
 
     /**
      * Lance le sort Boogie Woogie.
      * @param personnage le magicien lançant le sort
+     * @param sort le sort à lancer
      * @return true si le sort a été lancé, false sinon
      */
-    private boolean lancerSortBoogieWoogie(Personnage personnage) {
-        SortBoogieWoogie sort = new SortBoogieWoogie();
-
+    private boolean lancerSortBoogieWoogie(Personnage personnage, SortBoogieWoogie sort) {
         // Créer une liste de toutes les entités mobiles
         List<ElementMobile> entitesDisponibles = new ArrayList<>();
 
@@ -693,103 +651,52 @@ public class Tours {
         }
 
         if (entitesDisponibles.size() < 2) {
-            System.out.println("Il faut au moins 2 entités vivantes pour utiliser ce sort.");
+            m_sortie.println("Il faut au moins 2 entités vivantes pour utiliser ce sort.");
             return false;
         }
 
-        System.out.println("Choisissez deux entités à échanger :");
-        for (int i = 0; i < entitesDisponibles.size(); i++) {
-            ElementMobile e = entitesDisponibles.get(i);
-            System.out.println((i + 1) + ". " + e.getNom() +
-                    (e.estPersonnage() ? " (Personnage)" : " (Monstre)"));
-        }
-
-        int choixCible1 = -1, choixCible2 = -1;
-
-        while (true) {
-            System.out.print("Choisissez la première entité : ");
-            try {
-                choixCible1 = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
-
-        while (true) {
-            System.out.print("Choisissez la deuxième entité : ");
-            try {
-                choixCible2 = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        int[] choix = m_controleur.choisirEchange(personnage, entitesDisponibles);
+        int choixCible1 = choix[0];
+        int choixCible2 = choix[1];
 
         if (choixCible1 < 0 || choixCible1 >= entitesDisponibles.size() ||
                 choixCible2 < 0 || choixCible2 >= entitesDisponibles.size() ||
                 choixCible1 == choixCible2) {
-            System.out.println("Choix invalide.");
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
         ElementMobile[] cibles = {entitesDisponibles.get(choixCible1), entitesDisponibles.get(choixCible2)};
-        return sort.lancer(m_donjon.getCarte(), personnage, cibles);
+        return lancerSort(sort, personnage, cibles);
     }
 
     /**
      * Lance le sort de Guérison.
      * @param personnage le personnage lançant le sort
+     * @param sort le sort à lancer
      * @return true si le sort a été lancé, false sinon
      */
-    private boolean lancerSortGuerison(Personnage personnage) {
-        SortGuerison sort = new SortGuerison();
-
-        // Demander au joueur de choisir une cible
-        System.out.println("Choisissez un personnage à soigner :");
-        List<Personnage> personnagesDisponibles = m_donjon.getJoueurs();
-
+    private boolean lancerSortGuerison(Personnage personnage, SortGuerison sort) {
         // Créer une liste des personnages pouvant être soignés (vivants et pas à 100% de PV)
         List<Personnage> personnagesSoignables = new ArrayList<>();
 
-        for (Personnage p : personnagesDisponibles) {
+        for (Personnage p : m_donjon.getJoueurs()) {
             if (!p.estMort() && p.getPointsDeVie() < p.getPointsDeVieMax()) {
                 personnagesSoignables.add(p);
             }
         }
 
         if (personnagesSoignables.isEmpty()) {
-            System.out.println("Aucun personnage ne peut être soigné (tous sont morts ou en pleine santé).");
+            m_sortie.println("Aucun personnage ne peut être soigné (tous sont morts ou en pleine santé).");
             return false;
         }
 
-        // Afficher les options avec une indication spéciale pour le self-target
-        for (int i = 0; i < personnagesSoignables.size(); i++) {
-            Personnage p = personnagesSoignables.get(i);
-            String selfIndicator = p.equals(personnage) ? " (Vous-même)" : "";
-            System.out.println((i + 1) + ". " + p.getNom() + selfIndicator +
-                    " (PV: " + p.getPointsDeVie() + "/" + p.getPointsDeVieMax() + ")");
-        }
-
-        int choixCible = -1;
-        while (true) {
-            System.out.print("Choisissez la cible : ");
-            try {
-                choixCible = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        // Demander au contrôleur de choisir une cible
+        m_sortie.println("Choisissez un personnage à soigner :");
+        int choixCible = m_controleur.choisirCible(personnage, personnagesSoignables);
 
         if (choixCible < 0 || choixCible >= personnagesSoignables.size()) {
-            System.out.println("Choix invalide.");
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
@@ -797,13 +704,13 @@ public class Tours {
 
         // Message spécial pour le self-target
         if (cibleChoisie.equals(personnage)) {
-            System.out.println(personnage.getNom() + " se soigne lui-même !");
+            m_sortie.println(personnage.getNom() + " se soigne lui-même !");
         } else {
-            System.out.println(personnage.getNom() + " soigne " + cibleChoisie.getNom() + " !");
+            m_sortie.println(personnage.getNom() + " soigne " + cibleChoisie.getNom() + " !");
         }
 
         ElementMobile[] cibles = {cibleChoisie};
-        return sort.lancer(m_donjon.getCarte(), personnage, cibles);
+        return lancerSort(sort, personnage, cibles);
     }
 
     /**
@@ -812,7 +719,7 @@ public class Tours {
      * @return true si un équipement a été ramassé, false sinon
      */
     private boolean actionRamasserEquipement(Personnage personnage) {
-        System.out.println("\n--- Action : Ramasser un équipement ---");
+        m_sortie.println("\n--- Action : Ramasser un équipement ---");
 
         Case casePersonnage = m_donjon.getCarte().getCase(personnage)
                 .orElseThrow(() -> new IllegalArgumentException("Case du personnage introuvable"));
@@ -825,30 +732,14 @@ public class Tours {
         }
 
         if (equipementsSurCase.isEmpty()) {
-            System.out.println("Aucun équipement sur cette case !");
+            m_sortie.println("Aucun équipement sur cette case !");
             return false;
         }
 
-        System.out.println("Équipements disponibles :");
-        for (int i = 0; i < equipementsSurCase.size(); i++) {
-            System.out.println((i + 1) + ". " + equipementsSurCase.get(i).getNom());
-        }
-
-        int choixCible = -1;
-        while (true) {
-            System.out.print("Choisissez le chiffre de l'équipement à récuperer : ");
-            try {
-                choixCible = m_scanner.nextInt() - 1;
-                m_scanner.nextLine();
-                break;
-            } catch (InputMismatchException e) {
-                System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                m_scanner.nextLine();
-            }
-        }
+        int choixCible = m_controleur.choisirEquipementARamasser(personnage, equipementsSurCase);
 
         if (choixCible < 0 || choixCible >= equipementsSurCase.size()) {
-            System.out.println("Choix invalide.");
+            m_sortie.println("Choix invalide.");
             return false;
         }
 
@@ -856,12 +747,9 @@ public class Tours {
         personnage.ajouterAInventaire(equipementChoisi);
         casePersonnage.retirerContenu(equipementChoisi);
 
-        // ajout commentaire au role play
-        m_historiqueActions.append("✨ ").append(personnage.getNom())
-                .append(" découvre ").append(equipementChoisi.getNom())
-                .append(" abandonné dans les ombres du donjon. Son éclat mystérieux ")
-                .append("redonne espoir à notre héros... Pourra-t-il triompher des monstres avec cet objet ?\n");
-        System.out.println(personnage.getNom() + " a ramassé " + equipementChoisi.getNom());
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementRamassage(personnage, equipementChoisi));
+        }
         return true;
     }
 
@@ -869,54 +757,25 @@ public class Tours {
      * Demande un commentaire pour le role play
      */
     private void demanderCommentaire() {
-        System.out.print("\nSouhaitez-vous ajouter un commentaire pour le role play ? (o/n) : ");
-        String reponse = m_scanner.nextLine().trim().toLowerCase();
-
-        if (reponse.equals("o") || reponse.equals("oui")) {
-            if (m_historiqueActions.length() == 0) {
-                System.out.println("Vous n'avez encore rien fait.");
+        if (m_controleur.veutCommenter()) {
+            if (m_journal == null || m_journal.estVide()) {
+                m_sortie.println("Vous n'avez encore rien fait.");
             } else {
-                m_maitreDuJeu.lireCommentaire(m_historiqueActions.toString());
+                m_maitreDuJeu.lireCommentaire(m_journal.getRecit());
             }
         }
     }
 
-
     /**
-     * Vérifie si la partie est terminée.
-     * @return true si la partie est finie, false sinon
+     * Affiche la carte du donjon, sauf si l'affichage de la carte est désactivé.
      */
-    private boolean estFinDePartie() {
-        boolean tousPersonnagesMorts = true;
-        for (Personnage p : m_donjon.getJoueurs()) {
-            if (!p.estMort()) {
-                tousPersonnagesMorts = false;
-                break;
-            }
-        }
-        if (tousPersonnagesMorts) {
-            m_historiqueActions.append("L'intégralités de nos héros sont mort, les monstres ont " +
-                    "triomphé de ceux-ci, le donjon restera ouvert pour que d'autres aventuriers malheureux " +
-                    "y trouvent leur fin...\n");
+    private void afficherCarte() {
+        if (m_affichageCarte) {
+            Affichage.afficherCarte(Optional.ofNullable(m_donjon.getCarte()), m_sortie);
         }
-        // Vérifier si tous les monstres sont morts
-        boolean tousMonstresMorts = true;
-        for (Monstre m : m_donjon.getMonstres()) {
-            if (!m.estMort()) {
-                tousMonstresMorts = false;
-                break;
-            }
-        }
-        if (tousMonstresMorts){
-            m_historiqueActions.append("Tous les monstres gisent vaincus ! Nos vaillants aventuriers ")
-                    .append("ont triomphé des ténèbres qui hantaient ce donjon maudit. ")
-                    .append("La lumière perce enfin l'obscurité, et les héros peuvent ")
-                    .append("repartir, chargés de gloire et de trésors !\n");
-        }
-        // La partie est terminée si tous les personnages sont morts ou si tous les monstres sont morts
-        return tousPersonnagesMorts || tousMonstresMorts;
     }
 
+
     // Getters
     /**
      * Retourne le numéro du tour actuel.
@@ -926,64 +785,93 @@ public class Tours {
         return m_numeroTour;
     }
 
+    /**
+     * Indique si un combat est en cours : commencé mais pas encore terminé, ou repris d'une sauvegarde.
+     * @return true si le combat est en cours
+     */
+    public boolean estCombatEnCours() {
+        return m_combatEnCours;
+    }
+
+    /**
+     * Retourne le nombre d'actions qu'il reste à l'entité en train de jouer.
+     * @return les actions restantes, 0 si son tour est terminé
+     */
+    public int getActionsRestantes() {
+        return m_actionsRestantes;
+    }
+
+    /**
+     * Prépare la reprise d'un combat sauvegardé, avec l'ordonnanceur du donjon déjà replacé
+     * dans le tour ({@link OrdonnanceurInitiative#reprendre(boolean, long)}) :
+     * le prochain appel à {@link #commencerTours()} redonne la main à l'entité donnée,
+     * avec les actions qu'il lui restait. Sans entité ou sans action restante, c'est la suivante
+     * de l'ordonnanceur qui joue ; s'il n'en reste aucune, le tour se termine aussitôt.
+     *
+     * @param numeroTour le tour où reprendre le combat
+     * @param entite l'entité interrompue, ou null
+     * @param actionsRestantes les actions qu'il restait à l'entité, de 0 à {@link #ACTIONS_PAR_TOUR}
+     * @throws IllegalArgumentException si la position n'existe pas
+     */
+    public void reprendreA(int numeroTour, ElementMobile entite, int actionsRestantes) {
+        if (numeroTour < 1) {
+            throw new IllegalArgumentException("Le numéro de tour doit être au moins 1");
+        }
+        if (entite != null && !m_donjon.getOrdonnanceur().contient(entite)) {
+            throw new IllegalArgumentException(entite.getNom() + " n'est pas dans l'ordre d'initiative");
+        }
+        if (actionsRestantes < 0 || actionsRestantes > ACTIONS_PAR_TOUR) {
+            throw new IllegalArgumentException("Nombre d'actions restantes invalide : " + actionsRestantes);
+        }
+        if (entite == null || actionsRestantes == 0) {
+            entite = null;
+            actionsRestantes = ACTIONS_PAR_TOUR;
+        }
+        this.m_numeroTour = numeroTour;
+        this.m_entiteActuelle = entite;
+        this.m_actionsRestantes = actionsRestantes;
+        this.m_reprise = true;
+        this.m_combatEnCours = true;
+    }
+
     /**
      * Retourne l'entité actuellement en train de jouer.
      * @return l'entité actuelle ou null si aucune
      */
     public ElementMobile getEntiteActuelle() {
-        if (m_indexTourActuel >= 0 && m_indexTourActuel < m_donjon.getEntiteTour().size()) {
-            return m_donjon.getEntiteTour().get(m_indexTourActuel);
-        }
-        return null;
+        return m_entiteActuelle;
     }
 
     /**
-     * Vérifie si la partie est terminée.
-     * @return true si la partie est finie, false sinon
+     * Obtient la liste des personnages vivants à portée d'un monstre, dans l'ordre du registre du donjon.
+     * @param monstre le monstre attaquant
+     * @return la liste des personnages à portée
      */
     private List<Personnage> getPersonnagesAPortee(Monstre monstre) {
-        List<Personnage> personnagesAPortee = new ArrayList<>();
         Case caseMonstre = m_donjon.getCarte().getCase(monstre)
                 .orElseThrow(() -> new IllegalArgumentException("Case du monstre introuvable"));
-        int porteeMonstre = monstre.getPortee();
-
-        for (Personnage personnage : m_donjon.getJoueurs()) {
-            if (!personnage.estMort()) {
-                Case casePersonnage = m_donjon.getCarte().getCase(personnage)
-                        .orElseThrow(() -> new IllegalArgumentException("Case du personnage introuvable"));
-                if (m_donjon.getCarte().estAPortee(
-                        caseMonstre.getX(), caseMonstre.getY(),
-                        casePersonnage.getX(), casePersonnage.getY(),
-                        porteeMonstre)) {
-                    personnagesAPortee.add(personnage);
-                }
-            }
+        List<Personnage> personnagesAPortee = new ArrayList<>();
+        RegistreEntites registre = m_donjon.getRegistre();
+        // L'index spatial du registre ne parcourt que les joueurs proches du monstre
+        for (int identifiant : registre.chercherDansZone(caseMonstre.getX(), caseMonstre.getY(), monstre.getPortee(), true)) {
+            personnagesAPortee.add((Personnage) registre.getEntite(identifiant));
         }
         return personnagesAPortee;
     }
 
     /**
-     * Obtient la liste des monstres à portée d'un personnage.
+     * Obtient la liste des monstres vivants à portée d'un personnage, dans l'ordre du registre du donjon.
      * @param personnage le personnage attaquant
      * @return la liste des monstres à portée
      */
     private List<Monstre> getMonstresAPortee(Personnage personnage) {
-        List<Monstre> monstresAPortee = new ArrayList<>();
         Case casePersonnage = m_donjon.getCarte().getCase(personnage)
                 .orElseThrow(() -> new IllegalArgumentException("Case du personnage introuvable"));
+        List<Monstre> monstresAPortee = new ArrayList<>();
+        RegistreEntites registre = m_donjon.getRegistre();
         int porteeArme = personnage.getArmeEquipee().getPortee();
-
-        for (Monstre monstre : m_donjon.getMonstres()) {
-            if (!monstre.estMort()) {
-                Case caseMonstre = m_donjon.getCarte().getCase(monstre)
-                        .orElseThrow(() -> new IllegalArgumentException("Case du monstre introuvable"));
-                if (m_donjon.getCarte().estAPortee(
-                        casePersonnage.getX(), casePersonnage.getY(),
-                        caseMonstre.getX(), caseMonstre.getY(),
-                        porteeArme)) {
-                    monstresAPortee.add(monstre);
-                }
-            }
+        for (int identifiant : registre.chercherDansZone(casePersonnage.getX(), casePersonnage.getY(), porteeArme, false)) {
+            monstresAPortee.add((Monstre) registre.getEntite(identifiant));
         }
         return monstresAPortee;
     }
@@ -994,7 +882,7 @@ public class Tours {
     public String toString() {
         return "Tours : " +
                 "numeroTour=" + m_numeroTour +
-                ", indexTourActuel=" + m_indexTourActuel +
+                ", entiteActuelle=" + (m_entiteActuelle != null ? m_entiteActuelle.getNom() : "aucune") +
                 ", donjon=" + (m_donjon != null ? m_donjon.toString() : "null");
     }
 }
\ No newline at end of file
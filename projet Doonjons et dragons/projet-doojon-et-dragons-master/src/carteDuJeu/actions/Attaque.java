@@ -3,11 +3,20 @@ package carteDuJeu.actions;
 import carteDuJeu.Des;
 import carteDuJeu.Carte;
 import carteDuJeu.Case;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.DistributionDes;
+import carteDuJeu.evenements.BusEvenements;
+import carteDuJeu.evenements.EvenementDegats;
+import carteDuJeu.evenements.EvenementJetAttaque;
+import carteDuJeu.evenements.EvenementMort;
+import carteDuJeu.evenements.VueConsole;
 import carteDuJeu.personnages.Personnage;
 import carteDuJeu.monstres.Monstre;
 import carteDuJeu.personnages.equipements.armes.Arme;
 import carteDuJeu.personnages.equipements.armures.Armure;
 
+import java.io.PrintStream;
+
 /**
  * Gère les actions d'attaque entre personnages et monstres sur la carte.
  * Permet de réaliser des attaques, de vérifier la portée et d'appliquer les dégâts.
@@ -17,12 +26,40 @@ public class Attaque {
     /** Gestionnaire de déplacement utilisé pour certaines vérifications. */
     private final Deplacement m_deplacement;
 
+    /** Flux où sont écrits les refus d'attaque. */
+    private final PrintStream m_sortie;
+
+    /** Bus où sont publiés les jets d'attaque, les dégâts et les morts. */
+    private final BusEvenements m_bus;
+
     /**
      * Construit un gestionnaire d'attaque avec le gestionnaire de déplacement associé.
      * @param deplacement Gestionnaire de déplacement
      */
     public Attaque(Deplacement deplacement) {
+        this(deplacement, System.out);
+    }
+
+    /**
+     * Construit un gestionnaire d'attaque écrivant ses comptes rendus dans le flux donné.
+     * @param deplacement Gestionnaire de déplacement
+     * @param sortie Flux où sont écrits les messages
+     */
+    public Attaque(Deplacement deplacement, PrintStream sortie) {
+        this(deplacement, sortie, new BusEvenements());
+        m_bus.abonner(new VueConsole(sortie));
+    }
+
+    /**
+     * Construit un gestionnaire d'attaque publiant ses comptes rendus sur un bus d'événements.
+     * @param deplacement Gestionnaire de déplacement
+     * @param sortie Flux où sont écrits les refus d'attaque (arme absente, cible hors de portée)
+     * @param bus Bus où sont publiés les jets d'attaque, les dégâts et les morts
+     */
+    public Attaque(Deplacement deplacement, PrintStream sortie, BusEvenements bus) {
         this.m_deplacement = deplacement;
+        this.m_sortie = sortie;
+        this.m_bus = bus;
     }
 
     /**
@@ -37,39 +74,26 @@ public class Attaque {
     public boolean attaquer(Carte carte, Personnage attaquant, Monstre cible, Case caseAttaquant, Case caseCible) {
         Arme arme = attaquant.getArmeEquipee();
         if (arme == null) {
-            System.out.println(attaquant.getNom() + " n'a pas d'arme équipée.");
+            m_sortie.println(attaquant.getNom() + " n'a pas d'arme équipée.");
             return false;
         }
 
         if (!carte.estAPortee(caseAttaquant.getX(), caseAttaquant.getY(),
                 caseCible.getX(), caseCible.getY(), arme.getPortee())) {
-            System.out.println("Cible hors de portée.");
+            m_sortie.println("Cible hors de portée.");
             return false;
         }
 
-        int modificateur = (arme.getPortee() > 1) ? attaquant.getDexterite() : attaquant.getForce();
+        int modificateur = modificateurAttaque(attaquant, arme);
         int jetAttaque = Des.lancer(1, 20);
         int scoreAttaque = jetAttaque + modificateur;
-
-        System.out.println(attaquant.getNom() + " attaque " + cible.getNom() +
-                " avec un jet de " + jetAttaque + " + " + modificateur +
-                " = " + scoreAttaque);
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementJetAttaque(attaquant, cible, jetAttaque, modificateur, cible.getClasseArmure()));
+        }
 
         if (scoreAttaque > cible.getClasseArmure()) {
-            int degats = Des.lancer(arme.getDes(), arme.getDegats());
-            cible.subirDegats(degats);
-            if (cible.estMort()) {
-                System.out.println(cible.getNom() + " est mort !");
-                try {
-                    Case c = carte.getCase(caseCible.getX(), caseCible.getY());
-                    c.retirerContenu(cible);
-                } catch (Exception e) {
-                    System.out.println("Erreur lors du retrait de la cible de la case : " + e.getMessage());
-                }
-            }
-            System.out.println("Attaque réussie ! " + cible.getNom() + " subit " + degats + " dégâts.");
-        } else {
-            System.out.println("Attaque manquée !");
+            int degats = arme.getExpressionDegats().lancer();
+            appliquerDegats(carte, attaquant, cible, caseCible, degats);
         }
 
         return true;
@@ -87,41 +111,109 @@ public class Attaque {
     public boolean attaquer(Carte carte, Monstre attaquant, Personnage cible, Case caseAttaquant, Case caseCible) {
         if (!carte.estAPortee(caseAttaquant.getX(), caseAttaquant.getY(),
                 caseCible.getX(), caseCible.getY(), attaquant.getPortee())) {
-            System.out.println("Cible hors de portée.");
+            m_sortie.println("Cible hors de portée.");
             return false;
         }
 
-        int modificateur = (attaquant.getPortee() > 1) ? attaquant.getDexterite() : attaquant.getForce();
+        int modificateur = modificateurAttaque(attaquant);
         int jetAttaque = Des.lancer(1, 20);
         int scoreAttaque = jetAttaque + modificateur;
+        int classeArmureCible = classeArmure(cible);
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementJetAttaque(attaquant, cible, jetAttaque, modificateur, classeArmureCible));
+        }
 
-        System.out.println(attaquant.getNom() + " attaque " + cible.getNom() +
-                " avec un jet de " + jetAttaque + " + " + modificateur +
-                " = " + scoreAttaque);
+        if (scoreAttaque > classeArmureCible) {
+            int degats = attaquant.getExpressionDegats().lancer();
+            appliquerDegats(carte, attaquant, cible, caseCible, degats);
+        }
 
-        Armure armureEquipee = cible.getArmureEquipee();
-        int classeArmureCible = (armureEquipee != null) ? armureEquipee.getClasseArmure() : 10;
+        return true;
+    }
 
-        if (scoreAttaque > classeArmureCible) {
-            int degats = Des.lancer(attaquant.getNbDes(), attaquant.getM_maxDmg());
-            cible.subirDegats(degats);
-            System.out.println("Attaque réussie ! " + cible.getNom() + " subit " + degats + " dégâts.");
-            if (cible.estMort()) {
-                System.out.println(cible.getNom() + " est mort !");
-                try {
-                    int x = caseCible.getX();
-                    int y = caseCible.getY();
-                    Case c = carte.getCase(x, y);
-                    c.retirerContenu(cible);
-                } catch (Exception e) {
-                    System.out.println("Erreur lors du retrait de la cible de la case : " + e.getMessage());
-                }
+    /**
+     * Inflige les dégâts d'une attaque réussie et retire la cible de la carte si elle meurt (une seule fois).
+     */
+    private void appliquerDegats(Carte carte, ElementMobile attaquant, ElementMobile cible, Case caseCible, int degats) {
+        boolean etaitVivante = !cible.estMort();
+        cible.subirDegats(degats);
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementDegats(attaquant, cible, degats));
+        }
+        if (etaitVivante && cible.estMort()) {
+            try {
+                Case c = carte.getCase(caseCible.getX(), caseCible.getY());
+                c.retirerContenu(cible);
+            } catch (Exception e) {
+                m_sortie.println("Erreur lors du retrait de la cible de la case : " + e.getMessage());
+            }
+            if (m_bus.estActif()) {
+                m_bus.publier(new EvenementMort(cible, attaquant));
             }
-        } else {
-            System.out.println("Attaque manquée !");
         }
+    }
 
-        return true;
+    /*============================Section Espérances============================*/
+
+    /**
+     * Calcule les dégâts moyens d'une attaque avec une arme, ratés compris :
+     * probabilité de toucher la classe d'armure multipliée par la moyenne des dégâts de l'arme.
+     * Les distributions sont gardées en cache : après le premier appel pour une arme, le calcul est immédiat.
+     * @param arme Arme utilisée
+     * @param modificateur Modificateur d'attaque (force ou dextérité)
+     * @param classeArmure Classe d'armure de la cible
+     * @return les dégâts espérés par attaque
+     */
+    public static double degatsEsperes(Arme arme, int modificateur, int classeArmure) {
+        return DistributionDes.chanceDeToucher(modificateur, classeArmure)
+                * arme.getExpressionDegats().getDistribution().getMoyenne();
+    }
+
+    /**
+     * Calcule les dégâts moyens d'une attaque d'un personnage contre un monstre, avec son arme équipée.
+     * @param attaquant Personnage attaquant
+     * @param cible Monstre ciblé
+     * @return les dégâts espérés par attaque, 0 si le personnage n'a pas d'arme
+     */
+    public static double degatsEsperes(Personnage attaquant, Monstre cible) {
+        Arme arme = attaquant.getArmeEquipee();
+        if (arme == null) {
+            return 0.0;
+        }
+        return degatsEsperes(arme, modificateurAttaque(attaquant, arme), cible.getClasseArmure());
+    }
+
+    /**
+     * Calcule les dégâts moyens d'une attaque d'un monstre contre un personnage.
+     * @param attaquant Monstre attaquant
+     * @param cible Personnage ciblé
+     * @return les dégâts espérés par attaque
+     */
+    public static double degatsEsperes(Monstre attaquant, Personnage cible) {
+        return DistributionDes.chanceDeToucher(modificateurAttaque(attaquant), classeArmure(cible))
+                * attaquant.getExpressionDegats().getDistribution().getMoyenne();
+    }
+
+    /**
+     * Modificateur d'attaque d'un personnage : dextérité pour une arme à distance, force sinon.
+     */
+    private static int modificateurAttaque(Personnage attaquant, Arme arme) {
+        return (arme.getPortee() > 1) ? attaquant.getDexterite() : attaquant.getForce();
+    }
+
+    /**
+     * Modificateur d'attaque d'un monstre : dextérité à distance, force au corps à corps.
+     */
+    private static int modificateurAttaque(Monstre attaquant) {
+        return (attaquant.getPortee() > 1) ? attaquant.getDexterite() : attaquant.getForce();
+    }
+
+    /**
+     * Classe d'armure d'un personnage : celle de son armure, 10 sans armure.
+     */
+    private static int classeArmure(Personnage cible) {
+        Armure armureEquipee = cible.getArmureEquipee();
+        return (armureEquipee != null) ? armureEquipee.getClasseArmure() : 10;
     }
 
     /**
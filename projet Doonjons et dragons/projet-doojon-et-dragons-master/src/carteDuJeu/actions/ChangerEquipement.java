@@ -1,64 +1,72 @@
 package carteDuJeu.actions;
 
+import carteDuJeu.controleurs.Controleur;
+import carteDuJeu.controleurs.ControleurConsole;
 import carteDuJeu.personnages.Personnage;
-import java.util.Scanner;
+
+import java.io.PrintStream;
 
 /**
  * Gère le changement d'équipement d'un personnage.
- * Permet à l'utilisateur de choisir un équipement à équiper depuis l'inventaire du personnage.
+ * Permet au contrôleur de choisir un équipement à équiper depuis l'inventaire du personnage.
  */
 public class ChangerEquipement {
+    private final Controleur m_controleur;
+    private final PrintStream m_sortie;
 
     /**
-     * Propose à l'utilisateur de changer l'équipement du personnage.
-     * Affiche l'inventaire et permet de sélectionner une arme ou une armure à équiper.
-     * @param personnage Le personnage dont l'équipement doit être changé
+     * Construit un gestionnaire d'équipement interactif.
      */
-    public void proposerChangement(Personnage personnage) {
-        Scanner scanner = new Scanner(System.in);
+    public ChangerEquipement() {
+        this(new ControleurConsole(), System.out);
+    }
 
-        // Afficher l'inventaire
-        System.out.println("Inventaire :");
-        for (int i = 0; i < personnage.getInventaire().size(); i++) {
-            System.out.println((i + 1) + ". " + personnage.getInventaire(i).toString());
-        }
+    /**
+     * Construit un gestionnaire d'équipement dont les choix sont faits par un contrôleur.
+     * @param controleur Contrôleur qui choisit l'équipement
+     * @param sortie Flux où sont écrits les messages
+     */
+    public ChangerEquipement(Controleur controleur, PrintStream sortie) {
+        this.m_controleur = controleur;
+        this.m_sortie = sortie;
+    }
 
-        int index = -1;
-        try {
-            System.out.print("\nEntrez le numéro de l'équipement à équiper : ");
-            index = scanner.nextInt() - 1;
-        } catch (Exception e) {
-            System.out.println("Entrée invalide. Veuillez entrer un nombre.");
-            scanner.nextLine(); // vider le buffer
-            return;
-        }
+    /**
+     * Propose au contrôleur de changer l'équipement du personnage.
+     * Présente l'inventaire et permet de sélectionner une arme ou une armure à équiper.
+     * @param personnage Le personnage dont l'équipement doit être changé
+     * @return true si un équipement a été équipé, false sinon
+     */
+    public boolean proposerChangement(Personnage personnage) {
+        int index = m_controleur.choisirEquipementAEquiper(personnage, personnage.getInventaire());
 
         // Vérifier si l'index est valide
         if (index < 0 || index >= personnage.getInventaire().size()) {
-            System.out.println("Index invalide.");
-            return;
+            m_sortie.println("Index invalide.");
+            return false;
         }
 
         try {
             // Vérifier si l'équipement est une arme ou une armure
             if (personnage.getInventaire(index).estUneArme()) {
                 if (personnage.setArmeEquipee(index)) {
-                    System.out.println("Nouvelle arme équipée : " + personnage.getArmeEquipee().toString());
-                } else {
-                    System.out.println("Impossible d'équiper cette arme.");
+                    m_sortie.println("Nouvelle arme équipée : " + personnage.getArmeEquipee().toString());
+                    return true;
                 }
+                m_sortie.println("Impossible d'équiper cette arme.");
             } else if (personnage.getInventaire(index).estUneArmure()) {
                 if (personnage.setArmureEquipee(index)) {
-                    System.out.println("Nouvelle armure équipée : " + personnage.getArmureEquipee().toString());
-                } else {
-                    System.out.println("Impossible d'équiper cette armure.");
+                    m_sortie.println("Nouvelle armure équipée : " + personnage.getArmureEquipee().toString());
+                    return true;
                 }
+                m_sortie.println("Impossible d'équiper cette armure.");
             } else {
-                System.out.println("Cet équipement n'est ni une arme ni une armure.");
+                m_sortie.println("Cet équipement n'est ni une arme ni une armure.");
             }
         } catch (Exception e) {
-            System.out.println("Erreur lors du changement d'équipement : " + e.getMessage());
+            m_sortie.println("Erreur lors du changement d'équipement : " + e.getMessage());
         }
+        return false;
     }
 
     /**
@@ -69,4 +77,4 @@ public class ChangerEquipement {
     public String toString() {
         return "ChangerEquipement : permet de changer l'équipement d'un personnage.";
     }
-}
\ No newline at end of file
+}
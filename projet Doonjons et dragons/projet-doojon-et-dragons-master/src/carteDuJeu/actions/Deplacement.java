@@ -2,97 +2,108 @@ package carteDuJeu.actions;
 
 import carteDuJeu.Carte;
 import carteDuJeu.ElementMobile;
+import carteDuJeu.RechercheChemin;
+import carteDuJeu.controleurs.Controleur;
+import carteDuJeu.controleurs.ControleurConsole;
+import carteDuJeu.evenements.BusEvenements;
+import carteDuJeu.evenements.EvenementDeplacement;
+import carteDuJeu.evenements.VueConsole;
 
+import java.io.PrintStream;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Optional;
 
 /**
  * Gère les déplacements d'un élément mobile sur la carte.
- * Cette classe permet de gérer les déplacements interactifs ou automatiques,
+ * Cette classe permet de gérer les déplacements choisis par un {@link Controleur} ou automatiques,
  * de vérifier la validité d'un déplacement et d'afficher les cases accessibles.
+ * Un déplacement n'est valide que s'il existe un chemin libre (obstacles et autres
+ * éléments mobiles contournés) d'au plus le nombre de cases autorisé.
  */
 public class Deplacement {
     private final Carte m_carte;
-    private final Scanner m_scanner;
+    private final Controleur m_controleur;
+    private final PrintStream m_sortie;
+    private final RechercheChemin m_rechercheChemin;
+    private final BusEvenements m_bus;
 
     /**
-     * Construit un gestionnaire de déplacement pour une carte donnée.
+     * Construit un gestionnaire de déplacement interactif pour une carte donnée.
      * @param carte Carte de jeu
      */
     public Deplacement(Carte carte) {
+        this(carte, new ControleurConsole(), System.out);
+    }
+
+    /**
+     * Construit un gestionnaire de déplacement dont les destinations sont choisies par un contrôleur.
+     * @param carte Carte de jeu
+     * @param controleur Contrôleur qui choisit les destinations
+     * @param sortie Flux où sont écrits les messages
+     */
+    public Deplacement(Carte carte, Controleur controleur, PrintStream sortie) {
+        this(carte, controleur, sortie, new BusEvenements());
+        m_bus.abonner(new VueConsole(sortie));
+    }
+
+    /**
+     * Construit un gestionnaire de déplacement publiant les déplacements effectués sur un bus d'événements.
+     * @param carte Carte de jeu
+     * @param controleur Contrôleur qui choisit les destinations
+     * @param sortie Flux où sont écrits les cases accessibles et les refus de déplacement
+     * @param bus Bus où sont publiés les déplacements effectués
+     */
+    public Deplacement(Carte carte, Controleur controleur, PrintStream sortie, BusEvenements bus) {
         this.m_carte = carte;
-        this.m_scanner = new Scanner(System.in);
+        this.m_controleur = controleur;
+        this.m_sortie = sortie;
+        this.m_rechercheChemin = new RechercheChemin(carte);
+        this.m_bus = bus;
     }
 
     /**
-     * Gère le déplacement interactif d'un élément mobile.
+     * Gère le déplacement d'un élément mobile vers la destination choisie par le contrôleur.
+     * Un contrôleur interactif est relancé tant que la destination est refusée.
      * @param element Élément à déplacer
      * @return true si le déplacement a eu lieu, false sinon
      */
     public boolean gererDeplacement(ElementMobile element) {
-        int[] position;
-        try {
-            position = m_carte.trouverPosition(element)
-                    .orElseThrow(() -> new IllegalArgumentException("Position introuvable"));
-        } catch (Exception e) {
-            System.out.println("Erreur lors de la recherche de la position : " + e.getMessage());
-            return false;
-        }
-        if (position == null) {
-            System.out.println("Élément non trouvé sur la carte !");
+        Optional<int[]> position = m_carte.trouverPosition(element);
+        if (position.isEmpty()) {
+            m_sortie.println("Élément non trouvé sur la carte !");
             return false;
         }
 
-        int xActuel = position[0];
-        int yActuel = position[1];
+        int xActuel = position.get()[0];
+        int yActuel = position.get()[1];
         int casesMax = element.getCasesMaxDeplacement();
 
-        System.out.println("=== Déplacement de " + element.getNom() + " ===");
-        System.out.println("Position actuelle : " + Carte.coordonneesToString(xActuel, yActuel));
-        System.out.println("Déplacement maximum : " + casesMax + " cases");
+        m_sortie.println("=== Déplacement de " + element.getNom() + " ===");
+        m_sortie.println("Position actuelle : " + Carte.coordonneesToString(xActuel, yActuel));
+        m_sortie.println("Déplacement maximum : " + casesMax + " cases");
 
         // Afficher les cases accessibles
-        try {
-            afficherCasesAccessibles(element);
-        } catch (Exception e) {
-            System.out.println("Erreur lors de l'affichage des cases accessibles : " + e.getMessage());
-        }
+        List<int[]> casesAtteignables = m_rechercheChemin.getCasesAtteignables(element, casesMax);
+        afficherCases(casesAtteignables);
 
         while (true) {
-            System.out.print("Entrez la destination (ex: A5 ou 'quitter' pour annuler) : ");
-            String destination = m_scanner.nextLine().trim().toUpperCase();
-
-            if (destination.equalsIgnoreCase("quitter")) {
-                System.out.println("Déplacement annulé.");
+            Optional<int[]> destination = m_controleur.choisirDestination(element, casesAtteignables);
+            if (destination.isEmpty()) {
                 return false;
             }
 
-            try {
-                int[] coordonnees = m_carte.parseCoordonnees(destination.toUpperCase())
-                        .orElseThrow(() -> new IllegalArgumentException("Coordonnées invalides"));
-                int xCible = coordonnees[0];
-                int yCible = coordonnees[1];
-
-                if (!peutSeDeplacer(element, xCible, yCible)) {
-                    continue;
-                }
-
-                try {
-                    if (m_carte.deplacerElement(element, xCible, yCible)) {
-                        System.out.println(element.getNom() + " s'est déplacé vers " +
-                                Carte.coordonneesToString(xCible, yCible));
-                        return true;
-                    } else {
-                        System.out.println("Erreur lors du déplacement !");
-                    }
-                } catch (Exception e) {
-                    System.out.println("Erreur lors du déplacement : " + e.getMessage());
+            int xCible = destination.get()[0];
+            int yCible = destination.get()[1];
+            if (peutSeDeplacer(element, xCible, yCible)) {
+                if (m_carte.deplacerElement(element, xCible, yCible)) {
+                    publierDeplacement(element, xActuel, yActuel, xCible, yCible);
+                    return true;
                 }
+                m_sortie.println("Erreur lors du déplacement !");
+            }
 
-            } catch (IllegalArgumentException e) {
-                System.out.println("Erreur : " + e.getMessage());
-            } catch (Exception e) {
-                System.out.println("Erreur inattendue : " + e.getMessage());
+            if (!m_controleur.estInteractif()) {
+                return false;
             }
         }
     }
@@ -116,13 +127,20 @@ public class Deplacement {
         // Vérifier la distance
         int distance = Carte.calculerDistance(xActuel, yActuel, xCible, yCible);
         if (distance > casesMax) {
-            System.out.println("Distance trop grande : " + distance + " cases (max: " + casesMax + ")");
+            m_sortie.println("Distance trop grande : " + distance + " cases (max: " + casesMax + ")");
             return false;
         }
 
         // Vérifier l'accessibilité de la case cible
         if (!m_carte.estCaseAccessible(xCible, yCible)) {
-            System.out.println("Case inaccessible : " + Carte.coordonneesToString(xCible, yCible));
+            m_sortie.println("Case inaccessible : " + Carte.coordonneesToString(xCible, yCible));
+            return false;
+        }
+
+        // Vérifier qu'un chemin libre existe sans dépasser le déplacement maximum
+        if (m_rechercheChemin.longueurChemin(xActuel, yActuel, xCible, yCible, casesMax) < 0) {
+            m_sortie.println("Aucun chemin libre vers " + Carte.coordonneesToString(xCible, yCible) +
+                    " en " + casesMax + " cases maximum");
             return false;
         }
 
@@ -138,27 +156,30 @@ public class Deplacement {
                 .orElseThrow(() -> new IllegalArgumentException("Position introuvable"));
         if (position == null) return;
 
-        List<int[]> casesAccessibles = m_carte.getCasesAccessibles(
-                position[0], position[1], element.getCasesMaxDeplacement()
-        );
+        afficherCases(m_rechercheChemin.getCasesAtteignables(element, element.getCasesMaxDeplacement()));
+    }
 
+    /**
+     * Affiche une liste de cases accessibles (les dix premières seulement).
+     */
+    private void afficherCases(List<int[]> casesAccessibles) {
         if (casesAccessibles.isEmpty()) {
-            System.out.println("Aucune case accessible !");
+            m_sortie.println("Aucune case accessible !");
             return;
         }
 
-        System.out.print("Cases accessibles : ");
+        m_sortie.print("Cases accessibles : ");
         for (int i = 0; i < casesAccessibles.size() && i < 10; i++) { // Limite à 10 pour l'affichage
             int[] coords = casesAccessibles.get(i);
-            System.out.print(Carte.coordonneesToString(coords[0], coords[1]));
+            m_sortie.print(Carte.coordonneesToString(coords[0], coords[1]));
             if (i < Math.min(casesAccessibles.size(), 10) - 1) {
-                System.out.print(", ");
+                m_sortie.print(", ");
             }
         }
         if (casesAccessibles.size() > 10) {
-            System.out.print("... (+" + (casesAccessibles.size() - 10) + " autres)");
+            m_sortie.print("... (+" + (casesAccessibles.size() - 10) + " autres)");
         }
-        System.out.println();
+        m_sortie.println();
     }
 
     /**
@@ -172,7 +193,18 @@ public class Deplacement {
         if (!peutSeDeplacer(element, xCible, yCible)) {
             return false;
         }
-        return m_carte.deplacerElement(element, xCible, yCible);
+        int[] depart = m_carte.trouverPosition(element).orElseThrow();
+        if (!m_carte.deplacerElement(element, xCible, yCible)) {
+            return false;
+        }
+        publierDeplacement(element, depart[0], depart[1], xCible, yCible);
+        return true;
+    }
+
+    private void publierDeplacement(ElementMobile element, int xDepart, int yDepart, int xCible, int yCible) {
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementDeplacement(element, xDepart, yDepart, xCible, yCible));
+        }
     }
 
     /**
@@ -191,6 +223,28 @@ public class Deplacement {
         }
     }
 
+    /**
+     * Rapproche automatiquement un élément du groupe de cibles le plus proche,
+     * en suivant le champ de flux de la carte sur tout son déplacement.
+     * @param element Élément à déplacer
+     * @param cibles Éléments poursuivis, toujours la même liste pour réutiliser le champ calculé
+     * @return true si le déplacement a eu lieu, false si l'élément ne peut pas se rapprocher
+     */
+    public boolean deplacerVersCibles(ElementMobile element, List<? extends ElementMobile> cibles) {
+        return m_carte.getChampDeFlux()
+                .destination(element, cibles, element.getCasesMaxDeplacement())
+                .map(destination -> deplacerAutomatiquement(element, destination[0], destination[1]))
+                .orElse(false);
+    }
+
+    /**
+     * Retourne le moteur de recherche de chemin associé à la carte.
+     * @return le moteur de recherche de chemin
+     */
+    public RechercheChemin getRechercheChemin() {
+        return m_rechercheChemin;
+    }
+
     /**
      * Retourne une représentation textuelle du gestionnaire de déplacement.
      * @return Chaîne décrivant l'objet Deplacement
@@ -0,0 +1,22 @@
+package carteDuJeu.controleurs;
+
+/**
+ * Actions qu'une entité (personnage ou monstre) peut choisir pendant son tour.
+ * Les monstres n'ont accès qu'au déplacement, à l'attaque et à la fin de tour.
+ */
+public enum ActionEntite {
+    /** Changer d'arme ou d'armure (personnages uniquement) */
+    EQUIPER,
+    /** Se déplacer sur la carte */
+    SE_DEPLACER,
+    /** Attaquer une cible à portée */
+    ATTAQUER,
+    /** Lancer un sort (personnages uniquement) */
+    LANCER_SORT,
+    /** Ramasser un équipement sur sa case (personnages uniquement) */
+    RAMASSER,
+    /** Consulter son inventaire (personnages uniquement) */
+    VOIR_INVENTAIRE,
+    /** Terminer son tour */
+    TERMINER
+}
@@ -0,0 +1,15 @@
+package carteDuJeu.controleurs;
+
+/**
+ * Interventions que le Maître du Jeu peut choisir après chaque action.
+ */
+public enum ActionMaitreDuJeu {
+    /** Frapper une cible avec la foudre divine */
+    FOUDRE_DIVINE,
+    /** Déplacer un monstre ou un joueur */
+    DEPLACER_ENTITE,
+    /** Ajouter un obstacle sur la carte */
+    AJOUTER_OBSTACLE,
+    /** Terminer les actions du Maître du Jeu */
+    TERMINER
+}
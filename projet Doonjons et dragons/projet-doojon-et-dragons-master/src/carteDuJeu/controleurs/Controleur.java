@@ -0,0 +1,173 @@
+package carteDuJeu.controleurs;
+
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.personnages.equipements.armes.Arme;
+import carteDuJeu.personnages.sorts.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface des décideurs du jeu : elle fournit tous les choix faits pendant un donjon,
+ * pour les personnages, les monstres et le Maître du Jeu.
+ *
+ * Les classes de jeu ({@link carteDuJeu.Tours}, {@link carteDuJeu.MaitreDuJeu}, les actions et les sorts)
+ * ne lisent plus la console : elles posent leurs questions au contrôleur et valident elles-mêmes les réponses.
+ * Un contrôleur peut donc être un joueur humain ({@link ControleurConsole})
+ * ou une intelligence artificielle ({@link ControleurAutomatique}).
+ *
+ * Les indices rendus commencent à 0 ; un indice hors de la liste (par exemple -1) annule le choix.
+ */
+public interface Controleur {
+    /*============================Section Entités============================*/
+
+    /**
+     * Choisit la prochaine action d'une entité pendant son tour.
+     * @param entite l'entité dont c'est le tour
+     * @param actionsRestantes le nombre d'actions restantes pour ce tour
+     * @return l'action choisie
+     */
+    ActionEntite choisirAction(ElementMobile entite, int actionsRestantes);
+
+    /**
+     * Choisit la destination d'un déplacement.
+     * @param entite l'entité qui se déplace
+     * @param casesAtteignables les cases [x,y] atteignables par un chemin libre
+     * @return la case [x,y] choisie, ou Optional.empty() pour annuler le déplacement
+     */
+    Optional<int[]> choisirDestination(ElementMobile entite, List<int[]> casesAtteignables);
+
+    /**
+     * Choisit une cible parmi une liste (attaque ou sort).
+     * @param acteur l'entité qui agit
+     * @param cibles les cibles possibles
+     * @return l'indice de la cible choisie
+     */
+    int choisirCible(ElementMobile acteur, List<? extends ElementMobile> cibles);
+
+    /**
+     * Choisit le sort à lancer.
+     * @param lanceur le personnage qui lance le sort
+     * @param sorts les sorts disponibles pour sa classe
+     * @return l'indice du sort choisi
+     */
+    int choisirSort(Personnage lanceur, List<Sort> sorts);
+
+    /**
+     * Choisit les deux entités dont le sort Boogie Woogie échange les positions.
+     * @param lanceur le personnage qui lance le sort
+     * @param entites les entités vivantes
+     * @return les indices des deux entités choisies
+     */
+    int[] choisirEchange(Personnage lanceur, List<ElementMobile> entites);
+
+    /**
+     * Choisit l'arme améliorée par le sort Arme magique.
+     * @param cible le personnage dont l'arme est améliorée
+     * @param armes les armes détenues par ce personnage
+     * @return l'indice de l'arme choisie
+     */
+    int choisirArme(Personnage cible, List<Arme> armes);
+
+    /**
+     * Choisit l'équipement de l'inventaire à équiper.
+     * @param personnage le personnage qui s'équipe
+     * @param inventaire l'inventaire du personnage
+     * @return l'indice de l'équipement choisi
+     */
+    int choisirEquipementAEquiper(Personnage personnage, List<Equipement> inventaire);
+
+    /**
+     * Choisit l'équipement à ramasser sur la case du personnage.
+     * @param personnage le personnage qui ramasse
+     * @param equipementsAuSol les équipements présents sur sa case
+     * @return l'indice de l'équipement choisi
+     */
+    int choisirEquipementARamasser(Personnage personnage, List<Equipement> equipementsAuSol);
+
+    /**
+     * Indique si un commentaire de role play doit être lu après une action.
+     * @return true pour lire le récit du Maître du Jeu
+     */
+    boolean veutCommenter();
+
+    /*============================Section Maître du Jeu============================*/
+
+    /**
+     * Choisit la prochaine intervention du Maître du Jeu.
+     * @return l'intervention choisie
+     */
+    ActionMaitreDuJeu choisirActionMaitreDuJeu();
+
+    /**
+     * Confirme l'utilisation de la foudre divine.
+     * @return true si le Maître du Jeu frappe
+     */
+    boolean veutUtiliserFoudre();
+
+    /**
+     * Choisit par son nom la cible de la foudre divine.
+     * @param monstres les monstres du donjon
+     * @param joueurs les joueurs du donjon
+     * @return le nom saisi, ou null pour renoncer
+     */
+    String choisirNomCibleFoudre(List<Monstre> monstres, List<Personnage> joueurs);
+
+    /**
+     * Choisit les dégâts infligés par la foudre divine.
+     * @param cible l'entité frappée
+     * @return le nombre de dégâts
+     */
+    int choisirDegats(ElementMobile cible);
+
+    /**
+     * Choisit par son nom l'entité déplacée par le Maître du Jeu.
+     * @param joueurs les joueurs du donjon
+     * @param monstres les monstres du donjon
+     * @param carte la carte courante
+     * @return le nom saisi, ou null pour renoncer
+     */
+    String choisirNomCibleDeplacement(List<Personnage> joueurs, List<Monstre> monstres, Carte carte);
+
+    /**
+     * Choisit la case où le Maître du Jeu déplace une entité.
+     * @param cible l'entité déplacée
+     * @param carte la carte courante
+     * @return la case [x,y] choisie, ou Optional.empty() pour renoncer
+     */
+    Optional<int[]> choisirCaseDeplacement(ElementMobile cible, Carte carte);
+
+    /**
+     * Choisit la case où le Maître du Jeu pose un obstacle.
+     * @param carte la carte courante
+     * @return la case [x,y] choisie, ou Optional.empty() pour renoncer
+     */
+    Optional<int[]> choisirCaseObstacle(Carte carte);
+
+    /**
+     * Choisit le nombre de monstres à créer pour un donjon.
+     * @return le nombre de monstres
+     */
+    int choisirNombreMonstres();
+
+    /**
+     * Crée un monstre pour le donjon.
+     * @param numero le numéro du monstre
+     * @return le monstre créé
+     */
+    Monstre creerMonstre(int numero);
+
+    /**
+     * Indique si les choix viennent d'un humain.
+     * Un contrôleur non interactif ne doit pas être relancé après un choix refusé :
+     * le jeu passe alors à la suite au lieu de reposer la question.
+     * @return true si le contrôleur est interactif
+     */
+    default boolean estInteractif() {
+        return false;
+    }
+}
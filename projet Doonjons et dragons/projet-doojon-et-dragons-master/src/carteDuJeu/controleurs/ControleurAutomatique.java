@@ -0,0 +1,264 @@
+package carteDuJeu.controleurs;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Donjon;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.RegistreEntites;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.personnages.equipements.armes.Arme;
+import carteDuJeu.personnages.sorts.Sort;
+import carteDuJeu.personnages.sorts.SortGuerison;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Contrôleur non interactif qui joue les personnages et les monstres sans intervention humaine.
+ *
+ * Stratégie de chaque entité :
+ * - un lanceur de Guérison soigne un allié tombé sous la moitié de ses points de vie ;
+ * - un personnage sans arme équipe la première arme de son inventaire ;
+ * - une entité qui a un adversaire à portée attaque le plus affaibli ;
+ * - sinon elle se rapproche de ses adversaires en suivant le champ de flux de la carte ;
+ * - sinon elle termine son tour.
+ *
+ * Le Maître du Jeu automatique n'intervient jamais, et aucun commentaire de role play n'est lu.
+ * Ce contrôleur permet de dérouler des combats complets sans console (simulations, tests de charge).
+ */
+public class ControleurAutomatique implements Controleur {
+    private final Donjon m_donjon;
+
+    /**
+     * Construit un contrôleur automatique pour un donjon.
+     * @param donjon le donjon dont il joue les entités
+     */
+    public ControleurAutomatique(Donjon donjon) {
+        if (donjon == null) {
+            throw new IllegalArgumentException("Le donjon ne peut pas être null");
+        }
+        this.m_donjon = donjon;
+    }
+
+    /*============================Section Entités============================*/
+
+    @Override
+    public ActionEntite choisirAction(ElementMobile entite, int actionsRestantes) {
+        if (entite.estPersonnage()) {
+            Personnage personnage = (Personnage) entite;
+            if (peutSoigner(personnage) && allieBlesse(personnage)) {
+                return ActionEntite.LANCER_SORT;
+            }
+            if (personnage.getArmeEquipee() == null) {
+                return premiereArme(personnage.getInventaire()) >= 0 ? ActionEntite.EQUIPER : ActionEntite.TERMINER;
+            }
+        }
+        if (!ciblesAPortee(entite).isEmpty()) {
+            return ActionEntite.ATTAQUER;
+        }
+        if (prochaineDestination(entite).isPresent()) {
+            return ActionEntite.SE_DEPLACER;
+        }
+        return ActionEntite.TERMINER;
+    }
+
+    @Override
+    public Optional<int[]> choisirDestination(ElementMobile entite, List<int[]> casesAtteignables) {
+        return prochaineDestination(entite);
+    }
+
+    @Override
+    public int choisirCible(ElementMobile acteur, List<? extends ElementMobile> cibles) {
+        int meilleure = -1;
+        for (int i = 0; i < cibles.size(); i++) {
+            ElementMobile cible = cibles.get(i);
+            if (meilleure < 0 || ratioPointsDeVie(cible) < ratioPointsDeVie(cibles.get(meilleure))) {
+                meilleure = i;
+            }
+        }
+        return meilleure;
+    }
+
+    @Override
+    public int choisirSort(Personnage lanceur, List<Sort> sorts) {
+        for (int i = 0; i < sorts.size(); i++) {
+            if (sorts.get(i) instanceof SortGuerison) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int[] choisirEchange(Personnage lanceur, List<ElementMobile> entites) {
+        return new int[]{-1, -1};
+    }
+
+    @Override
+    public int choisirArme(Personnage cible, List<Arme> armes) {
+        return armes.isEmpty() ? -1 : 0;
+    }
+
+    @Override
+    public int choisirEquipementAEquiper(Personnage personnage, List<Equipement> inventaire) {
+        return premiereArme(inventaire);
+    }
+
+    @Override
+    public int choisirEquipementARamasser(Personnage personnage, List<Equipement> equipementsAuSol) {
+        return -1;
+    }
+
+    @Override
+    public boolean veutCommenter() {
+        return false;
+    }
+
+    /*============================Section Maître du Jeu============================*/
+
+    @Override
+    public ActionMaitreDuJeu choisirActionMaitreDuJeu() {
+        return ActionMaitreDuJeu.TERMINER;
+    }
+
+    @Override
+    public boolean veutUtiliserFoudre() {
+        return false;
+    }
+
+    @Override
+    public String choisirNomCibleFoudre(List<Monstre> monstres, List<Personnage> joueurs) {
+        return null;
+    }
+
+    @Override
+    public int choisirDegats(ElementMobile cible) {
+        return 0;
+    }
+
+    @Override
+    public String choisirNomCibleDeplacement(List<Personnage> joueurs, List<Monstre> monstres, Carte carte) {
+        return null;
+    }
+
+    @Override
+    public Optional<int[]> choisirCaseDeplacement(ElementMobile cible, Carte carte) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<int[]> choisirCaseObstacle(Carte carte) {
+        return Optional.empty();
+    }
+
+    @Override
+    public int choisirNombreMonstres() {
+        return 0;
+    }
+
+    @Override
+    public Monstre creerMonstre(int numero) {
+        throw new IllegalStateException("Le contrôleur automatique ne crée pas de monstres");
+    }
+
+    /*============================Section Stratégie============================*/
+
+    /**
+     * Retourne le camp adverse d'une entité, morts compris : les monstres du donjon pour un personnage,
+     * et inversement. C'est toujours la même liste, sous laquelle le champ de flux garde son calcul.
+     */
+    private List<? extends ElementMobile> adversaires(ElementMobile entite) {
+        return entite.estPersonnage() ? m_donjon.getMonstres() : m_donjon.getJoueurs();
+    }
+
+    /**
+     * Indique si un camp compte encore un vivant.
+     */
+    private static boolean auMoinsUnVivant(List<? extends ElementMobile> camp) {
+        for (ElementMobile membre : camp) {
+            if (!membre.estMort()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne les adversaires vivants à portée d'attaque d'une entité.
+     */
+    private List<ElementMobile> ciblesAPortee(ElementMobile entite) {
+        List<ElementMobile> aPortee = new ArrayList<>();
+        Optional<int[]> position = m_donjon.getCarte().trouverPosition(entite);
+        if (position.isEmpty()) {
+            return aPortee;
+        }
+        int portee = entite.estPersonnage()
+                ? ((Personnage) entite).getArmeEquipee().getPortee()
+                : ((Monstre) entite).getPortee();
+        // Comme pour Tours, seuls les adversaires proches sont parcourus, dans l'index spatial du registre
+        RegistreEntites registre = m_donjon.getRegistre();
+        for (int identifiant : registre.chercherDansZone(position.get()[0], position.get()[1], portee, !entite.estPersonnage())) {
+            aPortee.add(registre.getEntite(identifiant));
+        }
+        return aPortee;
+    }
+
+    /**
+     * Retourne la case qui rapproche le plus l'entité de ses adversaires en un déplacement.
+     */
+    private Optional<int[]> prochaineDestination(ElementMobile entite) {
+        List<? extends ElementMobile> adversaires = adversaires(entite);
+        if (!auMoinsUnVivant(adversaires)) {
+            return Optional.empty();
+        }
+        return m_donjon.getCarte().getChampDeFlux()
+                .destination(entite, adversaires, entite.getCasesMaxDeplacement());
+    }
+
+    /**
+     * Indique si le personnage connaît le sort de Guérison.
+     */
+    private boolean peutSoigner(Personnage personnage) {
+        String classe = personnage.getClasse();
+        return classe.equals("Clerc") || classe.equals("Magicien");
+    }
+
+    /**
+     * Indique si un allié vivant est tombé sous la moitié de ses points de vie.
+     */
+    private boolean allieBlesse(Personnage soigneur) {
+        for (Personnage allie : m_donjon.getJoueurs()) {
+            if (!allie.estMort() && allie.getPointsDeVie() * 2 < allie.getPointsDeVieMax()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne l'indice de la première arme d'une liste d'équipements, ou -1.
+     */
+    private int premiereArme(List<Equipement> equipements) {
+        for (int i = 0; i < equipements.size(); i++) {
+            if (equipements.get(i).estUneArme()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double ratioPointsDeVie(ElementMobile element) {
+        return element.getPointsDeVieMax() > 0
+                ? (double) element.getPointsDeVie() / element.getPointsDeVieMax()
+                : 0.0;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "ControleurAutomatique{donjon=" + m_donjon.getNumeroDonjon() + "}";
+    }
+}
@@ -0,0 +1,375 @@
+package carteDuJeu.controleurs;
+
+import carteDuJeu.Affichage;
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.personnages.equipements.armes.Arme;
+import carteDuJeu.personnages.sorts.Sort;
+
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * Contrôleur interactif : tous les choix sont saisis au clavier dans la console.
+ * C'est le mode de jeu historique, où les joueurs et le Maître du Jeu partagent le même terminal.
+ */
+public class ControleurConsole implements Controleur {
+    private final Scanner m_scanner;
+
+    /**
+     * Construit un contrôleur lisant l'entrée standard.
+     */
+    public ControleurConsole() {
+        this(new Scanner(System.in));
+    }
+
+    /**
+     * Construit un contrôleur lisant le scanner fourni.
+     * @param scanner le scanner de saisie
+     */
+    public ControleurConsole(Scanner scanner) {
+        this.m_scanner = scanner;
+    }
+
+    /*============================Section Entités============================*/
+
+    @Override
+    public ActionEntite choisirAction(ElementMobile entite, int actionsRestantes) {
+        if (entite.estPersonnage()) {
+            return choisirActionPersonnage(entite, actionsRestantes);
+        }
+        return choisirActionMonstre(entite, actionsRestantes);
+    }
+
+    /**
+     * Affiche le menu complet d'un personnage et lit son choix.
+     */
+    private ActionEntite choisirActionPersonnage(ElementMobile personnage, int actionsRestantes) {
+        while (true) {
+            System.out.println("\nC'est au tour de " + personnage.toString());
+            System.out.println("\nActions restantes : " + actionsRestantes);
+            System.out.println("Actions disponibles :");
+            System.out.println("1. S'équiper");
+            System.out.println("2. Se déplacer");
+            System.out.println("3. Attaquer");
+            System.out.println("4. Lancer un sort");
+            System.out.println("5. Ramasser un équipement");
+            System.out.println("6. Voir l'inventaire");
+            System.out.println("7. Terminer le tour");
+
+            switch (demanderInt("Choisissez une action : ")) {
+                case 1:
+                    return ActionEntite.EQUIPER;
+                case 2:
+                    return ActionEntite.SE_DEPLACER;
+                case 3:
+                    return ActionEntite.ATTAQUER;
+                case 4:
+                    return ActionEntite.LANCER_SORT;
+                case 5:
+                    return ActionEntite.RAMASSER;
+                case 6:
+                    return ActionEntite.VOIR_INVENTAIRE;
+                case 7:
+                    return ActionEntite.TERMINER;
+                default:
+                    System.out.println("Choix invalide, réessayez.");
+            }
+        }
+    }
+
+    /**
+     * Affiche le menu réduit d'un monstre et lit le choix du Maître du Jeu.
+     */
+    private ActionEntite choisirActionMonstre(ElementMobile monstre, int actionsRestantes) {
+        while (true) {
+            System.out.println("C'est au tour du monstre " + monstre.toString());
+            System.out.println("\nActions restantes pour " + monstre.getNom() + " : " + actionsRestantes);
+            System.out.println("Actions disponibles :");
+            System.out.println("1. Se déplacer");
+            System.out.println("2. Attaquer");
+            System.out.println("3. Terminer le tour");
+
+            switch (demanderInt("Choisissez une action : ")) {
+                case 1:
+                    return ActionEntite.SE_DEPLACER;
+                case 2:
+                    return ActionEntite.ATTAQUER;
+                case 3:
+                    return ActionEntite.TERMINER;
+                default:
+                    System.out.println("Choix invalide, réessayez.");
+            }
+        }
+    }
+
+    @Override
+    public Optional<int[]> choisirDestination(ElementMobile entite, List<int[]> casesAtteignables) {
+        while (true) {
+            System.out.print("Entrez la destination (ex: A5 ou 'quitter' pour annuler) : ");
+            String destination = m_scanner.nextLine().trim().toUpperCase();
+
+            if (destination.equalsIgnoreCase("quitter")) {
+                System.out.println("Déplacement annulé.");
+                return Optional.empty();
+            }
+
+            Optional<int[]> coordonnees = lireCoordonnees(destination);
+            if (coordonnees.isPresent()) {
+                return coordonnees;
+            }
+            System.out.println("Erreur : Coordonnées invalides");
+        }
+    }
+
+    @Override
+    public int choisirCible(ElementMobile acteur, List<? extends ElementMobile> cibles) {
+        for (int i = 0; i < cibles.size(); i++) {
+            ElementMobile cible = cibles.get(i);
+            String indicateur = cible.equals(acteur) ? " (Vous-même)" : "";
+            System.out.println((i + 1) + ". " + cible.getNom() + indicateur +
+                    " (PV: " + cible.getPointsDeVie() + "/" + cible.getPointsDeVieMax() + ")");
+        }
+        return demanderInt("Choisissez votre cible : ") - 1;
+    }
+
+    @Override
+    public int choisirSort(Personnage lanceur, List<Sort> sorts) {
+        System.out.println("Sorts disponibles pour le " + lanceur.getClasse() + " :");
+        for (int i = 0; i < sorts.size(); i++) {
+            System.out.println((i + 1) + ". " + sorts.get(i).getNom());
+        }
+        return demanderInt("Choisissez le chiffre du sort à lancer : ") - 1;
+    }
+
+    @Override
+    public int[] choisirEchange(Personnage lanceur, List<ElementMobile> entites) {
+        System.out.println("Choisissez deux entités à échanger :");
+        for (int i = 0; i < entites.size(); i++) {
+            ElementMobile e = entites.get(i);
+            System.out.println((i + 1) + ". " + e.getNom() +
+                    (e.estPersonnage() ? " (Personnage)" : " (Monstre)"));
+        }
+        int premiere = demanderInt("Choisissez la première entité : ") - 1;
+        int deuxieme = demanderInt("Choisissez la deuxième entité : ") - 1;
+        return new int[]{premiere, deuxieme};
+    }
+
+    @Override
+    public int choisirArme(Personnage cible, List<Arme> armes) {
+        System.out.println("Choisissez une arme à améliorer parmi les suivantes :");
+        for (int i = 0; i < armes.size(); i++) {
+            System.out.println((i + 1) + ". " + armes.get(i).getNom());
+        }
+        while (true) {
+            int choix = demanderInt("Entrez le numéro de l'arme à améliorer : ") - 1;
+            if (choix >= 0 && choix < armes.size()) {
+                return choix;
+            }
+            System.out.println("Choix invalide, veuillez réessayer.");
+        }
+    }
+
+    @Override
+    public int choisirEquipementAEquiper(Personnage personnage, List<Equipement> inventaire) {
+        System.out.println("Inventaire :");
+        for (int i = 0; i < inventaire.size(); i++) {
+            System.out.println((i + 1) + ". " + inventaire.get(i).toString());
+        }
+        return demanderInt("\nEntrez le numéro de l'équipement à équiper : ") - 1;
+    }
+
+    @Override
+    public int choisirEquipementARamasser(Personnage personnage, List<Equipement> equipementsAuSol) {
+        System.out.println("Équipements disponibles :");
+        for (int i = 0; i < equipementsAuSol.size(); i++) {
+            System.out.println((i + 1) + ". " + equipementsAuSol.get(i).getNom());
+        }
+        return demanderInt("Choisissez le chiffre de l'équipement à récuperer : ") - 1;
+    }
+
+    @Override
+    public boolean veutCommenter() {
+        System.out.print("\nSouhaitez-vous ajouter un commentaire pour le role play ? (o/n) : ");
+        String reponse = m_scanner.nextLine().trim().toLowerCase();
+        return reponse.equals("o") || reponse.equals("oui");
+    }
+
+    /*============================Section Maître du Jeu============================*/
+
+    @Override
+    public ActionMaitreDuJeu choisirActionMaitreDuJeu() {
+        while (true) {
+            System.out.println("\n--- Actions du Maître du Jeu ---");
+            System.out.println("1. Frapper avec la foudre divine");
+            System.out.println("2. Déplacer un monstre ou joueur");
+            System.out.println("3. Ajouter un obstacle");
+            System.out.println("4. Terminer l'action du Maître du Jeu");
+
+            switch (demanderInt("Choisissez une action : ")) {
+                case 1:
+                    return ActionMaitreDuJeu.FOUDRE_DIVINE;
+                case 2:
+                    return ActionMaitreDuJeu.DEPLACER_ENTITE;
+                case 3:
+                    return ActionMaitreDuJeu.AJOUTER_OBSTACLE;
+                case 4:
+                    return ActionMaitreDuJeu.TERMINER;
+                default:
+                    System.out.println("Choix invalide, réessayez.");
+            }
+        }
+    }
+
+    @Override
+    public boolean veutUtiliserFoudre() {
+        System.out.print("Voulez-vous utiliser la foudre divine ? (o/n) ");
+        return m_scanner.nextLine().trim().toLowerCase().equals("o");
+    }
+
+    @Override
+    public String choisirNomCibleFoudre(List<Monstre> monstres, List<Personnage> joueurs) {
+        Affichage.afficherCiblesDisponibles(monstres, joueurs);
+        System.out.print("\nTapez le nom de la cible (son début suffit) : ");
+        return m_scanner.nextLine().trim();
+    }
+
+    @Override
+    public int choisirDegats(ElementMobile cible) {
+        return demanderInt("Donnez les dégats à infliger à " + cible.getNom() + " : ");
+    }
+
+    @Override
+    public String choisirNomCibleDeplacement(List<Personnage> joueurs, List<Monstre> monstres, Carte carte) {
+        Affichage.afficherEntitesDeplacables(joueurs, monstres, carte);
+        System.out.print("Entrez le nom du monstre ou joueur à déplacer : ");
+        return m_scanner.nextLine().trim();
+    }
+
+    @Override
+    public Optional<int[]> choisirCaseDeplacement(ElementMobile cible, Carte carte) {
+        return demanderCase(carte,
+                "Entrez la nouvelle coordonnée X (lettre de A à " + (char) ('A' + carte.getLargeur() - 1) + ") : ",
+                "Entrez la nouvelle coordonnée Y (nombre de 1 à " + carte.getHauteur() + ") : ",
+                "❌ Veuillez entrer une seule lettre.");
+    }
+
+    @Override
+    public Optional<int[]> choisirCaseObstacle(Carte carte) {
+        return demanderCase(carte,
+                "Entrez la coordonnée X de l'obstacle (lettre de A à " + (char) ('A' + carte.getLargeur() - 1) + ") : ",
+                "Entrez la coordonnée Y de l'obstacle (nombre de 1 à " + carte.getHauteur() + ") : ",
+                "❌ Veuillez entrer une seule lettre. Réessayez.");
+    }
+
+    @Override
+    public int choisirNombreMonstres() {
+        return demanderInt("Combien de monstres voulez-vous créer ? ");
+    }
+
+    @Override
+    public Monstre creerMonstre(int numero) {
+        String espece = demanderNomMonstre(numero);
+        int portee = demanderInt("Portée (1 pour mêlée, >1 pour distance) : ");
+        int maxDmg = demanderInt("Dégâts max par dé : ");
+        int nbDes = demanderInt("Nombre de dés : ");
+        int pvMax = demanderInt("Points de vie max : ");
+        int caracAttaque = demanderInt("Caractéristique d'attaque (force ou dextérité selon portée) : ");
+        int classeArmure = demanderInt("Classe d'armure : ");
+        int initiative = demanderInt("Initiative : ");
+        int vitesse = demanderInt("Vitesse : ");
+        return new Monstre(espece, numero, portee, maxDmg, vitesse, nbDes, pvMax, caracAttaque, classeArmure, initiative);
+    }
+
+    @Override
+    public boolean estInteractif() {
+        return true;
+    }
+
+    /*============================Section Saisie============================*/
+
+    /**
+     * Demande une case sous la forme d'une lettre (colonne) puis d'un nombre (ligne).
+     * Les coordonnées rendues ne sont pas validées : c'est au Maître du Jeu de le faire.
+     */
+    private Optional<int[]> demanderCase(Carte carte, String messageX, String messageY, String erreurLettre) {
+        while (true) {
+            System.out.print(messageX);
+            String input = m_scanner.nextLine().trim().toUpperCase();
+
+            if (input.length() != 1) {
+                System.out.println(erreurLettre);
+                continue;
+            }
+
+            int x = input.charAt(0) - 'A';
+            int y = demanderInt(messageY) - 1;
+            return Optional.of(new int[]{x, y});
+        }
+    }
+
+    /**
+     * Convertit une saisie de la forme "A5" en coordonnées [x,y] (non bornées par la carte).
+     */
+    private Optional<int[]> lireCoordonnees(String saisie) {
+        if (saisie.length() < 2 || saisie.charAt(0) < 'A' || saisie.charAt(0) > 'Z') {
+            return Optional.empty();
+        }
+        try {
+            int x = saisie.charAt(0) - 'A';
+            int y = Integer.parseInt(saisie.substring(1)) - 1;
+            return Optional.of(new int[]{x, y});
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Demande à l'utilisateur de saisir le nom d'un monstre.
+     * @param numero le numéro du monstre (pour l'affichage)
+     * @return le nom du monstre saisi
+     */
+    private String demanderNomMonstre(int numero) {
+        String nom = "";
+        while (nom.trim().isEmpty()) {
+            System.out.print("Entrez le nom du monstre #" + numero + " : ");
+            nom = m_scanner.nextLine().trim();
+            if (nom.isEmpty()) {
+                System.out.println("Le nom ne peut pas être vide. Veuillez réessayer.");
+            }
+        }
+        return nom;
+    }
+
+    /**
+     * Demande à l'utilisateur de saisir un entier avec un message personnalisé.
+     * @param message le message à afficher
+     * @return la valeur entière saisie
+     */
+    private int demanderInt(String message) {
+        int valeur;
+        while (true) {
+            System.out.print(message);
+            try {
+                valeur = m_scanner.nextInt();
+                m_scanner.nextLine();
+                return valeur;
+            } catch (InputMismatchException e) {
+                System.out.println("Entrée invalide, veuillez entrer un nombre.");
+                m_scanner.nextLine();
+            }
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "ControleurConsole";
+    }
+}
@@ -0,0 +1,116 @@
+package carteDuJeu.enregistrement;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Entité reconstruite par un {@link Rejoueur} : personnage ou monstre, avec les caractéristiques
+ * et le symbole enregistrés au début du combat, et ses points de vie tenus à jour par les événements rejoués.
+ */
+public class EntiteRejouee implements ElementMobile {
+    private final int m_identifiant;
+    private final String m_nom;
+    private final String m_symbole;
+    private final boolean m_personnage;
+    private int m_pointsDeVie;
+    private final int m_pointsDeVieMax;
+    private final int m_force;
+    private final int m_dexterite;
+    private final int m_initiative;
+    private final int m_casesMaxDeplacement;
+
+    EntiteRejouee(int identifiant, String nom, String symbole, boolean personnage, int pointsDeVie, int pointsDeVieMax,
+                  int force, int dexterite, int initiative, int casesMaxDeplacement) {
+        this.m_identifiant = identifiant;
+        this.m_nom = nom;
+        this.m_symbole = symbole;
+        this.m_personnage = personnage;
+        this.m_pointsDeVie = pointsDeVie;
+        this.m_pointsDeVieMax = pointsDeVieMax;
+        this.m_force = force;
+        this.m_dexterite = dexterite;
+        this.m_initiative = initiative;
+        this.m_casesMaxDeplacement = casesMaxDeplacement;
+    }
+
+    /**
+     * Retourne l'identifiant de l'entité dans le journal (ordre de l'état initial : joueurs puis monstres).
+     * @return l'identifiant
+     */
+    public int getIdentifiant() {
+        return m_identifiant;
+    }
+
+    void setPointsDeVie(int pointsDeVie) {
+        this.m_pointsDeVie = pointsDeVie;
+    }
+
+    @Override
+    public int getCasesMaxDeplacement() {
+        return m_casesMaxDeplacement;
+    }
+
+    @Override
+    public String getNom() {
+        return m_nom;
+    }
+
+    @Override
+    public boolean estPersonnage() {
+        return m_personnage;
+    }
+
+    @Override
+    public void subirDegats(int degats) {
+        m_pointsDeVie = Math.max(0, m_pointsDeVie - degats);
+    }
+
+    @Override
+    public boolean estMort() {
+        return m_pointsDeVie <= 0;
+    }
+
+    @Override
+    public int getPointsDeVie() {
+        return m_pointsDeVie;
+    }
+
+    @Override
+    public int getPointsDeVieMax() {
+        return m_pointsDeVieMax;
+    }
+
+    @Override
+    public int getForce() {
+        return m_force;
+    }
+
+    @Override
+    public int getDexterite() {
+        return m_dexterite;
+    }
+
+    @Override
+    public int getInitiative() {
+        return m_initiative;
+    }
+
+    @Override
+    public String getSymbole() {
+        return m_symbole;
+    }
+
+    @Override
+    public boolean estEquipement() {
+        return false;
+    }
+
+    @Override
+    public boolean estElementMobile() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return m_nom + " (PV: " + m_pointsDeVie + "/" + m_pointsDeVieMax + ")";
+    }
+}
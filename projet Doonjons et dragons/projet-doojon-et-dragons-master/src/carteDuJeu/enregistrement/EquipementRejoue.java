@@ -0,0 +1,35 @@
+package carteDuJeu.enregistrement;
+
+import carteDuJeu.personnages.equipements.Equipement;
+
+/**
+ * Équipement posé au sol, reconstruit par un {@link Rejoueur} : seuls son nom et son symbole sont connus.
+ */
+public class EquipementRejoue extends Equipement {
+    private final int m_identifiant;
+    private final String m_symbole;
+
+    EquipementRejoue(int identifiant, String nom, String symbole) {
+        super(nom);
+        this.m_identifiant = identifiant;
+        this.m_symbole = symbole;
+    }
+
+    /**
+     * Retourne l'identifiant de l'équipement dans le journal (ordre de l'état initial).
+     * @return l'identifiant
+     */
+    public int getIdentifiant() {
+        return m_identifiant;
+    }
+
+    @Override
+    public Equipement copier() {
+        return new EquipementRejoue(m_identifiant, m_nom, m_symbole);
+    }
+
+    @Override
+    public String getSymbole() {
+        return m_symbole;
+    }
+}
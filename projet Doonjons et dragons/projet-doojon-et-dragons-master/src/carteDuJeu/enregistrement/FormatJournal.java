@@ -0,0 +1,68 @@
+package carteDuJeu.enregistrement;
+
+/**
+ * Constantes du format des journaux binaires de combat.
+ *
+ * Un journal commence par {@link #MAGIQUE} et {@link #VERSION}, puis enchaîne les enregistrements.
+ * Chaque enregistrement est un octet de code suivi de ses champs, tous en varint
+ * (7 bits par octet, bit de poids fort à 1 tant que la valeur continue) ;
+ * les valeurs qui peuvent être négatives sont d'abord codées en zigzag.
+ * Une entité absente (Maître du Jeu, case hors carte) est codée 0, les autres valeur + 1.
+ *
+ * Un combat commence par {@link #DEBUT_COMBAT}, qui décrit l'état initial complet
+ * (carte, obstacles, entités et équipements au sol), et finit par {@link #FIN_COMBAT}.
+ * Depuis la version 2, une image clé ({@link #IMAGE_CLE}) redonne l'état complet du combat
+ * à intervalles réguliers, juste avant le début d'un tour : une visionneuse peut ainsi se placer
+ * à n'importe quel moment en ne rejouant que les enregistrements qui suivent l'image clé précédente.
+ * Depuis la version 3, une entité qui rejoint un combat en cours est décrite par {@link #ARRIVEE}
+ * et reçoit l'identifiant suivant ; les images clés redonnent la description des entités arrivées.
+ */
+final class FormatJournal {
+    /** "DDJB" : Donjons et Dragons, Journal Binaire */
+    static final int MAGIQUE = 0x44444A42;
+    static final int VERSION = 3;
+    /** Première version avec des arrivées en cours de combat */
+    static final int VERSION_ARRIVEES = 3;
+    /** Plus ancienne version encore lisible (sans images clés) */
+    static final int VERSION_MIN = 1;
+
+    /** numéro du donjon, graine, largeur, hauteur, obstacles, entités, équipements */
+    static final int DEBUT_COMBAT = 1;
+    /** numéro du tour */
+    static final int DEBUT_TOUR = 2;
+    /** numéro du tour */
+    static final int FIN_TOUR = 3;
+    /** entité */
+    static final int TOUR_ENTITE = 4;
+    /** entité, x, y d'arrivée */
+    static final int DEPLACEMENT = 5;
+    /** attaquant, cible, d20, modificateur, classe d'armure */
+    static final int JET_ATTAQUE = 6;
+    /** source (0 : Maître du Jeu), cible, dégâts, points de vie restants */
+    static final int DEGATS = 7;
+    /** entité, tueur (0 : Maître du Jeu) */
+    static final int MORT = 8;
+    /** lanceur, nom du sort, puis pour chaque cible : entité, x, y et points de vie après le sort */
+    static final int SORT = 9;
+    /** personnage, équipement */
+    static final int RAMASSAGE = 10;
+    /** action, cible, x, y */
+    static final int MAITRE_DU_JEU = 11;
+    /** bit 0 : victoire, bit 1 : défaite */
+    static final int FIN_COMBAT = 12;
+    /**
+     * numéro du dernier tour joué, obstacles, (version 3) nombre et description des entités arrivées
+     * en cours de combat, nombre d'entités puis pour chaque entité : points de vie et case
+     * (y * largeur + x, + 1), enfin le nombre et les identifiants des équipements encore au sol
+     */
+    static final int IMAGE_CLE = 13;
+    /** initiative, puis description de l'entité comme dans l'état initial */
+    static final int ARRIVEE = 14;
+
+    /** Drapeaux d'une entité de l'état initial */
+    static final int ENTITE_PERSONNAGE = 1;
+    static final int ENTITE_SUR_CARTE = 2;
+
+    private FormatJournal() {
+    }
+}
@@ -0,0 +1,516 @@
+package carteDuJeu.enregistrement;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Des;
+import carteDuJeu.ElementCarte;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.evenements.AbonneEvenements;
+import carteDuJeu.evenements.EvenementArrivee;
+import carteDuJeu.evenements.EvenementDebutCombat;
+import carteDuJeu.evenements.EvenementDebutTour;
+import carteDuJeu.evenements.EvenementDegats;
+import carteDuJeu.evenements.EvenementDeplacement;
+import carteDuJeu.evenements.EvenementFinCombat;
+import carteDuJeu.evenements.EvenementFinTour;
+import carteDuJeu.evenements.EvenementJetAttaque;
+import carteDuJeu.evenements.EvenementMaitreDuJeu;
+import carteDuJeu.evenements.EvenementMort;
+import carteDuJeu.evenements.EvenementRamassage;
+import carteDuJeu.evenements.EvenementSort;
+import carteDuJeu.evenements.EvenementTourEntite;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Journal binaire des combats, abonné au bus d'événements d'un combat ({@link carteDuJeu.Tours#getBus()}).
+ *
+ * Chaque combat est ajouté à la fin du journal (voir {@link FormatJournal}) : son état initial complet,
+ * puis un enregistrement compact par événement, avec des identifiants d'entités, des coordonnées
+ * et des résultats de dés codés en varint. Tous les {@link #setIntervalleImagesCles(int) n tours},
+ * une image clé redonne l'état complet du combat. Un {@link Rejoueur} reconstruit ensuite la carte
+ * et l'état des entités en relisant le journal, et une {@link VisionneuseCombats} se place directement
+ * à n'importe quel tour en repartant de l'image clé précédente.
+ *
+ * Les enregistrements sont assemblés dans un tampon, écrit dans le fichier quand il est plein
+ * et à la fin de chaque combat. Un journal n'est pas fait pour être partagé entre threads.
+ */
+public class JournalBinaire implements AbonneEvenements, Closeable {
+    private static final int TAILLE_TAMPON = 8192;
+
+    /** Nombre de tours entre deux images clés, par défaut */
+    public static final int INTERVALLE_IMAGES_CLES = 10;
+
+    private final OutputStream m_sortie;
+    private byte[] m_tampon = new byte[TAILLE_TAMPON];
+    private int m_taille;
+
+    /** Carte du combat en cours, null hors combat */
+    private Carte m_carte;
+
+    /** Identifiants des entités et des équipements au sol du combat en cours */
+    private final Map<ElementMobile, Integer> m_entites = new IdentityHashMap<>();
+    private final Map<ElementCarte, Integer> m_equipements = new IdentityHashMap<>();
+
+    /** Entités du combat en cours, dans l'ordre de leurs identifiants */
+    private final List<ElementMobile> m_ordreEntites = new ArrayList<>();
+
+    /** Nombre d'entités de l'état initial ; les suivantes sont arrivées en cours de combat */
+    private int m_nombreEntitesInitial;
+
+    /** Nombre de tours entre deux images clés */
+    private int m_intervalleImagesCles = INTERVALLE_IMAGES_CLES;
+
+    /**
+     * Ouvre un journal dans un fichier. Un fichier existant est complété : les nouveaux combats
+     * sont ajoutés à la suite des précédents.
+     *
+     * @param fichier le fichier du journal
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier existe mais n'est pas un journal de combats
+     */
+    public JournalBinaire(Path fichier) throws IOException {
+        boolean nouveau = !Files.exists(fichier) || Files.size(fichier) == 0;
+        if (!nouveau) {
+            verifierEntete(fichier);
+        }
+        this.m_sortie = Files.newOutputStream(fichier, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (nouveau) {
+            ecrireEntete();
+        }
+    }
+
+    /**
+     * Crée un journal écrit dans un flux, qui commence par l'en-tête du format.
+     *
+     * @param sortie le flux où écrire le journal
+     */
+    public JournalBinaire(OutputStream sortie) {
+        this.m_sortie = sortie;
+        ecrireEntete();
+    }
+
+    /**
+     * Écrit dans le fichier ou le flux les enregistrements encore dans le tampon.
+     *
+     * @throws UncheckedIOException si l'écriture échoue
+     */
+    public void vider() {
+        try {
+            m_sortie.write(m_tampon, 0, m_taille);
+            m_sortie.flush();
+            m_taille = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal de combat impossible", e);
+        }
+    }
+
+    /**
+     * Définit le nombre de tours entre deux images clés. Plus l'intervalle est court,
+     * plus une visionneuse se place vite à un tour donné, au prix d'un journal plus gros.
+     *
+     * @param intervalle le nombre de tours, au moins 1
+     * @throws IllegalArgumentException si l'intervalle est inférieur à 1
+     */
+    public void setIntervalleImagesCles(int intervalle) {
+        if (intervalle < 1) {
+            throw new IllegalArgumentException("L'intervalle entre deux images clés doit être d'au moins un tour");
+        }
+        this.m_intervalleImagesCles = intervalle;
+    }
+
+    public int getIntervalleImagesCles() {
+        return m_intervalleImagesCles;
+    }
+
+    @Override
+    public void close() throws IOException {
+        vider();
+        m_sortie.close();
+    }
+
+    /*============================Section Événements============================*/
+
+    @Override
+    public void debutCombat(EvenementDebutCombat evenement) {
+        Carte carte = evenement.getCarte();
+        m_carte = carte;
+        m_entites.clear();
+        m_ordreEntites.clear();
+        m_equipements.clear();
+
+        ecrireCode(FormatJournal.DEBUT_COMBAT);
+        ecrireVarint(evenement.getNumeroDonjon());
+        ecrireEntier(Des.getGenerateur().getGraine());
+        ecrireVarint(carte.getLargeur());
+        ecrireVarint(carte.getHauteur());
+
+        ecrireObstacles(carte);
+
+        ecrireVarint(evenement.getJoueurs().size() + evenement.getMonstres().size());
+        ecrireEntites(carte, evenement.getJoueurs());
+        ecrireEntites(carte, evenement.getMonstres());
+        m_nombreEntitesInitial = m_ordreEntites.size();
+
+        int nombreEquipements = 0;
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                for (ElementCarte element : carte.getCase(x, y).getContenu()) {
+                    if (element.estEquipement()) {
+                        nombreEquipements++;
+                    }
+                }
+            }
+        }
+        ecrireVarint(nombreEquipements);
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                for (ElementCarte element : carte.getCase(x, y).getContenu()) {
+                    if (element.estEquipement()) {
+                        m_equipements.put(element, m_equipements.size());
+                        ecrireTexte(element.getNom());
+                        ecrireTexte(element.getSymbole());
+                        ecrireVarint(x);
+                        ecrireVarint(y);
+                    }
+                }
+            }
+        }
+        viderSiNecessaire();
+    }
+
+    /**
+     * Écrit les obstacles de la carte : leur nombre, puis les écarts entre les indices
+     * successifs de leurs cases (y * largeur + x).
+     */
+    private void ecrireObstacles(Carte carte) {
+        int nombreObstacles = 0;
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                if (carte.estObstacle(x, y)) {
+                    nombreObstacles++;
+                }
+            }
+        }
+        ecrireVarint(nombreObstacles);
+        int precedent = 0;
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                if (carte.estObstacle(x, y)) {
+                    int indice = y * carte.getLargeur() + x;
+                    ecrireVarint(indice - precedent);
+                    precedent = indice;
+                }
+            }
+        }
+    }
+
+    /**
+     * Écrit une image clé : l'état complet du combat à la fin d'un tour.
+     */
+    private void ecrireImageCle(int numeroTour) {
+        Carte carte = m_carte;
+        ecrireCode(FormatJournal.IMAGE_CLE);
+        ecrireVarint(numeroTour);
+        ecrireObstacles(carte);
+
+        ecrireVarint(m_ordreEntites.size() - m_nombreEntitesInitial);
+        for (int id = m_nombreEntitesInitial; id < m_ordreEntites.size(); id++) {
+            ecrireDescription(carte, m_ordreEntites.get(id));
+        }
+
+        ecrireVarint(m_entites.size());
+        for (ElementMobile entite : m_ordreEntites) {
+            ecrireEntier(entite.getPointsDeVie());
+            Optional<int[]> position = carte.trouverPosition(entite);
+            ecrireVarint(position.map(p -> p[1] * carte.getLargeur() + p[0] + 1).orElse(0));
+        }
+
+        int nombreEquipements = 0;
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                for (ElementCarte element : carte.getCase(x, y).getContenu()) {
+                    if (m_equipements.containsKey(element)) {
+                        nombreEquipements++;
+                    }
+                }
+            }
+        }
+        ecrireVarint(nombreEquipements);
+        for (int y = 0; y < carte.getHauteur(); y++) {
+            for (int x = 0; x < carte.getLargeur(); x++) {
+                for (ElementCarte element : carte.getCase(x, y).getContenu()) {
+                    Integer identifiant = m_equipements.get(element);
+                    if (identifiant != null) {
+                        ecrireVarint(identifiant);
+                    }
+                }
+            }
+        }
+    }
+
+    private void ecrireEntites(Carte carte, List<? extends ElementMobile> entites) {
+        for (ElementMobile entite : entites) {
+            m_entites.put(entite, m_entites.size());
+            m_ordreEntites.add(entite);
+            ecrireDescription(carte, entite);
+        }
+    }
+
+    /**
+     * Écrit la description d'une entité : drapeaux, nom, symbole, caractéristiques et case éventuelle.
+     */
+    private void ecrireDescription(Carte carte, ElementMobile entite) {
+        Optional<int[]> position = carte.trouverPosition(entite);
+        int drapeaux = (entite.estPersonnage() ? FormatJournal.ENTITE_PERSONNAGE : 0)
+                | (position.isPresent() ? FormatJournal.ENTITE_SUR_CARTE : 0);
+        ecrireVarint(drapeaux);
+        ecrireTexte(entite.getNom());
+        ecrireTexte(entite.getSymbole());
+        ecrireEntier(entite.getPointsDeVie());
+        ecrireEntier(entite.getPointsDeVieMax());
+        ecrireEntier(entite.getForce());
+        ecrireEntier(entite.getDexterite());
+        ecrireEntier(entite.getInitiative());
+        ecrireVarint(entite.getCasesMaxDeplacement());
+        if (position.isPresent()) {
+            ecrireVarint(position.get()[0]);
+            ecrireVarint(position.get()[1]);
+        }
+    }
+
+    @Override
+    public void arrivee(EvenementArrivee evenement) {
+        if (m_carte != null && !m_entites.containsKey(evenement.getEntite())) {
+            ecrireCode(FormatJournal.ARRIVEE);
+            ecrireEntier(evenement.getInitiative());
+            ecrireEntites(m_carte, List.of(evenement.getEntite()));
+        }
+    }
+
+    @Override
+    public void debutTour(EvenementDebutTour evenement) {
+        if (m_carte != null) {
+            int numeroTour = evenement.getNumeroTour();
+            if (numeroTour > 1 && (numeroTour - 1) % m_intervalleImagesCles == 0) {
+                ecrireImageCle(numeroTour - 1);
+            }
+            ecrireCode(FormatJournal.DEBUT_TOUR);
+            ecrireVarint(evenement.getNumeroTour());
+        }
+    }
+
+    @Override
+    public void finTour(EvenementFinTour evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.FIN_TOUR);
+            ecrireVarint(evenement.getNumeroTour());
+            viderSiNecessaire();
+        }
+    }
+
+    @Override
+    public void tourEntite(EvenementTourEntite evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.TOUR_ENTITE);
+            ecrireVarint(identifiant(evenement.getEntite()));
+        }
+    }
+
+    @Override
+    public void deplacement(EvenementDeplacement evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.DEPLACEMENT);
+            ecrireVarint(identifiant(evenement.getEntite()));
+            ecrireVarint(evenement.getXArrivee());
+            ecrireVarint(evenement.getYArrivee());
+        }
+    }
+
+    @Override
+    public void jetAttaque(EvenementJetAttaque evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.JET_ATTAQUE);
+            ecrireVarint(identifiant(evenement.getAttaquant()));
+            ecrireVarint(identifiant(evenement.getCible()));
+            ecrireVarint(evenement.getJet());
+            ecrireEntier(evenement.getModificateur());
+            ecrireEntier(evenement.getClasseArmure());
+        }
+    }
+
+    @Override
+    public void degats(EvenementDegats evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.DEGATS);
+            ecrireVarint(identifiantOuZero(evenement.getSource()));
+            ecrireVarint(identifiant(evenement.getCible()));
+            ecrireEntier(evenement.getDegats());
+            ecrireEntier(evenement.getPointsDeVieRestants());
+        }
+    }
+
+    @Override
+    public void mort(EvenementMort evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.MORT);
+            ecrireVarint(identifiant(evenement.getEntite()));
+            ecrireVarint(identifiantOuZero(evenement.getTueur()));
+        }
+    }
+
+    @Override
+    public void sort(EvenementSort evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.SORT);
+            ecrireVarint(identifiant(evenement.getLanceur()));
+            ecrireTexte(evenement.getNomSort());
+            ecrireVarint(evenement.getCibles().size());
+            // L'état des cibles après le sort suffit à rejouer tous les sorts (soin, échange de positions...)
+            for (ElementMobile cible : evenement.getCibles()) {
+                ecrireVarint(identifiant(cible));
+                Optional<int[]> position = m_carte.trouverPosition(cible);
+                ecrireVarint(position.map(p -> p[0] + 1).orElse(0));
+                ecrireVarint(position.map(p -> p[1] + 1).orElse(0));
+                ecrireEntier(cible.getPointsDeVie());
+            }
+        }
+    }
+
+    @Override
+    public void ramassage(EvenementRamassage evenement) {
+        if (m_carte != null) {
+            Integer equipement = m_equipements.get(evenement.getEquipement());
+            if (equipement == null) {
+                throw new IllegalStateException("Équipement absent de l'état initial du journal : "
+                        + evenement.getEquipement().getNom());
+            }
+            ecrireCode(FormatJournal.RAMASSAGE);
+            ecrireVarint(identifiant(evenement.getPersonnage()));
+            ecrireVarint(equipement);
+        }
+    }
+
+    @Override
+    public void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.MAITRE_DU_JEU);
+            ecrireVarint(evenement.getAction().ordinal());
+            ecrireVarint(identifiantOuZero(evenement.getCible()));
+            ecrireVarint(evenement.getX() + 1);
+            ecrireVarint(evenement.getY() + 1);
+        }
+    }
+
+    @Override
+    public void finCombat(EvenementFinCombat evenement) {
+        if (m_carte != null) {
+            ecrireCode(FormatJournal.FIN_COMBAT);
+            ecrireVarint((evenement.estVictoire() ? 1 : 0) | (evenement.estDefaite() ? 2 : 0));
+            m_carte = null;
+            vider();
+        }
+    }
+
+    /*============================Section Encodage============================*/
+
+    private int identifiant(ElementMobile entite) {
+        Integer identifiant = m_entites.get(entite);
+        if (identifiant == null) {
+            throw new IllegalStateException("Entité absente de l'état initial du journal : " + entite.getNom());
+        }
+        return identifiant;
+    }
+
+    private int identifiantOuZero(ElementMobile entite) {
+        return entite == null ? 0 : identifiant(entite) + 1;
+    }
+
+    private void ecrireEntete() {
+        assurer(8);
+        int magique = FormatJournal.MAGIQUE;
+        m_tampon[m_taille++] = (byte) (magique >>> 24);
+        m_tampon[m_taille++] = (byte) (magique >>> 16);
+        m_tampon[m_taille++] = (byte) (magique >>> 8);
+        m_tampon[m_taille++] = (byte) magique;
+        ecrireVarint(FormatJournal.VERSION);
+        vider();
+    }
+
+    private static void verifierEntete(Path fichier) throws IOException {
+        try (InputStream entree = Files.newInputStream(fichier)) {
+            int magique = new DataInputStream(entree).readInt();
+            if (magique != FormatJournal.MAGIQUE) {
+                throw new IllegalArgumentException("Le fichier n'est pas un journal de combats : " + fichier);
+            }
+            int version = entree.read();
+            if (version != FormatJournal.VERSION) {
+                throw new IllegalArgumentException("Le journal " + fichier + " est en version " + version
+                        + " : de nouveaux combats ne peuvent y être ajoutés qu'en version " + FormatJournal.VERSION);
+            }
+        }
+    }
+
+    private void ecrireCode(int code) {
+        assurer(1);
+        m_tampon[m_taille++] = (byte) code;
+    }
+
+    private void ecrireVarint(long valeur) {
+        assurer(10);
+        while ((valeur & ~0x7FL) != 0) {
+            m_tampon[m_taille++] = (byte) ((valeur & 0x7F) | 0x80);
+            valeur >>>= 7;
+        }
+        m_tampon[m_taille++] = (byte) valeur;
+    }
+
+    /**
+     * Écrit un entier qui peut être négatif, codé en zigzag (0, -1, 1, -2... deviennent 0, 1, 2, 3...).
+     */
+    private void ecrireEntier(long valeur) {
+        ecrireVarint((valeur << 1) ^ (valeur >> 63));
+    }
+
+    private void ecrireTexte(String texte) {
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        ecrireVarint(octets.length);
+        assurer(octets.length);
+        System.arraycopy(octets, 0, m_tampon, m_taille, octets.length);
+        m_taille += octets.length;
+    }
+
+    private void assurer(int octets) {
+        if (m_taille + octets > m_tampon.length) {
+            m_tampon = Arrays.copyOf(m_tampon, Math.max(m_tampon.length * 2, m_taille + octets));
+        }
+    }
+
+    private void viderSiNecessaire() {
+        if (m_taille >= TAILLE_TAMPON) {
+            vider();
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "JournalBinaire{combatEnCours=" + (m_carte != null) + ", entites=" + m_entites.size()
+                + ", tampon=" + m_taille + "}";
+    }
+}
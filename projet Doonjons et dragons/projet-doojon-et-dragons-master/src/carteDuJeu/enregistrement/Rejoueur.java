@@ -0,0 +1,635 @@
+package carteDuJeu.enregistrement;
+
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+import carteDuJeu.evenements.BusEvenements;
+import carteDuJeu.evenements.EvenementArrivee;
+import carteDuJeu.evenements.EvenementDebutCombat;
+import carteDuJeu.evenements.EvenementDebutTour;
+import carteDuJeu.evenements.EvenementDegats;
+import carteDuJeu.evenements.EvenementDeplacement;
+import carteDuJeu.evenements.EvenementFinCombat;
+import carteDuJeu.evenements.EvenementFinTour;
+import carteDuJeu.evenements.EvenementJetAttaque;
+import carteDuJeu.evenements.EvenementMaitreDuJeu;
+import carteDuJeu.evenements.EvenementMort;
+import carteDuJeu.evenements.EvenementRamassage;
+import carteDuJeu.evenements.EvenementSort;
+import carteDuJeu.evenements.EvenementTourEntite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Relit un journal écrit par {@link JournalBinaire} et reconstruit, combat par combat,
+ * la carte et l'état des entités.
+ *
+ * {@link #combatSuivant()} construit l'état initial d'un combat, puis chaque appel à {@link #avancer()}
+ * applique un enregistrement : déplacements, points de vie, morts, sorts, ramassages et
+ * interventions du Maître du Jeu, arrivées d'entités. Aucun dé n'est relancé : les résultats sont lus dans le journal.
+ * Les images clés sont sautées : pour se placer à un tour donné sans tout relire,
+ * voir {@link VisionneuseCombats}.
+ *
+ * Les événements relus sont aussi publiés sur le bus du rejoueur ({@link #getBus()}) s'il a des abonnés,
+ * avec les entités reconstruites ({@link EntiteRejouee}, {@link EquipementRejoue}) :
+ * une {@link carteDuJeu.evenements.VueConsole} y réaffiche par exemple le déroulement du combat.
+ */
+public class Rejoueur {
+    private final byte[] m_donnees;
+    private final int m_version;
+    private int m_position;
+
+    private final BusEvenements m_bus = new BusEvenements();
+
+    /** État du combat en cours, null avant le premier combat */
+    private Carte m_carte;
+    private final List<EntiteRejouee> m_entites = new ArrayList<>();
+    private final List<EquipementRejoue> m_equipements = new ArrayList<>();
+    /** Nombre d'entités de l'état initial ; les suivantes sont arrivées en cours de combat */
+    private int m_nombreEntitesInitial;
+    private int m_numeroDonjon;
+    private long m_graine;
+    private int m_numeroTour;
+    private boolean m_combatTermine = true;
+
+    /** Cases (y * largeur + x) des équipements de l'état initial, dans l'ordre de leurs identifiants */
+    private int[] m_casesEquipements = new int[0];
+
+    /** Position de l'enregistrement de début du combat en cours, et code du dernier enregistrement appliqué */
+    private int m_debutCombat = -1;
+    private int m_dernierCode;
+
+    /**
+     * Ouvre un journal de combats.
+     *
+     * @param fichier le fichier du journal
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas un journal de combats
+     */
+    public Rejoueur(Path fichier) throws IOException {
+        this(Files.readAllBytes(fichier));
+    }
+
+    /**
+     * Relit un journal de combats en mémoire.
+     *
+     * @param donnees le contenu du journal
+     * @throws IllegalArgumentException si les données ne sont pas un journal de combats
+     */
+    public Rejoueur(byte[] donnees) {
+        this.m_donnees = donnees;
+        if (donnees.length < 5) {
+            throw new IllegalArgumentException("Journal de combats invalide : en-tête incomplet");
+        }
+        int magique = (donnees[0] & 0xFF) << 24 | (donnees[1] & 0xFF) << 16 | (donnees[2] & 0xFF) << 8 | (donnees[3] & 0xFF);
+        m_position = 4;
+        if (magique != FormatJournal.MAGIQUE) {
+            throw new IllegalArgumentException("Journal de combats invalide : signature inconnue");
+        }
+        this.m_version = (int) lireVarint();
+        if (m_version < FormatJournal.VERSION_MIN || m_version > FormatJournal.VERSION) {
+            throw new IllegalArgumentException("Version de journal non prise en charge : " + m_version);
+        }
+    }
+
+    /*============================Section Lecture============================*/
+
+    /**
+     * Passe au combat suivant du journal et construit son état initial.
+     * Les événements restants du combat en cours sont ignorés.
+     *
+     * @return true si un combat a été trouvé, false à la fin du journal
+     * @throws IllegalStateException si le journal est tronqué ou corrompu
+     */
+    public boolean combatSuivant() {
+        while (m_position < m_donnees.length) {
+            if ((m_donnees[m_position] & 0xFF) == FormatJournal.DEBUT_COMBAT) {
+                m_debutCombat = m_position++;
+                lireDebutCombat();
+                return true;
+            }
+            appliquerEnregistrement(false);
+        }
+        return false;
+    }
+
+    /**
+     * Applique l'enregistrement suivant du combat en cours.
+     *
+     * @return false si le combat est terminé (ou s'arrête là, pour un journal interrompu), true sinon
+     * @throws IllegalStateException si aucun combat n'a été commencé, ou si le journal est tronqué ou corrompu
+     */
+    public boolean avancer() {
+        if (m_carte == null) {
+            throw new IllegalStateException("Aucun combat en cours : appeler combatSuivant() d'abord");
+        }
+        // Les images clés ne font que répéter l'état déjà reconstruit : elles sont sautées
+        while (imageCleSuivante()) {
+            m_position++;
+            lireImageCle(false);
+        }
+        if (m_combatTermine || m_position >= m_donnees.length
+                || (m_donnees[m_position] & 0xFF) == FormatJournal.DEBUT_COMBAT) {
+            return false;
+        }
+        appliquerEnregistrement(m_bus.estActif());
+        return true;
+    }
+
+    /**
+     * Applique tous les enregistrements restants du combat en cours.
+     *
+     * @return le nombre d'enregistrements appliqués
+     */
+    public int rejouerCombat() {
+        int nombre = 0;
+        while (avancer()) {
+            nombre++;
+        }
+        return nombre;
+    }
+
+    private void lireDebutCombat() {
+        m_numeroDonjon = (int) lireVarint();
+        m_graine = lireEntier();
+        int largeur = (int) lireVarint();
+        int hauteur = (int) lireVarint();
+        Carte carte = new Carte(largeur, hauteur);
+
+        int nombreObstacles = (int) lireVarint();
+        int indice = 0;
+        for (int i = 0; i < nombreObstacles; i++) {
+            indice += (int) lireVarint();
+            placerObstacle(carte, indice);
+        }
+
+        m_entites.clear();
+        List<EntiteRejouee> joueurs = new ArrayList<>();
+        List<EntiteRejouee> monstres = new ArrayList<>();
+        int nombreEntites = (int) lireVarint();
+        for (int id = 0; id < nombreEntites; id++) {
+            EntiteRejouee entite = lireDescription(id, carte);
+            m_entites.add(entite);
+            (entite.estPersonnage() ? joueurs : monstres).add(entite);
+        }
+        m_nombreEntitesInitial = nombreEntites;
+
+        m_equipements.clear();
+        int nombreEquipements = (int) lireVarint();
+        m_casesEquipements = new int[nombreEquipements];
+        for (int id = 0; id < nombreEquipements; id++) {
+            EquipementRejoue equipement = new EquipementRejoue(id, lireTexte(), lireTexte());
+            int x = (int) lireVarint();
+            int y = (int) lireVarint();
+            verifierCase(carte, x, y);
+            carte.ajouterContenu(x, y, equipement);
+            m_equipements.add(equipement);
+            m_casesEquipements[id] = y * largeur + x;
+        }
+
+        m_carte = carte;
+        m_numeroTour = 0;
+        m_combatTermine = false;
+        if (m_bus.estActif()) {
+            m_bus.publier(new EvenementDebutCombat(m_numeroDonjon, carte, joueurs, monstres));
+        }
+    }
+
+    /**
+     * Lit la description d'une entité (état initial ou arrivée en cours de combat).
+     *
+     * @param id l'identifiant de l'entité
+     * @param carte la carte où la poser si elle y était, ou null pour ignorer sa case
+     */
+    private EntiteRejouee lireDescription(int id, Carte carte) {
+        int drapeaux = (int) lireVarint();
+        boolean personnage = (drapeaux & FormatJournal.ENTITE_PERSONNAGE) != 0;
+        EntiteRejouee entite = new EntiteRejouee(id, lireTexte(), lireTexte(), personnage,
+                (int) lireEntier(), (int) lireEntier(), (int) lireEntier(), (int) lireEntier(),
+                (int) lireEntier(), (int) lireVarint());
+        if ((drapeaux & FormatJournal.ENTITE_SUR_CARTE) != 0) {
+            int x = (int) lireVarint();
+            int y = (int) lireVarint();
+            if (carte != null) {
+                verifierCase(carte, x, y);
+                carte.ajouterContenu(x, y, entite);
+            }
+        }
+        return entite;
+    }
+
+    /**
+     * Lit un enregistrement et l'applique à l'état du combat en cours.
+     *
+     * @param publier true pour publier l'événement relu sur le bus
+     */
+    private void appliquerEnregistrement(boolean publier) {
+        int code = m_donnees[m_position++] & 0xFF;
+        m_dernierCode = code;
+        switch (code) {
+            case FormatJournal.IMAGE_CLE -> lireImageCle(false);
+            case FormatJournal.DEBUT_TOUR -> {
+                m_numeroTour = (int) lireVarint();
+                if (publier) {
+                    m_bus.publier(new EvenementDebutTour(m_numeroTour));
+                }
+            }
+            case FormatJournal.FIN_TOUR -> {
+                int numero = (int) lireVarint();
+                if (publier) {
+                    m_bus.publier(new EvenementFinTour(numero));
+                }
+            }
+            case FormatJournal.TOUR_ENTITE -> {
+                EntiteRejouee entite = lireEntite();
+                if (publier) {
+                    m_bus.publier(new EvenementTourEntite(entite));
+                }
+            }
+            case FormatJournal.DEPLACEMENT -> {
+                EntiteRejouee entite = lireEntite();
+                int x = (int) lireVarint();
+                int y = (int) lireVarint();
+                int[] depart = m_carte.trouverPosition(entite).orElse(new int[]{x, y});
+                placer(entite, x, y);
+                if (publier) {
+                    m_bus.publier(new EvenementDeplacement(entite, depart[0], depart[1], x, y));
+                }
+            }
+            case FormatJournal.JET_ATTAQUE -> {
+                EntiteRejouee attaquant = lireEntite();
+                EntiteRejouee cible = lireEntite();
+                int jet = (int) lireVarint();
+                int modificateur = (int) lireEntier();
+                int classeArmure = (int) lireEntier();
+                if (publier) {
+                    m_bus.publier(new EvenementJetAttaque(attaquant, cible, jet, modificateur, classeArmure));
+                }
+            }
+            case FormatJournal.DEGATS -> {
+                EntiteRejouee source = lireEntiteOptionnelle();
+                EntiteRejouee cible = lireEntite();
+                int degats = (int) lireEntier();
+                cible.setPointsDeVie((int) lireEntier());
+                if (publier) {
+                    m_bus.publier(new EvenementDegats(source, cible, degats));
+                }
+            }
+            case FormatJournal.MORT -> {
+                EntiteRejouee entite = lireEntite();
+                EntiteRejouee tueur = lireEntiteOptionnelle();
+                m_carte.getCase(entite).ifPresent(c -> c.retirerContenu(entite));
+                if (publier) {
+                    m_bus.publier(new EvenementMort(entite, tueur));
+                }
+            }
+            case FormatJournal.SORT -> {
+                EntiteRejouee lanceur = lireEntite();
+                String nomSort = lireTexte();
+                EntiteRejouee[] cibles = new EntiteRejouee[(int) lireVarint()];
+                int[] positions = new int[cibles.length * 2];
+                for (int i = 0; i < cibles.length; i++) {
+                    cibles[i] = lireEntite();
+                    positions[2 * i] = (int) lireVarint() - 1;
+                    positions[2 * i + 1] = (int) lireVarint() - 1;
+                    cibles[i].setPointsDeVie((int) lireEntier());
+                }
+                // Les cibles sont d'abord toutes retirées : un échange de positions ne doit pas les superposer
+                for (EntiteRejouee cible : cibles) {
+                    m_carte.getCase(cible).ifPresent(c -> c.retirerContenu(cible));
+                }
+                for (int i = 0; i < cibles.length; i++) {
+                    if (positions[2 * i] >= 0) {
+                        verifierCase(m_carte, positions[2 * i], positions[2 * i + 1]);
+                        m_carte.ajouterContenu(positions[2 * i], positions[2 * i + 1], cibles[i]);
+                    }
+                }
+                if (publier) {
+                    m_bus.publier(new EvenementSort(lanceur, nomSort, cibles));
+                }
+            }
+            case FormatJournal.RAMASSAGE -> {
+                EntiteRejouee personnage = lireEntite();
+                int id = (int) lireVarint();
+                if (m_carte == null || id >= m_equipements.size()) {
+                    throw new IllegalStateException("Journal de combats corrompu : équipement inconnu " + id);
+                }
+                EquipementRejoue equipement = m_equipements.get(id);
+                m_carte.getCase(personnage).ifPresent(c -> c.retirerContenu(equipement));
+                if (publier) {
+                    m_bus.publier(new EvenementRamassage(personnage, equipement));
+                }
+            }
+            case FormatJournal.MAITRE_DU_JEU -> {
+                int numeroAction = (int) lireVarint();
+                ActionMaitreDuJeu[] actions = ActionMaitreDuJeu.values();
+                if (numeroAction >= actions.length) {
+                    throw new IllegalStateException("Journal de combats corrompu : action inconnue " + numeroAction);
+                }
+                ActionMaitreDuJeu action = actions[numeroAction];
+                EntiteRejouee cible = lireEntiteOptionnelle();
+                int x = (int) lireVarint() - 1;
+                int y = (int) lireVarint() - 1;
+                if (action == ActionMaitreDuJeu.AJOUTER_OBSTACLE) {
+                    verifierCase(m_carte, x, y);
+                    m_carte.getCase(x, y).setEstObstacle(true);
+                } else if (action == ActionMaitreDuJeu.DEPLACER_ENTITE && cible != null) {
+                    placer(cible, x, y);
+                }
+                if (publier) {
+                    m_bus.publier(new EvenementMaitreDuJeu(action, cible, x, y));
+                }
+            }
+            case FormatJournal.ARRIVEE -> {
+                int initiative = (int) lireEntier();
+                if (m_carte == null) {
+                    throw new IllegalStateException("Journal de combats corrompu : arrivée hors combat");
+                }
+                EntiteRejouee entite = lireDescription(m_entites.size(), m_carte);
+                m_entites.add(entite);
+                if (publier) {
+                    m_bus.publier(new EvenementArrivee(entite, initiative));
+                }
+            }
+            case FormatJournal.FIN_COMBAT -> {
+                int resultat = (int) lireVarint();
+                m_combatTermine = true;
+                if (publier) {
+                    m_bus.publier(new EvenementFinCombat((resultat & 1) != 0, (resultat & 2) != 0));
+                }
+            }
+            default -> throw new IllegalStateException("Journal de combats corrompu : code d'enregistrement "
+                    + code + " à l'octet " + (m_position - 1));
+        }
+    }
+
+    /**
+     * Lit une image clé. Si elle est appliquée, la carte est reconstruite avec les obstacles,
+     * les entités (arrivées comprises) et les équipements de l'image ; sinon elle est seulement sautée.
+     */
+    private void lireImageCle(boolean appliquer) {
+        int numeroTour = (int) lireVarint();
+        Carte carte = null;
+        if (appliquer) {
+            carte = new Carte(m_carte.getLargeur(), m_carte.getHauteur());
+        }
+
+        int nombreObstacles = (int) lireVarint();
+        int indice = 0;
+        for (int i = 0; i < nombreObstacles; i++) {
+            indice += (int) lireVarint();
+            if (appliquer) {
+                placerObstacle(carte, indice);
+            }
+        }
+
+        // Les entités arrivées en cours de combat sont décrites à nouveau : l'image clé se suffit à elle-même
+        if (m_version >= FormatJournal.VERSION_ARRIVEES) {
+            int nombreArrivees = (int) lireVarint();
+            if (appliquer) {
+                m_entites.subList(m_nombreEntitesInitial, m_entites.size()).clear();
+            }
+            for (int i = 0; i < nombreArrivees; i++) {
+                EntiteRejouee entite = lireDescription(m_nombreEntitesInitial + i, null);
+                if (appliquer) {
+                    m_entites.add(entite);
+                }
+            }
+        }
+
+        int nombreEntites = (int) lireVarint();
+        if (appliquer && nombreEntites != m_entites.size()) {
+            throw new IllegalStateException("Journal de combats corrompu : image clé de " + nombreEntites
+                    + " entités pour un combat de " + m_entites.size());
+        }
+        for (int id = 0; id < nombreEntites; id++) {
+            int pointsDeVie = (int) lireEntier();
+            int caseEntite = (int) lireVarint() - 1;
+            if (appliquer) {
+                EntiteRejouee entite = m_entites.get(id);
+                entite.setPointsDeVie(pointsDeVie);
+                if (caseEntite >= 0) {
+                    verifierCase(carte, caseEntite % carte.getLargeur(), caseEntite / carte.getLargeur());
+                    carte.ajouterContenu(caseEntite % carte.getLargeur(), caseEntite / carte.getLargeur(), entite);
+                }
+            }
+        }
+
+        int nombreEquipements = (int) lireVarint();
+        for (int i = 0; i < nombreEquipements; i++) {
+            int id = (int) lireVarint();
+            if (appliquer) {
+                if (id >= m_equipements.size()) {
+                    throw new IllegalStateException("Journal de combats corrompu : équipement inconnu " + id);
+                }
+                int caseEquipement = m_casesEquipements[id];
+                carte.ajouterContenu(caseEquipement % carte.getLargeur(), caseEquipement / carte.getLargeur(),
+                        m_equipements.get(id));
+            }
+        }
+
+        if (appliquer) {
+            m_carte = carte;
+            m_numeroTour = numeroTour;
+            m_combatTermine = false;
+        }
+    }
+
+    private static void placerObstacle(Carte carte, int indice) {
+        verifierCase(carte, indice % carte.getLargeur(), indice / carte.getLargeur());
+        carte.getCase(indice % carte.getLargeur(), indice / carte.getLargeur()).setEstObstacle(true);
+    }
+
+    /**
+     * Pose une entité sur une case, en la retirant de sa case actuelle.
+     */
+    private void placer(EntiteRejouee entite, int x, int y) {
+        verifierCase(m_carte, x, y);
+        m_carte.getCase(entite).ifPresent(c -> c.retirerContenu(entite));
+        m_carte.ajouterContenu(x, y, entite);
+    }
+
+    /*============================Section Positionnement============================*/
+
+    /**
+     * Indique si le prochain enregistrement est une image clé.
+     */
+    boolean imageCleSuivante() {
+        return m_position < m_donnees.length && (m_donnees[m_position] & 0xFF) == FormatJournal.IMAGE_CLE;
+    }
+
+    /**
+     * Reconstruit l'état initial du combat qui commence à une position du journal.
+     *
+     * @param position la position de l'enregistrement de début du combat
+     * @throws IllegalStateException s'il n'y a pas de début de combat à cette position
+     */
+    void chargerCombat(int position) {
+        if (position < 0 || position >= m_donnees.length || (m_donnees[position] & 0xFF) != FormatJournal.DEBUT_COMBAT) {
+            throw new IllegalStateException("Pas de début de combat à l'octet " + position);
+        }
+        m_position = position;
+        combatSuivant();
+    }
+
+    /**
+     * Reconstruit l'état du combat en cours à partir d'une image clé.
+     *
+     * @param position la position de l'image clé, qui doit appartenir au combat en cours
+     * @throws IllegalStateException s'il n'y a pas d'image clé à cette position
+     */
+    void chargerImageCle(int position) {
+        if (m_carte == null || position < 0 || position >= m_donnees.length
+                || (m_donnees[position] & 0xFF) != FormatJournal.IMAGE_CLE) {
+            throw new IllegalStateException("Pas d'image clé à l'octet " + position);
+        }
+        m_position = position + 1;
+        lireImageCle(true);
+    }
+
+    int getPosition() {
+        return m_position;
+    }
+
+    int getDebutCombat() {
+        return m_debutCombat;
+    }
+
+    int getDernierCode() {
+        return m_dernierCode;
+    }
+
+    /*============================Section Décodage============================*/
+
+    private EntiteRejouee lireEntite() {
+        int id = (int) lireVarint();
+        if (m_carte == null || id >= m_entites.size()) {
+            throw new IllegalStateException("Journal de combats corrompu : entité inconnue " + id);
+        }
+        return m_entites.get(id);
+    }
+
+    private EntiteRejouee lireEntiteOptionnelle() {
+        int id = (int) lireVarint();
+        if (id == 0) {
+            return null;
+        }
+        if (m_carte == null || id > m_entites.size()) {
+            throw new IllegalStateException("Journal de combats corrompu : entité inconnue " + (id - 1));
+        }
+        return m_entites.get(id - 1);
+    }
+
+    private static void verifierCase(Carte carte, int x, int y) {
+        if (carte == null || !carte.coordonneesValides(x, y)) {
+            throw new IllegalStateException("Journal de combats corrompu : case hors de la carte (" + x + ", " + y + ")");
+        }
+    }
+
+    private long lireVarint() {
+        long valeur = 0;
+        for (int decalage = 0; decalage < 64; decalage += 7) {
+            if (m_position >= m_donnees.length) {
+                throw new IllegalStateException("Journal de combats tronqué à l'octet " + m_position);
+            }
+            byte octet = m_donnees[m_position++];
+            valeur |= (long) (octet & 0x7F) << decalage;
+            if (octet >= 0) {
+                return valeur;
+            }
+        }
+        throw new IllegalStateException("Journal de combats corrompu : varint trop long à l'octet " + m_position);
+    }
+
+    private long lireEntier() {
+        long valeur = lireVarint();
+        return (valeur >>> 1) ^ -(valeur & 1);
+    }
+
+    private String lireTexte() {
+        int longueur = (int) lireVarint();
+        if (longueur < 0 || longueur > m_donnees.length - m_position) {
+            throw new IllegalStateException("Journal de combats tronqué à l'octet " + m_position);
+        }
+        String texte = new String(m_donnees, m_position, longueur, StandardCharsets.UTF_8);
+        m_position += longueur;
+        return texte;
+    }
+
+    /*============================Section Getters============================*/
+
+    /**
+     * Retourne le bus sur lequel sont publiés les événements relus.
+     * @return le bus du rejoueur
+     */
+    public BusEvenements getBus() {
+        return m_bus;
+    }
+
+    /**
+     * Retourne la carte du combat en cours, dans l'état du dernier enregistrement appliqué.
+     * @return la carte, ou null avant le premier combat
+     */
+    public Carte getCarte() {
+        return m_carte;
+    }
+
+    /**
+     * Retourne les entités du combat en cours, dans l'ordre de leurs identifiants.
+     * @return les entités (joueurs puis monstres)
+     */
+    public List<EntiteRejouee> getEntites() {
+        return Collections.unmodifiableList(m_entites);
+    }
+
+    /**
+     * Retourne une entité du combat en cours.
+     * @param identifiant l'identifiant de l'entité dans le journal
+     * @return l'entité, si elle existe
+     */
+    public Optional<EntiteRejouee> getEntite(int identifiant) {
+        if (identifiant < 0 || identifiant >= m_entites.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(m_entites.get(identifiant));
+    }
+
+    public int getNumeroDonjon() {
+        return m_numeroDonjon;
+    }
+
+    /**
+     * Retourne la graine du générateur de dés au début du combat en cours.
+     * @return la graine
+     */
+    public long getGraine() {
+        return m_graine;
+    }
+
+    public int getNumeroTour() {
+        return m_numeroTour;
+    }
+
+    /**
+     * Indique si le combat en cours est arrivé à son enregistrement de fin.
+     * @return true si le combat est terminé
+     */
+    public boolean estCombatTermine() {
+        return m_combatTermine;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "Rejoueur{position=" + m_position + "/" + m_donnees.length + ", donjon=" + m_numeroDonjon
+                + ", tour=" + m_numeroTour + ", entites=" + m_entites.size() + "}";
+    }
+}
@@ -0,0 +1,353 @@
+package carteDuJeu.enregistrement;
+
+import carteDuJeu.Carte;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Visionneuse d'un journal de combats ({@link JournalBinaire}) : se place à n'importe quel moment
+ * de n'importe quel combat, puis avance ou recule pas à pas.
+ *
+ * Un pas est un enregistrement du journal (début de tour, tour d'une entité, déplacement, attaque...) ;
+ * la position 0 d'un combat est son état initial. À l'ouverture, le journal est parcouru une fois
+ * pour indexer, dans chaque combat, les images clés, les débuts de tour et les tours des entités.
+ * Se placer à une position recharge ensuite l'image clé précédente (ou l'état initial) et ne rejoue
+ * que les enregistrements qui la séparent de la position demandée : le coût dépend de l'intervalle
+ * entre images clés ({@link JournalBinaire#setIntervalleImagesCles(int)}), pas de la longueur du combat.
+ * Avancer d'un pas ne rejoue qu'un enregistrement ; reculer d'un pas repart de l'image clé précédente.
+ *
+ * Les entités et la carte retournées par la visionneuse peuvent être remplacées à chaque déplacement
+ * dans le journal : il faut les redemander après chaque appel.
+ */
+public class VisionneuseCombats {
+    private final Rejoueur m_rejoueur;
+    private final List<IndexCombat> m_combats = new ArrayList<>();
+
+    /** Combat et position actuels, -1 avant le premier placement */
+    private int m_combat = -1;
+    private int m_pas = -1;
+
+    /**
+     * Ouvre un journal de combats et l'indexe.
+     *
+     * @param fichier le fichier du journal
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas un journal de combats
+     * @throws IllegalStateException si le journal est tronqué ou corrompu
+     */
+    public VisionneuseCombats(Path fichier) throws IOException {
+        this(Files.readAllBytes(fichier));
+    }
+
+    /**
+     * Indexe un journal de combats en mémoire et se place au début du premier combat, s'il y en a un.
+     *
+     * @param donnees le contenu du journal
+     * @throws IllegalArgumentException si les données ne sont pas un journal de combats
+     * @throws IllegalStateException si le journal est tronqué ou corrompu
+     */
+    public VisionneuseCombats(byte[] donnees) {
+        indexer(new Rejoueur(donnees));
+        this.m_rejoueur = new Rejoueur(donnees);
+        if (!m_combats.isEmpty()) {
+            allerA(0, 0);
+        }
+    }
+
+    /**
+     * Parcourt tout le journal et note les positions utiles de chaque combat.
+     */
+    private void indexer(Rejoueur rejoueur) {
+        while (rejoueur.combatSuivant()) {
+            IndexCombat index = new IndexCombat(rejoueur.getDebutCombat());
+            int pas = 0;
+            while (true) {
+                if (rejoueur.imageCleSuivante()) {
+                    index.m_imagesCles.ajouter(rejoueur.getPosition());
+                    index.m_pasImagesCles.ajouter(pas);
+                }
+                if (!rejoueur.avancer()) {
+                    break;
+                }
+                pas++;
+                if (rejoueur.getDernierCode() == FormatJournal.DEBUT_TOUR) {
+                    // Un combat repris d'une sauvegarde commence au tour où il s'était arrêté
+                    if (index.m_debutsTours.taille() == 0) {
+                        index.m_premierTour = rejoueur.getNumeroTour();
+                    } else if (rejoueur.getNumeroTour() != index.m_premierTour + index.m_debutsTours.taille()) {
+                        throw new IllegalStateException("Journal de combats corrompu : tour " + rejoueur.getNumeroTour()
+                                + " après le tour " + (index.m_premierTour + index.m_debutsTours.taille() - 1));
+                    }
+                    index.m_debutsTours.ajouter(pas);
+                    index.m_premiersToursEntites.ajouter(index.m_toursEntites.taille());
+                } else if (rejoueur.getDernierCode() == FormatJournal.TOUR_ENTITE) {
+                    index.m_toursEntites.ajouter(pas);
+                }
+            }
+            index.m_nombrePas = pas;
+            m_combats.add(index);
+        }
+    }
+
+    /*============================Section Navigation============================*/
+
+    /**
+     * Se place à une position d'un combat.
+     *
+     * @param combat le rang du combat dans le journal (à partir de 0)
+     * @param pas la position dans le combat, de 0 (état initial) à {@link #getNombrePas(int)}
+     * @throws IllegalArgumentException si le combat ou la position n'existe pas
+     */
+    public void allerA(int combat, int pas) {
+        IndexCombat index = getIndex(combat);
+        if (pas < 0 || pas > index.m_nombrePas) {
+            throw new IllegalArgumentException("Position " + pas + " hors du combat " + combat
+                    + " (0 à " + index.m_nombrePas + ")");
+        }
+
+        int imageCle = index.m_pasImagesCles.dernierInferieurOuEgal(pas);
+        int pasDepart = imageCle >= 0 ? index.m_pasImagesCles.get(imageCle) : 0;
+        // On ne recharge que si la position actuelle ne permet pas d'y arriver en moins de pas
+        boolean recharger = combat != m_combat || pas < m_pas || pasDepart > m_pas;
+        if (recharger) {
+            if (combat != m_combat || imageCle < 0) {
+                m_rejoueur.chargerCombat(index.m_debut);
+            }
+            if (imageCle >= 0) {
+                m_rejoueur.chargerImageCle(index.m_imagesCles.get(imageCle));
+            }
+            m_combat = combat;
+            m_pas = pasDepart;
+        }
+        while (m_pas < pas) {
+            m_rejoueur.avancer();
+            m_pas++;
+        }
+    }
+
+    /**
+     * Se place au début d'un tour d'un combat, juste après l'enregistrement de début de tour.
+     *
+     * @param combat le rang du combat dans le journal
+     * @param tour le numéro du tour, à partir de {@link #getPremierTour(int)}
+     * @throws IllegalArgumentException si le combat ou le tour n'existe pas
+     */
+    public void allerAuTour(int combat, int tour) {
+        IndexCombat index = getIndex(combat);
+        allerA(combat, index.m_debutsTours.get(rangTour(combat, index, tour)));
+    }
+
+    /**
+     * Se place au début du tour d'une entité, juste après l'enregistrement qui l'annonce.
+     *
+     * @param combat le rang du combat dans le journal
+     * @param tour le numéro du tour, à partir de {@link #getPremierTour(int)}
+     * @param rang le rang de l'entité dans l'ordre de jeu du tour, à partir de 0
+     * @throws IllegalArgumentException si le combat, le tour ou le rang n'existe pas
+     */
+    public void allerAuTourEntite(int combat, int tour, int rang) {
+        IndexCombat index = getIndex(combat);
+        int rangTour = rangTour(combat, index, tour);
+        int premier = index.m_premiersToursEntites.get(rangTour);
+        int fin = rangTour + 1 < index.m_debutsTours.taille()
+                ? index.m_premiersToursEntites.get(rangTour + 1)
+                : index.m_toursEntites.taille();
+        if (rang < 0 || rang >= fin - premier) {
+            throw new IllegalArgumentException("Le tour " + tour + " ne compte que " + (fin - premier) + " tours d'entités");
+        }
+        allerA(combat, index.m_toursEntites.get(premier + rang));
+    }
+
+    /**
+     * Avance d'un pas dans le combat actuel.
+     * @return false si la position actuelle est déjà la fin du combat
+     */
+    public boolean avancer() {
+        if (m_combat < 0 || m_pas >= m_combats.get(m_combat).m_nombrePas) {
+            return false;
+        }
+        m_rejoueur.avancer();
+        m_pas++;
+        return true;
+    }
+
+    /**
+     * Recule d'un pas dans le combat actuel.
+     * @return false si la position actuelle est déjà l'état initial du combat
+     */
+    public boolean reculer() {
+        if (m_combat < 0 || m_pas == 0) {
+            return false;
+        }
+        allerA(m_combat, m_pas - 1);
+        return true;
+    }
+
+    /**
+     * Retourne le rang d'un tour parmi les tours d'un combat.
+     * @throws IllegalArgumentException si le tour n'existe pas
+     */
+    private static int rangTour(int combat, IndexCombat index, int tour) {
+        int dernier = index.m_premierTour + index.m_debutsTours.taille() - 1;
+        if (tour < index.m_premierTour || tour > dernier) {
+            throw new IllegalArgumentException("Tour " + tour + " absent du combat " + combat
+                    + " (" + index.m_premierTour + " à " + dernier + ")");
+        }
+        return tour - index.m_premierTour;
+    }
+
+    private IndexCombat getIndex(int combat) {
+        if (combat < 0 || combat >= m_combats.size()) {
+            throw new IllegalArgumentException("Combat " + combat + " absent du journal (" + m_combats.size() + " combats)");
+        }
+        return m_combats.get(combat);
+    }
+
+    /*============================Section Getters============================*/
+
+    public int getNombreCombats() {
+        return m_combats.size();
+    }
+
+    /**
+     * Retourne le nombre de pas d'un combat : sa dernière position.
+     * @param combat le rang du combat dans le journal
+     * @return le nombre d'enregistrements du combat, images clés exclues
+     */
+    public int getNombrePas(int combat) {
+        return getIndex(combat).m_nombrePas;
+    }
+
+    public int getNombreTours(int combat) {
+        return getIndex(combat).m_debutsTours.taille();
+    }
+
+    /**
+     * Retourne le numéro du premier tour d'un combat : 1, sauf pour un combat repris d'une sauvegarde.
+     * @param combat le rang du combat dans le journal
+     * @return le numéro du premier tour
+     */
+    public int getPremierTour(int combat) {
+        return getIndex(combat).m_premierTour;
+    }
+
+    public int getNombreImagesCles(int combat) {
+        return getIndex(combat).m_imagesCles.taille();
+    }
+
+    /**
+     * Retourne le rang du combat actuel dans le journal.
+     * @return le rang, ou -1 si le journal ne contient aucun combat
+     */
+    public int getCombat() {
+        return m_combat;
+    }
+
+    public int getPas() {
+        return m_pas;
+    }
+
+    public int getNumeroTour() {
+        return m_rejoueur.getNumeroTour();
+    }
+
+    public int getNumeroDonjon() {
+        return m_rejoueur.getNumeroDonjon();
+    }
+
+    /**
+     * Retourne la carte à la position actuelle.
+     * @return la carte, ou null si le journal ne contient aucun combat
+     */
+    public Carte getCarte() {
+        return m_rejoueur.getCarte();
+    }
+
+    public List<EntiteRejouee> getEntites() {
+        return m_rejoueur.getEntites();
+    }
+
+    public Optional<EntiteRejouee> getEntite(int identifiant) {
+        return m_rejoueur.getEntite(identifiant);
+    }
+
+    /*============================Section Index============================*/
+
+    /**
+     * Positions utiles d'un combat du journal.
+     */
+    private static final class IndexCombat {
+        /** Position de l'enregistrement de début du combat */
+        private final int m_debut;
+        /** Position de chaque image clé dans le journal, et pas auquel elle correspond */
+        private final ListeEntiers m_imagesCles = new ListeEntiers();
+        private final ListeEntiers m_pasImagesCles = new ListeEntiers();
+        /** Numéro du premier tour du combat */
+        private int m_premierTour = 1;
+        /** Pas du début de chaque tour (indice : numéro du tour - premier tour) */
+        private final ListeEntiers m_debutsTours = new ListeEntiers();
+        /** Pas de chaque tour d'entité, et indice du premier tour d'entité de chaque tour */
+        private final ListeEntiers m_toursEntites = new ListeEntiers();
+        private final ListeEntiers m_premiersToursEntites = new ListeEntiers();
+        private int m_nombrePas;
+
+        private IndexCombat(int debut) {
+            this.m_debut = debut;
+        }
+    }
+
+    /**
+     * Liste croissante d'entiers, sans boxing.
+     */
+    private static final class ListeEntiers {
+        private int[] m_valeurs = new int[16];
+        private int m_taille;
+
+        private void ajouter(int valeur) {
+            if (m_taille == m_valeurs.length) {
+                m_valeurs = Arrays.copyOf(m_valeurs, m_taille * 2);
+            }
+            m_valeurs[m_taille++] = valeur;
+        }
+
+        private int get(int indice) {
+            return m_valeurs[indice];
+        }
+
+        private int taille() {
+            return m_taille;
+        }
+
+        /**
+         * Retourne l'indice de la dernière valeur inférieure ou égale à une valeur (recherche dichotomique).
+         * @return l'indice, ou -1 si toutes les valeurs sont plus grandes
+         */
+        private int dernierInferieurOuEgal(int valeur) {
+            int bas = 0;
+            int haut = m_taille - 1;
+            while (bas <= haut) {
+                int milieu = (bas + haut) >>> 1;
+                if (m_valeurs[milieu] <= valeur) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu - 1;
+                }
+            }
+            return haut;
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "VisionneuseCombats{combats=" + m_combats.size() + ", combat=" + m_combat + ", pas=" + m_pas
+                + ", tour=" + (m_combat < 0 ? 0 : getNumeroTour()) + "}";
+    }
+}
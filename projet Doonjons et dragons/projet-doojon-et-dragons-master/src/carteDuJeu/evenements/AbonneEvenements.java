@@ -0,0 +1,73 @@
+package carteDuJeu.evenements;
+
+/**
+ * Interface des objets abonnés aux événements de jeu d'un {@link BusEvenements}.
+ *
+ * Chaque type d'événement a sa méthode ; par défaut elle transmet l'événement à {@link #evenement(Evenement)},
+ * qui ne fait rien. Un abonné ne redéfinit donc que les événements qui l'intéressent,
+ * ou {@link #evenement(Evenement)} seul pour les recevoir tous.
+ */
+public interface AbonneEvenements {
+    /**
+     * Appelée pour tout événement dont la méthode spécifique n'est pas redéfinie.
+     * @param evenement l'événement publié
+     */
+    default void evenement(Evenement evenement) {
+    }
+
+    default void debutCombat(EvenementDebutCombat evenement) {
+        evenement(evenement);
+    }
+
+    default void debutTour(EvenementDebutTour evenement) {
+        evenement(evenement);
+    }
+
+    default void finTour(EvenementFinTour evenement) {
+        evenement(evenement);
+    }
+
+    default void tourEntite(EvenementTourEntite evenement) {
+        evenement(evenement);
+    }
+
+    default void deplacement(EvenementDeplacement evenement) {
+        evenement(evenement);
+    }
+
+    default void jetAttaque(EvenementJetAttaque evenement) {
+        evenement(evenement);
+    }
+
+    default void degats(EvenementDegats evenement) {
+        evenement(evenement);
+    }
+
+    default void mort(EvenementMort evenement) {
+        evenement(evenement);
+    }
+
+    default void sort(EvenementSort evenement) {
+        evenement(evenement);
+    }
+
+    default void ramassage(EvenementRamassage evenement) {
+        evenement(evenement);
+    }
+
+    default void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        evenement(evenement);
+    }
+
+    default void arrivee(EvenementArrivee evenement) {
+        evenement(evenement);
+    }
+
+    default void finAction(EvenementFinAction evenement) {
+        evenement(evenement);
+    }
+
+    default void finCombat(EvenementFinCombat evenement) {
+        evenement(evenement);
+    }
+}
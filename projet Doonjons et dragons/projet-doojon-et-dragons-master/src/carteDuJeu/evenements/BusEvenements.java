@@ -0,0 +1,74 @@
+package carteDuJeu.evenements;
+
+import java.util.Arrays;
+
+/**
+ * Bus d'événements de jeu, dans le même processus : chaque événement publié est transmis,
+ * dans l'ordre d'abonnement, à tous les abonnés.
+ *
+ * Les émetteurs testent {@link #estActif()} avant de construire un événement :
+ * sans abonné (combat sans affichage), aucun événement n'est créé ni aucun message formaté.
+ * Un bus n'est pas fait pour être partagé entre threads.
+ */
+public class BusEvenements {
+    private static final AbonneEvenements[] AUCUN_ABONNE = new AbonneEvenements[0];
+
+    /** Abonnés, dans l'ordre d'abonnement ; le tableau est remplacé à chaque abonnement */
+    private AbonneEvenements[] m_abonnes = AUCUN_ABONNE;
+
+    /**
+     * Abonne un objet à tous les événements publiés sur ce bus.
+     * @param abonne l'abonné à ajouter
+     * @throws IllegalArgumentException si l'abonné est null
+     */
+    public void abonner(AbonneEvenements abonne) {
+        if (abonne == null) {
+            throw new IllegalArgumentException("L'abonné ne peut pas être null");
+        }
+        AbonneEvenements[] abonnes = Arrays.copyOf(m_abonnes, m_abonnes.length + 1);
+        abonnes[m_abonnes.length] = abonne;
+        m_abonnes = abonnes;
+    }
+
+    /**
+     * Désabonne un objet du bus. Sans effet s'il n'était pas abonné.
+     * @param abonne l'abonné à retirer
+     */
+    public void desabonner(AbonneEvenements abonne) {
+        for (int i = 0; i < m_abonnes.length; i++) {
+            if (m_abonnes[i] == abonne) {
+                AbonneEvenements[] abonnes = new AbonneEvenements[m_abonnes.length - 1];
+                System.arraycopy(m_abonnes, 0, abonnes, 0, i);
+                System.arraycopy(m_abonnes, i + 1, abonnes, i, abonnes.length - i);
+                m_abonnes = abonnes;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indique si au moins un abonné écoute le bus.
+     * @return true si les événements publiés sont transmis à quelqu'un
+     */
+    public boolean estActif() {
+        return m_abonnes.length > 0;
+    }
+
+    /**
+     * Publie un événement auprès de tous les abonnés.
+     * Un abonné qui s'abonne ou se désabonne pendant la publication n'est pris en compte qu'à la suivante.
+     * @param evenement l'événement à publier
+     */
+    public void publier(Evenement evenement) {
+        for (AbonneEvenements abonne : m_abonnes) {
+            evenement.transmettre(abonne);
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "BusEvenements{abonnes=" + m_abonnes.length + "}";
+    }
+}
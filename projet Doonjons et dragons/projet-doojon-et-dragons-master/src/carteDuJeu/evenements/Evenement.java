@@ -0,0 +1,16 @@
+package carteDuJeu.evenements;
+
+/**
+ * Événement de jeu publié sur un {@link BusEvenements}.
+ *
+ * Chaque type d'événement est une classe immuable ; un événement se transmet lui-même
+ * à la méthode de l'abonné qui lui correspond ({@link AbonneEvenements}).
+ */
+public abstract class Evenement {
+
+    /**
+     * Transmet l'événement à la méthode de l'abonné correspondant à son type.
+     * @param abonne l'abonné à prévenir
+     */
+    public abstract void transmettre(AbonneEvenements abonne);
+}
@@ -0,0 +1,38 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Arrivée d'une entité en cours de combat ; elle est déjà sur la carte et dans l'ordre d'initiative.
+ */
+public final class EvenementArrivee extends Evenement {
+    private final ElementMobile m_entite;
+    private final int m_initiative;
+
+    /**
+     * @param entite l'entité qui rejoint le combat
+     * @param initiative son initiative totale
+     */
+    public EvenementArrivee(ElementMobile entite, int initiative) {
+        this.m_entite = entite;
+        this.m_initiative = initiative;
+    }
+
+    public ElementMobile getEntite() {
+        return m_entite;
+    }
+
+    public int getInitiative() {
+        return m_initiative;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.arrivee(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Arrivee{" + m_entite.getNom() + ", initiative=" + m_initiative + "}";
+    }
+}
@@ -0,0 +1,58 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+
+import java.util.List;
+
+/**
+ * Début du combat d'un donjon, avant le premier tour : la carte et les entités
+ * sont dans leur état initial, ce qui permet à un abonné d'en garder une image.
+ */
+public final class EvenementDebutCombat extends Evenement {
+    private final int m_numeroDonjon;
+    private final Carte m_carte;
+    private final List<? extends ElementMobile> m_joueurs;
+    private final List<? extends ElementMobile> m_monstres;
+
+    /**
+     * @param numeroDonjon le numéro du donjon
+     * @param carte la carte du combat
+     * @param joueurs les personnages du groupe
+     * @param monstres les monstres du donjon
+     */
+    public EvenementDebutCombat(int numeroDonjon, Carte carte, List<? extends ElementMobile> joueurs,
+                                List<? extends ElementMobile> monstres) {
+        this.m_numeroDonjon = numeroDonjon;
+        this.m_carte = carte;
+        this.m_joueurs = joueurs;
+        this.m_monstres = monstres;
+    }
+
+    public int getNumeroDonjon() {
+        return m_numeroDonjon;
+    }
+
+    public Carte getCarte() {
+        return m_carte;
+    }
+
+    public List<? extends ElementMobile> getJoueurs() {
+        return m_joueurs;
+    }
+
+    public List<? extends ElementMobile> getMonstres() {
+        return m_monstres;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.debutCombat(this);
+    }
+
+    @Override
+    public String toString() {
+        return "DebutCombat{donjon " + m_numeroDonjon + ", " + m_carte.getLargeur() + "x" + m_carte.getHauteur()
+                + ", joueurs=" + m_joueurs.size() + ", monstres=" + m_monstres.size() + "}";
+    }
+}
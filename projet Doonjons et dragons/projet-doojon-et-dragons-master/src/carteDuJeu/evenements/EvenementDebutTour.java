@@ -0,0 +1,29 @@
+package carteDuJeu.evenements;
+
+/**
+ * Début d'un tour complet de combat.
+ */
+public final class EvenementDebutTour extends Evenement {
+    private final int m_numeroTour;
+
+    /**
+     * @param numeroTour le numéro du tour qui commence (à partir de 1)
+     */
+    public EvenementDebutTour(int numeroTour) {
+        this.m_numeroTour = numeroTour;
+    }
+
+    public int getNumeroTour() {
+        return m_numeroTour;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.debutTour(this);
+    }
+
+    @Override
+    public String toString() {
+        return "DebutTour{" + m_numeroTour + "}";
+    }
+}
@@ -0,0 +1,59 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Dégâts subis par une entité, infligés par une autre entité ou par la foudre du Maître du Jeu.
+ */
+public final class EvenementDegats extends Evenement {
+    private final ElementMobile m_source;
+    private final ElementMobile m_cible;
+    private final int m_degats;
+    private final int m_pointsDeVieRestants;
+
+    /**
+     * @param source l'entité qui inflige les dégâts, ou null pour le Maître du Jeu
+     * @param cible l'entité blessée, dont les points de vie sont déjà diminués
+     * @param degats le nombre de dégâts
+     */
+    public EvenementDegats(ElementMobile source, ElementMobile cible, int degats) {
+        this.m_source = source;
+        this.m_cible = cible;
+        this.m_degats = degats;
+        this.m_pointsDeVieRestants = cible.getPointsDeVie();
+    }
+
+    /**
+     * @return l'entité qui inflige les dégâts, ou null pour le Maître du Jeu
+     */
+    public ElementMobile getSource() {
+        return m_source;
+    }
+
+    public ElementMobile getCible() {
+        return m_cible;
+    }
+
+    public int getDegats() {
+        return m_degats;
+    }
+
+    public int getPointsDeVieRestants() {
+        return m_pointsDeVieRestants;
+    }
+
+    public boolean estParMaitreDuJeu() {
+        return m_source == null;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.degats(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Degats{" + (m_source == null ? "Maître du Jeu" : m_source.getNom()) + " -> " + m_cible.getNom()
+                + ", " + m_degats + ", reste " + m_pointsDeVieRestants + "}";
+    }
+}
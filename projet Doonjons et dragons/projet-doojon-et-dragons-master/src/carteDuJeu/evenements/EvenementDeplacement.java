@@ -0,0 +1,62 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+
+/**
+ * Déplacement d'une entité par sa propre action.
+ * Les déplacements imposés par le Maître du Jeu sont des {@link EvenementMaitreDuJeu}.
+ */
+public final class EvenementDeplacement extends Evenement {
+    private final ElementMobile m_entite;
+    private final int m_xDepart;
+    private final int m_yDepart;
+    private final int m_xArrivee;
+    private final int m_yArrivee;
+
+    /**
+     * @param entite l'entité déplacée
+     * @param xDepart abscisse de la case de départ
+     * @param yDepart ordonnée de la case de départ
+     * @param xArrivee abscisse de la case d'arrivée
+     * @param yArrivee ordonnée de la case d'arrivée
+     */
+    public EvenementDeplacement(ElementMobile entite, int xDepart, int yDepart, int xArrivee, int yArrivee) {
+        this.m_entite = entite;
+        this.m_xDepart = xDepart;
+        this.m_yDepart = yDepart;
+        this.m_xArrivee = xArrivee;
+        this.m_yArrivee = yArrivee;
+    }
+
+    public ElementMobile getEntite() {
+        return m_entite;
+    }
+
+    public int getXDepart() {
+        return m_xDepart;
+    }
+
+    public int getYDepart() {
+        return m_yDepart;
+    }
+
+    public int getXArrivee() {
+        return m_xArrivee;
+    }
+
+    public int getYArrivee() {
+        return m_yArrivee;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.deplacement(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Deplacement{" + m_entite.getNom() + " " + Carte.coordonneesToString(m_xDepart, m_yDepart)
+                + " -> " + Carte.coordonneesToString(m_xArrivee, m_yArrivee) + "}";
+    }
+}
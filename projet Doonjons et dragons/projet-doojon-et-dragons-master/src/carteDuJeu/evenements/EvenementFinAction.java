@@ -0,0 +1,39 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Fin d'une action d'une entité, interventions du Maître du Jeu qui la suivent comprises.
+ * Publié après chaque action qui a eu lieu, et à la fin du tour de l'entité (il ne lui reste alors plus d'action).
+ */
+public final class EvenementFinAction extends Evenement {
+    private final ElementMobile m_entite;
+    private final int m_actionsRestantes;
+
+    /**
+     * @param entite l'entité qui vient d'agir
+     * @param actionsRestantes le nombre d'actions qu'il lui reste dans ce tour, 0 si son tour est terminé
+     */
+    public EvenementFinAction(ElementMobile entite, int actionsRestantes) {
+        this.m_entite = entite;
+        this.m_actionsRestantes = actionsRestantes;
+    }
+
+    public ElementMobile getEntite() {
+        return m_entite;
+    }
+
+    public int getActionsRestantes() {
+        return m_actionsRestantes;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.finAction(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FinAction{" + m_entite.getNom() + ", restantes=" + m_actionsRestantes + "}";
+    }
+}
@@ -0,0 +1,37 @@
+package carteDuJeu.evenements;
+
+/**
+ * Fin du combat d'un donjon.
+ */
+public final class EvenementFinCombat extends Evenement {
+    private final boolean m_victoire;
+    private final boolean m_defaite;
+
+    /**
+     * @param victoire true si tous les monstres sont morts
+     * @param defaite true si tous les personnages sont morts
+     * (les deux sont faux quand le combat est arrêté par la limite de tours)
+     */
+    public EvenementFinCombat(boolean victoire, boolean defaite) {
+        this.m_victoire = victoire;
+        this.m_defaite = defaite;
+    }
+
+    public boolean estVictoire() {
+        return m_victoire;
+    }
+
+    public boolean estDefaite() {
+        return m_defaite;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.finCombat(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FinCombat{" + (m_victoire ? "victoire" : m_defaite ? "défaite" : "interrompu") + "}";
+    }
+}
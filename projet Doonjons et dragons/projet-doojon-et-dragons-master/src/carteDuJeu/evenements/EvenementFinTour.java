@@ -0,0 +1,29 @@
+package carteDuJeu.evenements;
+
+/**
+ * Fin d'un tour complet de combat : toutes les entités vivantes ont joué.
+ */
+public final class EvenementFinTour extends Evenement {
+    private final int m_numeroTour;
+
+    /**
+     * @param numeroTour le numéro du tour qui se termine
+     */
+    public EvenementFinTour(int numeroTour) {
+        this.m_numeroTour = numeroTour;
+    }
+
+    public int getNumeroTour() {
+        return m_numeroTour;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.finTour(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FinTour{" + m_numeroTour + "}";
+    }
+}
@@ -0,0 +1,69 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Jet d'attaque d'une entité contre une autre : l'attaque touche si d20 + modificateur
+ * dépasse strictement la classe d'armure de la cible.
+ */
+public final class EvenementJetAttaque extends Evenement {
+    private final ElementMobile m_attaquant;
+    private final ElementMobile m_cible;
+    private final int m_jet;
+    private final int m_modificateur;
+    private final int m_classeArmure;
+
+    /**
+     * @param attaquant l'entité qui attaque
+     * @param cible l'entité visée
+     * @param jet le résultat du d20
+     * @param modificateur le modificateur d'attaque
+     * @param classeArmure la classe d'armure de la cible
+     */
+    public EvenementJetAttaque(ElementMobile attaquant, ElementMobile cible, int jet, int modificateur, int classeArmure) {
+        this.m_attaquant = attaquant;
+        this.m_cible = cible;
+        this.m_jet = jet;
+        this.m_modificateur = modificateur;
+        this.m_classeArmure = classeArmure;
+    }
+
+    public ElementMobile getAttaquant() {
+        return m_attaquant;
+    }
+
+    public ElementMobile getCible() {
+        return m_cible;
+    }
+
+    public int getJet() {
+        return m_jet;
+    }
+
+    public int getModificateur() {
+        return m_modificateur;
+    }
+
+    public int getClasseArmure() {
+        return m_classeArmure;
+    }
+
+    public int getScore() {
+        return m_jet + m_modificateur;
+    }
+
+    public boolean estTouche() {
+        return getScore() > m_classeArmure;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.jetAttaque(this);
+    }
+
+    @Override
+    public String toString() {
+        return "JetAttaque{" + m_attaquant.getNom() + " -> " + m_cible.getNom() + ", " + m_jet + "+" + m_modificateur
+                + " contre CA " + m_classeArmure + (estTouche() ? ", touché" : ", manqué") + "}";
+    }
+}
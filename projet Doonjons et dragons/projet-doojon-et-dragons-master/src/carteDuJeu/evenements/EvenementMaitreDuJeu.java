@@ -0,0 +1,62 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+
+/**
+ * Intervention du Maître du Jeu.
+ * Selon l'action, la cible et la case sont renseignées :
+ * - {@link ActionMaitreDuJeu#FOUDRE_DIVINE} : la cible frappée (les dégâts suivent dans un {@link EvenementDegats}) ;
+ * - {@link ActionMaitreDuJeu#DEPLACER_ENTITE} : la cible et sa case d'arrivée ;
+ * - {@link ActionMaitreDuJeu#AJOUTER_OBSTACLE} : la case de l'obstacle ;
+ * - {@link ActionMaitreDuJeu#TERMINER} : rien, le Maître du Jeu rend la main.
+ */
+public final class EvenementMaitreDuJeu extends Evenement {
+    private final ActionMaitreDuJeu m_action;
+    private final ElementMobile m_cible;
+    private final int m_x;
+    private final int m_y;
+
+    /**
+     * @param action l'action du Maître du Jeu
+     * @param cible l'entité visée, ou null
+     * @param x abscisse de la case concernée, -1 si aucune
+     * @param y ordonnée de la case concernée, -1 si aucune
+     */
+    public EvenementMaitreDuJeu(ActionMaitreDuJeu action, ElementMobile cible, int x, int y) {
+        this.m_action = action;
+        this.m_cible = cible;
+        this.m_x = x;
+        this.m_y = y;
+    }
+
+    public ActionMaitreDuJeu getAction() {
+        return m_action;
+    }
+
+    /**
+     * @return l'entité visée, ou null
+     */
+    public ElementMobile getCible() {
+        return m_cible;
+    }
+
+    public int getX() {
+        return m_x;
+    }
+
+    public int getY() {
+        return m_y;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.interventionMaitreDuJeu(this);
+    }
+
+    @Override
+    public String toString() {
+        return "MaitreDuJeu{" + m_action + (m_cible == null ? "" : ", " + m_cible.getNom())
+                + (m_x < 0 ? "" : ", (" + m_x + ", " + m_y + ")") + "}";
+    }
+}
@@ -0,0 +1,41 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Mort d'une entité ; elle a déjà été retirée de la carte.
+ */
+public final class EvenementMort extends Evenement {
+    private final ElementMobile m_entite;
+    private final ElementMobile m_tueur;
+
+    /**
+     * @param entite l'entité morte
+     * @param tueur l'entité qui a porté le coup fatal, ou null pour le Maître du Jeu
+     */
+    public EvenementMort(ElementMobile entite, ElementMobile tueur) {
+        this.m_entite = entite;
+        this.m_tueur = tueur;
+    }
+
+    public ElementMobile getEntite() {
+        return m_entite;
+    }
+
+    /**
+     * @return l'entité qui a porté le coup fatal, ou null pour le Maître du Jeu
+     */
+    public ElementMobile getTueur() {
+        return m_tueur;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.mort(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Mort{" + m_entite.getNom() + (m_tueur == null ? "" : ", par " + m_tueur.getNom()) + "}";
+    }
+}
@@ -0,0 +1,39 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+import carteDuJeu.personnages.equipements.Equipement;
+
+/**
+ * Équipement ramassé sur sa case par un personnage.
+ */
+public final class EvenementRamassage extends Evenement {
+    private final ElementMobile m_personnage;
+    private final Equipement m_equipement;
+
+    /**
+     * @param personnage le personnage qui ramasse
+     * @param equipement l'équipement ramassé
+     */
+    public EvenementRamassage(ElementMobile personnage, Equipement equipement) {
+        this.m_personnage = personnage;
+        this.m_equipement = equipement;
+    }
+
+    public ElementMobile getPersonnage() {
+        return m_personnage;
+    }
+
+    public Equipement getEquipement() {
+        return m_equipement;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.ramassage(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Ramassage{" + m_personnage.getNom() + " : " + m_equipement.getNom() + "}";
+    }
+}
@@ -0,0 +1,47 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+import java.util.List;
+
+/**
+ * Sort lancé avec succès par un personnage.
+ */
+public final class EvenementSort extends Evenement {
+    private final ElementMobile m_lanceur;
+    private final String m_nomSort;
+    private final List<ElementMobile> m_cibles;
+
+    /**
+     * @param lanceur le personnage qui lance le sort
+     * @param nomSort le nom du sort
+     * @param cibles les cibles du sort
+     */
+    public EvenementSort(ElementMobile lanceur, String nomSort, ElementMobile[] cibles) {
+        this.m_lanceur = lanceur;
+        this.m_nomSort = nomSort;
+        this.m_cibles = List.of(cibles);
+    }
+
+    public ElementMobile getLanceur() {
+        return m_lanceur;
+    }
+
+    public String getNomSort() {
+        return m_nomSort;
+    }
+
+    public List<ElementMobile> getCibles() {
+        return m_cibles;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.sort(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Sort{" + m_lanceur.getNom() + " : " + m_nomSort + ", cibles=" + m_cibles.size() + "}";
+    }
+}
@@ -0,0 +1,31 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+
+/**
+ * Début du tour d'une entité (personnage ou monstre).
+ */
+public final class EvenementTourEntite extends Evenement {
+    private final ElementMobile m_entite;
+
+    /**
+     * @param entite l'entité dont c'est le tour
+     */
+    public EvenementTourEntite(ElementMobile entite) {
+        this.m_entite = entite;
+    }
+
+    public ElementMobile getEntite() {
+        return m_entite;
+    }
+
+    @Override
+    public void transmettre(AbonneEvenements abonne) {
+        abonne.tourEntite(this);
+    }
+
+    @Override
+    public String toString() {
+        return "TourEntite{" + m_entite.getNom() + "}";
+    }
+}
@@ -0,0 +1,165 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+
+import java.util.ArrayDeque;
+
+/**
+ * Récit du combat, lu par le Maître du Jeu quand un joueur demande un commentaire.
+ *
+ * Chaque événement marquant ajoute un paragraphe au récit. Seuls les derniers paragraphes
+ * sont gardés ({@link #PARAGRAPHES_MAX}) : la mémoire utilisée ne grandit pas avec la durée du combat.
+ */
+public class JournalNarratif implements AbonneEvenements {
+    /** Nombre de paragraphes gardés dans le récit */
+    public static final int PARAGRAPHES_MAX = 64;
+
+    private final ArrayDeque<String> m_paragraphes = new ArrayDeque<>();
+
+    /** true si le dernier paragraphe raconte une intervention du Maître du Jeu */
+    private boolean m_interventionEnCours;
+
+    /**
+     * Retourne le récit, du plus ancien au plus récent paragraphe gardé.
+     * @return le récit, vide si rien ne s'est encore passé
+     */
+    public String getRecit() {
+        StringBuilder recit = new StringBuilder();
+        for (String paragraphe : m_paragraphes) {
+            recit.append(paragraphe).append('\n');
+        }
+        return recit.toString();
+    }
+
+    /**
+     * Indique si le récit est vide.
+     * @return true si aucun événement marquant n'a encore eu lieu
+     */
+    public boolean estVide() {
+        return m_paragraphes.isEmpty();
+    }
+
+    private void ajouter(String paragraphe) {
+        if (m_paragraphes.size() == PARAGRAPHES_MAX) {
+            m_paragraphes.removeFirst();
+        }
+        m_paragraphes.addLast(paragraphe);
+        m_interventionEnCours = false;
+    }
+
+    /*============================Section Événements============================*/
+
+    @Override
+    public void deplacement(EvenementDeplacement evenement) {
+        if (!evenement.getEntite().estPersonnage()) {
+            return;
+        }
+        ajouter("🚶‍♂️ Les pas de " + evenement.getEntite().getNom()
+                + " résonnent dans les couloirs sombres du donjon, chaque pierre froide "
+                + "sous ses pieds murmurant des secrets oubliés. Les ombres dansent "
+                + "autour de notre héros, et les échos lointains de créatures tapies "
+                + "dans l'obscurité rappellent constamment que le danger rôde.");
+    }
+
+    @Override
+    public void jetAttaque(EvenementJetAttaque evenement) {
+        if (!evenement.getAttaquant().estPersonnage()) {
+            return;
+        }
+        ajouter("⚔️ " + evenement.getAttaquant().getNom()
+                + " brandit son arme avec une détermination farouche ! Ses yeux brillent "
+                + "d'une lueur guerrière tandis qu'il attaque "
+                + evenement.getCible().getNom() + ", prêt à tout pour survivre dans ce donjon maudit.");
+    }
+
+    @Override
+    public void mort(EvenementMort evenement) {
+        if (!(evenement.getEntite() instanceof Monstre)) {
+            return;
+        }
+        ajouter("Un cri perçant déchire l'air ! Le monstre " + evenement.getEntite().getNom()
+                + " s'effondre dans un râle d'agonie, ses dernières forces s'échappant "
+                + "comme un souffle dans la nuit. La victoire a un goût amer dans ce lieu maudit.");
+    }
+
+    @Override
+    public void sort(EvenementSort evenement) {
+        String nom = evenement.getLanceur().getNom();
+        if (evenement.getLanceur() instanceof Personnage
+                && ((Personnage) evenement.getLanceur()).getClasse().equals("Clerc")) {
+            ajouter("🕊️ " + nom + " ferme les yeux et joint ses mains dans une prière fervente. "
+                    + "Une aura dorée l'enveloppe tandis qu'il canalise la bénédiction divine, "
+                    + "faisant naître des fils de lumière purificatrice qui dansent autour "
+                    + "de sa cible, chassant la douleur et restaurant l'espoir.");
+        } else {
+            ajouter("✨ " + nom + " lève les mains vers les voûtes sombres du donjon, ses doigts "
+                    + "crépitant d'énergie mystique. Les incantations anciennes résonnent "
+                    + "dans l'air tandis qu'il invoque le sort '" + evenement.getNomSort()
+                    + "', pliant la réalité à sa volonté arcane.");
+        }
+    }
+
+    @Override
+    public void ramassage(EvenementRamassage evenement) {
+        ajouter("✨ " + evenement.getPersonnage().getNom() + " découvre " + evenement.getEquipement().getNom()
+                + " abandonné dans les ombres du donjon. Son éclat mystérieux "
+                + "redonne espoir à notre héros... Pourra-t-il triompher des monstres avec cet objet ?");
+    }
+
+    @Override
+    public void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        switch (evenement.getAction()) {
+            case FOUDRE_DIVINE:
+                ajouter("⚡ Un fracas assourdissant déchire le silence du donjon ! "
+                        + "Un éclair divin, pur et terrible, transperce les ténèbres pour "
+                        + "frapper sa cible d'une colère céleste. La lumière aveuglante "
+                        + "révèle brièvement les secrets cachés dans l'obscurité.");
+                break;
+            case DEPLACER_ENTITE:
+                ajouter("🌀 Des forces mystérieuses s'éveillent dans les profondeurs... "
+                        + "Invisible et impitoyable, une main spectrale saisit sa proie et "
+                        + "la déplace selon la volonté du destin. Les pierres du donjon "
+                        + "tremblent sous le poids de cette magie ancienne.");
+                break;
+            case AJOUTER_OBSTACLE:
+                ajouter("🗿 Un grondement sourd résonne dans les entrailles du donjon... "
+                        + "La terre se fissure et un obstacle surgit du néant, "
+                        + "comme si le donjon lui-même conspirait contre les intrus. "
+                        + "Les murs semblent ricaner d'une joie malveillante.");
+                break;
+            case TERMINER:
+            default:
+                // Le Maître du Jeu rend la main après chaque action : on ne le raconte qu'après une intervention
+                if (m_interventionEnCours) {
+                    ajouter("🎭 Les forces obscures du donjon se retirent dans l'ombre, "
+                            + "satisfaites de leur œuvre. Un silence pesant s'installe, "
+                            + "chargé de promesses sinistres pour la suite de l'aventure...");
+                }
+                return;
+        }
+        m_interventionEnCours = true;
+    }
+
+    @Override
+    public void finCombat(EvenementFinCombat evenement) {
+        if (evenement.estDefaite()) {
+            ajouter("L'intégralités de nos héros sont mort, les monstres ont "
+                    + "triomphé de ceux-ci, le donjon restera ouvert pour que d'autres aventuriers malheureux "
+                    + "y trouvent leur fin...");
+        } else if (evenement.estVictoire()) {
+            ajouter("Tous les monstres gisent vaincus ! Nos vaillants aventuriers "
+                    + "ont triomphé des ténèbres qui hantaient ce donjon maudit. "
+                    + "La lumière perce enfin l'obscurité, et les héros peuvent "
+                    + "repartir, chargés de gloire et de trésors !");
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "JournalNarratif{paragraphes=" + m_paragraphes.size() + "}";
+    }
+}
@@ -0,0 +1,140 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.ElementMobile;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compteurs d'un ou plusieurs combats, tenus à partir des événements publiés :
+ * tours, déplacements, attaques et touches, dégâts, morts, sorts et interventions du Maître du Jeu.
+ */
+public class StatistiquesCombat implements AbonneEvenements {
+    private int m_tours;
+    private int m_deplacements;
+    private int m_attaques;
+    private int m_touches;
+    private long m_degatsTotaux;
+    private int m_morts;
+    private int m_sorts;
+    private int m_ramassages;
+    private int m_interventions;
+
+    /** Dégâts infligés par chaque entité (la foudre du Maître du Jeu n'est comptée que dans le total) */
+    private final Map<ElementMobile, Long> m_degatsParEntite = new IdentityHashMap<>();
+
+    public int getTours() {
+        return m_tours;
+    }
+
+    public int getDeplacements() {
+        return m_deplacements;
+    }
+
+    public int getAttaques() {
+        return m_attaques;
+    }
+
+    public int getTouches() {
+        return m_touches;
+    }
+
+    /**
+     * Retourne la proportion d'attaques qui ont touché.
+     * @return le taux de réussite des attaques, 0 si aucune attaque
+     */
+    public double getTauxTouche() {
+        return m_attaques == 0 ? 0.0 : (double) m_touches / m_attaques;
+    }
+
+    public long getDegatsTotaux() {
+        return m_degatsTotaux;
+    }
+
+    /**
+     * Retourne les dégâts infligés par une entité.
+     * @param entite l'entité
+     * @return la somme des dégâts qu'elle a infligés
+     */
+    public long getDegatsInfliges(ElementMobile entite) {
+        return m_degatsParEntite.getOrDefault(entite, 0L);
+    }
+
+    public int getMorts() {
+        return m_morts;
+    }
+
+    public int getSorts() {
+        return m_sorts;
+    }
+
+    public int getRamassages() {
+        return m_ramassages;
+    }
+
+    public int getInterventions() {
+        return m_interventions;
+    }
+
+    /*============================Section Événements============================*/
+
+    @Override
+    public void debutTour(EvenementDebutTour evenement) {
+        m_tours++;
+    }
+
+    @Override
+    public void deplacement(EvenementDeplacement evenement) {
+        m_deplacements++;
+    }
+
+    @Override
+    public void jetAttaque(EvenementJetAttaque evenement) {
+        m_attaques++;
+        if (evenement.estTouche()) {
+            m_touches++;
+        }
+    }
+
+    @Override
+    public void degats(EvenementDegats evenement) {
+        m_degatsTotaux += evenement.getDegats();
+        if (evenement.getSource() != null) {
+            m_degatsParEntite.merge(evenement.getSource(), (long) evenement.getDegats(), Long::sum);
+        }
+    }
+
+    @Override
+    public void mort(EvenementMort evenement) {
+        m_morts++;
+    }
+
+    @Override
+    public void sort(EvenementSort evenement) {
+        m_sorts++;
+    }
+
+    @Override
+    public void ramassage(EvenementRamassage evenement) {
+        m_ramassages++;
+    }
+
+    @Override
+    public void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        if (evenement.getAction() != ActionMaitreDuJeu.TERMINER) {
+            m_interventions++;
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "StatistiquesCombat{tours=%d, deplacements=%d, attaques=%d, touches=%d (%.1f%%), degats=%d, morts=%d, sorts=%d, ramassages=%d, interventions=%d}",
+                m_tours, m_deplacements, m_attaques, m_touches, 100 * getTauxTouche(), m_degatsTotaux,
+                m_morts, m_sorts, m_ramassages, m_interventions);
+    }
+}
@@ -0,0 +1,93 @@
+package carteDuJeu.evenements;
+
+import carteDuJeu.Carte;
+import carteDuJeu.controleurs.ActionMaitreDuJeu;
+
+import java.io.PrintStream;
+
+/**
+ * Vue console du combat : écrit dans un flux le compte rendu de chaque événement.
+ * Les questions posées aux joueurs, les messages d'erreur et les effets détaillés des sorts
+ * restent écrits par le contrôleur, les actions et les sorts.
+ */
+public class VueConsole implements AbonneEvenements {
+    private final PrintStream m_sortie;
+
+    /**
+     * @param sortie le flux où écrire les comptes rendus
+     */
+    public VueConsole(PrintStream sortie) {
+        this.m_sortie = sortie;
+    }
+
+    @Override
+    public void debutTour(EvenementDebutTour evenement) {
+        m_sortie.println("--- TOUR " + evenement.getNumeroTour() + " ---");
+    }
+
+    @Override
+    public void tourEntite(EvenementTourEntite evenement) {
+        m_sortie.println(">>> Tour de " + evenement.getEntite().getNom() + " <<<");
+    }
+
+    @Override
+    public void deplacement(EvenementDeplacement evenement) {
+        m_sortie.println(evenement.getEntite().getNom() + " s'est déplacé vers " +
+                Carte.coordonneesToString(evenement.getXArrivee(), evenement.getYArrivee()));
+    }
+
+    @Override
+    public void jetAttaque(EvenementJetAttaque evenement) {
+        m_sortie.println(evenement.getAttaquant().getNom() + " attaque " + evenement.getCible().getNom() +
+                " avec un jet de " + evenement.getJet() + " + " + evenement.getModificateur() +
+                " = " + evenement.getScore());
+        if (!evenement.estTouche()) {
+            m_sortie.println("Attaque manquée !");
+        }
+    }
+
+    @Override
+    public void degats(EvenementDegats evenement) {
+        if (evenement.estParMaitreDuJeu()) {
+            m_sortie.println("⚡ " + evenement.getCible().getNom() + " a été frappé par la foudre divine et subit "
+                    + evenement.getDegats() + " dégâts !");
+        } else {
+            m_sortie.println("Attaque réussie ! " + evenement.getCible().getNom() + " subit "
+                    + evenement.getDegats() + " dégâts.");
+        }
+    }
+
+    @Override
+    public void mort(EvenementMort evenement) {
+        m_sortie.println("💀 " + evenement.getEntite().getNom() + " est mort !");
+    }
+
+    @Override
+    public void arrivee(EvenementArrivee evenement) {
+        String type = evenement.getEntite().estPersonnage() ? "[JOUEUR]" : "[MONSTRE]";
+        m_sortie.println("📯 " + type + " " + evenement.getEntite().getNom() + " rejoint le combat (Initiative: "
+                + evenement.getInitiative() + ")");
+    }
+
+    @Override
+    public void ramassage(EvenementRamassage evenement) {
+        m_sortie.println(evenement.getPersonnage().getNom() + " a ramassé " + evenement.getEquipement().getNom());
+    }
+
+    @Override
+    public void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        if (evenement.getAction() == ActionMaitreDuJeu.DEPLACER_ENTITE) {
+            m_sortie.println(evenement.getCible().getNom() + " a été déplacé en "
+                    + Carte.coordonneesToString(evenement.getX(), evenement.getY()) + ".");
+        } else if (evenement.getAction() == ActionMaitreDuJeu.AJOUTER_OBSTACLE) {
+            m_sortie.println("✅ Obstacle ajouté en " + Carte.coordonneesToString(evenement.getX(), evenement.getY()) + ".");
+        } else if (evenement.getAction() == ActionMaitreDuJeu.TERMINER) {
+            m_sortie.println("Fin des actions du Maître du Jeu.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VueConsole";
+    }
+}
@@ -1,12 +1,20 @@
 package carteDuJeu.monstres;
 
 import carteDuJeu.ElementMobile;
+import carteDuJeu.ExpressionDes;
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
 
 /**
  * Représente un monstre dans le jeu.
  * Un monstre possède une espèce, un numéro d'identification, des caractéristiques de combat
  * (portée, dégâts, nombre de dés, points de vie, force, dextérité, vitesse, classe d'armure, initiative)
  * et peut subir des dégâts ou se déplacer.
+ *
+ * Les caractéristiques qui servent à chaque attaque (points de vie, force, dextérité, vitesse,
+ * classe d'armure) sont des champs du monstre tant qu'il n'appartient à aucun donjon. Une fois rangé
+ * dans le {@link StockageMonstres} d'un donjon, elles sont lues et écrites dans sa ligne du stockage,
+ * et les champs ne servent plus.
  */
 public class Monstre implements ElementMobile {
 
@@ -16,13 +24,17 @@ public class Monstre implements ElementMobile {
     private int m_portee;
     private int m_maxDmg;
     private int m_nbDes;
-    private int m_pointsDeVieMax;
+    private int m_pointsDeVieMax; // Caractéristiques de combat, hors d'un stockage
     private int m_pointsDeVie;
     private int m_force;
     private int m_dexterite;
     private int m_vitesse;
     private int m_classeArmure;
     private int m_initiative;
+    private ExpressionDes m_expressionDegats; // nbDes d maxDmg par défaut, compilée à la première attaque
+    private String m_symbole; // Symbole sur la carte, calculé au premier affichage
+    private StockageMonstres m_stockage; // Stockage du donjon qui tient les caractéristiques de combat (null sans donjon), et ligne du monstre
+    private int m_ligne;
 
     /**
      * Construit un monstre avec toutes ses caractéristiques.
@@ -45,7 +57,7 @@ public class Monstre implements ElementMobile {
         this.m_maxDmg = maxDmg;
         this.m_vitesse = vitesse;
         this.m_pointsDeVieMax = pointsDeVieMax;
-        m_pointsDeVie = m_pointsDeVieMax;
+        this.m_pointsDeVie = pointsDeVieMax;
         this.m_nbDes = nbDes;
 
         if (m_portee < 1) {
@@ -58,10 +70,144 @@ public class Monstre implements ElementMobile {
             m_force = caracteristiqueDAttaque;
         }
 
-        this.m_classeArmure = classeArmure;
+        m_classeArmure = classeArmure;
         this.m_initiative = initiative;
     }
 
+    /**
+     * Construit une copie d'un monstre, points de vie actuels compris.
+     *
+     * @param modele Monstre à copier
+     */
+    private Monstre(Monstre modele) {
+        this.m_espece = modele.m_espece;
+        this.m_numero = modele.m_numero;
+        this.m_portee = modele.m_portee;
+        this.m_maxDmg = modele.m_maxDmg;
+        this.m_nbDes = modele.m_nbDes;
+        this.m_pointsDeVieMax = modele.getPointsDeVieMax();
+        this.m_pointsDeVie = modele.getPointsDeVie();
+        this.m_force = modele.getForce();
+        this.m_dexterite = modele.getDexterite();
+        this.m_vitesse = modele.getVitesse();
+        this.m_classeArmure = modele.getClasseArmure();
+        this.m_initiative = modele.m_initiative;
+        this.m_expressionDegats = modele.m_expressionDegats;
+    }
+
+    /**
+     * Crée une copie indépendante du monstre.
+     *
+     * @return la copie du monstre
+     */
+    public Monstre copier() {
+        return new Monstre(this);
+    }
+
+    /**
+     * Construit un monstre vide, rempli par {@link #restaurer(LectureSauvegarde)}.
+     */
+    private Monstre() {
+    }
+
+    /**
+     * Place le monstre sur une ligne d'un stockage, qui contient déjà ses caractéristiques.
+     * Appelée par {@link StockageMonstres#ajouter(Monstre)}.
+     */
+    void ranger(StockageMonstres stockage, int ligne) {
+        m_stockage = stockage;
+        m_ligne = ligne;
+    }
+
+    /**
+     * Reprend les caractéristiques de sa ligne dans ses champs : le monstre ne dépend plus d'aucun stockage.
+     * Appelée par {@link StockageMonstres#vider()}, avant que la ligne soit libérée.
+     */
+    void detacher() {
+        if (m_stockage == null) {
+            return;
+        }
+        m_pointsDeVieMax = m_stockage.getPointsDeVieMax(m_ligne);
+        m_pointsDeVie = m_stockage.getPointsDeVie(m_ligne);
+        m_force = m_stockage.getForce(m_ligne);
+        m_dexterite = m_stockage.getDexterite(m_ligne);
+        m_vitesse = m_stockage.getVitesse(m_ligne);
+        m_classeArmure = m_stockage.getClasseArmure(m_ligne);
+        m_stockage = null;
+    }
+
+    StockageMonstres getStockage() {
+        return m_stockage;
+    }
+
+    int getLigne() {
+        return m_ligne;
+    }
+
+    /**
+     * Écrit le monstre dans une sauvegarde : espèce, numéro, caractéristiques, points de vie
+     * et formule de dégâts si elle a été définie.
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireTexte(m_espece);
+        sortie.ecrireEntier(m_numero);
+        sortie.ecrireEntier(m_portee);
+        sortie.ecrireEntier(m_maxDmg);
+        sortie.ecrireEntier(m_nbDes);
+        sortie.ecrireEntier(getPointsDeVieMax());
+        sortie.ecrireEntier(getPointsDeVie());
+        sortie.ecrireEntier(getForce());
+        sortie.ecrireEntier(getDexterite());
+        sortie.ecrireEntier(getVitesse());
+        sortie.ecrireEntier(getClasseArmure());
+        sortie.ecrireEntier(m_initiative);
+        sortie.ecrireTexte(m_expressionDegats != null ? m_expressionDegats.toString() : null);
+    }
+
+    /**
+     * Relit un monstre écrit par {@link #sauvegarder(EcritureSauvegarde)}.
+     * @param entree la sauvegarde
+     * @return le monstre
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public static Monstre restaurer(LectureSauvegarde entree) {
+        Monstre monstre = new Monstre();
+        monstre.restaurerEtat(entree);
+        return monstre;
+    }
+
+    /**
+     * Remplace l'état du monstre par celui d'une sauvegarde, sans changer l'objet :
+     * la carte et l'ordre d'initiative qui le référencent restent valables.
+     * @param entree la sauvegarde, placée sur un monstre écrit par {@link #sauvegarder(EcritureSauvegarde)}
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurerEtat(LectureSauvegarde entree) {
+        m_espece = entree.lireTexte();
+        m_numero = entree.lireEntier();
+        m_symbole = null;
+        m_portee = entree.lireEntier();
+        m_maxDmg = entree.lireEntier();
+        m_nbDes = entree.lireEntier();
+        setPointsDeVieMax(entree.lireEntier());
+        setPointsDeVie(entree.lireEntier());
+        setForce(entree.lireEntier());
+        setDexterite(entree.lireEntier());
+        setVitesse(entree.lireEntier());
+        setClasseArmure(entree.lireEntier());
+        m_initiative = entree.lireEntier();
+        String formule = entree.lireTexte();
+        m_expressionDegats = null;
+        if (formule != null) {
+            try {
+                m_expressionDegats = ExpressionDes.compiler(formule);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Sauvegarde corrompue : formule de dégâts " + formule, e);
+            }
+        }
+    }
+
     // ============================ Getters et setters ============================
 
     public String getEspece() {
@@ -70,6 +216,7 @@ public class Monstre implements ElementMobile {
 
     public void setEspece(String espece) {
         this.m_espece = espece;
+        this.m_symbole = null;
     }
 
     public int getNumero() {
@@ -78,6 +225,7 @@ public class Monstre implements ElementMobile {
 
     public void setNumero(int numero) {
         this.m_numero = numero;
+        this.m_symbole = null;
     }
 
     public int getPortee() {
@@ -95,10 +243,44 @@ public class Monstre implements ElementMobile {
     public void setMaxdmg(int dmgMax, int nbDes) {
         m_maxDmg = dmgMax;
         m_nbDes = nbDes;
+        m_expressionDegats = null;
+    }
+
+    /**
+     * Retourne l'expression des dégâts du monstre :
+     * la formule définie avec {@link #setFormuleDegats(String)}, sinon nbDes dés à maxDmg faces.
+     *
+     * @return l'expression compilée des dégâts
+     * @throws IllegalArgumentException si le nombre de dés ou de faces du monstre n'est pas positif
+     */
+    public ExpressionDes getExpressionDegats() {
+        if (m_expressionDegats == null) {
+            m_expressionDegats = ExpressionDes.des(m_nbDes, m_maxDmg);
+        }
+        return m_expressionDegats;
+    }
+
+    /**
+     * Définit une formule de dégâts complète, par exemple "2d6+3" ou "1d8+1d4".
+     * Le maximum d'un dé et le nombre de dés ne servent plus aux attaques.
+     *
+     * @param formule la notation des dégâts
+     * @throws IllegalArgumentException si la formule est mal formée
+     */
+    public void setFormuleDegats(String formule) {
+        m_expressionDegats = ExpressionDes.compiler(formule);
+    }
+
+    public int getVitesse() {
+        return m_stockage != null ? m_stockage.getVitesse(m_ligne) : m_vitesse;
     }
 
     public void setVitesse(int vitesse) {
-        m_vitesse = vitesse;
+        if (m_stockage != null) {
+            m_stockage.setVitesse(m_ligne, vitesse);
+        } else {
+            m_vitesse = vitesse;
+        }
     }
 
     /**
@@ -113,11 +295,11 @@ public class Monstre implements ElementMobile {
         if (m_portee < 1) {
             System.out.println("Valeur inférieure à 1 impossible, portée mise en place à 1");
             m_portee = 1;
-            m_force = caracteristiqueDAttaque;
+            setForce(caracteristiqueDAttaque);
         } else if (m_portee > 1) {
-            m_dexterite = caracteristiqueDAttaque;
+            setDexterite(caracteristiqueDAttaque);
         } else {
-            m_force = caracteristiqueDAttaque;
+            setForce(caracteristiqueDAttaque);
         }
     }
 
@@ -128,43 +310,75 @@ public class Monstre implements ElementMobile {
      */
     public void changementCarac(int caracteristiqueDAttaque) {
         if (m_portee != 1) {
-            m_dexterite = caracteristiqueDAttaque;
+            setDexterite(caracteristiqueDAttaque);
         } else {
-            m_force = caracteristiqueDAttaque;
+            setForce(caracteristiqueDAttaque);
         }
     }
 
     @Override
     public int getPointsDeVie() {
-        return m_pointsDeVie;
+        return m_stockage != null ? m_stockage.getPointsDeVie(m_ligne) : m_pointsDeVie;
+    }
+
+    private void setPointsDeVie(int pointsDeVie) {
+        if (m_stockage != null) {
+            m_stockage.setPointsDeVie(m_ligne, pointsDeVie);
+        } else {
+            m_pointsDeVie = pointsDeVie;
+        }
     }
 
     public void setPointsDeVieMax(int pointsDeVie) {
-        this.m_pointsDeVieMax = pointsDeVie;
-        m_pointsDeVie = m_pointsDeVieMax;
+        if (m_stockage != null) {
+            m_stockage.setPointsDeVieMax(m_ligne, pointsDeVie);
+        } else {
+            m_pointsDeVieMax = pointsDeVie;
+        }
+        setPointsDeVie(pointsDeVie);
     }
 
     @Override
     public int getPointsDeVieMax() {
-        return m_pointsDeVieMax;
+        return m_stockage != null ? m_stockage.getPointsDeVieMax(m_ligne) : m_pointsDeVieMax;
     }
 
     @Override
     public int getForce() {
-        return m_force;
+        return m_stockage != null ? m_stockage.getForce(m_ligne) : m_force;
+    }
+
+    private void setForce(int force) {
+        if (m_stockage != null) {
+            m_stockage.setForce(m_ligne, force);
+        } else {
+            m_force = force;
+        }
     }
 
     @Override
     public int getDexterite() {
-        return m_dexterite;
+        return m_stockage != null ? m_stockage.getDexterite(m_ligne) : m_dexterite;
+    }
+
+    private void setDexterite(int dexterite) {
+        if (m_stockage != null) {
+            m_stockage.setDexterite(m_ligne, dexterite);
+        } else {
+            m_dexterite = dexterite;
+        }
     }
 
     public int getClasseArmure() {
-        return m_classeArmure;
+        return m_stockage != null ? m_stockage.getClasseArmure(m_ligne) : m_classeArmure;
     }
 
     public void setClasseArmure(int classeArmure) {
-        this.m_classeArmure = classeArmure;
+        if (m_stockage != null) {
+            m_stockage.setClasseArmure(m_ligne, classeArmure);
+        } else {
+            m_classeArmure = classeArmure;
+        }
     }
 
     @Override
@@ -185,29 +399,30 @@ public class Monstre implements ElementMobile {
 
     @Override
     public int getCasesMaxDeplacement() {
-        int casesMax = m_vitesse / 3;
+        int casesMax = getVitesse() / 3;
         return casesMax;
     }
 
     @Override
     public String getSymbole() {
-        if (m_numero > 9) {
-            return String.valueOf(m_espece.charAt(0)) + m_numero + " ";
+        if (m_symbole == null) {
+            if (m_numero > 9) {
+                m_symbole = String.valueOf(m_espece.charAt(0)) + m_numero + " ";
+            } else {
+                m_symbole = " " + String.valueOf(m_espece.charAt(0)) + m_numero + " ";
+            }
         }
-        return " " + String.valueOf(m_espece.charAt(0)) + m_numero + " ";
+        return m_symbole;
     }
 
     @Override
     public void subirDegats(int degats) {
-        m_pointsDeVie -= degats;
-        if (m_pointsDeVie < 0) {
-            m_pointsDeVie = 0;
-        }
+        setPointsDeVie(Math.max(0, getPointsDeVie() - degats));
     }
 
     @Override
     public boolean estMort() {
-        return m_pointsDeVie <= 0;
+        return getPointsDeVie() <= 0;
     }
 
     @Override
@@ -229,9 +444,9 @@ public class Monstre implements ElementMobile {
     public String toString() {
         return  m_espece + '\n' +
                 "  Portee : " + m_portee + '\n' +
-                "  PointsDeVie : " + m_pointsDeVie + '\n' +
-                "  Force : " + m_force + '\n' +
-                "  Dexterite : " + m_dexterite + '\n' +
-                "  Vitesse : " + m_vitesse;
+                "  PointsDeVie : " + getPointsDeVie() + '\n' +
+                "  Force : " + getForce() + '\n' +
+                "  Dexterite : " + getDexterite() + '\n' +
+                "  Vitesse : " + getVitesse();
     }
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+package carteDuJeu.monstres;
+
+import carteDuJeu.Carte;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.ObservateurCarte;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caractéristiques de combat des monstres, rangées colonne par colonne dans des tableaux primitifs.
+ *
+ * Chaque monstre d'un donjon occupe une ligne du stockage du donjon ({@link #ajouter(Monstre)}) :
+ * ses points de vie, sa classe d'armure, sa force, sa dextérité, sa vitesse et sa position y sont lus
+ * et écrits, le {@link Monstre} n'étant plus qu'une vue sur sa ligne. Un monstre qui n'appartient
+ * à aucun donjon garde ses caractéristiques dans ses propres champs, sans stockage.
+ *
+ * Les traitements de masse (recherche dans une zone, décompte des vivants) sont alors de simples boucles
+ * sur des tableaux d'entiers, sans appel de méthode par monstre, même avec des dizaines de milliers de monstres.
+ * Les positions suivent la carte observée ({@link #suivreCarte(Carte)}) ; elles valent -1 hors de la carte.
+ */
+public final class StockageMonstres implements ObservateurCarte {
+    private static final int CAPACITE_INITIALE = 16;
+
+    /** Monstre de chaque ligne, null pour une ligne libérée */
+    private Monstre[] m_monstres;
+    private int[] m_pointsDeVie;
+    private int[] m_pointsDeVieMax;
+    private int[] m_classeArmure;
+    private int[] m_force;
+    private int[] m_dexterite;
+    private int[] m_vitesse;
+    private int[] m_x;
+    private int[] m_y;
+    private int m_nombre;
+
+    private Carte m_carte;
+
+    /**
+     * Crée un stockage vide, qui s'agrandit au fil des ajouts.
+     */
+    public StockageMonstres() {
+        this(CAPACITE_INITIALE);
+    }
+
+    private StockageMonstres(int capacite) {
+        m_monstres = new Monstre[capacite];
+        m_pointsDeVie = new int[capacite];
+        m_pointsDeVieMax = new int[capacite];
+        m_classeArmure = new int[capacite];
+        m_force = new int[capacite];
+        m_dexterite = new int[capacite];
+        m_vitesse = new int[capacite];
+        m_x = new int[capacite];
+        m_y = new int[capacite];
+    }
+
+    /*============================Section Lignes============================*/
+
+    /**
+     * Range un monstre dans ce stockage : ses caractéristiques y sont copiées depuis ses champs,
+     * ou depuis son ancien stockage dont la ligne est libérée. Un monstre déjà rangé ici ne bouge pas.
+     *
+     * @param monstre le monstre
+     * @throws IllegalArgumentException si le monstre est null
+     */
+    public void ajouter(Monstre monstre) {
+        if (monstre == null) {
+            throw new IllegalArgumentException("Le monstre ne peut pas être null");
+        }
+        StockageMonstres ancien = monstre.getStockage();
+        if (ancien == this) {
+            return;
+        }
+        int ligne = nouvelleLigne(monstre);
+        m_pointsDeVie[ligne] = monstre.getPointsDeVie();
+        m_pointsDeVieMax[ligne] = monstre.getPointsDeVieMax();
+        m_classeArmure[ligne] = monstre.getClasseArmure();
+        m_force[ligne] = monstre.getForce();
+        m_dexterite[ligne] = monstre.getDexterite();
+        m_vitesse[ligne] = monstre.getVitesse();
+        if (ancien != null) {
+            ancien.liberer(monstre.getLigne());
+        }
+        monstre.ranger(this, ligne);
+        lirePosition(ligne);
+    }
+
+    /**
+     * Réserve la ligne d'un monstre, caractéristiques à zéro.
+     */
+    private int nouvelleLigne(Monstre monstre) {
+        if (m_nombre == m_monstres.length) {
+            int capacite = m_nombre * 2;
+            m_monstres = Arrays.copyOf(m_monstres, capacite);
+            m_pointsDeVie = Arrays.copyOf(m_pointsDeVie, capacite);
+            m_pointsDeVieMax = Arrays.copyOf(m_pointsDeVieMax, capacite);
+            m_classeArmure = Arrays.copyOf(m_classeArmure, capacite);
+            m_force = Arrays.copyOf(m_force, capacite);
+            m_dexterite = Arrays.copyOf(m_dexterite, capacite);
+            m_vitesse = Arrays.copyOf(m_vitesse, capacite);
+            m_x = Arrays.copyOf(m_x, capacite);
+            m_y = Arrays.copyOf(m_y, capacite);
+        }
+        int ligne = m_nombre++;
+        m_monstres[ligne] = monstre;
+        m_x[ligne] = -1;
+        m_y[ligne] = -1;
+        return ligne;
+    }
+
+    /**
+     * Libère la ligne d'un monstre parti dans un autre stockage : les parcours l'ignorent désormais.
+     */
+    private void liberer(int ligne) {
+        m_monstres[ligne] = null;
+        m_pointsDeVie[ligne] = 0;
+        m_x[ligne] = -1;
+        m_y[ligne] = -1;
+    }
+
+    /**
+     * Rend à chaque monstre ses caractéristiques, dans ses propres champs, et vide le stockage,
+     * avant la mise en place d'un nouveau donjon.
+     */
+    public void vider() {
+        for (int ligne = 0; ligne < m_nombre; ligne++) {
+            if (m_monstres[ligne] != null) {
+                m_monstres[ligne].detacher();
+            }
+        }
+        Arrays.fill(m_monstres, 0, m_nombre, null);
+        m_nombre = 0;
+    }
+
+    /*============================Section Caractéristiques============================*/
+
+    // Lues et écrites par les monstres rangés ici ; l'écriture vérifie que la ligne appartient bien à un monstre
+
+    int getPointsDeVie(int ligne) {
+        return m_pointsDeVie[ligne];
+    }
+
+    void setPointsDeVie(int ligne, int pointsDeVie) {
+        verifierLigne(ligne);
+        m_pointsDeVie[ligne] = pointsDeVie;
+    }
+
+    int getPointsDeVieMax(int ligne) {
+        return m_pointsDeVieMax[ligne];
+    }
+
+    void setPointsDeVieMax(int ligne, int pointsDeVieMax) {
+        verifierLigne(ligne);
+        m_pointsDeVieMax[ligne] = pointsDeVieMax;
+    }
+
+    int getClasseArmure(int ligne) {
+        return m_classeArmure[ligne];
+    }
+
+    void setClasseArmure(int ligne, int classeArmure) {
+        verifierLigne(ligne);
+        m_classeArmure[ligne] = classeArmure;
+    }
+
+    int getForce(int ligne) {
+        return m_force[ligne];
+    }
+
+    void setForce(int ligne, int force) {
+        verifierLigne(ligne);
+        m_force[ligne] = force;
+    }
+
+    int getDexterite(int ligne) {
+        return m_dexterite[ligne];
+    }
+
+    void setDexterite(int ligne, int dexterite) {
+        verifierLigne(ligne);
+        m_dexterite[ligne] = dexterite;
+    }
+
+    int getVitesse(int ligne) {
+        return m_vitesse[ligne];
+    }
+
+    void setVitesse(int ligne, int vitesse) {
+        verifierLigne(ligne);
+        m_vitesse[ligne] = vitesse;
+    }
+
+    /**
+     * @throws IllegalStateException si la ligne est libre : le monstre qui l'occupait a quitté le stockage
+     */
+    private void verifierLigne(int ligne) {
+        if (ligne < 0 || ligne >= m_nombre || m_monstres[ligne] == null) {
+            throw new IllegalStateException("La ligne " + ligne + " du stockage n'appartient à aucun monstre");
+        }
+    }
+
+    /*============================Section Positions============================*/
+
+    /**
+     * Suit les positions des monstres sur une carte ; la carte suivie précédemment ne l'est plus.
+     *
+     * @param carte la carte du donjon, ou null pour ne plus en suivre
+     */
+    public void suivreCarte(Carte carte) {
+        if (carte == m_carte) {
+            return;
+        }
+        if (m_carte != null) {
+            m_carte.retirerObservateur(this);
+        }
+        m_carte = carte;
+        if (carte != null) {
+            carte.ajouterObservateur(this);
+        }
+        for (int ligne = 0; ligne < m_nombre; ligne++) {
+            lirePosition(ligne);
+        }
+    }
+
+    private void lirePosition(int ligne) {
+        m_x[ligne] = -1;
+        m_y[ligne] = -1;
+        if (m_carte != null && m_monstres[ligne] != null) {
+            m_carte.getCase(m_monstres[ligne]).ifPresent(c -> {
+                m_x[ligne] = c.getX();
+                m_y[ligne] = c.getY();
+            });
+        }
+    }
+
+    @Override
+    public void elementMobileAjoute(ElementMobile element, int x, int y) {
+        if (element instanceof Monstre && ((Monstre) element).getStockage() == this) {
+            int ligne = ((Monstre) element).getLigne();
+            m_x[ligne] = x;
+            m_y[ligne] = y;
+        }
+    }
+
+    @Override
+    public void elementMobileRetire(ElementMobile element, int x, int y) {
+        if (element instanceof Monstre && ((Monstre) element).getStockage() == this) {
+            int ligne = ((Monstre) element).getLigne();
+            if (m_x[ligne] == x && m_y[ligne] == y) {
+                m_x[ligne] = -1;
+                m_y[ligne] = -1;
+            }
+        }
+    }
+
+    /*============================Section Traitements de masse============================*/
+
+    /**
+     * Retourne les monstres vivants sur la carte à une distance de Chebyshev d'au plus {@code rayon}
+     * d'une case, dans l'ordre de leur arrivée dans le stockage.
+     *
+     * @param x colonne du centre
+     * @param y ligne du centre
+     * @param rayon distance maximale
+     * @return les monstres de la zone
+     */
+    public List<Monstre> chercherDansZone(int x, int y, int rayon) {
+        List<Monstre> resultat = new ArrayList<>();
+        int[] pointsDeVie = m_pointsDeVie;
+        int[] colonnes = m_x;
+        int[] lignes = m_y;
+        for (int ligne = 0; ligne < m_nombre; ligne++) {
+            // Hors de la carte, x vaut -1 : seul le test de x >= 0 l'écarte, la distance pouvant rester petite
+            if (pointsDeVie[ligne] > 0 && colonnes[ligne] >= 0
+                    && Math.abs(colonnes[ligne] - x) <= rayon && Math.abs(lignes[ligne] - y) <= rayon) {
+                resultat.add(m_monstres[ligne]);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Compte les monstres vivants du stockage.
+     *
+     * @return le nombre de monstres vivants
+     */
+    public int compterVivants() {
+        int vivants = 0;
+        int[] pointsDeVie = m_pointsDeVie;
+        for (int ligne = 0; ligne < m_nombre; ligne++) {
+            if (pointsDeVie[ligne] > 0) {
+                vivants++;
+            }
+        }
+        return vivants;
+    }
+
+    /*============================Section Getters============================*/
+
+    public int getNombre() {
+        return m_nombre;
+    }
+
+    /**
+     * @param ligne une ligne du stockage
+     * @return le monstre de cette ligne, null si elle a été libérée
+     */
+    public Monstre getMonstre(int ligne) {
+        return m_monstres[ligne];
+    }
+
+    public int getX(int ligne) {
+        return m_x[ligne];
+    }
+
+    public int getY(int ligne) {
+        return m_y[ligne];
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "StockageMonstres{lignes=" + m_nombre + ", capacite=" + m_monstres.length + "}";
+    }
+}
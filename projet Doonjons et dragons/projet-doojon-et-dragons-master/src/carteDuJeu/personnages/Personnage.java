@@ -8,6 +8,9 @@ import carteDuJeu.personnages.equipements.*;
 import carteDuJeu.personnages.equipements.armes.Arme;
 import carteDuJeu.personnages.equipements.armures.Armure;
 import carteDuJeu.personnages.races.Race;
+import carteDuJeu.sauvegarde.CatalogueSauvegarde;
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +29,7 @@ public class Personnage implements ElementMobile {
     private Arme m_armeEquipee;
     private Armure m_armureEquipee;
     private List<Equipement> m_inventaire;
+    private String m_symbole; // symbole sur la carte, calculé au premier affichage
 
     // caractéristiques du personnage
     private int m_pointsDeVie;
@@ -81,6 +85,46 @@ public class Personnage implements ElementMobile {
         }
     }
 
+    /**
+     * Construit une copie indépendante d'un personnage : mêmes caractéristiques et points de vie,
+     * copies de son arme, de son armure et de son inventaire (bonus magiques compris).
+     * @param modele le personnage à copier
+     */
+    private Personnage(Personnage modele) {
+        this.m_nom = modele.m_nom;
+        this.m_race = modele.m_race;
+        this.m_classe = modele.m_classe;
+        this.m_armeEquipee = modele.m_armeEquipee != null ? modele.m_armeEquipee.copierAvecBonus() : null;
+        this.m_armureEquipee = modele.m_armureEquipee != null ? (Armure) modele.m_armureEquipee.copier() : null;
+        this.m_inventaire = new ArrayList<>(modele.m_inventaire.size());
+        for (Equipement equipement : modele.m_inventaire) {
+            m_inventaire.add(equipement.estUneArme() ? ((Arme) equipement).copierAvecBonus() : equipement.copier());
+        }
+        this.m_pointsDeVie = modele.m_pointsDeVie;
+        this.m_pointsDeVieMax = modele.m_pointsDeVieMax;
+        this.m_forceBase = modele.m_forceBase;
+        this.m_forceCurrent = modele.m_forceCurrent;
+        this.m_dexteriteBase = modele.m_dexteriteBase;
+        this.m_vitesseBase = modele.m_vitesseBase;
+        this.m_vitesseCurrent = modele.m_vitesseCurrent;
+        this.m_initiativeBase = modele.m_initiativeBase;
+    }
+
+    /**
+     * Crée une copie indépendante du personnage, sans nouveau tirage de ses caractéristiques.
+     * @return la copie du personnage
+     */
+    public Personnage copier() {
+        return new Personnage(this);
+    }
+
+    /**
+     * Construit un personnage vide, rempli par {@link #restaurer(LectureSauvegarde)}.
+     */
+    private Personnage() {
+        this.m_inventaire = new ArrayList<>();
+    }
+
     /**
      * Ajoute un équipement à l'inventaire du personnage.
      * @param e l'équipement à ajouter
@@ -222,6 +266,87 @@ public class Personnage implements ElementMobile {
         return false;
     }
 
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Écrit le personnage dans une sauvegarde : nom, race, classe, caractéristiques,
+     * points de vie, arme et armure équipées et inventaire.
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireTexte(m_nom);
+        sortie.ecrireTexte(m_race.getNomRace());
+        sortie.ecrireTexte(m_classe.getNomClasse());
+        sortie.ecrireEntier(m_pointsDeVie);
+        sortie.ecrireEntier(m_pointsDeVieMax);
+        sortie.ecrireEntier(m_forceBase);
+        sortie.ecrireEntier(m_forceCurrent);
+        sortie.ecrireEntier(m_dexteriteBase);
+        sortie.ecrireEntier(m_vitesseBase);
+        sortie.ecrireEntier(m_vitesseCurrent);
+        sortie.ecrireEntier(m_initiativeBase);
+        sortie.ecrireBooleen(m_armeEquipee != null);
+        if (m_armeEquipee != null) {
+            CatalogueSauvegarde.ecrireEquipement(sortie, m_armeEquipee);
+        }
+        sortie.ecrireBooleen(m_armureEquipee != null);
+        if (m_armureEquipee != null) {
+            CatalogueSauvegarde.ecrireEquipement(sortie, m_armureEquipee);
+        }
+        sortie.ecrireEntier(m_inventaire.size());
+        for (Equipement equipement : m_inventaire) {
+            CatalogueSauvegarde.ecrireEquipement(sortie, equipement);
+        }
+    }
+
+    /**
+     * Relit un personnage écrit par {@link #sauvegarder(EcritureSauvegarde)}, sans aucun tirage de dés.
+     * @param entree la sauvegarde
+     * @return le personnage
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public static Personnage restaurer(LectureSauvegarde entree) {
+        Personnage personnage = new Personnage();
+        personnage.restaurerEtat(entree);
+        return personnage;
+    }
+
+    /**
+     * Remplace l'état du personnage par celui d'une sauvegarde, sans changer l'objet :
+     * la carte et l'ordre d'initiative qui le référencent restent valables.
+     * @param entree la sauvegarde, placée sur un personnage écrit par {@link #sauvegarder(EcritureSauvegarde)}
+     * @throws IllegalStateException si la sauvegarde est corrompue
+     */
+    public void restaurerEtat(LectureSauvegarde entree) {
+        m_nom = entree.lireTexte();
+        m_race = CatalogueSauvegarde.race(entree.lireTexte());
+        m_classe = CatalogueSauvegarde.classe(entree.lireTexte());
+        m_symbole = null;
+        m_pointsDeVie = entree.lireEntier();
+        m_pointsDeVieMax = entree.lireEntier();
+        m_forceBase = entree.lireEntier();
+        m_forceCurrent = entree.lireEntier();
+        m_dexteriteBase = entree.lireEntier();
+        m_vitesseBase = entree.lireEntier();
+        m_vitesseCurrent = entree.lireEntier();
+        m_initiativeBase = entree.lireEntier();
+        m_armeEquipee = entree.lireBooleen() ? (Arme) lireEquipement(entree, true) : null;
+        m_armureEquipee = entree.lireBooleen() ? (Armure) lireEquipement(entree, false) : null;
+        m_inventaire.clear();
+        int taille = entree.lireTaille();
+        for (int i = 0; i < taille; i++) {
+            m_inventaire.add(CatalogueSauvegarde.lireEquipement(entree));
+        }
+    }
+
+    private static Equipement lireEquipement(LectureSauvegarde entree, boolean arme) {
+        Equipement equipement = CatalogueSauvegarde.lireEquipement(entree);
+        if (arme ? !equipement.estUneArme() : !equipement.estUneArmure()) {
+            throw new IllegalStateException("Sauvegarde corrompue : " + equipement.getNom()
+                    + (arme ? " n'est pas une arme" : " n'est pas une armure"));
+        }
+        return equipement;
+    }
 
     /*============================Section Overrides============================*/
 
@@ -231,11 +356,14 @@ public class Personnage implements ElementMobile {
      */
     @Override
     public String getSymbole() {
-        String nom = m_nom.length() >= 3 ? m_nom.substring(0, 3) : m_nom;
-        while (nom.length() < 3) {
-            nom += " ";
+        if (m_symbole == null) {
+            String nom = m_nom.length() >= 3 ? m_nom.substring(0, 3) : m_nom;
+            while (nom.length() < 3) {
+                nom += " ";
+            }
+            m_symbole = " " + nom;
         }
-        return " " + nom;
+        return m_symbole;
     }
 
     /**
@@ -1,5 +1,6 @@
 package carteDuJeu.personnages.equipements.armes;
 
+import carteDuJeu.ExpressionDes;
 import carteDuJeu.personnages.equipements.Equipement;
 
 /**
@@ -14,6 +15,7 @@ public abstract class Arme extends Equipement {
     private final int m_desMax;
     private int m_bonusAttaque;
     private int m_bonusDegats;
+    private ExpressionDes m_expressionDegats; // Compilée à la première attaque, oubliée à chaque bonus
 
     /**
      * Construit une arme avec les caractéristiques spécifiées.
@@ -73,12 +75,29 @@ public abstract class Arme extends Equipement {
         return m_desMax + m_bonusAttaque;
     }
 
+    /**
+     * Retourne le bonus magique ajouté au nombre de dés d'attaque.
+     * @return le bonus d'attaque
+     */
+    public int getBonusAttaque() {
+        return m_bonusAttaque;
+    }
+
+    /**
+     * Retourne le bonus magique ajouté aux dégâts.
+     * @return le bonus de dégâts
+     */
+    public int getBonusDegats() {
+        return m_bonusDegats;
+    }
+
     /**
      * Ajoute un bonus aux dés d'attaque.
      * @param bonus le bonus à ajouter
      */
     public void ajouterBonusAttaque(int bonus) {
         this.m_bonusAttaque += bonus;
+        this.m_expressionDegats = null;
     }
 
     /**
@@ -87,6 +106,31 @@ public abstract class Arme extends Equipement {
      */
     public void ajouterBonusDegats(int bonus) {
         this.m_bonusDegats += bonus;
+        this.m_expressionDegats = null;
+    }
+
+    /**
+     * Retourne l'expression des dégâts de l'arme, bonus compris : {@link #getDes()} dés à {@link #getDegats()} faces.
+     * @return l'expression compilée des dégâts
+     */
+    public ExpressionDes getExpressionDegats() {
+        if (m_expressionDegats == null) {
+            m_expressionDegats = ExpressionDes.des(getDes(), getDegats());
+        }
+        return m_expressionDegats;
+    }
+
+    /**
+     * Crée une copie de l'arme qui conserve ses bonus d'attaque et de dégâts
+     * (contrairement à {@link #copier()}, qui rend une arme neuve).
+     * @return la copie de l'arme
+     */
+    public Arme copierAvecBonus() {
+        Arme copie = (Arme) copier();
+        copie.m_bonusAttaque = m_bonusAttaque;
+        copie.m_bonusDegats = m_bonusDegats;
+        copie.m_expressionDegats = m_expressionDegats;
+        return copie;
     }
 
     /**
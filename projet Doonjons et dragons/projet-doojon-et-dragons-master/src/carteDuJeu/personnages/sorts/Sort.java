@@ -5,6 +5,8 @@ import carteDuJeu.ElementMobile;
 import carteDuJeu.personnages.Personnage;
 import carteDuJeu.personnages.classes.Classe;
 
+import java.io.PrintStream;
+
 /**
  * Classe abstraite représentant un sort utilisable par un personnage.
  * Un sort possède un nom, une description, et définit les méthodes à implémenter
@@ -13,6 +15,7 @@ import carteDuJeu.personnages.classes.Classe;
 public abstract class Sort {
     private String m_nom;
     private String m_description;
+    private PrintStream m_sortie = System.out;
 
     /**
      * Construit un sort avec un nom et une description.
@@ -32,6 +35,22 @@ public abstract class Sort {
         return m_nom;
     }
 
+    /**
+     * Définit le flux où le sort écrit ses messages (la console par défaut).
+     * @param sortie le flux de sortie
+     */
+    public void setSortie(PrintStream sortie) {
+        this.m_sortie = sortie;
+    }
+
+    /**
+     * Retourne le flux où le sort écrit ses messages.
+     * @return le flux de sortie
+     */
+    protected PrintStream getSortie() {
+        return m_sortie;
+    }
+
     /**
      * Indique si le sort peut être utilisé par la classe spécifiée.
      * @param classe la classe du personnage
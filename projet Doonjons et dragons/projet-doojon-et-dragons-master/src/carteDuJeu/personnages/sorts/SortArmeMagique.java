@@ -2,13 +2,14 @@ package carteDuJeu.personnages.sorts;
 
 import carteDuJeu.Carte;
 import carteDuJeu.ElementMobile;
+import carteDuJeu.controleurs.Controleur;
+import carteDuJeu.controleurs.ControleurConsole;
 import carteDuJeu.personnages.Personnage;
 import carteDuJeu.personnages.classes.Classe;
 import carteDuJeu.personnages.equipements.armes.Arme;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Sort "Arme magique" permettant d'améliorer une arme détenue par un personnage.
@@ -17,13 +18,24 @@ import java.util.Scanner;
  * Ce sort n'est utilisable que par la classe Magicien.
  */
 public class SortArmeMagique extends Sort {
+    private final Controleur m_controleur;
+
     /**
-     * Construit le sort Arme magique avec son nom et sa description.
+     * Construit le sort Arme magique avec son nom et sa description ; l'arme est choisie à la console.
      */
     public SortArmeMagique() {
+        this(new ControleurConsole());
+    }
+
+    /**
+     * Construit le sort Arme magique dont l'arme améliorée est choisie par un contrôleur.
+     * @param controleur le contrôleur qui choisit l'arme
+     */
+    public SortArmeMagique(Controleur controleur) {
         super("Arme magique", "Le personnage détenteur du pouvoir peut choisir une arme détenue par un personnage (mais pas forcément équipée) à améliorer. " +
                 "L'arme gagne alors un bonus de 1 lors des jets d'attaque et de 1 lors des jets de dégâts " +
                 "(les bonus peuvent se cumuler).");
+        this.m_controleur = controleur;
     }
 
     /**
@@ -59,36 +71,19 @@ public class SortArmeMagique extends Sort {
                         .toList());
 
                 if (!armesDisponibles.isEmpty()) {
-                    System.out.println("Choisissez une arme à améliorer parmi les suivantes :");
-                    for (int i = 0; i < armesDisponibles.size(); i++) {
-                        System.out.println((i + 1) + ". " + armesDisponibles.get(i).getNom());
-                    }
-
-                    int choix = -1;
-                    while (true) {
-                        try {
-                            Scanner scanner = new Scanner(System.in);
-                            System.out.print("Entrez le numéro de l'arme à améliorer : ");
-                            choix = scanner.nextInt() - 1;
-                            scanner.nextLine();
-
-                            if (choix >= 0 && choix < armesDisponibles.size()) {
-                                break;
-                            } else {
-                                System.out.println("Choix invalide, veuillez réessayer.");
-                            }
-                        } catch (Exception e) {
-                            System.out.println("Entrée invalide, veuillez entrer un nombre.");
-                        }
+                    int choix = m_controleur.choisirArme(personnageCible, armesDisponibles);
+                    if (choix < 0 || choix >= armesDisponibles.size()) {
+                        getSortie().println("Choix invalide.");
+                        continue;
                     }
                     Arme armeChoisie = armesDisponibles.get(choix);
 
                     armeChoisie.ajouterBonusAttaque(1);
                     armeChoisie.ajouterBonusDegats(1);
 
-                    System.out.println("L'arme " + armeChoisie.getNom() + " de " + personnageCible.getNom() + " a été améliorée !");
+                    getSortie().println("L'arme " + armeChoisie.getNom() + " de " + personnageCible.getNom() + " a été améliorée !");
                 } else {
-                    System.out.println(personnageCible.getNom() + " ne possède pas d'arme à améliorer.");
+                    getSortie().println(personnageCible.getNom() + " ne possède pas d'arme à améliorer.");
                 }
             }
         }
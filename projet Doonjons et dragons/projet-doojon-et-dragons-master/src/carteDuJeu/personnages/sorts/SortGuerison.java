@@ -1,7 +1,7 @@
 package carteDuJeu.personnages.sorts;
 
 import carteDuJeu.Carte;
-import carteDuJeu.Des;
+import carteDuJeu.ExpressionDes;
 import carteDuJeu.ElementMobile;
 import carteDuJeu.personnages.Personnage;
 import carteDuJeu.personnages.classes.Classe;
@@ -11,6 +11,9 @@ import carteDuJeu.personnages.classes.Classe;
  * Ce sort peut être utilisé par les classes Clerc et Magicien.
  */
 public class SortGuerison extends Sort {
+    /** Points de vie rendus à chaque cible */
+    private static final ExpressionDes SOIN = ExpressionDes.compiler("1d10");
+
     /**
      * Construit le sort de guérison avec son nom et sa description.
      */
@@ -34,8 +37,8 @@ public class SortGuerison extends Sort {
         for (ElementMobile cible : cibles) {
             if (cible.estPersonnage()) {
                 Personnage personnageCible = (Personnage) cible;
-                personnageCible.setPointsDeVie(personnageCible.getPointsDeVie() + Des.lancer("1d10"));
-                System.out.println("La cible à maintenant " + personnageCible.getPointsDeVie() + " points de vie");
+                personnageCible.setPointsDeVie(personnageCible.getPointsDeVie() + SOIN.lancer());
+                getSortie().println("La cible à maintenant " + personnageCible.getPointsDeVie() + " points de vie");
             }
         }
         return true;
@@ -0,0 +1,149 @@
+package carteDuJeu.sauvegarde;
+
+import carteDuJeu.personnages.classes.Classe;
+import carteDuJeu.personnages.classes.Clerc;
+import carteDuJeu.personnages.classes.Guerrier;
+import carteDuJeu.personnages.classes.Magicien;
+import carteDuJeu.personnages.classes.Roublard;
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.personnages.equipements.armes.ArbaleteLegere;
+import carteDuJeu.personnages.equipements.armes.ArcCourt;
+import carteDuJeu.personnages.equipements.armes.Arme;
+import carteDuJeu.personnages.equipements.armes.Baton;
+import carteDuJeu.personnages.equipements.armes.EpeeADeuxMains;
+import carteDuJeu.personnages.equipements.armes.EpeeLongue;
+import carteDuJeu.personnages.equipements.armes.Fronde;
+import carteDuJeu.personnages.equipements.armes.MasseDarmes;
+import carteDuJeu.personnages.equipements.armes.Rapiere;
+import carteDuJeu.personnages.equipements.armures.ArmureDEcailles;
+import carteDuJeu.personnages.equipements.armures.CotteDeMailles;
+import carteDuJeu.personnages.equipements.armures.DemiPlate;
+import carteDuJeu.personnages.equipements.armures.Harnois;
+import carteDuJeu.personnages.races.Elfe;
+import carteDuJeu.personnages.races.Halfelin;
+import carteDuJeu.personnages.races.Humain;
+import carteDuJeu.personnages.races.Nain;
+import carteDuJeu.personnages.races.Race;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Types connus des sauvegardes : races, classes et équipements, retrouvés par leur nom.
+ *
+ * Une sauvegarde n'écrit que le nom d'une race, d'une classe ou d'un équipement (plus les bonus
+ * magiques d'une arme) ; les caractéristiques fixes sont reprises de la classe Java correspondante
+ * à la lecture. Un nouveau type doit être ajouté ici pour pouvoir être sauvegardé.
+ */
+public final class CatalogueSauvegarde {
+    private static final Map<String, Supplier<Race>> RACES = indexer(List.<Supplier<Race>>of(
+            Humain::new, Elfe::new, Nain::new, Halfelin::new), Race::getNomRace);
+
+    private static final Map<String, Supplier<Classe>> CLASSES = indexer(List.<Supplier<Classe>>of(
+            Guerrier::new, Clerc::new, Magicien::new, Roublard::new), Classe::getNomClasse);
+
+    private static final Map<String, Supplier<Equipement>> EQUIPEMENTS = indexer(List.<Supplier<Equipement>>of(
+            Baton::new, MasseDarmes::new, EpeeLongue::new, Rapiere::new, EpeeADeuxMains::new,
+            ArbaleteLegere::new, Fronde::new, ArcCourt::new,
+            ArmureDEcailles::new, DemiPlate::new, CotteDeMailles::new, Harnois::new), Equipement::getNom);
+
+    /** Classes Java des équipements du catalogue, pour refuser un autre type qui porterait le même nom */
+    private static final Set<Class<?>> TYPES_EQUIPEMENTS = typesEquipements();
+
+    private CatalogueSauvegarde() {
+    }
+
+    private static <T> Map<String, Supplier<T>> indexer(List<Supplier<T>> fabriques, Function<T, String> nom) {
+        Map<String, Supplier<T>> index = new HashMap<>();
+        for (Supplier<T> fabrique : fabriques) {
+            index.put(nom.apply(fabrique.get()), fabrique);
+        }
+        return index;
+    }
+
+    private static Set<Class<?>> typesEquipements() {
+        Set<Class<?>> types = new HashSet<>();
+        for (Supplier<Equipement> fabrique : EQUIPEMENTS.values()) {
+            types.add(fabrique.get().getClass());
+        }
+        return types;
+    }
+
+    /*============================Section Races et classes============================*/
+
+    /**
+     * Crée la race d'un nom.
+     * @param nom le nom de la race
+     * @return une nouvelle instance de la race
+     * @throws IllegalStateException si la race est inconnue
+     */
+    public static Race race(String nom) {
+        Supplier<Race> fabrique = RACES.get(nom);
+        if (fabrique == null) {
+            throw new IllegalStateException("Race inconnue dans la sauvegarde : " + nom);
+        }
+        return fabrique.get();
+    }
+
+    /**
+     * Crée la classe d'un nom.
+     * @param nom le nom de la classe
+     * @return une nouvelle instance de la classe
+     * @throws IllegalStateException si la classe est inconnue
+     */
+    public static Classe classe(String nom) {
+        Supplier<Classe> fabrique = CLASSES.get(nom);
+        if (fabrique == null) {
+            throw new IllegalStateException("Classe inconnue dans la sauvegarde : " + nom);
+        }
+        return fabrique.get();
+    }
+
+    /*============================Section Équipements============================*/
+
+    /**
+     * Écrit un équipement : son nom, puis les bonus d'attaque et de dégâts d'une arme.
+     *
+     * @param sortie la sauvegarde
+     * @param equipement l'équipement
+     * @throws IllegalArgumentException si le type de l'équipement n'est pas connu du catalogue
+     */
+    public static void ecrireEquipement(EcritureSauvegarde sortie, Equipement equipement) {
+        if (!TYPES_EQUIPEMENTS.contains(equipement.getClass())) {
+            throw new IllegalArgumentException("Équipement impossible à sauvegarder : " + equipement.getNom());
+        }
+        sortie.ecrireTexte(equipement.getNom());
+        if (equipement.estUneArme()) {
+            Arme arme = (Arme) equipement;
+            sortie.ecrireEntier(arme.getBonusAttaque());
+            sortie.ecrireEntier(arme.getBonusDegats());
+        }
+    }
+
+    /**
+     * Lit un équipement écrit par {@link #ecrireEquipement(EcritureSauvegarde, Equipement)}.
+     *
+     * @param entree la sauvegarde
+     * @return un nouvel équipement, bonus compris
+     * @throws IllegalStateException si l'équipement est inconnu
+     */
+    public static Equipement lireEquipement(LectureSauvegarde entree) {
+        String nom = entree.lireTexte();
+        Supplier<Equipement> fabrique = EQUIPEMENTS.get(nom);
+        if (fabrique == null) {
+            throw new IllegalStateException("Équipement inconnu dans la sauvegarde : " + nom);
+        }
+        Equipement equipement = fabrique.get();
+        if (equipement.estUneArme()) {
+            Arme arme = (Arme) equipement;
+            arme.ajouterBonusAttaque(entree.lireEntier());
+            arme.ajouterBonusDegats(entree.lireEntier());
+        }
+        return equipement;
+    }
+}
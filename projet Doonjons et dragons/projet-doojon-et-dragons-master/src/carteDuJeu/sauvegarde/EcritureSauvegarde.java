@@ -0,0 +1,166 @@
+package carteDuJeu.sauvegarde;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Contenu d'une sauvegarde en cours d'écriture : un tampon binaire qui grandit à la demande,
+ * et la table des objets déjà écrits.
+ *
+ * Chaque objet partagé (personnage, monstre, équipement au sol) est écrit une seule fois
+ * et reçoit un identifiant ({@link #enregistrer(Object)}) ; la carte et l'ordre d'initiative
+ * ne contiennent ensuite que des listes d'identifiants. Les valeurs sont écrites en taille fixe,
+ * dans l'ordre d'octets du {@link ByteBuffer} (gros-boutiste).
+ *
+ * Le contenu est écrit dans un fichier par {@link FichierSauvegarde#ecrire(java.nio.file.Path, EcritureSauvegarde)}.
+ */
+public class EcritureSauvegarde {
+    private static final int TAILLE_INITIALE = 4096;
+
+    private ByteBuffer m_tampon = ByteBuffer.allocate(TAILLE_INITIALE);
+    private final Map<Object, Integer> m_identifiants;
+
+    public EcritureSauvegarde() {
+        this.m_identifiants = new IdentityHashMap<>();
+    }
+
+    /**
+     * Crée un contenu vide qui partage la table des objets d'une sauvegarde déjà écrite :
+     * les objets y sont écrits par les identifiants qu'ils ont reçus dans cette sauvegarde.
+     * @param sauvegarde la sauvegarde dont les identifiants sont repris
+     */
+    EcritureSauvegarde(EcritureSauvegarde sauvegarde) {
+        this.m_identifiants = sauvegarde.m_identifiants;
+    }
+
+    /*============================Section Valeurs============================*/
+
+    public void ecrireOctet(int valeur) {
+        assurer(1);
+        m_tampon.put((byte) valeur);
+    }
+
+    public void ecrireBooleen(boolean valeur) {
+        ecrireOctet(valeur ? 1 : 0);
+    }
+
+    public void ecrireEntier(int valeur) {
+        assurer(Integer.BYTES);
+        m_tampon.putInt(valeur);
+    }
+
+    public void ecrireLong(long valeur) {
+        assurer(Long.BYTES);
+        m_tampon.putLong(valeur);
+    }
+
+    /**
+     * Écrit un tableau de long (une couche de bits de la carte, par exemple) : sa taille puis ses mots.
+     * @param valeurs le tableau
+     */
+    public void ecrireLongs(long[] valeurs) {
+        ecrireEntier(valeurs.length);
+        assurer(valeurs.length * Long.BYTES);
+        m_tampon.asLongBuffer().put(valeurs);
+        m_tampon.position(m_tampon.position() + valeurs.length * Long.BYTES);
+    }
+
+    /**
+     * Écrit un texte en UTF-8, précédé de sa longueur en octets (-1 pour null).
+     * @param texte le texte, éventuellement null
+     */
+    public void ecrireTexte(String texte) {
+        if (texte == null) {
+            ecrireEntier(-1);
+            return;
+        }
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        ecrireEntier(octets.length);
+        assurer(octets.length);
+        m_tampon.put(octets);
+    }
+
+    /*============================Section Identifiants============================*/
+
+    /**
+     * Attribue l'identifiant suivant à un objet, qui doit être écrit juste après :
+     * la lecture attribue les identifiants dans le même ordre ({@link LectureSauvegarde#enregistrer(Object)}).
+     *
+     * @param objet l'objet partagé
+     * @return son identifiant
+     * @throws IllegalArgumentException si l'objet est null ou déjà enregistré
+     */
+    public int enregistrer(Object objet) {
+        if (objet == null) {
+            throw new IllegalArgumentException("Impossible d'enregistrer un objet null dans une sauvegarde");
+        }
+        int identifiant = m_identifiants.size();
+        if (m_identifiants.putIfAbsent(objet, identifiant) != null) {
+            throw new IllegalArgumentException("Objet déjà enregistré dans la sauvegarde : " + objet);
+        }
+        return identifiant;
+    }
+
+    /**
+     * Retourne l'identifiant d'un objet déjà écrit.
+     * @param objet l'objet
+     * @return son identifiant, ou -1 s'il n'a pas été enregistré
+     */
+    public int identifiant(Object objet) {
+        Integer identifiant = m_identifiants.get(objet);
+        return identifiant == null ? -1 : identifiant;
+    }
+
+    /**
+     * Écrit l'identifiant d'un objet déjà écrit.
+     * @param objet l'objet
+     * @throws IllegalStateException si l'objet n'a pas été enregistré
+     */
+    public void ecrireReference(Object objet) {
+        int identifiant = identifiant(objet);
+        if (identifiant < 0) {
+            throw new IllegalStateException("Objet absent de la sauvegarde : " + objet);
+        }
+        ecrireEntier(identifiant);
+    }
+
+    /*============================Section Tampon============================*/
+
+    /**
+     * Retourne le contenu écrit, prêt à être lu (position 0, limite à la fin des données).
+     * @return une vue du tampon
+     */
+    ByteBuffer contenu() {
+        return m_tampon.duplicate().flip();
+    }
+
+    public int getTaille() {
+        return m_tampon.position();
+    }
+
+    /**
+     * Efface le contenu écrit pour réutiliser le tampon ; la table des objets est conservée.
+     */
+    void vider() {
+        m_tampon.clear();
+    }
+
+    private void assurer(int octets) {
+        if (m_tampon.remaining() < octets) {
+            int capacite = Math.max(m_tampon.capacity() * 2, m_tampon.position() + octets);
+            ByteBuffer agrandi = ByteBuffer.allocate(capacite);
+            m_tampon.flip();
+            agrandi.put(m_tampon);
+            m_tampon = agrandi;
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "EcritureSauvegarde{taille=" + m_tampon.position() + ", objets=" + m_identifiants.size() + "}";
+    }
+}
@@ -0,0 +1,133 @@
+package carteDuJeu.sauvegarde;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Lecture et écriture des fichiers de sauvegarde.
+ *
+ * Un fichier commence par un en-tête de 16 octets : {@link #MAGIQUE}, la version du format,
+ * la taille du contenu et sa somme de contrôle CRC32 ; le contenu suit.
+ * Les fichiers sont lus et écrits en un seul bloc par un {@link FileChannel}.
+ *
+ * L'écriture passe par un fichier temporaire, forcé sur le disque puis renommé à la place de l'ancien :
+ * un arrêt brutal pendant l'écriture laisse la sauvegarde précédente intacte.
+ * À la lecture, un fichier tronqué ou dont la somme de contrôle ne correspond pas est refusé.
+ */
+public final class FichierSauvegarde {
+    /** "DDJS" : Donjons et Dragons, Jeu Sauvegardé */
+    static final int MAGIQUE = 0x44444A53;
+
+    /**
+     * Version du format écrit ; les versions de 1 à celle-ci sont lisibles.
+     * La version 2 ajoute l'état exact du générateur et la position d'un combat en cours dans son tour.
+     * La version 3 remplace l'ordre de jeu par les initiatives de l'ordonnanceur et ajoute les alliés
+     * arrivés en cours de combat.
+     * La version 4 ajoute les identifiants des entités de chaque donjon ({@link carteDuJeu.RegistreEntites}).
+     */
+    public static final int VERSION = 4;
+
+    private static final int TAILLE_ENTETE = 16;
+
+    private FichierSauvegarde() {
+    }
+
+    /**
+     * Écrit une sauvegarde dans un fichier, en remplaçant l'éventuelle sauvegarde précédente.
+     *
+     * @param fichier le fichier de sauvegarde
+     * @param contenu le contenu à écrire
+     * @return la somme de contrôle du contenu, qui identifie la sauvegarde ({@link LectureSauvegarde#getSommeControle()})
+     * @throws IOException si l'écriture échoue (la sauvegarde précédente est alors conservée)
+     */
+    public static int ecrire(Path fichier, EcritureSauvegarde contenu) throws IOException {
+        ByteBuffer donnees = contenu.contenu();
+        CRC32 crc = new CRC32();
+        crc.update(donnees.duplicate());
+
+        ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+        entete.putInt(MAGIQUE).putInt(VERSION).putInt(donnees.remaining()).putInt((int) crc.getValue()).flip();
+
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] blocs = {entete, donnees};
+            while (donnees.hasRemaining()) {
+                canal.write(blocs);
+            }
+            canal.force(false);
+        }
+        remplacer(temporaire, fichier);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Renomme un fichier temporaire déjà écrit à la place d'un fichier, de façon atomique si le système le permet.
+     */
+    static void remplacer(Path temporaire, Path fichier) throws IOException {
+        try {
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lit une sauvegarde et vérifie son intégrité.
+     *
+     * @param fichier le fichier de sauvegarde
+     * @return le contenu, prêt à être relu
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas une sauvegarde, ou d'une version non prise en charge
+     * @throws IllegalStateException si la sauvegarde est tronquée ou corrompue
+     */
+    public static LectureSauvegarde lire(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_ENTETE) {
+                throw new IllegalArgumentException("Le fichier n'est pas une sauvegarde : " + fichier);
+            }
+            ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+            lireTout(canal, entete);
+            entete.flip();
+            if (entete.getInt() != MAGIQUE) {
+                throw new IllegalArgumentException("Le fichier n'est pas une sauvegarde : " + fichier);
+            }
+            int version = entete.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Version de sauvegarde non prise en charge : " + version);
+            }
+            int longueur = entete.getInt();
+            int crcAttendu = entete.getInt();
+            if (longueur < 0 || longueur != taille - TAILLE_ENTETE) {
+                throw new IllegalStateException("Sauvegarde tronquée : " + (taille - TAILLE_ENTETE)
+                        + " octets de contenu au lieu de " + longueur);
+            }
+
+            ByteBuffer donnees = ByteBuffer.allocate(longueur);
+            lireTout(canal, donnees);
+            donnees.flip();
+            CRC32 crc = new CRC32();
+            crc.update(donnees.duplicate());
+            if ((int) crc.getValue() != crcAttendu) {
+                throw new IllegalStateException("Sauvegarde corrompue : somme de contrôle incorrecte");
+            }
+            return new LectureSauvegarde(donnees, version, crcAttendu);
+        }
+    }
+
+    private static void lireTout(FileChannel canal, ByteBuffer tampon) throws IOException {
+        while (tampon.hasRemaining()) {
+            if (canal.read(tampon) < 0) {
+                throw new IllegalStateException("Sauvegarde tronquée");
+            }
+        }
+    }
+}
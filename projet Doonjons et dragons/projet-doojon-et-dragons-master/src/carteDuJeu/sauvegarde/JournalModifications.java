@@ -0,0 +1,674 @@
+package carteDuJeu.sauvegarde;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Donjon;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.ObservateurCarte;
+import carteDuJeu.OrdonnanceurInitiative;
+import carteDuJeu.Tours;
+import carteDuJeu.evenements.AbonneEvenements;
+import carteDuJeu.evenements.EvenementArrivee;
+import carteDuJeu.evenements.EvenementDebutCombat;
+import carteDuJeu.evenements.EvenementDegats;
+import carteDuJeu.evenements.EvenementFinAction;
+import carteDuJeu.evenements.EvenementFinCombat;
+import carteDuJeu.evenements.EvenementMaitreDuJeu;
+import carteDuJeu.evenements.EvenementMort;
+import carteDuJeu.evenements.EvenementRamassage;
+import carteDuJeu.evenements.EvenementSort;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Sauvegarde automatique incrémentale d'une partie : une sauvegarde complète ({@link FichierSauvegarde}),
+ * suivie d'un journal de modifications écrit avant tout le reste (journal d'écriture anticipée).
+ *
+ * Abonné au bus du combat suivi ({@link #suivre(Donjon, GenerateurAleatoire)}) et observateur de sa carte,
+ * le journal ajoute un enregistrement après chaque action d'une entité ({@link EvenementFinAction}) :
+ * la position dans le combat (tour, entité, actions restantes), l'état du générateur aléatoire,
+ * les initiatives si elles ont été tirées à nouveau, puis l'état des seules entités et des seules cases
+ * modifiées par l'action. Une entité est marquée au moment où un événement la touche (son action,
+ * des dégâts, sa mort, un sort, un ramassage, une intervention du Maître du Jeu, son arrivée sur une case
+ * ou son départ) ; seules les entités marquées sont relues, et écrites si leur état a vraiment changé.
+ * Le volume écrit et le travail fait par action ne dépendent donc que de ce que l'action a touché,
+ * pas de la taille de la carte ni du nombre d'entités.
+ *
+ * Chaque enregistrement est écrit dans le fichier dès la fin de l'action : un arrêt brutal du programme
+ * ne le perd pas. Le forçage sur le disque, qui protège aussi d'une panne du système, est regroupé :
+ * il n'a lieu que tous les {@link #setTailleGroupe(int) n enregistrements}, quand le plus ancien
+ * enregistrement non forcé dépasse {@link #setDelaiGroupe(long) un délai}, et à la fin de chaque combat.
+ *
+ * Au début de chaque combat, à l'arrivée d'une entité en cours de combat (absente de la sauvegarde complète)
+ * et dès que le journal dépasse {@link #setSeuilCompaction(long) un seuil}, il est compacté : une nouvelle sauvegarde complète est écrite et le journal repart à vide.
+ * L'en-tête du journal contient la somme de contrôle de la sauvegarde à laquelle il s'applique ;
+ * un journal qui ne correspond plus à la sauvegarde (arrêt entre les deux écritures) est ignoré.
+ *
+ * Après un arrêt, {@link #rejouer(Path, LectureSauvegarde, Donjon, GenerateurAleatoire)} applique
+ * le journal à la sauvegarde relue, jusqu'au dernier enregistrement complet, et replace le combat
+ * à l'entité et à l'action où il s'était arrêté. Un journal n'est pas fait pour être partagé entre threads.
+ */
+public class JournalModifications implements AbonneEvenements, ObservateurCarte, Closeable {
+    /** "DDJW" : Donjons et Dragons, Journal d'écriture anticipée */
+    static final int MAGIQUE = 0x44444A57;
+
+    /**
+     * Version du format du journal. La version 2 désigne l'entité en train de jouer au lieu de son rang
+     * et ajoute l'ordre d'initiative quand il a été retiré ; les journaux de version 1 ne sont plus relus.
+     */
+    public static final int VERSION = 2;
+
+    /** Nombre d'enregistrements au plus entre deux forçages sur le disque, par défaut */
+    public static final int TAILLE_GROUPE = 16;
+
+    /** Délai au plus, en millisecondes, avant de forcer sur le disque un enregistrement écrit, par défaut */
+    public static final long DELAI_GROUPE = 200;
+
+    /** Taille du journal, en octets, au-delà de laquelle il est compacté, par défaut */
+    public static final long SEUIL_COMPACTION = 1 << 20;
+
+    private static final int TAILLE_ENTETE = 12;
+    private static final int TAILLE_ENTETE_ENREGISTREMENT = 8;
+
+    private final Path m_fichierSauvegarde;
+    private final Path m_fichierJournal;
+    private final Consumer<EcritureSauvegarde> m_instantane;
+
+    /** Journal ouvert en écriture, null avant la première sauvegarde complète */
+    private FileChannel m_canal;
+    private long m_tailleJournal;
+
+    /** Enregistrement en cours, qui reprend les identifiants de la dernière sauvegarde complète */
+    private EcritureSauvegarde m_enregistrement;
+    /** Tampon où chaque entité marquée est écrite pour savoir si elle a changé */
+    private final EcritureSauvegarde m_brouillon = new EcritureSauvegarde();
+    private final ByteBuffer m_enteteEnregistrement = ByteBuffer.allocate(TAILLE_ENTETE_ENREGISTREMENT);
+    private final CRC32 m_crc = new CRC32();
+
+    /** Combat suivi, null si aucun */
+    private Donjon m_donjon;
+    private Carte m_carte;
+    private GenerateurAleatoire m_generateur;
+
+    /** Entités du combat suivi, avec leur dernier état écrit et leur marque */
+    private final Map<ElementMobile, EtatEntite> m_etatsEntites = new IdentityHashMap<>();
+    /** Entités marquées depuis le dernier enregistrement, dans l'ordre de leur marque */
+    private final List<ElementMobile> m_entitesMarquees = new ArrayList<>();
+    private final List<ElementMobile> m_entitesModifiees = new ArrayList<>();
+
+    /** Tirages d'initiative du combat suivi déjà écrits ({@link OrdonnanceurInitiative#getVersionTirages()}) */
+    private int m_versionTirages;
+
+    /** Cases modifiées depuis le dernier enregistrement, et leurs marques pour ne les noter qu'une fois */
+    private int[] m_casesModifiees = new int[16];
+    private int m_nombreCasesModifiees;
+    private long[] m_marquesCases = new long[0];
+
+    /** Regroupement des forçages sur le disque */
+    private int m_tailleGroupe = TAILLE_GROUPE;
+    private long m_delaiGroupe = DELAI_GROUPE;
+    private long m_seuilCompaction = SEUIL_COMPACTION;
+    private int m_enAttente;
+    private long m_debutAttente;
+
+    private int m_nombreEnregistrements;
+    private int m_nombreSynchronisations;
+    private int m_nombreCompactions;
+
+    /**
+     * État d'une entité suivie : ce qui a été écrit d'elle en dernier, et si un événement l'a touchée depuis.
+     */
+    private static final class EtatEntite {
+        private ByteBuffer m_ecrit;
+        private boolean m_marquee;
+    }
+
+    /**
+     * Prépare la sauvegarde incrémentale d'une partie. Aucun fichier n'est écrit avant
+     * la première sauvegarde complète ({@link #compacter()}).
+     *
+     * @param fichierSauvegarde le fichier de la sauvegarde complète ; le journal est écrit à côté ({@link #fichierJournal(Path)})
+     * @param instantane écrit l'état complet de la partie dans une sauvegarde
+     */
+    public JournalModifications(Path fichierSauvegarde, Consumer<EcritureSauvegarde> instantane) {
+        this.m_fichierSauvegarde = fichierSauvegarde;
+        this.m_fichierJournal = fichierJournal(fichierSauvegarde);
+        this.m_instantane = instantane;
+    }
+
+    /**
+     * Retourne le fichier du journal de modifications associé à une sauvegarde.
+     * @param fichierSauvegarde le fichier de la sauvegarde complète
+     * @return le fichier du journal, à côté de la sauvegarde
+     */
+    public static Path fichierJournal(Path fichierSauvegarde) {
+        return fichierSauvegarde.resolveSibling(fichierSauvegarde.getFileName() + ".wal");
+    }
+
+    /*============================Section Suivi============================*/
+
+    /**
+     * Suit le combat d'un donjon : ses actions sont enregistrées dans le journal à partir du début du combat.
+     * Le combat suivi précédemment ne l'est plus.
+     *
+     * @param donjon le donjon, déjà mis en place
+     * @param generateur le générateur aléatoire de la partie
+     * @throws IllegalArgumentException si le donjon n'a pas de carte
+     */
+    public void suivre(Donjon donjon, GenerateurAleatoire generateur) {
+        if (donjon.getCarte() == null) {
+            throw new IllegalArgumentException("Le donjon " + donjon.getNumeroDonjon() + " n'a pas de carte");
+        }
+        arreterSuivi();
+        m_donjon = donjon;
+        m_carte = donjon.getCarte();
+        m_generateur = generateur;
+        for (ElementMobile entite : donjon.getJoueurs()) {
+            m_etatsEntites.put(entite, new EtatEntite());
+        }
+        for (ElementMobile entite : donjon.getMonstres()) {
+            m_etatsEntites.put(entite, new EtatEntite());
+        }
+        m_marquesCases = new long[(m_carte.getLargeur() * m_carte.getHauteur() + 63) >>> 6];
+        m_carte.ajouterObservateur(this);
+        donjon.getGestionTours().getBus().abonner(this);
+    }
+
+    private void arreterSuivi() {
+        if (m_donjon != null) {
+            m_carte.retirerObservateur(this);
+            m_donjon.getGestionTours().getBus().desabonner(this);
+        }
+        m_donjon = null;
+        m_carte = null;
+        m_generateur = null;
+        m_etatsEntites.clear();
+        m_entitesMarquees.clear();
+        m_nombreCasesModifiees = 0;
+    }
+
+    @Override
+    public void debutCombat(EvenementDebutCombat evenement) {
+        try {
+            compacter();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sauvegarde de la partie impossible", e);
+        }
+    }
+
+    @Override
+    public void arrivee(EvenementArrivee evenement) {
+        // Les enregistrements ne désignent que des objets de la sauvegarde complète : il en faut une nouvelle
+        m_etatsEntites.put(evenement.getEntite(), new EtatEntite());
+        try {
+            compacter();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sauvegarde de la partie impossible", e);
+        }
+    }
+
+    @Override
+    public void finAction(EvenementFinAction evenement) {
+        // L'entité qui vient d'agir a pu changer elle-même d'état (équipement, inventaire) sans autre événement
+        marquerEntite(evenement.getEntite());
+        try {
+            ecrireEnregistrement();
+            if (m_tailleJournal >= m_seuilCompaction) {
+                compacter();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal de modifications impossible", e);
+        }
+    }
+
+    @Override
+    public void finCombat(EvenementFinCombat evenement) {
+        try {
+            synchroniser();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal de modifications impossible", e);
+        }
+    }
+
+    @Override
+    public void degats(EvenementDegats evenement) {
+        marquerEntite(evenement.getCible());
+    }
+
+    @Override
+    public void mort(EvenementMort evenement) {
+        marquerEntite(evenement.getEntite());
+    }
+
+    @Override
+    public void sort(EvenementSort evenement) {
+        marquerEntite(evenement.getLanceur());
+        for (ElementMobile cible : evenement.getCibles()) {
+            marquerEntite(cible);
+        }
+    }
+
+    @Override
+    public void ramassage(EvenementRamassage evenement) {
+        marquerEntite(evenement.getPersonnage());
+    }
+
+    @Override
+    public void interventionMaitreDuJeu(EvenementMaitreDuJeu evenement) {
+        marquerEntite(evenement.getCible());
+    }
+
+    @Override
+    public void contenuModifie(int x, int y) {
+        marquerCase(y * m_carte.getLargeur() + x);
+    }
+
+    @Override
+    public void obstacleModifie(int x, int y) {
+        marquerCase(y * m_carte.getLargeur() + x);
+    }
+
+    @Override
+    public void elementMobileAjoute(ElementMobile element, int x, int y) {
+        marquerEntite(element);
+    }
+
+    @Override
+    public void elementMobileRetire(ElementMobile element, int x, int y) {
+        marquerEntite(element);
+    }
+
+    /**
+     * Marque une entité du combat suivi pour l'écrire dans le prochain enregistrement.
+     * Une entité déjà marquée, absente de la sauvegarde complète ou null est ignorée.
+     */
+    private void marquerEntite(ElementMobile entite) {
+        EtatEntite etat = entite != null ? m_etatsEntites.get(entite) : null;
+        if (etat != null && !etat.m_marquee) {
+            etat.m_marquee = true;
+            m_entitesMarquees.add(entite);
+        }
+    }
+
+    private void marquerCase(int indice) {
+        long bit = 1L << indice;
+        if ((m_marquesCases[indice >>> 6] & bit) != 0) {
+            return;
+        }
+        m_marquesCases[indice >>> 6] |= bit;
+        if (m_nombreCasesModifiees == m_casesModifiees.length) {
+            m_casesModifiees = Arrays.copyOf(m_casesModifiees, m_nombreCasesModifiees * 2);
+        }
+        m_casesModifiees[m_nombreCasesModifiees++] = indice;
+    }
+
+    /*============================Section Écriture============================*/
+
+    /**
+     * Écrit une sauvegarde complète de la partie, puis repart d'un journal vide qui s'y applique.
+     * Si l'écriture est interrompue, l'ancienne sauvegarde et son journal restent cohérents.
+     *
+     * @throws IOException si l'écriture échoue
+     */
+    public void compacter() throws IOException {
+        EcritureSauvegarde instantane = new EcritureSauvegarde();
+        m_instantane.accept(instantane);
+        int sommeControle = FichierSauvegarde.ecrire(m_fichierSauvegarde, instantane);
+
+        // Le nouveau journal, vide, remplace l'ancien d'un bloc
+        if (m_canal != null) {
+            m_canal.close();
+            m_canal = null;
+        }
+        Path temporaire = m_fichierJournal.resolveSibling(m_fichierJournal.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+            entete.putInt(MAGIQUE).putInt(VERSION).putInt(sommeControle).flip();
+            while (entete.hasRemaining()) {
+                canal.write(entete);
+            }
+            canal.force(false);
+        }
+        FichierSauvegarde.remplacer(temporaire, m_fichierJournal);
+        m_canal = FileChannel.open(m_fichierJournal, StandardOpenOption.WRITE);
+        m_canal.position(TAILLE_ENTETE);
+        m_tailleJournal = TAILLE_ENTETE;
+        m_enAttente = 0;
+        m_nombreCompactions++;
+
+        // Les enregistrements suivants désignent les objets par leurs identifiants dans cette sauvegarde
+        m_enregistrement = new EcritureSauvegarde(instantane);
+        for (Map.Entry<ElementMobile, EtatEntite> entree : m_etatsEntites.entrySet()) {
+            m_brouillon.vider();
+            sauvegarderEntite(m_brouillon, entree.getKey());
+            entree.getValue().m_ecrit = copier(m_brouillon.contenu());
+            entree.getValue().m_marquee = false;
+        }
+        m_entitesMarquees.clear();
+        if (m_donjon != null) {
+            m_versionTirages = m_donjon.getOrdonnanceur().getVersionTirages();
+        }
+        effacerCasesModifiees();
+    }
+
+    /**
+     * Ajoute au journal l'enregistrement de la dernière action du combat suivi.
+     */
+    private void ecrireEnregistrement() throws IOException {
+        if (m_canal == null || m_donjon == null) {
+            return;
+        }
+        Tours tours = m_donjon.getGestionTours();
+        OrdonnanceurInitiative ordonnanceur = m_donjon.getOrdonnanceur();
+        EcritureSauvegarde enregistrement = m_enregistrement;
+        enregistrement.vider();
+        enregistrement.ecrireEntier(tours.getNumeroTour());
+        ElementMobile entiteActuelle = tours.getEntiteActuelle();
+        enregistrement.ecrireEntier(entiteActuelle != null && ordonnanceur.contient(entiteActuelle)
+                ? enregistrement.identifiant(entiteActuelle) : -1);
+        enregistrement.ecrireEntier(tours.getActionsRestantes());
+        enregistrement.ecrireBooleen(ordonnanceur.estTourCommence());
+        enregistrement.ecrireLong(ordonnanceur.getCleCourante());
+        enregistrement.ecrireLong(m_generateur.getEtat());
+        enregistrement.ecrireLong(m_generateur.getGamma());
+
+        // Les initiatives ne sont écrites que si elles ont été tirées à nouveau (relance à chaque tour) ;
+        // les morts, retirés de l'ordre de jeu, le sont aussi à la reprise
+        boolean nouveauxTirages = ordonnanceur.getVersionTirages() != m_versionTirages;
+        enregistrement.ecrireBooleen(nouveauxTirages);
+        if (nouveauxTirages) {
+            ordonnanceur.sauvegarderTirages(enregistrement);
+            m_versionTirages = ordonnanceur.getVersionTirages();
+        }
+
+        // Seules les entités marquées sont relues, et seules celles dont l'état a changé sont écrites
+        m_entitesModifiees.clear();
+        for (ElementMobile entite : m_entitesMarquees) {
+            EtatEntite etat = m_etatsEntites.get(entite);
+            etat.m_marquee = false;
+            m_brouillon.vider();
+            sauvegarderEntite(m_brouillon, entite);
+            ByteBuffer contenu = m_brouillon.contenu();
+            if (!contenu.equals(etat.m_ecrit)) {
+                etat.m_ecrit = copier(contenu);
+                m_entitesModifiees.add(entite);
+            }
+        }
+        m_entitesMarquees.clear();
+        enregistrement.ecrireEntier(m_entitesModifiees.size());
+        for (ElementMobile entite : m_entitesModifiees) {
+            enregistrement.ecrireReference(entite);
+            sauvegarderEntite(enregistrement, entite);
+        }
+        m_carte.sauvegarderCases(enregistrement, m_casesModifiees, m_nombreCasesModifiees);
+        effacerCasesModifiees();
+
+        ByteBuffer contenu = enregistrement.contenu();
+        m_crc.reset();
+        m_crc.update(contenu.duplicate());
+        m_enteteEnregistrement.clear();
+        m_enteteEnregistrement.putInt(contenu.remaining()).putInt((int) m_crc.getValue()).flip();
+        m_tailleJournal += TAILLE_ENTETE_ENREGISTREMENT + contenu.remaining();
+        ByteBuffer[] blocs = {m_enteteEnregistrement, contenu};
+        while (contenu.hasRemaining()) {
+            m_canal.write(blocs);
+        }
+        m_nombreEnregistrements++;
+
+        if (m_enAttente++ == 0) {
+            m_debutAttente = System.nanoTime();
+        }
+        if (m_enAttente >= m_tailleGroupe || System.nanoTime() - m_debutAttente >= m_delaiGroupe * 1_000_000L) {
+            synchroniser();
+        }
+    }
+
+    /**
+     * Force sur le disque les enregistrements du journal qui ne l'ont pas encore été.
+     *
+     * @throws IOException si l'écriture échoue
+     */
+    public void synchroniser() throws IOException {
+        if (m_canal != null && m_enAttente > 0) {
+            m_canal.force(false);
+            m_enAttente = 0;
+            m_nombreSynchronisations++;
+        }
+    }
+
+    private void effacerCasesModifiees() {
+        for (int i = 0; i < m_nombreCasesModifiees; i++) {
+            m_marquesCases[m_casesModifiees[i] >>> 6] = 0;
+        }
+        m_nombreCasesModifiees = 0;
+    }
+
+    private static void sauvegarderEntite(EcritureSauvegarde sortie, ElementMobile entite) {
+        if (entite.estPersonnage()) {
+            ((Personnage) entite).sauvegarder(sortie);
+        } else {
+            ((Monstre) entite).sauvegarder(sortie);
+        }
+    }
+
+    private static ByteBuffer copier(ByteBuffer tampon) {
+        ByteBuffer copie = ByteBuffer.allocate(tampon.remaining());
+        copie.put(tampon.duplicate()).flip();
+        return copie;
+    }
+
+    /*============================Section Reprise============================*/
+
+    /**
+     * Applique à une sauvegarde relue le journal de modifications écrit à sa suite,
+     * jusqu'au dernier enregistrement complet, et replace le combat à l'entité et à l'action
+     * qui suivent ce dernier enregistrement (générateur aléatoire compris).
+     * Un journal absent, vide ou qui s'applique à une autre sauvegarde ne change rien.
+     *
+     * @param fichierSauvegarde le fichier de la sauvegarde complète
+     * @param sauvegarde la sauvegarde relue, dont les objets sont désignés par le journal
+     * @param donjon le donjon dont le combat était en cours
+     * @param generateur le générateur aléatoire de la partie
+     * @return le nombre d'enregistrements appliqués
+     * @throws IOException si le journal ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier du journal n'est pas un journal de modifications
+     * @throws IllegalStateException si un enregistrement complet est incohérent avec la sauvegarde
+     */
+    public static int rejouer(Path fichierSauvegarde, LectureSauvegarde sauvegarde, Donjon donjon,
+                              GenerateurAleatoire generateur) throws IOException {
+        Path fichier = fichierJournal(fichierSauvegarde);
+        if (!Files.exists(fichier)) {
+            return 0;
+        }
+        ByteBuffer journal;
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            journal = ByteBuffer.allocate((int) Math.min(canal.size(), Integer.MAX_VALUE));
+            while (journal.hasRemaining() && canal.read(journal) >= 0) {
+                // lecture du journal entier, borné par le seuil de compaction
+            }
+            journal.flip();
+        }
+        if (journal.remaining() < TAILLE_ENTETE || journal.getInt() != MAGIQUE) {
+            throw new IllegalArgumentException("Le fichier n'est pas un journal de modifications : " + fichier);
+        }
+        int version = journal.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Version de journal de modifications non prise en charge : " + version);
+        }
+        if (journal.getInt() != sauvegarde.getSommeControle()) {
+            return 0;
+        }
+
+        Carte carte = donjon.getCarte();
+        CRC32 crc = new CRC32();
+        int nombre = 0;
+        int numeroTour = 0;
+        int identifiantEntite = -1;
+        int actionsRestantes = 0;
+        boolean tourCommence = false;
+        long cleCourante = 0;
+        long etat = 0;
+        long gamma = 0;
+        while (journal.remaining() >= TAILLE_ENTETE_ENREGISTREMENT) {
+            int longueur = journal.getInt();
+            int crcAttendu = journal.getInt();
+            if (longueur < 0 || longueur > journal.remaining()) {
+                break; // dernier enregistrement interrompu par l'arrêt
+            }
+            ByteBuffer contenu = journal.slice(journal.position(), longueur);
+            crc.reset();
+            crc.update(contenu.duplicate());
+            if ((int) crc.getValue() != crcAttendu) {
+                break;
+            }
+            journal.position(journal.position() + longueur);
+
+            LectureSauvegarde entree = new LectureSauvegarde(contenu, sauvegarde);
+            numeroTour = entree.lireEntier();
+            identifiantEntite = entree.lireEntier();
+            actionsRestantes = entree.lireEntier();
+            tourCommence = entree.lireBooleen();
+            cleCourante = entree.lireLong();
+            etat = entree.lireLong();
+            gamma = entree.lireLong();
+            if (entree.lireBooleen()) {
+                donjon.getOrdonnanceur().restaurerTirages(entree);
+            }
+            int nombreEntites = entree.lireTaille();
+            for (int i = 0; i < nombreEntites; i++) {
+                ElementMobile entite = entree.lireReference(ElementMobile.class);
+                if (entite.estPersonnage()) {
+                    ((Personnage) entite).restaurerEtat(entree);
+                } else {
+                    ((Monstre) entite).restaurerEtat(entree);
+                }
+            }
+            carte.restaurerCases(entree);
+            nombre++;
+        }
+
+        if (nombre > 0) {
+            try {
+                generateur.setEtat(etat, gamma);
+                donjon.getOrdonnanceur().reprendre(tourCommence, cleCourante);
+                ElementMobile entite = identifiantEntite < 0 ? null
+                        : sauvegarde.objet(identifiantEntite, ElementMobile.class);
+                donjon.getGestionTours().reprendreA(numeroTour, entite, actionsRestantes);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Journal de modifications corrompu : " + e.getMessage(), e);
+            }
+        }
+        return nombre;
+    }
+
+    /*============================Section Réglages============================*/
+
+    /**
+     * Définit le nombre d'enregistrements au plus entre deux forçages sur le disque.
+     * 1 force chaque action sur le disque ; plus le groupe est grand, moins le journal coûte,
+     * et plus une panne du système (pas un simple arrêt du programme) peut effacer d'actions.
+     *
+     * @param tailleGroupe le nombre d'enregistrements, au moins 1
+     * @throws IllegalArgumentException si le nombre est inférieur à 1
+     */
+    public void setTailleGroupe(int tailleGroupe) {
+        if (tailleGroupe < 1) {
+            throw new IllegalArgumentException("Un groupe compte au moins un enregistrement");
+        }
+        this.m_tailleGroupe = tailleGroupe;
+    }
+
+    /**
+     * Définit le délai au plus avant de forcer sur le disque un enregistrement écrit.
+     * Le délai est vérifié à chaque enregistrement.
+     *
+     * @param delai le délai en millisecondes, positif ou nul
+     * @throws IllegalArgumentException si le délai est négatif
+     */
+    public void setDelaiGroupe(long delai) {
+        if (delai < 0) {
+            throw new IllegalArgumentException("Le délai ne peut pas être négatif");
+        }
+        this.m_delaiGroupe = delai;
+    }
+
+    /**
+     * Définit la taille du journal au-delà de laquelle il est compacté en une sauvegarde complète.
+     *
+     * @param seuil la taille en octets, au moins celle de l'en-tête
+     * @throws IllegalArgumentException si le seuil est trop petit
+     */
+    public void setSeuilCompaction(long seuil) {
+        if (seuil <= TAILLE_ENTETE) {
+            throw new IllegalArgumentException("Le seuil de compaction doit dépasser " + TAILLE_ENTETE + " octets");
+        }
+        this.m_seuilCompaction = seuil;
+    }
+
+    /*============================Section Getters============================*/
+
+    public Path getFichierSauvegarde() {
+        return m_fichierSauvegarde;
+    }
+
+    public Path getFichierJournal() {
+        return m_fichierJournal;
+    }
+
+    public long getTailleJournal() {
+        return m_tailleJournal;
+    }
+
+    public int getNombreEnregistrements() {
+        return m_nombreEnregistrements;
+    }
+
+    public int getNombreSynchronisations() {
+        return m_nombreSynchronisations;
+    }
+
+    public int getNombreCompactions() {
+        return m_nombreCompactions;
+    }
+
+    /**
+     * Force sur le disque les derniers enregistrements, ferme le journal et cesse de suivre le combat.
+     *
+     * @throws IOException si l'écriture échoue
+     */
+    @Override
+    public void close() throws IOException {
+        arreterSuivi();
+        if (m_canal != null) {
+            synchroniser();
+            m_canal.close();
+            m_canal = null;
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "JournalModifications{fichier=" + m_fichierJournal + ", taille=" + m_tailleJournal
+                + ", enregistrements=" + m_nombreEnregistrements + ", synchronisations=" + m_nombreSynchronisations
+                + ", compactions=" + m_nombreCompactions + "}";
+    }
+}
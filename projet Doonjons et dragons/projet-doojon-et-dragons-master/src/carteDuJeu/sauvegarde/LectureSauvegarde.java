@@ -0,0 +1,176 @@
+package carteDuJeu.sauvegarde;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contenu d'une sauvegarde en cours de lecture, obtenu avec {@link FichierSauvegarde#lire(java.nio.file.Path)}.
+ *
+ * Les valeurs sont relues dans l'ordre où elles ont été écrites par {@link EcritureSauvegarde} ;
+ * les objets partagés sont enregistrés au fur et à mesure de leur lecture, ce qui redonne à chacun
+ * l'identifiant qu'il avait à l'écriture.
+ */
+public class LectureSauvegarde {
+    private final ByteBuffer m_tampon;
+    private final int m_version;
+    private final int m_sommeControle;
+    private final List<Object> m_objets;
+
+    LectureSauvegarde(ByteBuffer tampon, int version, int sommeControle) {
+        this.m_tampon = tampon;
+        this.m_version = version;
+        this.m_sommeControle = sommeControle;
+        this.m_objets = new ArrayList<>();
+    }
+
+    /**
+     * Prépare la lecture d'un contenu qui fait référence aux objets d'une sauvegarde déjà lue,
+     * par les identifiants qu'ils y avaient (un enregistrement du journal de modifications).
+     * @param tampon le contenu
+     * @param sauvegarde la sauvegarde dont les objets sont repris
+     */
+    LectureSauvegarde(ByteBuffer tampon, LectureSauvegarde sauvegarde) {
+        this.m_tampon = tampon;
+        this.m_version = sauvegarde.m_version;
+        this.m_sommeControle = sauvegarde.m_sommeControle;
+        this.m_objets = sauvegarde.m_objets;
+    }
+
+    /**
+     * Retourne la version du format dans laquelle la sauvegarde a été écrite.
+     * @return la version
+     */
+    public int getVersion() {
+        return m_version;
+    }
+
+    /**
+     * Retourne la somme de contrôle CRC32 du contenu de la sauvegarde, qui l'identifie.
+     * @return la somme de contrôle
+     */
+    public int getSommeControle() {
+        return m_sommeControle;
+    }
+
+    /*============================Section Valeurs============================*/
+
+    public int lireOctet() {
+        verifier(1);
+        return m_tampon.get() & 0xFF;
+    }
+
+    public boolean lireBooleen() {
+        return lireOctet() != 0;
+    }
+
+    public int lireEntier() {
+        verifier(Integer.BYTES);
+        return m_tampon.getInt();
+    }
+
+    public long lireLong() {
+        verifier(Long.BYTES);
+        return m_tampon.getLong();
+    }
+
+    /**
+     * Lit un tableau de long écrit par {@link EcritureSauvegarde#ecrireLongs(long[])}.
+     * @return le tableau
+     * @throws IllegalStateException si la sauvegarde est tronquée
+     */
+    public long[] lireLongs() {
+        int taille = lireTaille();
+        verifier((long) taille * Long.BYTES);
+        long[] valeurs = new long[taille];
+        m_tampon.asLongBuffer().get(valeurs);
+        m_tampon.position(m_tampon.position() + taille * Long.BYTES);
+        return valeurs;
+    }
+
+    /**
+     * Lit un texte écrit par {@link EcritureSauvegarde#ecrireTexte(String)}.
+     * @return le texte, éventuellement null
+     * @throws IllegalStateException si la sauvegarde est tronquée
+     */
+    public String lireTexte() {
+        int longueur = lireEntier();
+        if (longueur == -1) {
+            return null;
+        }
+        if (longueur < 0) {
+            throw new IllegalStateException("Sauvegarde corrompue : longueur de texte " + longueur);
+        }
+        verifier(longueur);
+        String texte = new String(m_tampon.array(), m_tampon.arrayOffset() + m_tampon.position(), longueur, StandardCharsets.UTF_8);
+        m_tampon.position(m_tampon.position() + longueur);
+        return texte;
+    }
+
+    /**
+     * Lit une taille (nombre d'éléments d'une liste).
+     * @return la taille, positive
+     * @throws IllegalStateException si la taille est négative
+     */
+    public int lireTaille() {
+        int taille = lireEntier();
+        if (taille < 0) {
+            throw new IllegalStateException("Sauvegarde corrompue : taille " + taille);
+        }
+        return taille;
+    }
+
+    /*============================Section Identifiants============================*/
+
+    /**
+     * Enregistre un objet partagé qui vient d'être lu, avec l'identifiant suivant.
+     * @param objet l'objet
+     */
+    public void enregistrer(Object objet) {
+        m_objets.add(objet);
+    }
+
+    /**
+     * Retourne un objet déjà lu à partir de son identifiant.
+     *
+     * @param identifiant l'identifiant de l'objet
+     * @param type le type attendu
+     * @return l'objet
+     * @throws IllegalStateException si l'identifiant est inconnu ou l'objet d'un autre type
+     */
+    public <T> T objet(int identifiant, Class<T> type) {
+        if (identifiant < 0 || identifiant >= m_objets.size()) {
+            throw new IllegalStateException("Sauvegarde corrompue : objet " + identifiant + " inconnu");
+        }
+        Object objet = m_objets.get(identifiant);
+        if (!type.isInstance(objet)) {
+            throw new IllegalStateException("Sauvegarde corrompue : l'objet " + identifiant + " n'est pas un " + type.getSimpleName());
+        }
+        return type.cast(objet);
+    }
+
+    /**
+     * Lit l'identifiant d'un objet déjà lu et retourne cet objet.
+     * @param type le type attendu
+     * @return l'objet
+     * @throws IllegalStateException si l'identifiant est inconnu ou l'objet d'un autre type
+     */
+    public <T> T lireReference(Class<T> type) {
+        return objet(lireEntier(), type);
+    }
+
+    private void verifier(long octets) {
+        if (m_tampon.remaining() < octets) {
+            throw new IllegalStateException("Sauvegarde tronquée à l'octet " + m_tampon.position());
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "LectureSauvegarde{version=" + m_version + ", position=" + m_tampon.position() + "/" + m_tampon.limit()
+                + ", objets=" + m_objets.size() + "}";
+    }
+}
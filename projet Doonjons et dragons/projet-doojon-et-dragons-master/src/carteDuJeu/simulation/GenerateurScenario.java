@@ -0,0 +1,137 @@
+package carteDuJeu.simulation;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Des;
+import carteDuJeu.Donjon;
+import carteDuJeu.ElementCarte;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.MaitreDuJeu;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+import carteDuJeu.personnages.classes.Classe;
+import carteDuJeu.personnages.classes.Clerc;
+import carteDuJeu.personnages.classes.Guerrier;
+import carteDuJeu.personnages.classes.Magicien;
+import carteDuJeu.personnages.classes.Roublard;
+import carteDuJeu.personnages.equipements.Equipement;
+import carteDuJeu.personnages.equipements.armes.ArbaleteLegere;
+import carteDuJeu.personnages.equipements.armes.ArcCourt;
+import carteDuJeu.personnages.equipements.armes.Baton;
+import carteDuJeu.personnages.equipements.armes.EpeeADeuxMains;
+import carteDuJeu.personnages.equipements.armes.EpeeLongue;
+import carteDuJeu.personnages.equipements.armes.Fronde;
+import carteDuJeu.personnages.equipements.armes.MasseDarmes;
+import carteDuJeu.personnages.equipements.armes.Rapiere;
+import carteDuJeu.personnages.equipements.armures.ArmureDEcailles;
+import carteDuJeu.personnages.equipements.armures.CotteDeMailles;
+import carteDuJeu.personnages.equipements.armures.DemiPlate;
+import carteDuJeu.personnages.equipements.armures.Harnois;
+import carteDuJeu.personnages.races.Elfe;
+import carteDuJeu.personnages.races.Halfelin;
+import carteDuJeu.personnages.races.Humain;
+import carteDuJeu.personnages.races.Nain;
+import carteDuJeu.personnages.races.Race;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Construit le donjon d'un {@link Scenario}, sans aucune question posée au joueur
+ * ni limite de taille de carte : des cartes de 512x512 avec des milliers de monstres sont possibles.
+ *
+ * Tous les tirages (obstacles, caractéristiques des personnages, espèces des monstres, positions)
+ * viennent d'un {@link GenerateurAleatoire} initialisé avec la graine du scénario :
+ * un même scénario donne toujours le même donjon. Le donjon obtenu est un donjon sans affichage,
+ * joué par le contrôleur automatique ; il se sauvegarde comme tout donjon ({@link Donjon#sauvegarder}).
+ */
+public final class GenerateurScenario {
+    private static final List<Supplier<Race>> RACES = List.of(Humain::new, Elfe::new, Nain::new, Halfelin::new);
+
+    private static final List<Supplier<Classe>> CLASSES = List.of(Guerrier::new, Clerc::new, Magicien::new, Roublard::new);
+
+    private static final List<Supplier<Equipement>> EQUIPEMENTS = List.of(
+            Baton::new, MasseDarmes::new, EpeeLongue::new, Rapiere::new, EpeeADeuxMains::new,
+            ArbaleteLegere::new, Fronde::new, ArcCourt::new,
+            ArmureDEcailles::new, DemiPlate::new, CotteDeMailles::new, Harnois::new);
+
+    /**
+     * Espèces de monstres tirées au hasard. Colonnes : portée, dégâts max, vitesse, nombre de dés,
+     * points de vie, caractéristique d'attaque, classe d'armure, initiative.
+     */
+    private static final String[] ESPECES = {"gobelin", "orc", "squelette archer", "troll", "dragonnet"};
+    private static final int[][] CARACTERISTIQUES = {
+            {1, 6, 8, 1, 7, 2, 10, 3},
+            {1, 8, 6, 1, 15, 3, 11, 1},
+            {6, 6, 6, 1, 10, 2, 10, 2},
+            {1, 10, 5, 2, 40, 4, 12, 0},
+            {3, 8, 8, 2, 25, 4, 13, 2}
+    };
+
+    private GenerateurScenario() {
+    }
+
+    /**
+     * Construit le donjon d'un scénario.
+     * Le générateur de {@link Des} du thread courant n'est utilisé que pendant la construction,
+     * puis l'ancien est remis en place : les combats du donjon tirent dans le générateur installé par l'appelant.
+     *
+     * @param scenario le scénario
+     * @param sortie flux où le donjon écrit ses messages ({@link carteDuJeu.SortieSilencieuse} pour aucun affichage)
+     * @return le donjon, toutes les entités placées
+     * @throws IllegalArgumentException si le scénario est null
+     * @throws IllegalStateException si la carte n'a pas assez de cases libres pour toutes les entités
+     */
+    public static Donjon generer(Scenario scenario, PrintStream sortie) {
+        if (scenario == null) {
+            throw new IllegalArgumentException("Le scénario ne peut pas être null");
+        }
+        GenerateurAleatoire generateur = new GenerateurAleatoire(scenario.getGraine());
+        GenerateurAleatoire precedent = Des.getGenerateur();
+        Des.utiliserGenerateur(generateur);
+        try {
+            Carte carte = new Carte(scenario.getLargeur(), scenario.getHauteur());
+            carte.setGenerateur(generateur);
+            carte.genererObstaclesAleatoires(scenario.getTauxObstacles());
+
+            for (int i = 0; i < scenario.getNombreEquipements(); i++) {
+                placer(carte, tirer(EQUIPEMENTS, generateur).get());
+            }
+
+            List<Personnage> groupe = new ArrayList<>(scenario.getNombrePersonnages());
+            for (int i = 1; i <= scenario.getNombrePersonnages(); i++) {
+                Personnage personnage = new Personnage("Héros " + i, tirer(RACES, generateur).get(),
+                        tirer(CLASSES, generateur).get());
+                placer(carte, personnage);
+                groupe.add(personnage);
+            }
+
+            List<Monstre> monstres = new ArrayList<>(scenario.getNombreMonstres());
+            int[] numeros = new int[ESPECES.length];
+            for (int i = 0; i < scenario.getNombreMonstres(); i++) {
+                int espece = generateur.nextInt(ESPECES.length);
+                int[] c = CARACTERISTIQUES[espece];
+                Monstre monstre = new Monstre(ESPECES[espece], ++numeros[espece], c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7]);
+                placer(carte, monstre);
+                monstres.add(monstre);
+            }
+
+            MaitreDuJeu maitreDuJeu = new MaitreDuJeu(groupe, null, sortie);
+            return new Donjon(1, maitreDuJeu, carte, groupe, monstres, sortie);
+        } finally {
+            Des.utiliserGenerateur(precedent);
+        }
+    }
+
+    private static <T> T tirer(List<T> valeurs, GenerateurAleatoire generateur) {
+        return valeurs.get(generateur.nextInt(valeurs.size()));
+    }
+
+    private static void placer(Carte carte, ElementCarte element) {
+        if (!carte.ajouterContenuAleatoire(element)) {
+            throw new IllegalStateException("Pas assez de cases libres sur la carte de "
+                    + carte.getLargeur() + "x" + carte.getHauteur() + " pour placer toutes les entités du scénario");
+        }
+    }
+}
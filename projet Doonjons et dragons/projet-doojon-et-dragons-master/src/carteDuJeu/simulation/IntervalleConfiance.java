@@ -0,0 +1,96 @@
+package carteDuJeu.simulation;
+
+import java.util.Locale;
+
+/**
+ * Estimation accompagnée de son intervalle de confiance à 95 %.
+ */
+public class IntervalleConfiance {
+    /** Quantile de la loi normale pour un niveau de confiance de 95 % */
+    public static final double Z_95 = 1.959963984540054;
+
+    private final double m_estimation;
+    private final double m_borneInferieure;
+    private final double m_borneSuperieure;
+
+    private IntervalleConfiance(double estimation, double borneInferieure, double borneSuperieure) {
+        this.m_estimation = estimation;
+        this.m_borneInferieure = borneInferieure;
+        this.m_borneSuperieure = borneSuperieure;
+    }
+
+    /**
+     * Intervalle de Wilson d'une proportion.
+     * Contrairement à l'intervalle normal, il reste dans [0, 1] et reste fiable
+     * pour une proportion proche de 0 ou de 1 (groupe presque toujours vainqueur, personnage jamais tué...).
+     *
+     * @param succes nombre de succès observés
+     * @param essais nombre d'essais
+     * @return la proportion observée et son intervalle
+     * @throws IllegalArgumentException si essais < 1 ou si succes n'est pas entre 0 et essais
+     */
+    public static IntervalleConfiance proportion(long succes, long essais) {
+        if (essais < 1) {
+            throw new IllegalArgumentException("Le nombre d'essais doit être strictement positif");
+        }
+        if (succes < 0 || succes > essais) {
+            throw new IllegalArgumentException("Le nombre de succès doit être entre 0 et " + essais);
+        }
+        double n = essais;
+        double p = succes / n;
+        double z2 = Z_95 * Z_95;
+        double denominateur = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denominateur;
+        double marge = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominateur;
+        return new IntervalleConfiance(p, Math.max(0.0, centre - marge), Math.min(1.0, centre + marge));
+    }
+
+    /**
+     * Intervalle d'une moyenne par approximation normale : moyenne ± z * écart-type / √n.
+     *
+     * @param somme somme des valeurs observées
+     * @param sommeCarres somme des carrés des valeurs observées
+     * @param n nombre de valeurs
+     * @return la moyenne observée et son intervalle
+     * @throws IllegalArgumentException si n < 1
+     */
+    public static IntervalleConfiance moyenne(double somme, double sommeCarres, long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Le nombre de valeurs doit être strictement positif");
+        }
+        double moyenne = somme / n;
+        double variance = n > 1 ? Math.max(0.0, (sommeCarres - somme * moyenne) / (n - 1)) : 0.0;
+        double marge = Z_95 * Math.sqrt(variance / n);
+        return new IntervalleConfiance(moyenne, moyenne - marge, moyenne + marge);
+    }
+
+    /*============================Section Getters============================*/
+
+    public double getEstimation() {
+        return m_estimation;
+    }
+
+    public double getBorneInferieure() {
+        return m_borneInferieure;
+    }
+
+    public double getBorneSuperieure() {
+        return m_borneSuperieure;
+    }
+
+    /**
+     * Vérifie si une valeur appartient à l'intervalle.
+     * @param valeur la valeur à tester
+     * @return true si la valeur est entre les deux bornes
+     */
+    public boolean contient(double valeur) {
+        return valeur >= m_borneInferieure && valeur <= m_borneSuperieure;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.4f [%.4f ; %.4f]", m_estimation, m_borneInferieure, m_borneSuperieure);
+    }
+}
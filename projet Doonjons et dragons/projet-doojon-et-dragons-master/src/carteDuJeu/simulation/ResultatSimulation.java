@@ -0,0 +1,103 @@
+package carteDuJeu.simulation;
+
+import java.util.List;
+
+/**
+ * Résultat agrégé d'une série de combats simulés : taux de victoire, durée moyenne
+ * des combats et taux de mort de chaque personnage, avec leurs intervalles de confiance à 95 %.
+ *
+ * Une victoire suit la règle du jeu ({@link carteDuJeu.Donjon#deroulerDonjon()}) :
+ * tous les monstres sont morts et aucun personnage n'est tombé.
+ * Un combat interrompu a atteint la limite de tours sans vainqueur ; il n'est pas compté comme une victoire.
+ */
+public class ResultatSimulation {
+    private final long m_nombreCombats;
+    private final long m_victoires;
+    private final long m_combatsInterrompus;
+    private final long m_sommeTours;
+    private final long m_sommeCarresTours;
+    private final List<String> m_nomsPersonnages;
+    private final long[] m_morts;
+
+    /**
+     * Construit le résultat d'une simulation.
+     *
+     * @param nombreCombats nombre de combats simulés
+     * @param victoires nombre de combats gagnés par le groupe
+     * @param combatsInterrompus nombre de combats arrêtés par la limite de tours
+     * @param sommeTours somme des nombres de tours joués
+     * @param sommeCarresTours somme des carrés des nombres de tours joués
+     * @param nomsPersonnages noms des personnages, dans l'ordre du groupe
+     * @param morts nombre de combats où chaque personnage est mort, dans l'ordre du groupe
+     */
+    ResultatSimulation(long nombreCombats, long victoires, long combatsInterrompus, long sommeTours,
+                       long sommeCarresTours, List<String> nomsPersonnages, long[] morts) {
+        this.m_nombreCombats = nombreCombats;
+        this.m_victoires = victoires;
+        this.m_combatsInterrompus = combatsInterrompus;
+        this.m_sommeTours = sommeTours;
+        this.m_sommeCarresTours = sommeCarresTours;
+        this.m_nomsPersonnages = List.copyOf(nomsPersonnages);
+        this.m_morts = morts.clone();
+    }
+
+    /*============================Section Getters============================*/
+
+    public long getNombreCombats() {
+        return m_nombreCombats;
+    }
+
+    public long getVictoires() {
+        return m_victoires;
+    }
+
+    public long getCombatsInterrompus() {
+        return m_combatsInterrompus;
+    }
+
+    public List<String> getNomsPersonnages() {
+        return m_nomsPersonnages;
+    }
+
+    /**
+     * Retourne la probabilité de victoire du groupe.
+     * @return le taux de victoire et son intervalle de Wilson
+     */
+    public IntervalleConfiance getTauxVictoire() {
+        return IntervalleConfiance.proportion(m_victoires, m_nombreCombats);
+    }
+
+    /**
+     * Retourne le nombre moyen de tours joués par combat.
+     * @return la moyenne et son intervalle
+     */
+    public IntervalleConfiance getToursMoyens() {
+        return IntervalleConfiance.moyenne(m_sommeTours, m_sommeCarresTours, m_nombreCombats);
+    }
+
+    /**
+     * Retourne la probabilité qu'un personnage du groupe meure pendant le combat.
+     * @param indice position du personnage dans le groupe simulé
+     * @return le taux de mort et son intervalle de Wilson
+     * @throws IndexOutOfBoundsException si l'indice ne correspond à aucun personnage
+     */
+    public IntervalleConfiance getTauxMort(int indice) {
+        return IntervalleConfiance.proportion(m_morts[indice], m_nombreCombats);
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Simulation de ").append(m_nombreCombats).append(" combats ===\n");
+        sb.append("Taux de victoire : ").append(getTauxVictoire()).append('\n');
+        sb.append("Tours par combat : ").append(getToursMoyens()).append('\n');
+        sb.append("Combats interrompus : ").append(m_combatsInterrompus).append('\n');
+        for (int i = 0; i < m_nomsPersonnages.size(); i++) {
+            sb.append("Taux de mort de ").append(m_nomsPersonnages.get(i)).append(" : ")
+                    .append(getTauxMort(i)).append('\n');
+        }
+        return sb.toString();
+    }
+}
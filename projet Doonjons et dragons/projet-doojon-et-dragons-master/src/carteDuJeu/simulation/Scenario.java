@@ -0,0 +1,192 @@
+package carteDuJeu.simulation;
+
+import carteDuJeu.sauvegarde.EcritureSauvegarde;
+import carteDuJeu.sauvegarde.FichierSauvegarde;
+import carteDuJeu.sauvegarde.LectureSauvegarde;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Description d'un scénario de test : taille de la carte, densité d'obstacles,
+ * nombre de personnages, de monstres et d'équipements au sol, et la graine qui fixe tous les tirages.
+ *
+ * Le scénario ne contient que ces paramètres : le donjon est construit par {@link GenerateurScenario},
+ * toujours identique pour un même scénario. Un scénario s'enregistre donc en quelques octets
+ * ({@link #ecrire(Path)}) et se partage entre les mesures de performance et les combats sans affichage.
+ */
+public final class Scenario {
+    /** "SCEN" : marque le contenu d'un fichier de scénario */
+    private static final int MARQUEUR = 0x5343454E;
+
+    private final long m_graine;
+    private final int m_largeur;
+    private final int m_hauteur;
+    private final double m_tauxObstacles;
+    private final int m_nombrePersonnages;
+    private final int m_nombreMonstres;
+    private final int m_nombreEquipements;
+
+    /**
+     * Construit un scénario.
+     *
+     * @param graine graine de tous les tirages du scénario
+     * @param largeur largeur de la carte (nombre de colonnes)
+     * @param hauteur hauteur de la carte (nombre de lignes)
+     * @param tauxObstacles proportion de cases obstacles, de 0.0 inclus à 1.0 exclu
+     * @param nombrePersonnages nombre de personnages du groupe
+     * @param nombreMonstres nombre de monstres
+     * @param nombreEquipements nombre d'équipements posés au sol
+     * @throws IllegalArgumentException si une dimension n'est pas strictement positive, si le taux d'obstacles
+     *         est hors de [0, 1[, si le groupe est vide ou si un nombre est négatif
+     */
+    public Scenario(long graine, int largeur, int hauteur, double tauxObstacles,
+                    int nombrePersonnages, int nombreMonstres, int nombreEquipements) {
+        if (largeur < 1 || hauteur < 1) {
+            throw new IllegalArgumentException("Les dimensions de la carte doivent être strictement positives : "
+                    + largeur + "x" + hauteur);
+        }
+        if (!(tauxObstacles >= 0.0 && tauxObstacles < 1.0)) {
+            throw new IllegalArgumentException("Le taux d'obstacles doit être entre 0.0 inclus et 1.0 exclu : " + tauxObstacles);
+        }
+        if (nombrePersonnages < 1) {
+            throw new IllegalArgumentException("Le groupe doit contenir au moins un personnage");
+        }
+        if (nombreMonstres < 0 || nombreEquipements < 0) {
+            throw new IllegalArgumentException("Les nombres de monstres et d'équipements ne peuvent pas être négatifs");
+        }
+        this.m_graine = graine;
+        this.m_largeur = largeur;
+        this.m_hauteur = hauteur;
+        this.m_tauxObstacles = tauxObstacles;
+        this.m_nombrePersonnages = nombrePersonnages;
+        this.m_nombreMonstres = nombreMonstres;
+        this.m_nombreEquipements = nombreEquipements;
+    }
+
+    /*============================Section Sauvegarde============================*/
+
+    /**
+     * Écrit les paramètres du scénario dans une sauvegarde.
+     * @param sortie la sauvegarde
+     */
+    public void sauvegarder(EcritureSauvegarde sortie) {
+        sortie.ecrireEntier(MARQUEUR);
+        sortie.ecrireLong(m_graine);
+        sortie.ecrireEntier(m_largeur);
+        sortie.ecrireEntier(m_hauteur);
+        sortie.ecrireLong(Double.doubleToLongBits(m_tauxObstacles));
+        sortie.ecrireEntier(m_nombrePersonnages);
+        sortie.ecrireEntier(m_nombreMonstres);
+        sortie.ecrireEntier(m_nombreEquipements);
+    }
+
+    /**
+     * Relit un scénario écrit par {@link #sauvegarder(EcritureSauvegarde)}.
+     * @param entree la sauvegarde
+     * @return le scénario
+     * @throws IllegalArgumentException si le contenu n'est pas un scénario
+     * @throws IllegalStateException si la sauvegarde est tronquée ou ses paramètres invalides
+     */
+    public static Scenario restaurer(LectureSauvegarde entree) {
+        if (entree.lireEntier() != MARQUEUR) {
+            throw new IllegalArgumentException("Le contenu n'est pas un scénario");
+        }
+        long graine = entree.lireLong();
+        int largeur = entree.lireEntier();
+        int hauteur = entree.lireEntier();
+        double tauxObstacles = Double.longBitsToDouble(entree.lireLong());
+        int nombrePersonnages = entree.lireEntier();
+        int nombreMonstres = entree.lireEntier();
+        int nombreEquipements = entree.lireEntier();
+        try {
+            return new Scenario(graine, largeur, hauteur, tauxObstacles, nombrePersonnages, nombreMonstres, nombreEquipements);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Scénario corrompu : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Enregistre le scénario dans un fichier, au format des sauvegardes.
+     * @param fichier le fichier
+     * @throws IOException si l'écriture échoue
+     */
+    public void ecrire(Path fichier) throws IOException {
+        EcritureSauvegarde sortie = new EcritureSauvegarde();
+        sauvegarder(sortie);
+        FichierSauvegarde.ecrire(fichier, sortie);
+    }
+
+    /**
+     * Lit un scénario enregistré par {@link #ecrire(Path)}.
+     * @param fichier le fichier
+     * @return le scénario
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas un scénario
+     * @throws IllegalStateException si le fichier est tronqué ou corrompu
+     */
+    public static Scenario lire(Path fichier) throws IOException {
+        return restaurer(FichierSauvegarde.lire(fichier));
+    }
+
+    /*============================Section Getters============================*/
+
+    public long getGraine() {
+        return m_graine;
+    }
+
+    public int getLargeur() {
+        return m_largeur;
+    }
+
+    public int getHauteur() {
+        return m_hauteur;
+    }
+
+    public double getTauxObstacles() {
+        return m_tauxObstacles;
+    }
+
+    public int getNombrePersonnages() {
+        return m_nombrePersonnages;
+    }
+
+    public int getNombreMonstres() {
+        return m_nombreMonstres;
+    }
+
+    public int getNombreEquipements() {
+        return m_nombreEquipements;
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public boolean equals(Object autre) {
+        if (this == autre) {
+            return true;
+        }
+        if (!(autre instanceof Scenario)) {
+            return false;
+        }
+        Scenario scenario = (Scenario) autre;
+        return m_graine == scenario.m_graine && m_largeur == scenario.m_largeur && m_hauteur == scenario.m_hauteur
+                && Double.compare(m_tauxObstacles, scenario.m_tauxObstacles) == 0
+                && m_nombrePersonnages == scenario.m_nombrePersonnages && m_nombreMonstres == scenario.m_nombreMonstres
+                && m_nombreEquipements == scenario.m_nombreEquipements;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(m_graine, m_largeur, m_hauteur, m_tauxObstacles, m_nombrePersonnages, m_nombreMonstres,
+                m_nombreEquipements);
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario{graine=" + m_graine + ", carte=" + m_largeur + "x" + m_hauteur
+                + ", obstacles=" + m_tauxObstacles + ", personnages=" + m_nombrePersonnages
+                + ", monstres=" + m_nombreMonstres + ", equipements=" + m_nombreEquipements + "}";
+    }
+}
@@ -0,0 +1,239 @@
+package carteDuJeu.simulation;
+
+import carteDuJeu.Carte;
+import carteDuJeu.Des;
+import carteDuJeu.Donjon;
+import carteDuJeu.ElementMobile;
+import carteDuJeu.GenerateurAleatoire;
+import carteDuJeu.MaitreDuJeu;
+import carteDuJeu.SortieSilencieuse;
+import carteDuJeu.monstres.Monstre;
+import carteDuJeu.personnages.Personnage;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Estime par la méthode de Monte-Carlo la probabilité qu'un groupe vienne à bout d'un donjon.
+ *
+ * Le simulateur garde une copie figée de la carte, du groupe et des monstres.
+ * Chaque combat rejoue cette situation sur ses propres copies, sans affichage,
+ * avec le {@link carteDuJeu.controleurs.ControleurAutomatique} et la limite de tours des combats automatiques.
+ * Les combats sont indépendants : ils sont répartis sur tous les cœurs par un flux parallèle,
+ * et chaque fil ne garde qu'un accumulateur de compteurs, fusionné à la fin.
+ * La mémoire utilisée ne dépend donc pas du nombre de combats.
+ *
+ * Chaque combat installe son propre {@link GenerateurAleatoire}, dont la graine ne dépend que de la graine
+ * de la simulation et du numéro du combat : deux simulations de même graine donnent le même résultat,
+ * quel que soit le nombre de cœurs.
+ */
+public class SimulateurMonteCarlo {
+    /** Sortie partagée par tous les combats simulés ; elle n'a aucun état */
+    private static final PrintStream SORTIE = new SortieSilencieuse();
+
+    private final Carte m_carte;
+    private final List<Personnage> m_groupe;
+    private final List<Monstre> m_monstres;
+
+    /** Position [x,y] de chaque personnage sur la carte modèle, ou null pour un placement aléatoire */
+    private final int[][] m_positionsGroupe;
+
+    /** Position [x,y] de chaque monstre sur la carte modèle, ou null pour un placement aléatoire */
+    private final int[][] m_positionsMonstres;
+
+    /**
+     * Construit un simulateur à partir de la situation d'un donjon.
+     * Les entités déjà présentes sur la carte partent de leur case ; les autres sont placées au hasard à chaque combat.
+     *
+     * @param carte la carte du donjon (obstacles et équipements au sol)
+     * @param groupe les personnages du groupe
+     * @param monstres les monstres du donjon
+     * @throws IllegalArgumentException si la carte est null ou si le groupe est vide
+     */
+    public SimulateurMonteCarlo(Carte carte, List<Personnage> groupe, List<Monstre> monstres) {
+        if (carte == null) {
+            throw new IllegalArgumentException("La carte ne peut pas être null");
+        }
+        if (groupe == null || groupe.isEmpty()) {
+            throw new IllegalArgumentException("Le groupe doit contenir au moins un personnage");
+        }
+        if (monstres == null) {
+            throw new IllegalArgumentException("La liste des monstres ne peut pas être null");
+        }
+        this.m_carte = carte.copier();
+        this.m_groupe = new ArrayList<>(groupe.size());
+        this.m_positionsGroupe = new int[groupe.size()][];
+        for (int i = 0; i < groupe.size(); i++) {
+            m_groupe.add(groupe.get(i).copier());
+            m_positionsGroupe[i] = carte.trouverPosition(groupe.get(i)).orElse(null);
+        }
+        this.m_monstres = new ArrayList<>(monstres.size());
+        this.m_positionsMonstres = new int[monstres.size()][];
+        for (int i = 0; i < monstres.size(); i++) {
+            m_monstres.add(monstres.get(i).copier());
+            m_positionsMonstres[i] = carte.trouverPosition(monstres.get(i)).orElse(null);
+        }
+    }
+
+    /**
+     * Construit un simulateur à partir du donjon d'un scénario ({@link GenerateurScenario}) :
+     * toutes les entités partent de la case où le scénario les a placées.
+     *
+     * @param scenario le scénario
+     * @throws IllegalArgumentException si le scénario est null
+     * @throws IllegalStateException si la carte du scénario est trop petite pour ses entités
+     */
+    public SimulateurMonteCarlo(Scenario scenario) {
+        this(GenerateurScenario.generer(scenario, SORTIE));
+    }
+
+    private SimulateurMonteCarlo(Donjon donjon) {
+        this(donjon.getCarte(), donjon.getJoueurs(), donjon.getMonstres());
+    }
+
+    /**
+     * Simule une série de combats indépendants en parallèle.
+     *
+     * @param nombreCombats le nombre de combats à simuler
+     * @param graine la graine de la simulation
+     * @return les statistiques agrégées des combats
+     * @throws IllegalArgumentException si nombreCombats < 1
+     */
+    public ResultatSimulation simuler(int nombreCombats, long graine) {
+        if (nombreCombats < 1) {
+            throw new IllegalArgumentException("Le nombre de combats doit être strictement positif");
+        }
+        Accumulateur total = IntStream.range(0, nombreCombats).parallel()
+                .collect(() -> new Accumulateur(m_groupe.size()),
+                        (accumulateur, indice) -> jouerCombat(graineCombat(graine, indice), accumulateur),
+                        Accumulateur::fusionner);
+
+        List<String> noms = new ArrayList<>(m_groupe.size());
+        for (Personnage personnage : m_groupe) {
+            noms.add(personnage.getNom());
+        }
+        return new ResultatSimulation(total.m_combats, total.m_victoires, total.m_interrompus,
+                total.m_sommeTours, total.m_sommeCarresTours, noms, total.m_morts);
+    }
+
+    /**
+     * Dérive la graine d'un combat à partir de la graine de la simulation (mélange SplitMix64),
+     * pour que des combats voisins aient des suites de dés sans corrélation.
+     */
+    static long graineCombat(long graine, int indice) {
+        long z = graine + (indice + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*============================Section Combat============================*/
+
+    /**
+     * Joue un combat sur des copies de la situation modèle et ajoute son issue à l'accumulateur.
+     */
+    private void jouerCombat(long graineCombat, Accumulateur accumulateur) {
+        // Le pool commun exécute aussi des combats sur le thread appelant : son générateur est remis en place ensuite
+        GenerateurAleatoire precedent = Des.getGenerateur();
+        Des.utiliserGenerateur(new GenerateurAleatoire(graineCombat));
+        try {
+            Carte carte = m_carte.copier();
+            List<Personnage> groupe = new ArrayList<>(m_groupe.size());
+            for (Personnage personnage : m_groupe) {
+                groupe.add(personnage.copier());
+            }
+            List<Monstre> monstres = new ArrayList<>(m_monstres.size());
+            for (Monstre monstre : m_monstres) {
+                monstres.add(monstre.copier());
+            }
+
+            // Cases fixes d'abord, pour qu'un placement aléatoire ne les prenne pas
+            placerAuxPositions(carte, groupe, m_positionsGroupe);
+            placerAuxPositions(carte, monstres, m_positionsMonstres);
+            placerAleatoirement(carte, monstres, m_positionsMonstres);
+            placerAleatoirement(carte, groupe, m_positionsGroupe);
+
+            MaitreDuJeu maitreDuJeu = new MaitreDuJeu(groupe, null, SORTIE);
+            Donjon donjon = new Donjon(1, maitreDuJeu, carte, groupe, monstres, SORTIE);
+            boolean victoire = donjon.deroulerDonjon();
+            // Le numéro de tour est incrémenté après chaque tour, y compris le dernier
+            accumulateur.ajouter(victoire, donjon.getGestionTours().getNumeroTour() - 1, groupe, monstres);
+        } finally {
+            Des.utiliserGenerateur(precedent);
+        }
+    }
+
+    private static void placerAuxPositions(Carte carte, List<? extends ElementMobile> entites, int[][] positions) {
+        for (int i = 0; i < entites.size(); i++) {
+            if (positions[i] != null && !entites.get(i).estMort()) {
+                carte.ajouterContenu(positions[i][0], positions[i][1], entites.get(i));
+            }
+        }
+    }
+
+    private static void placerAleatoirement(Carte carte, List<? extends ElementMobile> entites, int[][] positions) {
+        for (int i = 0; i < entites.size(); i++) {
+            if (positions[i] == null && !entites.get(i).estMort()) {
+                carte.ajouterContenuAleatoire(entites.get(i));
+            }
+        }
+    }
+
+    /*============================Section Accumulateur============================*/
+
+    /**
+     * Compteurs d'une partie des combats. Chaque fil du flux parallèle remplit le sien,
+     * puis les accumulateurs sont fusionnés deux à deux.
+     */
+    private static class Accumulateur {
+        private long m_combats;
+        private long m_victoires;
+        private long m_interrompus;
+        private long m_sommeTours;
+        private long m_sommeCarresTours;
+        private final long[] m_morts;
+
+        private Accumulateur(int tailleGroupe) {
+            this.m_morts = new long[tailleGroupe];
+        }
+
+        private void ajouter(boolean victoire, int tours, List<Personnage> groupe, List<Monstre> monstres) {
+            m_combats++;
+            boolean unPersonnageMort = false;
+            for (int i = 0; i < groupe.size(); i++) {
+                if (groupe.get(i).estMort()) {
+                    m_morts[i]++;
+                    unPersonnageMort = true;
+                }
+            }
+            if (victoire) {
+                m_victoires++;
+            } else if (!unPersonnageMort && monstres.stream().anyMatch(monstre -> !monstre.estMort())) {
+                m_interrompus++;
+            }
+            m_sommeTours += tours;
+            m_sommeCarresTours += (long) tours * tours;
+        }
+
+        private void fusionner(Accumulateur autre) {
+            m_combats += autre.m_combats;
+            m_victoires += autre.m_victoires;
+            m_interrompus += autre.m_interrompus;
+            m_sommeTours += autre.m_sommeTours;
+            m_sommeCarresTours += autre.m_sommeCarresTours;
+            for (int i = 0; i < m_morts.length; i++) {
+                m_morts[i] += autre.m_morts[i];
+            }
+        }
+    }
+
+    /*============================Section Overrides============================*/
+
+    @Override
+    public String toString() {
+        return "SimulateurMonteCarlo{groupe=" + m_groupe.size() + ", monstres=" + m_monstres.size()
+                + ", carte=" + m_carte.getLargeur() + "x" + m_carte.getHauteur() + "}";
+    }
+}